@@ -64,6 +64,7 @@ public class OutputFileFactoryProcessor extends BaseFactoryProcessor {
 		writer.println("		file.setRelativeFileName(fileStore.getFilename());");
 		writer.println("		file.setProcessorIds(fileStore.getProcessors());");
 		writer.println("		file.setSeparator(fileStore.getSeparator());");
+		writer.println("		file.setCompression(fileStore.getCompression());");
 		writer.println("		return file;");
 		writer.println("	}");
 		writer.println();
@@ -0,0 +1,80 @@
+package org.vadere.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.vadere.util.logging.Logger;
+import org.vadere.util.version.Version;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Entry point of the Vadere benchmark suite. All JMH command line options are supported
+ * (e.g. <tt>-l</tt> to list the benchmarks, a regular expression to select some of them or <tt>-p</tt>
+ * to override parameters). If no result file is specified the results are written in JSON format to
+ * <tt>vadere-benchmark_&lt;version&gt;_&lt;timestamp&gt;.json</tt> such that runs of different
+ * releases can be compared with each other.
+ *
+ * Reference scenarios are resolved relative to {@link BenchmarkScenarios#SCENARIO_DIR_PROPERTY}.
+ */
+public class BenchmarkMain {
+
+	private static final Logger logger = Logger.getLogger(BenchmarkMain.class);
+
+	public static final String RESULT_FILE_PREFIX = "vadere-benchmark";
+
+	public static void main(String... args) throws RunnerException, IOException {
+		CommandLineOptions cmdOptions;
+		try {
+			cmdOptions = new CommandLineOptions(args);
+		} catch (CommandLineOptionException e) {
+			logger.error("invalid benchmark options: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+
+		if(cmdOptions.shouldHelp()) {
+			cmdOptions.showHelp();
+			return;
+		}
+
+		if(cmdOptions.shouldListResultFormats()) {
+			cmdOptions.listResultFormats();
+			return;
+		}
+
+		if(cmdOptions.shouldListProfilers()) {
+			cmdOptions.listProfilers();
+			return;
+		}
+
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+		if(!cmdOptions.getResultFormat().hasValue()) {
+			builder.resultFormat(ResultFormatType.JSON);
+		}
+		if(!cmdOptions.getResult().hasValue()) {
+			ResultFormatType format = cmdOptions.getResultFormat().orElse(ResultFormatType.JSON);
+			builder.result(defaultResultFileName(format));
+		}
+
+		Runner runner = new Runner(builder.build());
+		if(cmdOptions.shouldList()) {
+			runner.list();
+		} else if(cmdOptions.shouldListWithParams()) {
+			runner.listWithParams(cmdOptions);
+		} else {
+			runner.run();
+		}
+	}
+
+	static String defaultResultFileName(final ResultFormatType format) {
+		String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+		return RESULT_FILE_PREFIX + "_" + Version.latest().label('-') + "_" + timestamp + "." + format.toString().toLowerCase();
+	}
+}
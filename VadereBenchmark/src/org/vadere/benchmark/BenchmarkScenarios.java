@@ -0,0 +1,91 @@
+package org.vadere.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.projects.io.IOVadere;
+import org.vadere.state.attributes.AttributesSimulation;
+import org.vadere.util.io.IOUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Access to the reference scenarios of the <tt>Scenarios</tt> directory. The directory is taken from
+ * the system property {@link #SCENARIO_DIR_PROPERTY}, if it is not set <tt>Scenarios</tt> and
+ * <tt>../Scenarios</tt> relative to the working directory are tried.
+ */
+public class BenchmarkScenarios {
+
+	public static final String SCENARIO_DIR_PROPERTY = "vadere.benchmark.scenarios";
+
+	// reference scenarios used by the full-step benchmarks, one per main model
+	public static final String OSM = "ModelTests/TestOSM/scenarios/rimea_04_flow_osm1_050_h.scenario";
+	public static final String OSM_ROOM = "ModelTests/TestOSM/scenarios/rimea_09_public_room_2_exits_nelder_mead.scenario";
+	public static final String BHM = "ModelTests/TestBHM/scenarios/Corridor-BHM-Defaults.scenario";
+	public static final String GNM = "ModelTests/TestGNM/scenarios/rimea_04_flow_gnm1_050_h.scenario";
+	public static final String SFM = "ModelTests/TestSFM/scenarios/basic_1_chicken_sfm1.scenario";
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+
+	public static Path getScenarioDirectory() {
+		String dir = System.getProperty(SCENARIO_DIR_PROPERTY);
+		if(dir != null) {
+			return Paths.get(dir);
+		}
+		Path local = Paths.get("Scenarios");
+		return Files.isDirectory(local) ? local : Paths.get("..", "Scenarios");
+	}
+
+	public static Path resolve(@NotNull final String relativePath) {
+		return getScenarioDirectory().resolve(relativePath);
+	}
+
+	/**
+	 * Reads the json of a reference scenario.
+	 *
+	 * @param relativePath the path relative to the scenario directory
+	 * @return the json of the scenario
+	 * @throws IOException if the scenario can not be read
+	 */
+	public static String readJson(@NotNull final String relativePath) throws IOException {
+		return IOUtils.readTextFile(resolve(relativePath));
+	}
+
+	/**
+	 * Sets all attributes named <tt>key</tt> contained in the scenario json to <tt>value</tt>,
+	 * e.g. to replace the <tt>optimizationType</tt> of the OSM.
+	 */
+	public static String replaceAttribute(@NotNull final String json, @NotNull final String key, @NotNull final String value) throws IOException {
+		JsonNode node = mapper.readTree(json);
+		for(JsonNode parent : node.findParents(key)) {
+			((ObjectNode)parent).put(key, value);
+		}
+		return mapper.writeValueAsString(node);
+	}
+
+	/**
+	 * Creates a scenario from json which is suitable for benchmarking, i.e. without any output, visualization
+	 * or real time delay and with a fixed seed.
+	 *
+	 * @param json          the json of the scenario
+	 * @param finishTime    the simulation time in seconds after which the simulation stops
+	 * @return the scenario
+	 * @throws IOException if the json is not a valid scenario
+	 */
+	public static Scenario createScenario(@NotNull final String json, final double finishTime) throws IOException {
+		Scenario scenario = IOVadere.fromJson(json);
+		AttributesSimulation attributesSimulation = scenario.getAttributesSimulation();
+		attributesSimulation.setFinishTime(finishTime);
+		attributesSimulation.setRealTimeSimTimeRatio(0.0);
+		attributesSimulation.setWriteSimulationData(false);
+		attributesSimulation.setVisualizationEnabled(false);
+		attributesSimulation.setUseFixedSeed(true);
+		attributesSimulation.setFixedSeed(1);
+		return scenario;
+	}
+}
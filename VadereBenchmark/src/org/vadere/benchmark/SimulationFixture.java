@@ -0,0 +1,132 @@
+package org.vadere.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.context.VadereContext;
+import org.vadere.simulator.control.scenarioelements.TopographyController;
+import org.vadere.simulator.models.MainModel;
+import org.vadere.simulator.models.MainModelBuilder;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.infection.AirTransmissionModel;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.projects.ScenarioStore;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A fully initialized main model of a scenario outside of a {@link org.vadere.simulator.control.simulation.Simulation},
+ * i.e. the state right after the simulation pre-loop. It is used by benchmarks which measure a single
+ * operation of a model (e.g. one optimization step of an agent) instead of a whole simulation run.
+ */
+public class SimulationFixture implements AutoCloseable {
+
+	private final Scenario scenario;
+	private final Topography topography;
+	private final MainModel mainModel;
+	private final Domain domain;
+	private final Random random;
+
+	public SimulationFixture(@NotNull final Scenario scenario) {
+		this.scenario = scenario;
+		ScenarioStore scenarioStore = scenario.getScenarioStore();
+		this.topography = scenarioStore.getTopography();
+		topography.reset();
+
+		topography.setContextId(scenario.getName());
+		VadereContext ctx = new VadereContext();
+		ctx.put("cache", ScenarioCache.empty());
+		ctx.put(AirTransmissionModel.simStepLength, scenario.getAttributesSimulation().getSimTimeStepLength());
+		VadereContext.add(scenario.getName(), ctx);
+
+		MainModelBuilder modelBuilder = new MainModelBuilder(scenarioStore, null, null);
+		try {
+			modelBuilder.createModelAndRandom();
+		} catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+			throw new IllegalArgumentException("could not create the main model of " + scenario.getName(), e);
+		}
+		this.mainModel = modelBuilder.getModel();
+		this.domain = modelBuilder.getDomain();
+		this.random = modelBuilder.getRandom();
+		ctx.put("random", random);
+
+		TopographyController topographyController = new TopographyController(domain, mainModel, random);
+		topographyController.preLoop(0.0, scenarioStore.getAttributesList());
+		for (Model model : mainModel.getSubmodels()) {
+			model.preLoop(0.0);
+		}
+	}
+
+	/**
+	 * Places <tt>numberOfAgents</tt> agents created by the main model at random positions which do
+	 * not overlap with obstacles or targets. All agents head for the first target of the topography.
+	 *
+	 * @param numberOfAgents the number of agents
+	 * @return the created agents
+	 */
+	public List<Pedestrian> populate(final int numberOfAgents) {
+		List<Pedestrian> pedestrians = new ArrayList<>(numberOfAgents);
+		LinkedList<Integer> targetIds = new LinkedList<>();
+		if(!topography.getTargets().isEmpty()) {
+			targetIds.add(topography.getTargets().get(0).getId());
+		}
+
+		Rectangle2D.Double bounds = topography.getBounds();
+		double minDistance = 2 * topography.getAttributesPedestrian().getRadius();
+		while (pedestrians.size() < numberOfAgents) {
+			VPoint position = new VPoint(
+					bounds.getMinX() + random.nextDouble() * bounds.getWidth(),
+					bounds.getMinY() + random.nextDouble() * bounds.getHeight());
+
+			if(topography.distanceToObstacle(position) > minDistance && !isInsideTarget(position)) {
+				Pedestrian pedestrian = (Pedestrian) mainModel.createElement(position, topography.getNextDynamicElementId(), Pedestrian.class);
+				pedestrian.setTargets(new LinkedList<>(targetIds));
+				topography.addElement(pedestrian);
+				pedestrians.add(pedestrian);
+			}
+		}
+		return pedestrians;
+	}
+
+	private boolean isInsideTarget(@NotNull final VPoint position) {
+		for (Target target : topography.getTargets()) {
+			if(target.getShape().contains(position)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public Scenario getScenario() {
+		return scenario;
+	}
+
+	public Topography getTopography() {
+		return topography;
+	}
+
+	public MainModel getMainModel() {
+		return mainModel;
+	}
+
+	public Domain getDomain() {
+		return domain;
+	}
+
+	public Random getRandom() {
+		return random;
+	}
+
+	@Override
+	public void close() {
+		VadereContext.remove(topography.getContextId());
+	}
+}
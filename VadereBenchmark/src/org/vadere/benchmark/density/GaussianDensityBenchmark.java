@@ -0,0 +1,98 @@
+package org.vadere.benchmark.density;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.models.density.IGaussianFilter;
+import org.vadere.simulator.models.potential.timeCostFunction.loading.IPedestrianLoadingStrategy;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.math.Convolution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Gaussian pedestrian density on the CPU, i.e. the filter used by the density time cost functions
+ * and the density processors if OpenCL is not available. <tt>pedestrianDensity</tt> splats the agents
+ * and filters the grid, <tt>referenceConvolution</tt> is the generic separable convolution of the same
+ * grid by {@link Convolution#convolveSeperate}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GaussianDensityBenchmark {
+
+	private static final VRectangle bound = new VRectangle(0, 0, 100, 100);
+	private static final double standardDeviation = 0.7;
+
+	@Param({"10", "1000", "10000"})
+	public int numberOfAgents;
+
+	@Param({"5.0", "10.0"})
+	public double scale;
+
+	private IGaussianFilter filter;
+	private float[] input;
+	private float[] kernel;
+	private int width;
+	private int height;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(0);
+		AttributesAgent attributesAgent = new AttributesAgent();
+		List<Pedestrian> pedestrians = new ArrayList<>();
+		for (int i = 0; i < numberOfAgents; i++) {
+			Pedestrian pedestrian = new Pedestrian(new AttributesAgent(attributesAgent, i + 1), random);
+			pedestrian.setPosition(new VPoint(
+					bound.getMinX() + random.nextDouble() * bound.getWidth(),
+					bound.getMinY() + random.nextDouble() * bound.getHeight()));
+			pedestrians.add(pedestrian);
+		}
+
+		filter = IGaussianFilter.create(bound, pedestrians, scale, standardDeviation, attributesAgent,
+				IPedestrianLoadingStrategy.create(), IGaussianFilter.Type.NativeJava);
+		filter.filterImage();
+
+		width = filter.getMatrixWidth();
+		height = filter.getMatrixHeight();
+		input = new float[width * height];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				input[y * width + x] = (float) filter.getInputValue(x, y);
+			}
+		}
+
+		int kernelWidth = (int) (9 * scale) + 1;
+		kernelWidth = kernelWidth % 2 == 0 ? kernelWidth + 1 : kernelWidth;
+		kernel = Convolution.floatGaussian1DKernel(kernelWidth, (float) (standardDeviation * scale));
+	}
+
+	@Benchmark
+	public double pedestrianDensity() {
+		filter.filterImage();
+		return filter.getFilteredValue(width / 2, height / 2);
+	}
+
+	@Benchmark
+	public float[] referenceConvolution() {
+		return Convolution.convolveSeperate(input, kernel, kernel, width, height, kernel.length);
+	}
+}
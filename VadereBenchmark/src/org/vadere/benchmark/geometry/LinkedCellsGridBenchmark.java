@@ -0,0 +1,102 @@
+package org.vadere.benchmark.geometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.util.geometry.LinkedCellsGrid;
+import org.vadere.util.geometry.PointPositioned;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Neighbour queries and updates of the {@link LinkedCellsGrid} which is used to find the agents
+ * close to an agent, e.g. for the pedestrian potential of the OSM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkedCellsGridBenchmark {
+
+	private static final VRectangle bound = new VRectangle(0, 0, 100, 100);
+	private static final int numberOfQueries = 1 << 12;
+
+	@Param({"1000", "10000"})
+	public int numberOfObjects;
+
+	@Param({"1.0", "3.0"})
+	public double radius;
+
+	private LinkedCellsGrid<Element> grid;
+	private Element[] elements;
+	private VPoint[] queries;
+	private Random random;
+	private int next;
+
+	private static class Element implements PointPositioned {
+		private VPoint position;
+
+		private Element(final VPoint position) {
+			this.position = position;
+		}
+
+		@Override
+		public VPoint getPosition() {
+			return position;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		random = new Random(0);
+		grid = new LinkedCellsGrid<>(bound, 2.0);
+		elements = new Element[numberOfObjects];
+		for(int i = 0; i < numberOfObjects; i++) {
+			elements[i] = new Element(randomPoint());
+			grid.addObject(elements[i]);
+		}
+
+		queries = new VPoint[numberOfQueries];
+		for(int i = 0; i < numberOfQueries; i++) {
+			queries[i] = randomPoint();
+		}
+	}
+
+	private VPoint randomPoint() {
+		return new VPoint(bound.getMinX() + random.nextDouble() * bound.getWidth(), bound.getMinY() + random.nextDouble() * bound.getHeight());
+	}
+
+	@Benchmark
+	public List<Element> getObjects() {
+		next = (next + 1) & (numberOfQueries - 1);
+		return grid.getObjects(queries[next], radius);
+	}
+
+	@Benchmark
+	public int moveObject() {
+		next = (next + 1) % numberOfObjects;
+		Element element = elements[next];
+		VPoint oldPosition = element.position;
+		VPoint newPosition = new VPoint(
+				Math.min(Math.max(oldPosition.x + random.nextDouble() - 0.5, bound.getMinX()), bound.getMaxX() - 1e-6),
+				Math.min(Math.max(oldPosition.y + random.nextDouble() - 0.5, bound.getMinY()), bound.getMaxY() - 1e-6));
+		element.position = newPosition;
+		grid.moveObject(element, oldPosition);
+		return grid.size();
+	}
+}
@@ -0,0 +1,74 @@
+package org.vadere.benchmark.geometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.util.geometry.GeometryUtils;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VPolygon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distance and containment tests of a {@link VPolygon}. Obstacles and targets are polygons,
+ * therefore these operations are part of the obstacle distance function and of every target check.
+ * The polygon is a non-convex star with <tt>numberOfVertices</tt> vertices.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VPolygonBenchmark {
+
+	private static final int numberOfQueries = 1 << 12;
+
+	@Param({"8", "64", "512"})
+	public int numberOfVertices;
+
+	private VPolygon polygon;
+	private VPoint[] queries;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		List<VPoint> points = new ArrayList<>(numberOfVertices);
+		for(int i = 0; i < numberOfVertices; i++) {
+			double angle = 2 * Math.PI * i / numberOfVertices;
+			double radius = i % 2 == 0 ? 10.0 : 5.0;
+			points.add(new VPoint(radius * Math.cos(angle), radius * Math.sin(angle)));
+		}
+		polygon = GeometryUtils.toPolygon(points);
+
+		Random random = new Random(0);
+		queries = new VPoint[numberOfQueries];
+		for(int i = 0; i < numberOfQueries; i++) {
+			queries[i] = new VPoint(random.nextDouble() * 30 - 15, random.nextDouble() * 30 - 15);
+		}
+	}
+
+	@Benchmark
+	public double distance() {
+		next = (next + 1) & (numberOfQueries - 1);
+		return polygon.distance(queries[next]);
+	}
+
+	@Benchmark
+	public boolean contains() {
+		next = (next + 1) & (numberOfQueries - 1);
+		return polygon.contains(queries[next]);
+	}
+}
@@ -0,0 +1,91 @@
+package org.vadere.benchmark.osm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.benchmark.BenchmarkScenarios;
+import org.vadere.benchmark.SimulationFixture;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.osm.OptimalStepsModel;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.simulator.models.osm.optimization.StepCircleOptimizer;
+import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
+import org.vadere.simulator.models.potential.fields.IPotentialFieldTargetGrid;
+import org.vadere.state.attributes.models.AttributesOSM;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The optimization of the next position of a single agent of the Optimal Steps Model, i.e. the work
+ * done for every agent in every step of the OSM. The agents are placed randomly into a reference
+ * scenario whose <tt>optimizationType</tt> is replaced by the benchmark parameter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepCircleOptimizerBenchmark {
+
+	@Param({"DISCRETE", "NELDER_MEAD", "NELDER_MEAD_CIRCLE", "BRENT", "PSO"})
+	public String optimizationType;
+
+	@Param({"200"})
+	public int numberOfAgents;
+
+	private SimulationFixture fixture;
+	private StepCircleOptimizer optimizer;
+	private PedestrianOSM[] pedestrians;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		String json = BenchmarkScenarios.replaceAttribute(
+				BenchmarkScenarios.readJson(BenchmarkScenarios.OSM), "optimizationType", optimizationType);
+		fixture = new SimulationFixture(BenchmarkScenarios.createScenario(json, 1.0));
+
+		OptimalStepsModel model = (OptimalStepsModel) fixture.getMainModel();
+		AttributesOSM attributesOSM = Model.findAttributes(fixture.getScenario().getModelAttributes(), AttributesOSM.class);
+		IPotentialFieldTarget potentialFieldTarget = model.getPotentialFieldTarget();
+		optimizer = StepCircleOptimizer.create(
+				attributesOSM,
+				fixture.getRandom(),
+				fixture.getTopography(),
+				potentialFieldTarget instanceof IPotentialFieldTargetGrid ? (IPotentialFieldTargetGrid) potentialFieldTarget : null);
+
+		List<Pedestrian> agents = fixture.populate(numberOfAgents);
+		pedestrians = new PedestrianOSM[agents.size()];
+		for(int i = 0; i < pedestrians.length; i++) {
+			pedestrians[i] = (PedestrianOSM) agents.get(i);
+			pedestrians[i].refreshRelevantPedestrians();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		fixture.close();
+	}
+
+	@Benchmark
+	public VPoint getNextPosition() {
+		next = (next + 1) % pedestrians.length;
+		PedestrianOSM pedestrian = pedestrians[next];
+		return optimizer.getNextPosition(pedestrian, new VCircle(pedestrian.getPosition(), pedestrian.getDesiredStepSize()));
+	}
+}
@@ -0,0 +1,93 @@
+package org.vadere.benchmark.output;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.projects.dataprocessing.DataProcessingJsonManager;
+import org.vadere.simulator.projects.dataprocessing.datakey.TimestepPedestrianIdKey;
+import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
+import org.vadere.simulator.projects.dataprocessing.outputfile.TimestepPedestrianIdOutputFile;
+import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.processor.PedestrianPositionProcessor;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the trajectories of a simulation, i.e. the typical <tt>postvis.traj</tt> output, by
+ * {@link OutputFile#write()}. The processor is filled with synthetic positions of
+ * <tt>numberOfAgents</tt> agents over <tt>numberOfSteps</tt> steps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OutputFileBenchmark {
+
+	@Param({"100", "1000"})
+	public int numberOfSteps;
+
+	@Param({"100"})
+	public int numberOfAgents;
+
+	private File file;
+	private OutputFile<TimestepPedestrianIdKey> outputFile;
+
+	/**
+	 * A {@link PedestrianPositionProcessor} whose data is not computed from a simulation state.
+	 */
+	private static class PositionProcessor extends PedestrianPositionProcessor {
+		private void put(final int step, final int pedestrianId, final VPoint position) {
+			putValue(new TimestepPedestrianIdKey(step, pedestrianId), position);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		Random random = new Random(0);
+		PositionProcessor processor = new PositionProcessor();
+		processor.setId(1);
+		for(int step = 1; step <= numberOfSteps; step++) {
+			for(int id = 1; id <= numberOfAgents; id++) {
+				processor.put(step, id, new VPoint(random.nextDouble() * 100, random.nextDouble() * 100));
+			}
+		}
+
+		file = Files.createTempFile("vadere-benchmark", ".traj").toFile();
+		outputFile = new TimestepPedestrianIdOutputFile();
+		outputFile.setAbsoluteFileName(file.getAbsolutePath());
+		outputFile.setSeparator(DataProcessingJsonManager.DEFAULT_SEPARATOR);
+		outputFile.setProcessorIds(Collections.singletonList(processor.getId()));
+		Map<Integer, DataProcessor<?, ?>> processorMap = Collections.singletonMap(processor.getId(), processor);
+		outputFile.init(processorMap);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Benchmark
+	public long write() {
+		outputFile.write();
+		return file.length();
+	}
+}
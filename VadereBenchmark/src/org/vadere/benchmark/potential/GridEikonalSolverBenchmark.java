@@ -0,0 +1,92 @@
+package org.vadere.benchmark.potential;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFIM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFSM;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FloorDiscretizer;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computation of a static floor field on a {@link CellGrid} by the grid based eikonal solvers.
+ * Each invocation solves the eikonal equation on a fresh grid.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GridEikonalSolverBenchmark {
+
+	static final List<VShape> obstacles = Arrays.asList(
+			new VRectangle(16, 39.8, 5.6, 40.3),
+			new VRectangle(21.5, 73.1, 45.8, 7.0),
+			new VRectangle(60.9, 38.4, 6.4, 34.7));
+
+	static final List<VShape> targets = Arrays.asList(new VRectangle(31.3, 86.4, 30.0, 10.0));
+
+	static final VRectangle bound = new VRectangle(0, 0, 100, 100);
+
+	@Param({"FMM", "FIM", "FSM"})
+	public String solverType;
+
+	@Param({"0.1", "0.2"})
+	public double resolution;
+
+	private EikonalSolver solver;
+	private CellGrid cellGrid;
+
+	@Setup(Level.Invocation)
+	public void setup() {
+		cellGrid = new CellGrid(bound.getWidth(), bound.getHeight(), resolution, new CellState(), bound.getMinX(), bound.getMinY());
+		for (VShape shape : targets) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, shape, new CellState(0.0, PathFindingTag.Target));
+		}
+		for (VShape obstacle : obstacles) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, obstacle, new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
+		}
+
+		IDistanceFunction distanceFunction = IDistanceFunction.createToTargets(targets);
+		switch (solverType) {
+			case "FIM":
+				solver = new EikonalSolverFIM(cellGrid, distanceFunction, true, new UnitTimeCostFunction(), 0.1, 1.0);
+				break;
+			case "FSM":
+				solver = new EikonalSolverFSM(cellGrid, distanceFunction, true, new UnitTimeCostFunction(), 0.1, 1.0);
+				break;
+			case "FMM":
+			default:
+				solver = new EikonalSolverFMM(cellGrid, distanceFunction, true, new UnitTimeCostFunction(), 0.1, 1.0);
+				break;
+		}
+	}
+
+	@Benchmark
+	public double solve() {
+		solver.solve();
+		return cellGrid.getValue(0, 0).potential;
+	}
+}
@@ -0,0 +1,69 @@
+package org.vadere.benchmark.potential;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.meshing.mesh.gen.PFace;
+import org.vadere.meshing.mesh.gen.PHalfEdge;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.triangulation.improver.eikmesh.impl.PEikMesh;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computation of a static floor field on an unstructured mesh generated by EikMesh for the same
+ * geometry as {@link GridEikonalSolverBenchmark}. The mesh is generated once per trial, each invocation
+ * solves the eikonal equation on it by a fresh solver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MeshEikonalSolverBenchmark {
+
+	@Param({"1.0", "0.5"})
+	public double initialEdgeLength;
+
+	private IIncrementalTriangulation<PVertex, PHalfEdge, PFace> triangulation;
+	private EikonalSolver solver;
+
+	@Setup(Level.Trial)
+	public void generateMesh() {
+		IDistanceFunction distanceFunction = IDistanceFunction.create(GridEikonalSolverBenchmark.bound, GridEikonalSolverBenchmark.obstacles);
+		PEikMesh meshImprover = new PEikMesh(
+				distanceFunction,
+				p -> initialEdgeLength,
+				initialEdgeLength,
+				GridEikonalSolverBenchmark.bound,
+				GridEikonalSolverBenchmark.obstacles);
+		meshImprover.generate();
+		triangulation = meshImprover.getTriangulation();
+	}
+
+	@Setup(Level.Invocation)
+	public void createSolver() {
+		solver = new MeshEikonalSolverFMM<>(GridEikonalSolverBenchmark.targets, new UnitTimeCostFunction(), triangulation);
+	}
+
+	@Benchmark
+	public double solve() {
+		solver.solve();
+		return solver.getPotential(1.0, 1.0);
+	}
+}
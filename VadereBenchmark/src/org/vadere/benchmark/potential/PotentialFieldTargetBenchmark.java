@@ -0,0 +1,80 @@
+package org.vadere.benchmark.potential;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.benchmark.BenchmarkScenarios;
+import org.vadere.benchmark.SimulationFixture;
+import org.vadere.simulator.models.potential.PotentialFieldModel;
+import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation of the target potential of a reference scenario, i.e. the interpolation of the
+ * floor field which is done several times per agent and step. The evaluation points are taken
+ * from the step circles of randomly placed agents.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PotentialFieldTargetBenchmark {
+
+	private static final int numberOfQueries = 1 << 12;
+
+	@Param({BenchmarkScenarios.OSM, BenchmarkScenarios.OSM_ROOM})
+	public String scenario;
+
+	private SimulationFixture fixture;
+	private IPotentialFieldTarget potentialFieldTarget;
+	private Pedestrian[] agents;
+	private VPoint[] queries;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		fixture = new SimulationFixture(BenchmarkScenarios.createScenario(BenchmarkScenarios.readJson(scenario), 1.0));
+		potentialFieldTarget = ((PotentialFieldModel) fixture.getMainModel()).getPotentialFieldTarget();
+
+		List<Pedestrian> pedestrians = fixture.populate(numberOfQueries / 16);
+		Random random = new Random(0);
+		agents = new Pedestrian[numberOfQueries];
+		queries = new VPoint[numberOfQueries];
+		for(int i = 0; i < numberOfQueries; i++) {
+			Pedestrian pedestrian = pedestrians.get(i % pedestrians.size());
+			double angle = random.nextDouble() * 2 * Math.PI;
+			double radius = random.nextDouble() * 0.8;
+			agents[i] = pedestrian;
+			queries[i] = pedestrian.getPosition().add(new VPoint(radius * Math.cos(angle), radius * Math.sin(angle)));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		fixture.close();
+	}
+
+	@Benchmark
+	public double getPotential() {
+		next = (next + 1) & (numberOfQueries - 1);
+		return potentialFieldTarget.getPotential(queries[next], agents[next]);
+	}
+}
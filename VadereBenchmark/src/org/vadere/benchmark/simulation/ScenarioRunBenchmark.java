@@ -0,0 +1,65 @@
+package org.vadere.benchmark.simulation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.benchmark.BenchmarkScenarios;
+import org.vadere.simulator.control.simulation.ScenarioRun;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full simulation runs of reference scenarios of the <tt>Scenarios</tt> directory, one per main model.
+ * Each invocation simulates <tt>simTimeInSec</tt> seconds of a freshly loaded scenario without any output.
+ * This includes the computation of the floor fields, i.e. the same work as a simulation started by the
+ * console without a cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScenarioRunBenchmark {
+
+	@Param({BenchmarkScenarios.OSM, BenchmarkScenarios.OSM_ROOM, BenchmarkScenarios.BHM, BenchmarkScenarios.GNM, BenchmarkScenarios.SFM})
+	public String scenario;
+
+	@Param({"30.0"})
+	public double simTimeInSec;
+
+	private String json;
+	private Path scenarioPath;
+	private ScenarioRun scenarioRun;
+
+	@Setup(Level.Trial)
+	public void readScenario() throws IOException {
+		json = BenchmarkScenarios.readJson(scenario);
+		scenarioPath = BenchmarkScenarios.resolve(scenario);
+	}
+
+	@Setup(Level.Invocation)
+	public void createScenarioRun() throws IOException {
+		Scenario scenario = BenchmarkScenarios.createScenario(json, simTimeInSec);
+		scenarioRun = new ScenarioRun(scenario, null, scenarioPath, ScenarioCache.empty());
+	}
+
+	@Benchmark
+	public ScenarioRun run() {
+		scenarioRun.run();
+		return scenarioRun;
+	}
+}
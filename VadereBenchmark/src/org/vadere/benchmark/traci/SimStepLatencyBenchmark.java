@@ -0,0 +1,84 @@
+package org.vadere.benchmark.traci;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.benchmark.BenchmarkScenarios;
+import org.vadere.manager.RemoteManager;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.projects.io.JsonConverter;
+import org.vadere.state.scenario.Pedestrian;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a TraCI simulation step as seen by the client handler: advance the simulation by one step and read
+ * the state once, like a SIM_STEP followed by a subscription update. Compares the simulation running in its own
+ * thread with the simulation running within the thread of the client handler (<tt>--in-thread-stepping</tt>).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimStepLatencyBenchmark {
+
+	@Param({"false", "true"})
+	public boolean inThreadStepping;
+
+	@Param({BenchmarkScenarios.BHM})
+	public String scenario;
+
+	private RemoteManager remoteManager;
+	private Path outputDir;
+	private double stepInSec;
+	private double simTimeInSec;
+	private int numberOfPedestrians;
+
+	@Setup(Level.Trial)
+	public void startSimulation() throws IOException {
+		// the simulation must not end during the benchmark
+		Scenario benchmarkScenario = BenchmarkScenarios.createScenario(BenchmarkScenarios.readJson(scenario), 1.0e6);
+		stepInSec = benchmarkScenario.getAttributesSimulation().getSimTimeStepLength();
+		outputDir = Files.createTempDirectory("vadere-benchmark");
+
+		remoteManager = new RemoteManager(outputDir, false, inThreadStepping);
+		remoteManager.loadScenario(JsonConverter.serializeScenarioRunManager(benchmarkScenario));
+		remoteManager.startSimulation();
+		while (!inThreadStepping && !remoteManager.getRemoteSimulationRun().isWaitForSimCommand()) {
+			Thread.onSpinWait();
+		}
+		simTimeInSec = 0;
+	}
+
+	@TearDown(Level.Trial)
+	public void stopSimulation() throws IOException {
+		remoteManager.stopSimulationIfRunning();
+		Files.walk(outputDir)
+				.sorted((a, b) -> b.compareTo(a))
+				.forEach(path -> path.toFile().delete());
+	}
+
+	@Benchmark
+	public int simStep() {
+		simTimeInSec += stepInSec;
+		remoteManager.nextStep(simTimeInSec);
+		remoteManager.accessState((manager, state) ->
+				numberOfPedestrians = state.getTopography().getElements(Pedestrian.class).size());
+		return numberOfPedestrians;
+	}
+}
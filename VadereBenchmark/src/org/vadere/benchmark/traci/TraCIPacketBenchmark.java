@@ -0,0 +1,99 @@
+package org.vadere.benchmark.traci;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commandHandler.variables.PersonVar;
+import org.vadere.manager.traci.reader.TraCIPacketBuffer;
+import org.vadere.manager.traci.response.StatusResponse;
+import org.vadere.manager.traci.response.TraCIGetResponse;
+import org.vadere.manager.traci.response.TraCIResponse;
+import org.vadere.manager.traci.response.TraCIStatusResponse;
+import org.vadere.manager.traci.writer.TraCIPacket;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the TraCI packets exchanged in every step of a co-simulation: the server
+ * answers a position list request for all agents and the client sets the positions of all agents.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraCIPacketBenchmark {
+
+	@Param({"100", "1000"})
+	public int numberOfAgents;
+
+	private Map<String, VPoint> positions;
+	private byte[] positionListResponse;
+	private byte[] setPositionCommands;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(0);
+		positions = new HashMap<>();
+		for(int i = 1; i <= numberOfAgents; i++) {
+			positions.put(Integer.toString(i), new VPoint(random.nextDouble() * 100, random.nextDouble() * 100));
+		}
+		positionListResponse = encodePositionListResponse();
+		setPositionCommands = encodeSetPositionCommands();
+	}
+
+	@Benchmark
+	public byte[] encodePositionListResponse() {
+		TraCIGetResponse response = new TraCIGetResponse(
+				new StatusResponse(TraCICmd.GET_PERSON_VALUE, TraCIStatusResponse.OK, ""),
+				TraCICmd.RESPONSE_GET_PERSON_VALUE);
+		response.setVariableIdentifier(PersonVar.POSITION_LIST.id);
+		response.setElementIdentifier("");
+		response.setResponseDataType(PersonVar.POSITION_LIST.type);
+		response.setResponseData(positions);
+		return TraCIPacket.create().wrapGetResponse(response).send();
+	}
+
+	@Benchmark
+	public TraCIResponse decodePositionListResponse() {
+		ByteBuffer buffer = ByteBuffer.wrap(positionListResponse);
+		buffer.getInt(); // packet length
+		return TraCIPacketBuffer.wrap(buffer).nextResponse();
+	}
+
+	@Benchmark
+	public byte[] encodeSetPositionCommands() {
+		TraCIPacket packet = TraCIPacket.create();
+		for(Map.Entry<String, VPoint> entry : positions.entrySet()) {
+			packet.wrapCommand(TraCICmd.SET_PERSON_STATE, entry.getKey(), PersonVar.POSITION.id, PersonVar.POSITION.type, entry.getValue());
+		}
+		return packet.send();
+	}
+
+	@Benchmark
+	public void decodeSetPositionCommands(final Blackhole blackhole) {
+		ByteBuffer buffer = ByteBuffer.wrap(setPositionCommands);
+		buffer.getInt(); // packet length
+		TraCIPacketBuffer packetBuffer = TraCIPacketBuffer.wrap(buffer);
+		while (buffer.hasRemaining()) {
+			blackhole.consume(packetBuffer.nextCommand());
+		}
+	}
+}
@@ -4,6 +4,7 @@ import org.vadere.manager.traci.commandHandler.CommandExecutor;
 import org.vadere.manager.traci.commands.TraCICommand;
 import org.vadere.manager.traci.reader.TraCIPacketBuffer;
 import org.vadere.manager.traci.writer.TraCIPacket;
+import org.vadere.simulator.utils.cache.SharedFloorFieldRegistry;
 import org.vadere.util.logging.Logger;
 
 import java.io.EOFException;
@@ -26,9 +27,13 @@ public class ClientHandler implements Runnable {
 
 
 	public ClientHandler(ServerSocket serverSocket, TraCISocket traCISocket, Path basedir, boolean guiSupport) {
+		this(serverSocket, traCISocket, basedir, guiSupport, false);
+	}
+
+	public ClientHandler(ServerSocket serverSocket, TraCISocket traCISocket, Path basedir, boolean guiSupport, boolean inThreadStepping) {
 		this.serverSocket = serverSocket;
 		this.traCISocket = traCISocket;
-		this.remoteManager = new RemoteManager(basedir, guiSupport);
+		this.remoteManager = new RemoteManager(basedir, guiSupport, inThreadStepping);
 		this.cmdExecutor = new CommandExecutor(remoteManager);
 		this.scenarioString = ""; // traci will provide the scenario
 	}
@@ -37,6 +42,13 @@ public class ClientHandler implements Runnable {
 		this.scenarioString = scenarioString;
 	}
 
+	/**
+	 * Shares the static floor fields of the simulations of this client with the other clients of the server.
+	 */
+	public void setSharedFloorFieldRegistry(SharedFloorFieldRegistry sharedFloorFieldRegistry) {
+		remoteManager.setSharedFloorFieldRegistry(sharedFloorFieldRegistry);
+	}
+
 	@Override
 	public void run() {
 		try {
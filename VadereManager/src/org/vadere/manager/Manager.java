@@ -39,6 +39,7 @@ public class Manager {
 				ExecutorService pool = Executors.newFixedThreadPool(ns.getInt("clientNum"));
 				server = new VadereServer(serverSocket, pool, Paths.get(ns.getString("output-dir")), ns.getBoolean("guiMode"), ns.getBoolean("trace"));
 			}
+			server.setInThreadStepping(ns.getBoolean("inThreadStepping"));
 			server.run();
 			logger.info("Run finished.");
 
@@ -125,6 +126,14 @@ public class Manager {
 				.dest("guiMode")
 				.help("Start server with GUI support. If a scenario is received show the current state of the scenario");
 
+		parser.addArgument("--in-thread-stepping")
+				.required(false)
+				.action(Arguments.storeTrue())
+				.type(Boolean.class)
+				.dest("inThreadStepping")
+				.help("Run each simulation within the thread of its TraCI client handler instead of a separate simulation thread. " +
+						"This avoids the hand over between both threads for each simulation step.");
+
 		parser.addArgument("--output-dir", "-o")
 				.required(false)
 				.setDefault("./vadere-server-output")
@@ -11,6 +11,7 @@ import org.vadere.simulator.projects.RunnableFinishedListener;
 import org.vadere.simulator.projects.Scenario;
 import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
 import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.simulator.utils.cache.SharedFloorFieldRegistry;
 import org.vadere.state.traci.TraCIException;
 import org.vadere.state.traci.TraCIExceptionInternal;
 import org.vadere.util.io.IOUtils;
@@ -49,14 +50,25 @@ public class RemoteManager implements RunnableFinishedListener {
 	private boolean clientCloseCommandReceived;
 	private Path defaultOutputdir;    // defined by command line parameter. May be overwritten by simCfg
 	private boolean guiSupport;
+	private boolean inThreadStepping;
 	private SimulationCfg simCfg;    // received from traci client.
+	private SharedFloorFieldRegistry sharedFloorFieldRegistry; // shared with the other clients of the server, may be null.
 
 	private List<Subscription> subscriptions;
 
 
 	public RemoteManager(Path defaultOutputdir, boolean guiSupport) {
+		this(defaultOutputdir, guiSupport, false);
+	}
+
+	/**
+	 * @param inThreadStepping if true, the simulation runs within the thread calling {@link #nextStep(double)}
+	 *                         instead of its own thread, see {@link RemoteScenarioRun}
+	 */
+	public RemoteManager(Path defaultOutputdir, boolean guiSupport, boolean inThreadStepping) {
 		this.defaultOutputdir = defaultOutputdir;
 		this.guiSupport = guiSupport;
+		this.inThreadStepping = inThreadStepping;
 		this.subscriptions = new ArrayList<>();
 		this.clientCloseCommandReceived = false;
 		this.simCfg = null;
@@ -92,7 +104,8 @@ public class RemoteManager implements RunnableFinishedListener {
 				logger.infof("received seed from traci client '%s'", Long.toString(simCfg.getSeed()));
 			}
 		}
-		currentSimulationRun = new RemoteScenarioRun(scenario, outputDir, this, scenarioPath, scenarioCache);
+		currentSimulationRun = new RemoteScenarioRun(scenario, outputDir, this, scenarioPath, scenarioCache, inThreadStepping);
+		currentSimulationRun.setSharedFloorFieldRegistry(sharedFloorFieldRegistry);
 	}
 
 	public SimThreadState getCurrentSimThreadState(){
@@ -123,6 +136,14 @@ public class RemoteManager implements RunnableFinishedListener {
 	}
 
 	public boolean stopSimulationIfRunning(){
+		if (currentSimulationRun != null && currentSimulationRun.isInThreadStepping()) {
+			if (currentSimulationRun.stopInThread()) {
+				logger.errorf("stop simulation");
+				return true;
+			}
+			return false;
+		}
+
 		if (currentSimulationThread != null && currentSimulationThread.isAlive()) {
 			logger.errorf("kill simulation thread");
 			currentSimulationThread.interrupt();
@@ -197,21 +218,31 @@ public class RemoteManager implements RunnableFinishedListener {
 			throw new TraCIExceptionInternal("A simulation is already running. Stop current simulation before starting new one.");
 
 		simulationFinished = false;
-		currentSimulationThread = new Thread(currentSimulationRun);
-		currentSimulationThread.setUncaughtExceptionHandler((t, ex) -> {
-			currentSimulationRun.simulationFailed(ex);
-		});
-
 		if (guiSupport) {
 			OnlineVisualization onlineVisualization = new OnlineVisualization(true);
 			currentSimulationRun.addPassiveCallback(onlineVisualization);
 			ServerView.startServerGui(onlineVisualization);
 		}
 
+		if (inThreadStepping) {
+			logger.infof("Start Scenario %s with remote control in the client thread...", currentSimulationRun.getScenario().getName());
+			currentSimulationRun.startSimulationInThread();
+			return;
+		}
+
+		currentSimulationThread = new Thread(currentSimulationRun);
+		currentSimulationThread.setUncaughtExceptionHandler((t, ex) -> {
+			currentSimulationRun.simulationFailed(ex);
+		});
+
 		logger.infof("Start Scenario %s with remote control...", currentSimulationRun.getScenario().getName());
 		currentSimulationThread.start();
 	}
 
+	public void setSharedFloorFieldRegistry(SharedFloorFieldRegistry sharedFloorFieldRegistry) {
+		this.sharedFloorFieldRegistry = sharedFloorFieldRegistry;
+	}
+
 	public SimulationCfg getSimCfg() {
 		return simCfg;
 	}
@@ -11,27 +11,55 @@ import org.vadere.state.traci.TraCIException;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class RemoteScenarioRun extends ScenarioRun implements RemoteRunListener {
 
 	private final Object waitForSimStepLoopEnd;
 	private final ReentrantLock lock;
+
+	/**
+	 * released as soon as the simulation thread waits for its first command or the run has finished, even if it failed.
+	 */
+	private final CountDownLatch firstSimCommand;
+
+	/**
+	 * if true, the simulation runs within the thread of the TraCI client handler instead of its own thread,
+	 * i.e. {@link #nextStep(double)} simulates the steps and {@link #accessState} runs inline.
+	 */
+	private final boolean inThreadStepping;
 	private List<Subscription> subscriptions;
 	private double simulationStoppedEarlyAtTime;
 
 
 	public RemoteScenarioRun(Scenario scenario, Path outputDir, RunnableFinishedListener scenarioFinishedListener, Path scenarioPath, ScenarioCache scenarioCache) {
+		this(scenario, outputDir, scenarioFinishedListener, scenarioPath, scenarioCache, false);
+	}
+
+	public RemoteScenarioRun(Scenario scenario, Path outputDir, RunnableFinishedListener scenarioFinishedListener, Path scenarioPath, ScenarioCache scenarioCache, boolean inThreadStepping) {
 		// overwriteTimestampSetting. In RemoteScenarioRun the caller defines where the output should go.
 		super(scenario, outputDir.toString(), true,scenarioFinishedListener, scenarioPath, scenarioCache);
 		this.singleStepMode = true;
+		this.inThreadStepping = inThreadStepping;
 		this.waitForSimStepLoopEnd = new Object();
 		this.lock = new ReentrantLock();
+		this.firstSimCommand = new CountDownLatch(1);
 		this.simulationStoppedEarlyAtTime = Double.MAX_VALUE;
 		addRemoteManagerListener(this);
 	}
 
 	synchronized public boolean accessState(RemoteManager remoteManager, StateAccessHandler stateAccessHandler) {
+		if (inThreadStepping) {
+			// the simulation does not run between the TraCI commands, i.e. no synchronization is required
+			if (!checkValidThreadState()){
+				throw new TraCIException("Invalid access to simulation state. Simulation thread in state %s", getCurrentSimThreadState().name());
+			}
+			stateAccessHandler.execute(remoteManager, getSimulationState());
+			return true;
+		}
+
 		try {
 			if (!isWaitForSimCommand()) {
 				synchronized (waitForSimStepLoopEnd) {
@@ -65,6 +93,11 @@ public class RemoteScenarioRun extends ScenarioRun implements RemoteRunListener
 
 
 	synchronized public void waitForSimulationEnd(){
+		if (inThreadStepping) {
+			finishInThread();
+			return;
+		}
+
 		try {
 			synchronized (waitForSimStepLoopEnd) {
 				waitForSimStepLoopEnd.wait();
@@ -76,6 +109,16 @@ public class RemoteScenarioRun extends ScenarioRun implements RemoteRunListener
 	}
 
 	synchronized public void nextStep(double simTime) {
+		if (inThreadStepping) {
+			// a step after the end of the main loop releases the simulation like the simulation thread does
+			if (getCurrentSimThreadState() == SimThreadState.POST_LOOP) {
+				finishInThread();
+			} else {
+				simulateInThread(simTime);
+			}
+			return;
+		}
+
 		try {
 			lock.lock();
 			nextSimCommand(simTime);
@@ -90,8 +133,54 @@ public class RemoteScenarioRun extends ScenarioRun implements RemoteRunListener
 	}
 
 
+	/**
+	 * Starts the simulation within the calling thread, see {@link #inThreadStepping}.
+	 */
+	synchronized public void startSimulationInThread() {
+		startInThread();
+	}
+
+	/**
+	 * Stops a simulation running within the TraCI client handler thread.
+	 *
+	 * @return true if the simulation was still running
+	 */
+	synchronized public boolean stopInThread() {
+		SimThreadState state = getCurrentSimThreadState();
+		if (state != SimThreadState.MAIN_LOOP && state != SimThreadState.POST_LOOP) {
+			return false;
+		}
+		setIsRunSimulation(false);
+		finishInThread();
+		return true;
+	}
+
+	/**
+	 * Waits until the simulation thread waits for its first command or the run has finished, i.e. until
+	 * {@link #isWaitForSimCommand()} is true or will never become true.
+	 *
+	 * @return false if the waiting time elapsed before
+	 */
+	public boolean awaitFirstSimCommand(long timeout, TimeUnit unit) throws InterruptedException {
+		return firstSimCommand.await(timeout, unit);
+	}
+
+	public boolean isInThreadStepping() {
+		return inThreadStepping;
+	}
+
+	@Override
+	protected void finishRun() {
+		try {
+			super.finishRun();
+		} finally {
+			firstSimCommand.countDown();
+		}
+	}
+
 	@Override
 	public void notifySimStepListener() {
+		firstSimCommand.countDown();
 		synchronized (waitForSimStepLoopEnd) {
 			waitForSimStepLoopEnd.notify();
 		}
@@ -99,6 +188,7 @@ public class RemoteScenarioRun extends ScenarioRun implements RemoteRunListener
 
 	@Override
 	public void notifySimulationEndListener() {
+		firstSimCommand.countDown();
 		synchronized (waitForSimStepLoopEnd) {
 			waitForSimStepLoopEnd.notify();
 		}
@@ -0,0 +1,31 @@
+import sys
+
+import numpy as np
+from py4j.java_gateway import JavaGateway, GatewayParameters
+
+# Expects a running gateway:
+#   java -jar vadere-bulk-state-entrypoint.jar --java-port 10001 --in-thread-stepping
+
+
+def agent_state(buf):
+    n = int(np.frombuffer(buf, dtype='<i4', count=1)[0])
+    positions = np.frombuffer(buf, dtype='<f8', count=2 * n, offset=8).reshape(n, 2)
+    velocities = np.frombuffer(buf, dtype='<f8', count=2 * n, offset=8 + 16 * n).reshape(n, 2)
+    ids = np.frombuffer(buf, dtype='<i4', count=n, offset=8 + 32 * n)
+    targets = np.frombuffer(buf, dtype='<i4', count=n, offset=8 + 36 * n)
+    return ids, positions, velocities, targets
+
+
+if __name__ == '__main__':
+    gateway = JavaGateway(gateway_parameters=GatewayParameters(port=10001))
+    vadere = gateway.entry_point
+    vadere.startScenarioFile(sys.argv[1])
+
+    while vadere.nextStep(-1.0):
+        ids, positions, velocities, targets = agent_state(vadere.getAgentState())
+        # slow down all pedestrians close to the origin
+        slow = ids[np.linalg.norm(positions, axis=1) < 5.0]
+        vadere.setFreeFlowSpeeds(slow.astype('<i4').tobytes(), np.full(len(slow), 0.5, dtype='<f8').tobytes())
+
+    vadere.close()
+    gateway.shutdown()
@@ -5,11 +5,15 @@ import org.vadere.manager.traci.commands.control.TraCICloseCommand;
 import org.vadere.manager.traci.commands.control.TraCIGetVersionCommand;
 import org.vadere.manager.traci.commands.control.TraCISendFileCommand;
 import org.vadere.manager.traci.commands.control.TraCISimStepCommand;
+import org.vadere.manager.traci.compound.object.FastForward;
 import org.vadere.manager.traci.reader.TraCIPacketBuffer;
 import org.vadere.manager.traci.response.TraCIGetResponse;
 import org.vadere.manager.traci.response.TraCIResponse;
 import org.vadere.manager.traci.response.TraCISimTimeResponse;
+import org.vadere.manager.traci.response.TraCISubscriptionTrace;
 import org.vadere.manager.traci.writer.TraCIPacket;
+import org.vadere.state.traci.CompoundObject;
+import org.vadere.state.traci.TraCIDataType;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.io.IOUtils;
 
@@ -486,6 +490,32 @@ public class TestClient extends org.vadere.manager.client.AbstractTestClient imp
 
 	}
 
+	@Override
+	public void simulationapi_getSimulationMetrics(String[] args) throws IOException {
+		TraCIResponse res = simulationapi.getSimulationMetrics();
+		System.out.println(res.toString());
+	}
+
+	@Override
+	public void simulationapi_fastForward(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.out.println("use: sim.fastForward [targetTime] [numberOfSteps]");
+			return;
+		}
+		double targetTime = Double.parseDouble(args[1]);
+		int numberOfSteps = Integer.parseInt(args[2]);
+
+		TraCIResponse res = simulationapi.fastForward(FastForward.asCompoundObject(targetTime, numberOfSteps));
+		System.out.println(res.toString());
+		if (res.isOK()) {
+			CompoundObject result = (CompoundObject) ((TraCIGetResponse) res).getResponseData();
+			TraCISubscriptionTrace trace = TraCISubscriptionTrace.decode((String) result.getData(2, TraCIDataType.STRING));
+			System.out.printf("simTime=%s, simEndReached=%s, steps=%d%n",
+					result.getData(0), result.getData(1), trace.getNumberOfSteps());
+			trace.getColumns().forEach(System.out::println);
+		}
+	}
+
 	@Override
 	public void simulationapi_getTime(String[] args) throws IOException {
 		TraCIResponse res = simulationapi.getTime();
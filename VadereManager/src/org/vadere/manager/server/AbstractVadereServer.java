@@ -16,11 +16,20 @@ public abstract class AbstractVadereServer implements Runnable {
 	protected final Path baseDir;
 	protected final boolean guiSupport;
 	protected final boolean trace;
+	protected boolean inThreadStepping;
 
 	public AbstractVadereServer(ServerSocket serverSocket, Path baseDir, boolean guiSupport, boolean trace) {
 		this.serverSocket = serverSocket;
 		this.baseDir = baseDir;
 		this.guiSupport = guiSupport;
 		this.trace = trace;
+		this.inThreadStepping = false;
+	}
+
+	/**
+	 * If true, the simulations run within the threads of the client handlers instead of their own threads.
+	 */
+	public void setInThreadStepping(boolean inThreadStepping) {
+		this.inThreadStepping = inThreadStepping;
 	}
 }
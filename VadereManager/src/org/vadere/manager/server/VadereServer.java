@@ -2,6 +2,7 @@ package org.vadere.manager.server;
 
 import org.vadere.manager.ClientHandler;
 import org.vadere.manager.TraCISocket;
+import org.vadere.simulator.utils.cache.SharedFloorFieldRegistry;
 import org.vadere.util.config.VadereConfig;
 
 import java.io.IOException;
@@ -15,15 +16,19 @@ public class VadereServer extends AbstractVadereServer {
 
 	private final ExecutorService handlerPool;
 
+	// static floor fields of the same topography are computed once for all concurrent clients
+	private final SharedFloorFieldRegistry sharedFloorFieldRegistry;
+
 	public VadereServer(ServerSocket serverSocket, ExecutorService handlerPool, Path baseDir, boolean guiSupport, boolean trace) {
 		super(serverSocket, baseDir, guiSupport, trace);
 		this.handlerPool = handlerPool;
+		this.sharedFloorFieldRegistry = new SharedFloorFieldRegistry();
 	}
 
 	@Override
 	public void run() {
 		try {
-			logger.infof("listening on port %d... (gui-mode: %s)", serverSocket.getLocalPort(), Boolean.toString(guiSupport));
+			logger.infof("listening on port %d... (gui-mode: %s, in-thread-stepping: %s)", serverSocket.getLocalPort(), Boolean.toString(guiSupport), Boolean.toString(inThreadStepping));
 			if (VadereConfig.getConfig().getBoolean("Vadere.cache.useGlobalCacheBaseDir")) {
 				logger.infof("Cache location lookup searches at: %s",
 						VadereConfig.getConfig().getString("Vadere.cache.globalCacheBaseDir"));
@@ -31,7 +36,9 @@ public class VadereServer extends AbstractVadereServer {
 
 			while (true) {
 				Socket clientSocket = serverSocket.accept();
-				handlerPool.execute(new ClientHandler(serverSocket, new TraCISocket(clientSocket, trace), baseDir, guiSupport));
+				ClientHandler handler = new ClientHandler(serverSocket, new TraCISocket(clientSocket, trace), baseDir, guiSupport, inThreadStepping);
+				handler.setSharedFloorFieldRegistry(sharedFloorFieldRegistry);
+				handlerPool.execute(handler);
 			}
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -29,7 +29,7 @@ public class VadereSingleClientServer extends AbstractVadereServer {
 			logger.infof("listening on port %d... (gui-mode: %s) Single Simulation", serverSocket.getLocalPort(), Boolean.toString(guiSupport));
 			Socket clientSocket = serverSocket.accept();
 
-			ClientHandler handler = new ClientHandler(serverSocket, new TraCISocket(clientSocket, trace), baseDir, guiSupport);
+			ClientHandler handler = new ClientHandler(serverSocket, new TraCISocket(clientSocket, trace), baseDir, guiSupport, inThreadStepping);
 			if (scenarioPath != null){
 				if (!scenarioPath.equals("")){
 					handler.setScenario(IOUtils.readTextFile(scenarioPath));
@@ -11,11 +11,14 @@ import org.vadere.manager.traci.commandHandler.annotation.ControlHandlers;
 import org.vadere.manager.traci.commandHandler.variables.ControlVar;
 import org.vadere.manager.traci.commands.TraCICommand;
 import org.vadere.manager.traci.commands.control.*;
+import org.vadere.manager.traci.compound.object.FastForward;
 import org.vadere.manager.traci.response.*;
 import org.vadere.simulator.control.simulation.SimThreadState;
 import org.vadere.util.logging.Logger;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Handel {@link org.vadere.manager.traci.commands.TraCICommand}s for the Control API
@@ -110,22 +113,11 @@ public class ControlCommandHandler extends CommandHandler<ControlVar> {
 			remoteManager.notifySimulationThread();
 			return cmd;
 		}
-		// execute all
-		logger.debugf("%s: execute %d subscriptions",
-				TraCICmd.SIM_STEP.name(),
-				remoteManager.getSubscriptions().size());
-		remoteManager.getSubscriptions().forEach(sub -> sub.executeSubscription(remoteManager));
-
-		// remove subscriptions no longer valid
-		remoteManager.getSubscriptions().removeIf(Subscription::isMarkedForRemoval);
-
 		// get responses
 		TraCISimTimeResponse response = new TraCISimTimeResponse(
 				new StatusResponse(cmd.getTraCICmd(), TraCIStatusResponse.OK, ""));
 
-		remoteManager.getSubscriptions().forEach(sub -> {
-			response.addSubscriptionResponse(sub.getValueSubscriptionCommand().getResponse());
-		});
+		executeSubscriptions(TraCICmd.SIM_STEP, remoteManager).forEach(response::addSubscriptionResponse);
 		cmd.setResponse(response);
 
 		// check RemoteManager if simulation is ended prematurely. This can happen if the
@@ -151,6 +143,61 @@ public class ControlCommandHandler extends CommandHandler<ControlVar> {
 		return cmd;
 	}
 
+	/**
+	 * Advances the simulation step by step until the given fast-forward is reached and collects the
+	 * subscription results of each step in the trace. Between the steps no TraCI command is processed,
+	 * i.e. the client only receives the trace at the end. Ends early if the simulation ends, in which
+	 * case the simulation is released like the end of a {@link TraCICmd#SIM_STEP}.
+	 *
+	 * @return true if the end of the simulation has been reached
+	 */
+	public boolean fastForward(FastForward fastForward, TraCISubscriptionTrace trace, RemoteManager remoteManager) {
+		logger.debugf("%s: fast-forward %s", TraCICmd.GET_SIMULATION_VALUE.name(), fastForward.toString());
+		double[] simTimeInSec = new double[1];
+		int steps = 0;
+		do {
+			if (!remoteManager.nextStep(-1)) {
+				if (remoteManager.getCurrentSimThreadState().equals(SimThreadState.MAIN_LOOP)) {
+					remoteManager.waitForSimulationEnd();
+				}
+				remoteManager.notifySimulationThread();
+				return true;
+			}
+			List<TraCISubscriptionResponse> responses = executeSubscriptions(TraCICmd.GET_SIMULATION_VALUE, remoteManager);
+			remoteManager.accessState((manager, state) -> simTimeInSec[0] = state.getSimTimeInSec());
+			trace.addStep(simTimeInSec[0], responses);
+			steps++;
+
+			if (remoteManager.getSimulationStoppedEarlyAtTime() != Double.MAX_VALUE) {
+				logger.infof("Stop simulation at %f during fast-forward.", remoteManager.getSimulationStoppedEarlyAtTime());
+				remoteManager.notifySimulationThread();
+				return true;
+			}
+		} while (!fastForward.isReached(steps, simTimeInSec[0]));
+
+		return false;
+	}
+
+	/**
+	 * Executes all subscriptions for the current simulation step, removes the subscriptions which are
+	 * no longer valid and returns the responses of the remaining ones.
+	 */
+	private List<TraCISubscriptionResponse> executeSubscriptions(TraCICmd traCICmd, RemoteManager remoteManager) {
+		logger.debugf("%s: execute %d subscriptions",
+				traCICmd.name(),
+				remoteManager.getSubscriptions().size());
+		remoteManager.getSubscriptions().forEach(sub -> sub.executeSubscription(remoteManager));
+
+		// remove subscriptions no longer valid
+		remoteManager.getSubscriptions().removeIf(Subscription::isMarkedForRemoval);
+
+		List<TraCISubscriptionResponse> responses = new ArrayList<>();
+		for (Subscription sub : remoteManager.getSubscriptions()) {
+			responses.add(sub.getValueSubscriptionCommand().getResponse());
+		}
+		return responses;
+	}
+
 	public TraCICommand process_getVersion(TraCICommand rawCmd, RemoteManager remoteManager) {
 
 		TraCIGetVersionCommand cmd = (TraCIGetVersionCommand) rawCmd;
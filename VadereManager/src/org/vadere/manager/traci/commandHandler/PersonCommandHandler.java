@@ -262,7 +262,9 @@ public class PersonCommandHandler extends CommandHandler<PersonVar> {
 			Pedestrian ped = state.getTopography().getPedestrianDynamicElements()
 					.getElement(Integer.parseInt(cmd.getElementId()));
 			if (checkIfPedestrianExists(ped, cmd)) {
+				VPoint oldPosition = ped.getPosition();
 				ped.setPosition(data);
+				state.getTopography().moveElement(ped, oldPosition);
 				cmd.setOK();
 			}
 		});
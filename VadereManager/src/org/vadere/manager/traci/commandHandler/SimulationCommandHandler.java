@@ -14,10 +14,13 @@ import org.vadere.manager.traci.commands.TraCISetCommand;
 import org.vadere.manager.traci.commands.get.TraCIGetCacheHashCommand;
 import org.vadere.manager.traci.commands.get.TraCIGetCompoundPayload;
 import org.vadere.manager.traci.compound.object.CoordRef;
+import org.vadere.manager.traci.compound.object.FastForward;
 import org.vadere.manager.traci.compound.object.PointConverter;
 import org.vadere.manager.traci.compound.object.SimulationCfg;
 import org.vadere.manager.traci.response.TraCIGetResponse;
+import org.vadere.manager.traci.response.TraCISubscriptionTrace;
 import org.vadere.simulator.control.psychology.perception.StimulusController;
+import org.vadere.simulator.control.simulation.SimulationMetrics;
 import org.vadere.simulator.entrypoints.ScenarioFactory;
 import org.vadere.simulator.projects.Scenario;
 import org.vadere.simulator.projects.ScenarioStore;
@@ -31,6 +34,7 @@ import org.vadere.state.scenario.Topography;
 import org.vadere.state.traci.*;
 import org.vadere.state.types.ScenarioElementType;
 import org.vadere.state.util.StateJsonConverter;
+import org.vadere.util.data.LogLinearHistogram;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VPolygon;
 import org.vadere.util.geometry.shapes.VRectangle;
@@ -496,6 +500,72 @@ public class SimulationCommandHandler extends CommandHandler<SimulationVar> {
 		return cmd;
 	}
 
+	/**
+	 * Returns the instrumentation of the simulation loop as JSON, i.e. for each metric
+	 * (the whole step, each phase, the agent count and the allocated bytes per step) a summary
+	 * of its histogram. Times are given in nanoseconds.
+	 */
+	@SimulationHandler(cmd = TraCICmd.GET_SIMULATION_VALUE, var = SimulationVar.SIMULATION_METRICS,
+			name = "getSimulationMetrics", ignoreElementId = true)
+	public TraCICommand process_getSimulationMetrics(TraCIGetCommand cmd, RemoteManager remoteManager) {
+		boolean ret = remoteManager.accessState((manager, state) -> {
+			SimulationMetrics metrics = state.getControllerProvider().getSimulationMetrics();
+			JSONObject summaries = new JSONObject();
+			for (Map.Entry<String, LogLinearHistogram> entry : metrics.getHistograms().entrySet()) {
+				double[] summary = SimulationMetrics.summary(entry.getValue());
+				JSONObject values = new JSONObject();
+				for (int i = 0; i < summary.length; i++) {
+					values.put(SimulationMetrics.SUMMARY_COLUMNS[i], summary[i]);
+				}
+				summaries.put(entry.getKey(), values);
+			}
+			JSONObject result = new JSONObject();
+			result.put("steps", metrics.getNumberOfSteps());
+			result.put("metrics", summaries);
+			cmd.setResponse(responseOK(SimulationVar.SIMULATION_METRICS.type, result.toJSONString()));
+		});
+
+		if (!ret) {
+			cmd.setResponse(responseERR(SimulationVar.SIMULATION_METRICS, "no simulation is running."));
+		}
+		return cmd;
+	}
+
+	/**
+	 * Advances the simulation by multiple steps within one command, see {@link FastForward}, and returns
+	 * the subscription results of all steps at once as {@link TraCISubscriptionTrace}. Clients which only
+	 * need the trajectories between two decision points do not have to wait for a round trip per step.
+	 * The response contains the reached simulation time, whether the end of the simulation has been
+	 * reached (U_BYTE 1) and the encoded trace.
+	 */
+	@SimulationHandler(cmd = TraCICmd.GET_SIMULATION_VALUE, var = SimulationVar.FAST_FORWARD,
+			name = "fastForward", dataTypeStr = "org.vadere.state.traci.CompoundObject", ignoreElementId = true)
+	public TraCICommand process_fastForward(TraCIGetCommand cmd, RemoteManager remoteManager) {
+		FastForward fastForward;
+		try {
+			fastForward = new FastForward(new TraCIGetCompoundPayload(cmd).getData());
+		} catch (TraCIException ex) {
+			cmd.setResponse(responseERR(SimulationVar.FAST_FORWARD, ex.getMessage()));
+			return cmd;
+		}
+		if (remoteManager.getRemoteSimulationRun() == null) {
+			cmd.setResponse(responseERR(SimulationVar.FAST_FORWARD, "no simulation is running."));
+			return cmd;
+		}
+
+		TraCISubscriptionTrace trace = new TraCISubscriptionTrace();
+		boolean simEndReached = ControlCommandHandler.instance.fastForward(fastForward, trace, remoteManager);
+		double simTimeInSec = trace.getNumberOfSteps() > 0 ? trace.getSimTimes().get(trace.getNumberOfSteps() - 1) : -1;
+		CompoundObject result = CompoundObjectBuilder.builder()
+				.rest()
+				.add(TraCIDataType.DOUBLE)
+				.add(TraCIDataType.U_BYTE)
+				.add(TraCIDataType.STRING)
+				.build(simTimeInSec, simEndReached ? 1 : 0, trace.encode());
+		cmd.setResponse(responseOK(SimulationVar.FAST_FORWARD.type, result));
+		return cmd;
+	}
+
 
 
 
@@ -31,7 +31,9 @@ public enum SimulationVar {
 	EXTERNAL_INPUT(0x20, TraCIDataType.COMPOUND_OBJECT),
 	EXTERNAL_INPUT_INIT(0x21, TraCIDataType.COMPOUND_OBJECT),
 	OUTPUT_DIR(0x23, TraCIDataType.STRING),
-	OBSTACLES(0x24, TraCIDataType.STRING);
+	OBSTACLES(0x24, TraCIDataType.STRING),
+	SIMULATION_METRICS(0x25, TraCIDataType.STRING),
+	FAST_FORWARD(0x26, TraCIDataType.COMPOUND_OBJECT);
 
 	public int id;
 	public TraCIDataType type;
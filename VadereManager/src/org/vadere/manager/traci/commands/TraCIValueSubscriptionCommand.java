@@ -5,6 +5,7 @@ import org.vadere.manager.traci.reader.TraCICommandBuffer;
 import org.vadere.manager.traci.response.TraCISubscriptionResponse;
 import org.vadere.manager.traci.writer.TraCIPacket;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -45,6 +46,20 @@ public class TraCIValueSubscriptionCommand extends TraCICommand {
 		getCommands = new ArrayList<>();
 	}
 
+	public static TraCIPacket build(TraCICmd traCICmd, double beginTime, double endTime,
+									String elementIdentifier, List<Integer> variables) {
+		int cmdLen = 1 + 1 + 8 + 8 + 4 + elementIdentifier.getBytes(StandardCharsets.US_ASCII).length + 1 + variables.size();
+		TraCIPacket packet = TraCIPacket.create();
+		packet.writeCommandLength(cmdLen) // [1|5]
+				.writeUnsignedByte(traCICmd.id) // 1
+				.writeDouble(beginTime) // 8
+				.writeDouble(endTime) // 8
+				.writeString(elementIdentifier) // 4+strLen
+				.writeUnsignedByte(variables.size()); // 1
+		variables.forEach(packet::writeUnsignedByte); // 1 each
+		return packet;
+	}
+
 	public void buildGetCommands(TraCICmd getCmdId){
 		for(int varId: variables){
 			getCommands.add(new TraCIGetCommand(getCmdId, varId, elementIdentifier));
@@ -0,0 +1,60 @@
+package org.vadere.manager.traci.compound.object;
+
+import org.vadere.state.traci.CompoundObject;
+import org.vadere.state.traci.CompoundObjectBuilder;
+import org.vadere.state.traci.TraCIDataType;
+import org.vadere.state.traci.TraCIException;
+
+/**
+ * Parameters of a fast-forward received from a TraCI client: the simulation is advanced step by step
+ * until <tt>numberOfSteps</tt> steps are simulated or the simulation time reaches <tt>targetTime</tt>,
+ * whatever comes first. A non-positive value disables the respective limit, at least one limit is
+ * required.
+ */
+public class FastForward {
+
+	private double targetTime;
+	private int numberOfSteps;
+
+	public FastForward(CompoundObject obj) {
+		if (obj.size() != 2) {
+			throw new TraCIException("Expected 2 elements for FastForward");
+		}
+		targetTime = (Double) obj.getData(0, TraCIDataType.DOUBLE);
+		numberOfSteps = (Integer) obj.getData(1, TraCIDataType.INTEGER);
+		if (targetTime <= 0 && numberOfSteps <= 0) {
+			throw new TraCIException("FastForward requires a target time or a number of steps");
+		}
+	}
+
+	public static CompoundObject asCompoundObject(double targetTime, int numberOfSteps) {
+		return CompoundObjectBuilder.builder()
+				.rest()
+				.add(TraCIDataType.DOUBLE)
+				.add(TraCIDataType.INTEGER)
+				.build(targetTime, numberOfSteps);
+	}
+
+	/**
+	 * Returns true if the fast-forward ends after <tt>steps</tt> simulated steps at the given simulation time.
+	 */
+	public boolean isReached(int steps, double simTimeInSec) {
+		return (numberOfSteps > 0 && steps >= numberOfSteps) || (targetTime > 0 && simTimeInSec >= targetTime - 1e-7);
+	}
+
+	public double getTargetTime() {
+		return targetTime;
+	}
+
+	public int getNumberOfSteps() {
+		return numberOfSteps;
+	}
+
+	@Override
+	public String toString() {
+		return "FastForward{" +
+				"targetTime=" + targetTime +
+				", numberOfSteps=" + numberOfSteps +
+				'}';
+	}
+}
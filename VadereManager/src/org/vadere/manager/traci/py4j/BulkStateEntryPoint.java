@@ -0,0 +1,360 @@
+package org.vadere.manager.traci.py4j;
+
+import net.sourceforge.argparse4j.ArgumentParsers;
+import net.sourceforge.argparse4j.impl.Arguments;
+import net.sourceforge.argparse4j.inf.ArgumentParser;
+import net.sourceforge.argparse4j.inf.Namespace;
+import net.sourceforge.argparse4j.internal.HelpScreenException;
+
+import org.vadere.manager.Manager;
+import org.vadere.manager.RemoteManager;
+import org.vadere.manager.RemoteScenarioRun;
+import org.vadere.simulator.control.simulation.SimThreadState;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.Vector2D;
+import org.vadere.util.io.IOUtils;
+import org.vadere.util.logging.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+import py4j.GatewayServer;
+
+/**
+ * Python gateway which runs the simulation within this process and accesses the {@link RemoteManager}
+ * directly, i.e. without the TraCI encoding of {@link TraCIEntryPoint}. The state of all pedestrians is
+ * exchanged in bulk as packed little-endian <tt>byte[]</tt> buffers. py4j transfers a <tt>byte[]</tt> as
+ * a whole (as <tt>bytes</tt>), whereas other arrays are only passed by reference and every element access
+ * is a round trip. On the Python side the buffers can be wrapped without copying:
+ *
+ * <pre>
+ * buf = gateway.entry_point.getAgentState()
+ * n = np.frombuffer(buf, dtype='&lt;i4', count=1)[0]
+ * positions = np.frombuffer(buf, dtype='&lt;f8', count=2 * n, offset=8).reshape(n, 2)
+ * </pre>
+ *
+ * See {@link #getAgentState()} for the layout. The bulk setters take buffers with the same layout as the
+ * respective getters.
+ */
+public class BulkStateEntryPoint implements Runnable {
+
+	private static Logger logger = Logger.getLogger(BulkStateEntryPoint.class);
+
+	private static final int HEADER_BYTES = 8;
+	private static final int DEFAULT_START_TIMEOUT_IN_SEC = 600;
+
+	private final RemoteManager remoteManager;
+	private final boolean inThreadStepping;
+	private String bind;
+	private int javaPort;
+	private int pythonPort;
+	private int startTimeoutInSec = DEFAULT_START_TIMEOUT_IN_SEC;
+	private boolean simulationEnded;
+
+	BulkStateEntryPoint(Path outputDir, boolean inThreadStepping) {
+		this(new RemoteManager(outputDir, false, inThreadStepping), inThreadStepping);
+	}
+
+	BulkStateEntryPoint(RemoteManager remoteManager, boolean inThreadStepping) {
+		this.remoteManager = remoteManager;
+		this.inThreadStepping = inThreadStepping;
+	}
+
+	public static void main(String[] args) {
+		Logger.setMainArguments(args);
+		logger = Logger.getLogger(Manager.class);
+		ArgumentParser p = createArgumentParser();
+
+		try {
+			Namespace ns = p.parseArgs(args);
+			BulkStateEntryPoint entryPoint = new BulkStateEntryPoint(Paths.get(ns.getString("outputDir")), ns.getBoolean("inThreadStepping"));
+			entryPoint.bind = ns.getString("bind");
+			entryPoint.javaPort = ns.getInt("javaPort");
+			entryPoint.pythonPort = ns.getInt("pythonPort");
+			entryPoint.startTimeoutInSec = ns.getInt("startTimeout");
+			entryPoint.run();
+		} catch (HelpScreenException ignored) {
+
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static ArgumentParser createArgumentParser() {
+		ArgumentParser parser = ArgumentParsers.newArgumentParser("Vadere Bulk State Gateway")
+				.defaultHelp(true)
+				.description("Runs the VADERE pedestrian simulator within a py4j gateway for Python.");
+
+		// no action required call to  Logger.setMainArguments(args) already configured Logger.
+		parser.addArgument("--loglevel")
+				.required(false)
+				.type(String.class)
+				.dest("loglevel")
+				.choices("OFF", "FATAL", "ERROR", "WARN", "INFO", "DEBUG", "TRACE", "ALL")
+				.setDefault("INFO")
+				.help("Set Log Level.");
+
+		parser.addArgument("--logname")
+				.required(false)
+				.type(String.class)
+				.dest("logname")
+				.help("Write log to given file.");
+
+		parser.addArgument("--bind")
+				.required(false)
+				.type(String.class)
+				.setDefault("127.0.0.1")
+				.dest("bind")
+				.help("Set ip number.");
+
+		parser.addArgument("--java-port")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(10001)
+				.dest("javaPort")
+				.help("Set port number of gateway server for java.");
+
+		parser.addArgument("--python-port")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(10002)
+				.dest("pythonPort")
+				.help("Set port number of gateway server for python.");
+
+		parser.addArgument("--output-dir", "-o")
+				.required(false)
+				.setDefault("./vadere-server-output")
+				.dest("outputDir")
+				.type(String.class)
+				.help("Supply output directory as base directory for received scenarios.");
+
+		parser.addArgument("--in-thread-stepping")
+				.required(false)
+				.action(Arguments.storeTrue())
+				.dest("inThreadStepping")
+				.help("Simulate the steps within the calling thread instead of a separate simulation thread.");
+
+		parser.addArgument("--start-timeout")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(DEFAULT_START_TIMEOUT_IN_SEC)
+				.dest("startTimeout")
+				.help("Set the time in seconds to wait for the simulation thread to initialize a scenario.");
+
+		return parser;
+	}
+
+	@Override
+	public void run() {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			logger.infof("close gateway");
+			remoteManager.stopSimulationIfRunning();
+		}));
+
+		try {
+			GatewayServer gatewayServer = new GatewayServer.GatewayServerBuilder(this)
+					.javaPort(javaPort)
+					.javaAddress(InetAddress.getByName(bind))
+					.callbackClient(pythonPort, InetAddress.getByName(bind))
+					.build();
+			gatewayServer.start(false);
+			logger.infof("Bulk state gateway listening on %s:%d", bind, javaPort);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Loads the given scenario (json) and starts the simulation. A running simulation is stopped.
+	 *
+	 * @throws IllegalStateException if the simulation thread failed, finished or did not wait for the first
+	 *                               step within the start timeout
+	 */
+	public void startScenario(String scenarioJson) {
+		remoteManager.stopSimulationIfRunning();
+		remoteManager.loadScenario(scenarioJson);
+		remoteManager.startSimulation();
+		if (!inThreadStepping) {
+			awaitFirstStep(remoteManager.getRemoteSimulationRun());
+		}
+		simulationEnded = false;
+	}
+
+	private void awaitFirstStep(RemoteScenarioRun run) {
+		try {
+			if (!run.awaitFirstSimCommand(startTimeoutInSec, TimeUnit.SECONDS)) {
+				remoteManager.stopSimulationIfRunning();
+				throw new IllegalStateException(String.format("Simulation did not start within %d s", startTimeoutInSec));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			remoteManager.stopSimulationIfRunning();
+			throw new IllegalStateException("Interrupted while waiting for the simulation to start", e);
+		}
+		if (!run.isWaitForSimCommand()) {
+			throw new IllegalStateException("Simulation failed or finished before its first step");
+		}
+	}
+
+	public void startScenarioFile(String scenarioPath) throws IOException {
+		startScenario(IOUtils.readTextFile(scenarioPath));
+	}
+
+	/**
+	 * Simulates until the given simulation time, or exactly one step if <tt>simTimeInSec</tt> is negative.
+	 *
+	 * @return false if the end of the simulation has been reached
+	 */
+	public boolean nextStep(double simTimeInSec) {
+		if (simulationEnded) {
+			return false;
+		}
+		if (!remoteManager.nextStep(simTimeInSec)) {
+			if (remoteManager.getCurrentSimThreadState().equals(SimThreadState.MAIN_LOOP)) {
+				remoteManager.waitForSimulationEnd();
+			}
+			remoteManager.notifySimulationThread();
+			simulationEnded = true;
+			return false;
+		}
+		if (remoteManager.getSimulationStoppedEarlyAtTime() != Double.MAX_VALUE) {
+			logger.infof("Stop simulation at %f.", remoteManager.getSimulationStoppedEarlyAtTime());
+			remoteManager.notifySimulationThread();
+			simulationEnded = true;
+			return false;
+		}
+		return true;
+	}
+
+	public double getSimTime() {
+		double[] simTimeInSec = new double[1];
+		remoteManager.accessState((manager, state) -> simTimeInSec[0] = state.getSimTimeInSec());
+		return simTimeInSec[0];
+	}
+
+	/**
+	 * Returns the state of all pedestrians with the layout (n = number of pedestrians):
+	 *
+	 * <pre>
+	 * int32         n, int32 padding
+	 * float64[n, 2] positions (x, y)
+	 * float64[n, 2] velocities (x, y)
+	 * int32[n]      ids, int32 padding if n is odd
+	 * int32[n]      ids of the next targets, -1 if a pedestrian has no target
+	 * </pre>
+	 *
+	 * All arrays start at a multiple of 8 bytes, i.e. the ids of the next targets start at
+	 * <tt>8 + 32 * n + 4 * (n + n % 2)</tt>.
+	 */
+	public byte[] getAgentState() {
+		ByteBuffer[] buffer = new ByteBuffer[1];
+		remoteManager.accessState((manager, state) -> {
+			Collection<Pedestrian> pedestrians = state.getTopography().getPedestrianDynamicElements().getElements();
+			int n = pedestrians.size();
+			ByteBuffer buf = allocate(HEADER_BYTES + n * 36 + padded(n * 4));
+			buf.putInt(n).putInt(0);
+			for (Pedestrian ped : pedestrians) {
+				VPoint position = ped.getPosition();
+				buf.putDouble(position.x).putDouble(position.y);
+			}
+			for (Pedestrian ped : pedestrians) {
+				Vector2D velocity = ped.getVelocity();
+				buf.putDouble(velocity.x).putDouble(velocity.y);
+			}
+			pedestrians.forEach(ped -> buf.putInt(ped.getId()));
+			buf.position(HEADER_BYTES + n * 32 + padded(n * 4));
+			pedestrians.forEach(ped -> buf.putInt(ped.hasNextTarget() ? ped.getNextTargetId() : -1));
+			buffer[0] = buf;
+		});
+		return buffer[0] == null ? allocate(HEADER_BYTES).array() : buffer[0].array();
+	}
+
+	/**
+	 * Sets the positions (float64[n, 2]) of the pedestrians with the given ids (int32[n]).
+	 */
+	public void setPositions(byte[] ids, byte[] positions) {
+		ByteBuffer idBuf = wrap(ids);
+		ByteBuffer valueBuf = wrap(positions);
+		checkLength(idBuf, valueBuf, 16);
+		remoteManager.accessState((manager, state) -> {
+			while (idBuf.hasRemaining()) {
+				Pedestrian ped = getPedestrian(state.getTopography(), idBuf.getInt());
+				VPoint oldPosition = ped.getPosition();
+				ped.setPosition(new VPoint(valueBuf.getDouble(), valueBuf.getDouble()));
+				state.getTopography().moveElement(ped, oldPosition);
+			}
+		});
+	}
+
+	/**
+	 * Sets the free flow speeds (float64[n]) of the pedestrians with the given ids (int32[n]).
+	 */
+	public void setFreeFlowSpeeds(byte[] ids, byte[] speeds) {
+		ByteBuffer idBuf = wrap(ids);
+		ByteBuffer valueBuf = wrap(speeds);
+		checkLength(idBuf, valueBuf, 8);
+		remoteManager.accessState((manager, state) -> {
+			while (idBuf.hasRemaining()) {
+				getPedestrian(state.getTopography(), idBuf.getInt())
+						.setFreeFlowSpeed(valueBuf.getDouble());
+			}
+		});
+	}
+
+	/**
+	 * Replaces the target lists of the pedestrians with the given ids (int32[n]) by a single target (int32[n]).
+	 */
+	public void setTargetIds(byte[] ids, byte[] targetIds) {
+		ByteBuffer idBuf = wrap(ids);
+		ByteBuffer valueBuf = wrap(targetIds);
+		checkLength(idBuf, valueBuf, 4);
+		remoteManager.accessState((manager, state) -> {
+			while (idBuf.hasRemaining()) {
+				LinkedList<Integer> targets = new LinkedList<>();
+				targets.add(valueBuf.getInt());
+				getPedestrian(state.getTopography(), idBuf.getInt())
+						.setTargets(targets);
+			}
+		});
+	}
+
+	public void close() {
+		remoteManager.stopSimulationIfRunning();
+	}
+
+	private static int padded(int bytes) {
+		return (bytes + 7) & ~7;
+	}
+
+	private static ByteBuffer allocate(int bytes) {
+		return ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static ByteBuffer wrap(byte[] data) {
+		return ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static void checkLength(ByteBuffer ids, ByteBuffer values, int bytesPerValue) {
+		if (ids.remaining() % 4 != 0 || ids.remaining() / 4 * bytesPerValue != values.remaining()) {
+			throw new IllegalArgumentException(String.format("Expected %d bytes per id, got %d bytes for %d bytes of ids",
+					bytesPerValue, values.remaining(), ids.remaining()));
+		}
+	}
+
+	private static Pedestrian getPedestrian(Topography topography, int id) {
+		Pedestrian ped = topography.getPedestrianDynamicElements().getElement(id);
+		if (ped == null) {
+			throw new IllegalArgumentException("Pedestrian " + id + " does not exist");
+		}
+		return ped;
+	}
+}
@@ -0,0 +1,220 @@
+package org.vadere.manager.traci.response;
+
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.reader.TraCIByteBuffer;
+import org.vadere.manager.traci.writer.ByteArrayOutputStreamTraCIWriter;
+import org.vadere.manager.traci.writer.TraCIWriter;
+import org.vadere.state.traci.TraCIDataType;
+import org.vadere.state.traci.TraCIException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Subscription results of multiple simulation steps, collected by a fast-forward of the simulation (see
+ * {@link org.vadere.manager.traci.commandHandler.variables.SimulationVar#FAST_FORWARD}). Instead of one
+ * {@link TraCISimTimeResponse} per step, all results are sent at once column by column, i.e. for each
+ * subscribed variable its values of all steps, which compresses well.
+ *
+ * The payload is deflate (zlib) compressed and base64 encoded such that it fits into a TraCI string. The
+ * uncompressed payload uses the TraCI encoding:
+ *
+ * <pre>
+ * int      numberOfSteps
+ * double[] simulation time of each step
+ * int      numberOfColumns
+ * column:  ubyte responseIdentifier, string elementId, ubyte variableId,
+ *          for each step: ubyte status, value with data type id (only if the status is OK)
+ * </pre>
+ *
+ * A column without a value in a step, e.g. because the subscribed element was removed, has the status
+ * {@link TraCIStatusResponse#ERR} in this step.
+ */
+public class TraCISubscriptionTrace {
+
+	private final List<Double> simTimes;
+	private final Map<String, Column> columns;
+
+	public TraCISubscriptionTrace() {
+		this.simTimes = new ArrayList<>();
+		this.columns = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Appends the subscription results of one step.
+	 */
+	public void addStep(double simTimeInSec, List<TraCISubscriptionResponse> responses) {
+		int step = simTimes.size();
+		simTimes.add(simTimeInSec);
+
+		// the same variable might be subscribed multiple times
+		Map<String, Integer> occurrences = new HashMap<>();
+		for (TraCISubscriptionResponse response : responses) {
+			for (TraCISubscriptionResponse.SingeVarResponse var : response.getResponses()) {
+				String key = response.getResponseIdentifier().id + "/" + response.getElementId() + "/" + var.getVariableId();
+				key += "#" + occurrences.merge(key, 1, Integer::sum);
+				Column column = columns.computeIfAbsent(key,
+						k -> new Column(response.getResponseIdentifier(), response.getElementId(), var.getVariableId()));
+				column.fill(step);
+				column.add(var.getStatus(), var.getVariableDataType(), var.getVariableValue());
+			}
+		}
+		for (Column column : columns.values()) {
+			column.fill(step + 1);
+		}
+	}
+
+	public int getNumberOfSteps() {
+		return simTimes.size();
+	}
+
+	public List<Double> getSimTimes() {
+		return simTimes;
+	}
+
+	public List<Column> getColumns() {
+		return new ArrayList<>(columns.values());
+	}
+
+	/**
+	 * Returns the compressed and base64 encoded payload.
+	 */
+	public String encode() {
+		TraCIWriter writer = new ByteArrayOutputStreamTraCIWriter();
+		writer.writeInt(simTimes.size());
+		simTimes.forEach(writer::writeDouble);
+		writer.writeInt(columns.size());
+		for (Column column : columns.values()) {
+			writer.writeUnsignedByte(column.responseIdentifier.id)
+					.writeString(column.elementId)
+					.writeUnsignedByte(column.variableId);
+			for (int step = 0; step < simTimes.size(); step++) {
+				TraCIStatusResponse status = column.statuses.get(step);
+				writer.writeUnsignedByte(status.id);
+				if (status.equals(TraCIStatusResponse.OK)) {
+					writer.writeObjectWithId(column.dataTypes.get(step), column.values.get(step));
+				}
+			}
+		}
+
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (DeflaterOutputStream out = new DeflaterOutputStream(compressed)) {
+			out.write(writer.asByteArray());
+		} catch (IOException e) {
+			throw new TraCIException("Cannot compress subscription trace: " + e.getMessage());
+		}
+		return Base64.getEncoder().encodeToString(compressed.toByteArray());
+	}
+
+	/**
+	 * Creates the trace from a payload created by {@link #encode()}.
+	 */
+	public static TraCISubscriptionTrace decode(String payload) {
+		byte[] data;
+		try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(payload)))) {
+			data = in.readAllBytes();
+		} catch (IOException | IllegalArgumentException e) {
+			throw new TraCIException("Cannot decompress subscription trace: " + e.getMessage());
+		}
+
+		TraCIByteBuffer buffer = TraCIByteBuffer.wrap(data);
+		TraCISubscriptionTrace trace = new TraCISubscriptionTrace();
+		int numberOfSteps = buffer.readInt();
+		for (int step = 0; step < numberOfSteps; step++) {
+			trace.simTimes.add(buffer.readDouble());
+		}
+		int numberOfColumns = buffer.readInt();
+		for (int i = 0; i < numberOfColumns; i++) {
+			Column column = new Column(TraCICmd.fromId(buffer.readUnsignedByte()), buffer.readString(), buffer.readUnsignedByte());
+			for (int step = 0; step < numberOfSteps; step++) {
+				TraCIStatusResponse status = TraCIStatusResponse.fromId(buffer.readUnsignedByte());
+				if (status.equals(TraCIStatusResponse.OK)) {
+					TraCIDataType dataType = TraCIDataType.fromId(buffer.readUnsignedByte());
+					column.add(status, dataType, buffer.readTypeValue(dataType));
+				} else {
+					column.add(status, null, null);
+				}
+			}
+			trace.columns.put(Integer.toString(i), column);
+		}
+		return trace;
+	}
+
+	/**
+	 * The values of one subscribed variable of one element over all steps.
+	 */
+	public static class Column {
+
+		private final TraCICmd responseIdentifier;
+		private final String elementId;
+		private final int variableId;
+		private final List<TraCIStatusResponse> statuses;
+		private final List<TraCIDataType> dataTypes;
+		private final List<Object> values;
+
+		Column(TraCICmd responseIdentifier, String elementId, int variableId) {
+			this.responseIdentifier = responseIdentifier;
+			this.elementId = elementId;
+			this.variableId = variableId;
+			this.statuses = new ArrayList<>();
+			this.dataTypes = new ArrayList<>();
+			this.values = new ArrayList<>();
+		}
+
+		private void add(TraCIStatusResponse status, TraCIDataType dataType, Object value) {
+			statuses.add(status);
+			dataTypes.add(dataType);
+			values.add(value);
+		}
+
+		// marks the steps without a value
+		private void fill(int numberOfSteps) {
+			while (statuses.size() < numberOfSteps) {
+				add(TraCIStatusResponse.ERR, null, null);
+			}
+		}
+
+		public TraCICmd getResponseIdentifier() {
+			return responseIdentifier;
+		}
+
+		public String getElementId() {
+			return elementId;
+		}
+
+		public int getVariableId() {
+			return variableId;
+		}
+
+		public TraCIStatusResponse getStatus(int step) {
+			return statuses.get(step);
+		}
+
+		public TraCIDataType getDataType(int step) {
+			return dataTypes.get(step);
+		}
+
+		public Object getValue(int step) {
+			return values.get(step);
+		}
+
+		@Override
+		public String toString() {
+			return "Column{" +
+					"responseIdentifier=" + responseIdentifier +
+					", elementId='" + elementId + '\'' +
+					", variableId=" + variableId +
+					", numberOfSteps=" + statuses.size() +
+					'}';
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package org.vadere.manager;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commandHandler.ControlCommandHandler;
+import org.vadere.manager.traci.commandHandler.PersonCommandHandler;
+import org.vadere.manager.traci.commandHandler.SimulationCommandHandler;
+import org.vadere.manager.traci.commandHandler.variables.PersonVar;
+import org.vadere.manager.traci.commandHandler.variables.SimulationVar;
+import org.vadere.manager.traci.commands.TraCIGetCommand;
+import org.vadere.manager.traci.commands.TraCIValueSubscriptionCommand;
+import org.vadere.manager.traci.commands.control.TraCISimStepCommand;
+import org.vadere.manager.traci.compound.object.FastForward;
+import org.vadere.manager.traci.response.TraCIGetResponse;
+import org.vadere.manager.traci.response.TraCISimTimeResponse;
+import org.vadere.manager.traci.response.TraCISubscriptionResponse;
+import org.vadere.manager.traci.response.TraCISubscriptionTrace;
+import org.vadere.state.traci.CompoundObject;
+import org.vadere.state.traci.TraCIDataType;
+import org.vadere.util.io.IOUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The subscription results of a fast-forward have to be equal to the results of a TraCI client which
+ * simulates the same steps one by one.
+ */
+public class RemoteFastForwardTest {
+
+	private static final int STEPS_PER_FAST_FORWARD = 7;
+
+	private String scenario;
+	private Path outputDir;
+
+	@Before
+	public void setUp() throws IOException {
+		scenario = IOUtils.readTextFile(Paths.get("testResources/testProject001/scenarios/scenario001.scenario").toString())
+				.replace("\"visualizationEnabled\" : true", "\"visualizationEnabled\" : false")
+				.replace("\"writeSimulationData\" : true", "\"writeSimulationData\" : false");
+		outputDir = Files.createTempDirectory("vadere-fast-forward");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(outputDir.toFile());
+	}
+
+	@Test
+	public void testFastForwardEqualsSimSteps() {
+		List<Object> stepwise = simulateStepwise(false);
+		List<Object> fastForward = simulateFastForward(false);
+
+		// the step at which the simulation ends is part of the last fast-forward but not of a SIM_STEP
+		assertTrue(fastForward.size() == stepwise.size() || fastForward.size() == stepwise.size() + 1);
+		for (int step = 0; step < stepwise.size(); step++) {
+			assertEquals("positions differ in step " + step, stepwise.get(step), fastForward.get(step));
+		}
+
+		// agents have been spawned and walked
+		assertNotEquals(stepwise.get(1), stepwise.get(stepwise.size() - 1));
+	}
+
+	@Test
+	public void testFastForwardInThread() {
+		List<Object> stepwise = simulateStepwise(false);
+		List<Object> fastForward = simulateFastForward(true);
+
+		for (int step = 0; step < stepwise.size(); step++) {
+			assertEquals("positions differ in step " + step, stepwise.get(step), fastForward.get(step));
+		}
+	}
+
+	private RemoteManager start(final boolean inThreadStepping) {
+		RemoteManager remoteManager = new RemoteManager(outputDir, false, inThreadStepping);
+		remoteManager.loadScenario(scenario);
+		remoteManager.startSimulation();
+		while (!inThreadStepping && !remoteManager.getRemoteSimulationRun().isWaitForSimCommand()) {
+			Thread.onSpinWait();
+		}
+
+		List<Integer> variables = new ArrayList<>();
+		variables.add(PersonVar.POSITION_LIST.id);
+		TraCIValueSubscriptionCommand sub = (TraCIValueSubscriptionCommand) TraCIValueSubscriptionCommand.build(
+				TraCICmd.SUB_PERSON_VARIABLE, 0, 1.0e6, "-1", variables).getCommands().get(0);
+		PersonCommandHandler.instance.processValueSub(sub, remoteManager);
+		return remoteManager;
+	}
+
+	private List<Object> simulateStepwise(final boolean inThreadStepping) {
+		RemoteManager remoteManager = start(inThreadStepping);
+		List<Object> positions = new ArrayList<>();
+		while (true) {
+			TraCISimStepCommand cmd = (TraCISimStepCommand) TraCISimStepCommand.build(-1).getCommands().get(0);
+			TraCISimTimeResponse response = ((TraCISimStepCommand) ControlCommandHandler.instance.process_simStep(cmd, remoteManager)).getResponse();
+			if (!response.isOK()) {
+				break;
+			}
+			TraCISubscriptionResponse subscription = response.getSubscriptionResponses().get(0);
+			positions.add(subscription.getResponses().get(0).getVariableValue());
+		}
+		return positions;
+	}
+
+	private List<Object> simulateFastForward(final boolean inThreadStepping) {
+		RemoteManager remoteManager = start(inThreadStepping);
+		List<Object> positions = new ArrayList<>();
+		boolean simEndReached = false;
+		while (!simEndReached) {
+			TraCIGetCommand cmd = (TraCIGetCommand) TraCIGetCommand.build(TraCICmd.GET_SIMULATION_VALUE, "-1",
+					SimulationVar.FAST_FORWARD.id, SimulationVar.FAST_FORWARD.type,
+					FastForward.asCompoundObject(-1, STEPS_PER_FAST_FORWARD)).getCommands().get(0);
+			TraCIGetResponse response = ((TraCIGetCommand) SimulationCommandHandler.instance.process_fastForward(cmd, remoteManager)).getResponse();
+			assertTrue(response.isOK());
+
+			CompoundObject result = (CompoundObject) response.getResponseData();
+			simEndReached = (Integer) result.getData(1, TraCIDataType.U_BYTE) == 1;
+			TraCISubscriptionTrace trace = TraCISubscriptionTrace.decode((String) result.getData(2, TraCIDataType.STRING));
+			assertTrue(simEndReached || trace.getNumberOfSteps() == STEPS_PER_FAST_FORWARD);
+			assertEquals(trace.getSimTimes().get(trace.getNumberOfSteps() - 1), result.getData(0, TraCIDataType.DOUBLE));
+
+			TraCISubscriptionTrace.Column column = trace.getColumns().get(0);
+			for (int step = 0; step < trace.getNumberOfSteps(); step++) {
+				positions.add(column.getValue(step));
+			}
+		}
+		return positions;
+	}
+}
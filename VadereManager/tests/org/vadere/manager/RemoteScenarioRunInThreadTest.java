@@ -0,0 +1,119 @@
+package org.vadere.manager;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.control.simulation.SimThreadState;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.io.IOUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the in-thread stepping of a {@link RemoteScenarioRun} with the default mode, in which the simulation
+ * runs in its own thread: both have to show the same states to the TraCI client.
+ */
+public class RemoteScenarioRunInThreadTest {
+
+	private static final double STEP_IN_SEC = 0.4;
+
+	private String scenario;
+	private Path outputDir;
+
+	@Before
+	public void setUp() throws IOException {
+		scenario = IOUtils.readTextFile(Paths.get("testResources/testProject001/scenarios/scenario001.scenario").toString())
+				.replace("\"visualizationEnabled\" : true", "\"visualizationEnabled\" : false")
+				.replace("\"writeSimulationData\" : true", "\"writeSimulationData\" : false");
+		outputDir = Files.createTempDirectory("vadere-in-thread");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(outputDir.toFile());
+	}
+
+	@Test
+	public void testInThreadSteppingEqualsSimulationThread() {
+		List<String> threaded = simulate(false);
+		List<String> inThread = simulate(true);
+
+		assertEquals(threaded.size(), inThread.size());
+		for (int i = 0; i < threaded.size(); i++) {
+			assertEquals(threaded.get(i), inThread.get(i));
+		}
+
+		// agents have been spawned and walked
+		assertNotEquals(inThread.get(1), inThread.get(inThread.size() - 1));
+	}
+
+	@Test
+	public void testStateIsAccessedInClientThread() {
+		RemoteManager remoteManager = new RemoteManager(outputDir, false, true);
+		remoteManager.loadScenario(scenario);
+		remoteManager.startSimulation();
+
+		Thread clientThread = Thread.currentThread();
+		List<Thread> accessingThreads = new ArrayList<>();
+		for (int i = 1; i <= 5; i++) {
+			assertTrue(remoteManager.nextStep(i * STEP_IN_SEC));
+			remoteManager.accessState((manager, state) -> accessingThreads.add(Thread.currentThread()));
+		}
+		accessingThreads.forEach(thread -> assertSame(clientThread, thread));
+
+		// close the connection while the simulation is running
+		assertTrue(remoteManager.stopSimulationIfRunning());
+		assertEquals(SimThreadState.FINISHED, remoteManager.getCurrentSimThreadState());
+		assertFalse(remoteManager.nextStep(3.0));
+	}
+
+	/**
+	 * Steps through the whole scenario like a TraCI client and records the simulation time and the positions of
+	 * the agents after each step.
+	 */
+	private List<String> simulate(final boolean inThreadStepping) {
+		RemoteManager remoteManager = new RemoteManager(outputDir, false, inThreadStepping);
+		remoteManager.loadScenario(scenario);
+		remoteManager.startSimulation();
+		// the simulation thread has to reach its first step before the first command
+		while (!inThreadStepping && !remoteManager.getRemoteSimulationRun().isWaitForSimCommand()) {
+			Thread.onSpinWait();
+		}
+
+		List<String> states = new ArrayList<>();
+		double simTimeInSec = 0;
+		while (remoteManager.getSimulationStoppedEarlyAtTime() == Double.MAX_VALUE) {
+			simTimeInSec += STEP_IN_SEC;
+			assertTrue(remoteManager.nextStep(simTimeInSec));
+			remoteManager.accessState((manager, state) -> states.add(state.getSimTimeInSec() + ": " +
+					state.getTopography().getElements(Pedestrian.class).stream()
+							.sorted(Comparator.comparingInt(Pedestrian::getId))
+							.map(pedestrian -> pedestrian.getId() + " " + pedestrian.getPosition())
+							.collect(Collectors.joining(", "))));
+		}
+
+		// release the simulation like the SIM_STEP command handler does at the end of the simulation
+		remoteManager.notifySimulationThread();
+		if (!inThreadStepping) {
+			while (remoteManager.getCurrentSimThreadState() != SimThreadState.FINISHED) {
+				Thread.onSpinWait();
+			}
+		}
+		assertEquals(SimThreadState.FINISHED, remoteManager.getCurrentSimThreadState());
+		return states;
+	}
+}
@@ -0,0 +1,122 @@
+package org.vadere.manager;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.simulator.utils.cache.SharedFloorFieldRegistry;
+import org.vadere.simulator.utils.cache.SharedFloorFields;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.io.IOUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Two clients simulating the same scenario concurrently share the static floor fields but have to
+ * produce the same trajectories as a client which computes its own floor fields.
+ */
+public class RemoteSharedFloorFieldsTest {
+
+	private String scenario;
+	private Path outputDir;
+
+	@Before
+	public void setUp() throws IOException {
+		scenario = IOUtils.readTextFile(Paths.get("testResources/testProject001/scenarios/scenario001.scenario").toString())
+				.replace("\"visualizationEnabled\" : true", "\"visualizationEnabled\" : false")
+				.replace("\"writeSimulationData\" : true", "\"writeSimulationData\" : false");
+		outputDir = Files.createTempDirectory("vadere-shared-floor-fields");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(outputDir.toFile());
+	}
+
+	@Test
+	public void testSharedFloorFields() {
+		assertSharedFloorFields(scenario, SharedFloorFields.targetToIdentifier(2), SharedFloorFields.distToIdentifier("BruteForce"));
+	}
+
+	/**
+	 * The social force model computes the gradient of the target floor field from its cell grid which
+	 * has to be available even if the floor field is shared.
+	 */
+	@Test
+	public void testSharedFloorFieldsOfGradientBasedModel() throws IOException {
+		String sfmScenario = IOUtils.readTextFile(Paths.get("testResources/sharedFloorFields/basic_3_1_wall_sfm1.scenario").toString())
+				.replace("\"visualizationEnabled\" : true", "\"visualizationEnabled\" : false")
+				.replace("\"writeSimulationData\" : true", "\"writeSimulationData\" : false");
+		assertSharedFloorFields(sfmScenario, SharedFloorFields.targetToIdentifier(1));
+	}
+
+	private void assertSharedFloorFields(String scenario, String... identifiers) {
+		List<Map<Integer, VPoint>> expected = new ArrayList<>();
+		RemoteManager unshared = start(null, scenario);
+		while (step(unshared, expected)) ;
+
+		SharedFloorFieldRegistry registry = new SharedFloorFieldRegistry();
+		RemoteManager first = start(registry, scenario);
+		RemoteManager second = start(registry, scenario);
+		List<Map<Integer, VPoint>> firstPositions = new ArrayList<>();
+		List<Map<Integer, VPoint>> secondPositions = new ArrayList<>();
+		assertTrue(step(first, firstPositions));
+		assertTrue(step(second, secondPositions));
+
+		// both runs use the floor fields of the first run
+		assertEquals(1, registry.size());
+		SharedFloorFields sharedFloorFields = registry.acquire(ScenarioCache.getHash(first.getRemoteSimulationRun().getScenario()));
+		for (String identifier : identifiers) {
+			assertTrue(sharedFloorFields.contains(identifier));
+		}
+		sharedFloorFields.release();
+
+		boolean firstRunning = true;
+		boolean secondRunning = true;
+		while (firstRunning || secondRunning) {
+			firstRunning = firstRunning && step(first, firstPositions);
+			secondRunning = secondRunning && step(second, secondPositions);
+		}
+
+		assertEquals(expected, firstPositions);
+		assertEquals(expected, secondPositions);
+		// the last run released the floor fields
+		assertEquals(0, registry.size());
+		assertTrue(expected.size() > 1);
+	}
+
+	private RemoteManager start(SharedFloorFieldRegistry registry, String scenario) {
+		RemoteManager remoteManager = new RemoteManager(outputDir, false, true);
+		remoteManager.setSharedFloorFieldRegistry(registry);
+		remoteManager.loadScenario(scenario);
+		remoteManager.startSimulation();
+		return remoteManager;
+	}
+
+	private boolean step(RemoteManager remoteManager, List<Map<Integer, VPoint>> positions) {
+		if (!remoteManager.nextStep(-1) || remoteManager.getSimulationStoppedEarlyAtTime() != Double.MAX_VALUE) {
+			remoteManager.notifySimulationThread();
+			return false;
+		}
+		Map<Integer, VPoint> step = new HashMap<>();
+		remoteManager.accessState((manager, state) -> {
+			for (Pedestrian ped : state.getTopography().getPedestrianDynamicElements().getElements()) {
+				step.put(ped.getId(), ped.getPosition());
+			}
+		});
+		positions.add(step);
+		return true;
+	}
+}
@@ -0,0 +1,130 @@
+package org.vadere.manager.traci.py4j;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.manager.RemoteManager;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.io.IOUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkStateEntryPointTest {
+
+	private String scenario;
+	private Path outputDir;
+	private RemoteManager remoteManager;
+	private BulkStateEntryPoint entryPoint;
+
+	@Before
+	public void setUp() throws IOException {
+		scenario = IOUtils.readTextFile(Paths.get("testResources/testProject001/scenarios/scenario001.scenario").toString())
+				.replace("\"visualizationEnabled\" : true", "\"visualizationEnabled\" : false")
+				.replace("\"writeSimulationData\" : true", "\"writeSimulationData\" : false");
+		outputDir = Files.createTempDirectory("vadere-bulk-state");
+		remoteManager = new RemoteManager(outputDir, false, true);
+		entryPoint = new BulkStateEntryPoint(remoteManager, true);
+		entryPoint.startScenario(scenario);
+		for (int step = 0; step < 10; step++) {
+			assertTrue(entryPoint.nextStep(-1));
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		entryPoint.close();
+		FileUtils.deleteDirectory(outputDir.toFile());
+	}
+
+	@Test
+	public void testGetAgentState() {
+		ByteBuffer buf = ByteBuffer.wrap(entryPoint.getAgentState()).order(ByteOrder.LITTLE_ENDIAN);
+		List<Pedestrian> pedestrians = pedestrians();
+		int n = buf.getInt(0);
+		assertTrue(n > 0);
+		assertEquals(pedestrians.size(), n);
+		int targetIdOffset = 8 + 32 * n + 4 * (n + n % 2);
+		assertEquals(0, targetIdOffset % 8);
+		assertEquals(targetIdOffset + 4 * n, buf.capacity());
+
+		for (int i = 0; i < n; i++) {
+			Pedestrian ped = pedestrians.get(i);
+			assertEquals(ped.getPosition().x, buf.getDouble(8 + 16 * i), 0);
+			assertEquals(ped.getPosition().y, buf.getDouble(16 + 16 * i), 0);
+			assertEquals(ped.getVelocity().x, buf.getDouble(8 + 16 * (n + i)), 0);
+			assertEquals(ped.getVelocity().y, buf.getDouble(16 + 16 * (n + i)), 0);
+			assertEquals(ped.getId(), buf.getInt(8 + 32 * n + 4 * i));
+			assertEquals(ped.getNextTargetId(), buf.getInt(targetIdOffset + 4 * i));
+		}
+	}
+
+	@Test
+	public void testBulkSet() {
+		Pedestrian ped = pedestrians().get(0);
+		byte[] ids = allocate(4).putInt(ped.getId()).array();
+
+		entryPoint.setPositions(ids, allocate(16).putDouble(1.5).putDouble(2.5).array());
+		entryPoint.setFreeFlowSpeeds(ids, allocate(8).putDouble(0.75).array());
+		entryPoint.setTargetIds(ids, allocate(4).putInt(42).array());
+
+		ped = pedestrians().get(0);
+		assertEquals(new VPoint(1.5, 2.5), ped.getPosition());
+		assertEquals(0.75, ped.getFreeFlowSpeed(), 0);
+		assertEquals(42, ped.getNextTargetId());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBulkSetLengthMismatch() {
+		entryPoint.setPositions(allocate(8).putInt(1).putInt(2).array(), allocate(16).array());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBulkSetUnknownId() {
+		entryPoint.setFreeFlowSpeeds(allocate(4).putInt(-42).array(), allocate(8).array());
+	}
+
+	@Test
+	public void testSimulationEnd() {
+		while (entryPoint.nextStep(-1)) {
+			assertTrue(entryPoint.getSimTime() > 0);
+		}
+		assertFalse(entryPoint.nextStep(-1));
+	}
+
+	@Test(timeout = 60000)
+	public void testStartScenarioInSimulationThread() {
+		BulkStateEntryPoint threadEntryPoint = new BulkStateEntryPoint(new RemoteManager(outputDir, false, false), false);
+		try {
+			threadEntryPoint.startScenario(scenario);
+			assertTrue(threadEntryPoint.nextStep(-1));
+			assertTrue(threadEntryPoint.getSimTime() > 0);
+			assertTrue(ByteBuffer.wrap(threadEntryPoint.getAgentState()).order(ByteOrder.LITTLE_ENDIAN).getInt(0) > 0);
+		} finally {
+			threadEntryPoint.close();
+		}
+	}
+
+	private List<Pedestrian> pedestrians() {
+		List<Pedestrian> pedestrians = new ArrayList<>();
+		remoteManager.accessState((manager, state) ->
+				pedestrians.addAll(state.getTopography().getPedestrianDynamicElements().getElements()));
+		return pedestrians;
+	}
+
+	private static ByteBuffer allocate(int bytes) {
+		return ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
@@ -0,0 +1,92 @@
+package org.vadere.manager.traci.response;
+
+import org.junit.Test;
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commandHandler.variables.PersonVar;
+import org.vadere.state.traci.TraCIDataType;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class TraCISubscriptionTraceTest {
+
+	@Test
+	public void encodeDecode() {
+		TraCISubscriptionTrace trace = new TraCISubscriptionTrace();
+		for (int step = 0; step < 10; step++) {
+			List<TraCISubscriptionResponse> responses = new ArrayList<>();
+			responses.add(positionList(step));
+			// the pedestrian "1" leaves the simulation after step 5
+			if (step < 5) {
+				responses.add(position("1", step));
+			}
+			trace.addStep(0.4 * (step + 1), responses);
+		}
+
+		TraCISubscriptionTrace decoded = TraCISubscriptionTrace.decode(trace.encode());
+
+		assertThat(decoded.getNumberOfSteps(), equalTo(10));
+		assertThat(decoded.getSimTimes(), equalTo(trace.getSimTimes()));
+		assertThat(decoded.getColumns().size(), equalTo(3));
+
+		TraCISubscriptionTrace.Column positions = decoded.getColumns().get(0);
+		assertThat(positions.getResponseIdentifier(), equalTo(TraCICmd.RESPONSE_SUB_PERSON_VARIABLE));
+		assertThat(positions.getElementId(), equalTo("-1"));
+		assertThat(positions.getVariableId(), equalTo(PersonVar.POSITION_LIST.id));
+
+		TraCISubscriptionTrace.Column position = decoded.getColumns().get(1);
+		TraCISubscriptionTrace.Column speed = decoded.getColumns().get(2);
+		assertThat(position.getElementId(), equalTo("1"));
+		assertThat(speed.getVariableId(), equalTo(PersonVar.SPEED.id));
+		for (int step = 0; step < 10; step++) {
+			assertThat(positions.getStatus(step), equalTo(TraCIStatusResponse.OK));
+			assertThat(positions.getValue(step), equalTo(positionList(step).getResponses().get(0).getVariableValue()));
+			if (step < 5) {
+				assertThat(position.getStatus(step), equalTo(TraCIStatusResponse.OK));
+				assertThat(position.getDataType(step), equalTo(TraCIDataType.POS_2D));
+				assertThat(position.getValue(step), equalTo(new VPoint(step, 1)));
+				assertThat(speed.getValue(step), equalTo(1.2));
+			} else {
+				assertThat(position.getStatus(step), equalTo(TraCIStatusResponse.ERR));
+				assertThat(speed.getStatus(step), equalTo(TraCIStatusResponse.ERR));
+			}
+		}
+	}
+
+	@Test
+	public void encodeDecodeEmpty() {
+		TraCISubscriptionTrace decoded = TraCISubscriptionTrace.decode(new TraCISubscriptionTrace().encode());
+
+		assertThat(decoded.getNumberOfSteps(), equalTo(0));
+		assertThat(decoded.getColumns().size(), equalTo(0));
+	}
+
+	private TraCISubscriptionResponse positionList(int step) {
+		Map<String, VPoint> positions = new HashMap<>();
+		for (int i = 1; i <= 20; i++) {
+			positions.put(Integer.toString(i), new VPoint(step * 0.5, i));
+		}
+		TraCISubscriptionResponse response = response("-1");
+		response.addVariableResponse(PersonVar.POSITION_LIST.id, TraCIStatusResponse.OK, TraCIDataType.POS_2D_LIST, positions);
+		return response;
+	}
+
+	private TraCISubscriptionResponse position(String elementId, int step) {
+		TraCISubscriptionResponse response = response(elementId);
+		response.addVariableResponse(PersonVar.POSITION.id, TraCIStatusResponse.OK, TraCIDataType.POS_2D, new VPoint(step, 1));
+		response.addVariableResponse(PersonVar.SPEED.id, TraCIStatusResponse.OK, TraCIDataType.DOUBLE, 1.2);
+		return response;
+	}
+
+	private TraCISubscriptionResponse response(String elementId) {
+		return new TraCISubscriptionResponse(
+				new StatusResponse(TraCICmd.SUB_PERSON_VARIABLE, TraCIStatusResponse.OK, ""),
+				TraCICmd.RESPONSE_SUB_PERSON_VARIABLE, elementId, 1);
+	}
+}
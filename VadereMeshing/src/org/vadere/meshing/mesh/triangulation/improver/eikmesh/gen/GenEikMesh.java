@@ -35,6 +35,7 @@ import org.vadere.util.math.DistanceFunction;
 import org.vadere.meshing.mesh.triangulation.edgeLengthFunctions.IEdgeLengthFunction;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -42,6 +43,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -76,6 +79,7 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 
 	private boolean initialized = false;
 	private boolean runParallel = false;
+	private ForkJoinPool forkJoinPool;
 	private boolean profiling = false;
 	private double minDeltaTravelDistance = 0.0;
 	private double delta = Parameters.DELTAT;
@@ -131,6 +135,8 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	private static final String propVelocityX = "velocityX";
 	private static final String propVelocityY = "velocityY";
 	private static final String propAbsVelocity = "absVelocity";
+	private static final String propNewX = "newX";
+	private static final String propNewY = "newY";
 
 	private final IVertexContainerBoolean<V, E, F> fixpointC;
 	private final IEdgeContainerBoolean<V, E, F> constraintC;
@@ -138,6 +144,10 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	private final IVertexContainerDouble<V, E, F> velocityYC;
 	private final IVertexContainerDouble<V, E, F> absVelocityC;
 
+	// displacement buffers which are only used by the parallel version
+	private IVertexContainerDouble<V, E, F> newXC;
+	private IVertexContainerDouble<V, E, F> newYC;
+
 	/**
 	 * Constructor to use EikMesh on an existing {@link org.vadere.meshing.mesh.inter.ITriangulation}, that is
 	 * EikMesh uses this triangulation as a bases. It will refineSimplex2D the triangulation by using a longest edge
@@ -497,11 +507,17 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 
 				//}
 
-				scalingFactor = computeEdgeScalingFactor(edgeLengthFunc);
-				computeVertexForces();
+				runInPool(() -> {
+					scalingFactor = computeEdgeScalingFactor(edgeLengthFunc);
+					computeVertexForces();
+				});
 				//computeBoundaryForces(); // replaced by virtual edges!
 				updateEdges();
-				updateVertices();
+				if(runParallel) {
+					updateVerticesParallel();
+				} else {
+					updateVertices();
+				}
 				freezeVertices();
 				nSteps++;
 
@@ -758,6 +774,154 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 		setAbsVelocity(vertex, 0);
 	}
 
+	/**
+	 * The parallel counterpart of {@link GenEikMesh#updateVertices()}. In contrast to the sequential version,
+	 * which moves vertices one after another (Gauss-Seidel), all displacements are computed with respect to the
+	 * positions of the previous iteration (Jacobi). Therefore, the result does not depend on the number of threads
+	 * or the scheduling. The update works in four phases:
+	 * <ol>
+	 *     <li>(parallel) compute the new positions of all vertices and store them into primitive buffers</li>
+	 *     <li>(sequential) collapse breaking vertices since this changes the connectivity</li>
+	 *     <li>(parallel) reject new positions which would invert a triangle with respect to the new positions of the neighbours</li>
+	 *     <li>(parallel) displace vertices and reset their forces</li>
+	 * </ol>
+	 */
+	private void updateVerticesParallel() {
+		if(newXC == null) {
+			newXC = getMesh().getDoubleVertexContainer(propNewX);
+			newYC = getMesh().getDoubleVertexContainer(propNewY);
+		}
+
+		// (1) compute new positions, nothing moves
+		List<V> breakingVertices = new ArrayList<>();
+		runInPool(() -> {
+			streamVertices().forEach(v -> computeNewPosition(v));
+			breakingVertices.addAll(streamVertices().filter(v -> canBreak(v) && isBreaking(v)).collect(Collectors.toList()));
+		});
+
+		// (2) changes of the connectivity are not thread-safe
+		for(V vertex : breakingVertices) {
+			if(!getMesh().isDestroyed(vertex) && canBreak(vertex) && isBreaking(vertex)) {
+				getTriangulation().collapse3DVertex(vertex, true);
+			}
+		}
+
+		runInPool(() -> {
+			// (3) since neighbours move simultaneously, the legality has to be tested against their new positions.
+			// Rejecting a displacement might make other displacements illegal, therefore we repeat until nothing changes.
+			if(nSteps <= Parameters.HIGHEST_LEGAL_TEST) {
+				List<V> illegalMoves;
+				do {
+					illegalMoves = streamVertices().filter(v -> isMoving(v) && !isLegalParallelMove(v)).collect(Collectors.toList());
+					illegalMoves.parallelStream().forEach(v -> {
+						newXC.setValue(v, v.getX());
+						newYC.setValue(v, v.getY());
+					});
+				} while (!illegalMoves.isEmpty());
+			}
+
+			// (4) displace
+			double movement = streamVertices().mapToDouble(v -> applyNewPosition(v)).max().orElse(Double.NEGATIVE_INFINITY);
+			maxMovement = Math.max(maxMovement, movement);
+		});
+	}
+
+	/**
+	 * Computes the new position of a vertex with respect to the current positions of all vertices
+	 * and stores it into the displacement buffers. The vertex itself does not move. This is the
+	 * side effect free version of {@link GenEikMesh#updateVertex(IVertex)} excluding the vertex collapse.
+	 *
+	 * @param vertex the vertex
+	 */
+	private void computeNewPosition(@NotNull final V vertex) {
+		double newX = vertex.getX();
+		double newY = vertex.getY();
+
+		if(!isFixPoint(vertex)) {
+			IPoint velocity = getForce(vertex);
+			if(isSlidePoint(vertex)) {
+				VLine lineEdge = pointToSlidingLine.get(vertex);
+				IPoint movement = velocity.scalarMultiply(delta);
+				IPoint projection = GeometryUtils.projectOnto(movement.getX(), movement.getY(), lineEdge.getX2() - lineEdge.getX1(), lineEdge.getY2() - lineEdge.getY1());
+				if(isLegalMove(vertex, vertex.getX() + projection.getX(), vertex.getY() + projection.getY())) {
+					newX = vertex.getX() + projection.getX();
+					newY = vertex.getY() + projection.getY();
+				}
+			}
+			else {
+				double factor = 1.0;
+				for(int count = 0; count <= 10; count++) {
+					IPoint movement = velocity.scalarMultiply(delta * factor);
+					if(isLegalMove(vertex, vertex.getX() + movement.getX(), vertex.getY() + movement.getY())) {
+						newX = vertex.getX() + movement.getX();
+						newY = vertex.getY() + movement.getY();
+						break;
+					}
+					factor /= 2.0;
+				}
+
+				if(hasDistanceFunction()) {
+					VPoint projection = computeProjection(vertex, newX, newY);
+					if(isLegalMove(vertex, projection.getX(), projection.getY())) {
+						newX = projection.getX();
+						newY = projection.getY();
+					}
+				}
+			}
+		}
+
+		newXC.setValue(vertex, newX);
+		newYC.setValue(vertex, newY);
+	}
+
+	private boolean isMoving(@NotNull final V vertex) {
+		return newXC.getValue(vertex) != vertex.getX() || newYC.getValue(vertex) != vertex.getY();
+	}
+
+	/**
+	 * Tests if the new position of the vertex is inside the 1-ring polygon spanned by the new positions of its neighbours.
+	 *
+	 * @param vertex the vertex which wants to be moved
+	 *
+	 * @return true if the movement is legal, false otherwise
+	 */
+	private boolean isLegalParallelMove(@NotNull final V vertex) {
+		double newX = newXC.getValue(vertex);
+		double newY = newYC.getValue(vertex);
+		for(E edge : getMesh().getEdgeIt(vertex)) {
+			if(!getMesh().isBoundary(edge)) {
+				E prev = getMesh().getPrev(edge);
+				V v1 = getMesh().getVertex(getMesh().getPrev(prev));
+				V v2 = getMesh().getVertex(prev);
+				if(!GeometryUtils.isLeftOf(newXC.getValue(v1), newYC.getValue(v1), newXC.getValue(v2), newYC.getValue(v2), newX, newY)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Moves the vertex to its buffered new position and resets its forces / velocities.
+	 *
+	 * @param vertex the vertex
+	 *
+	 * @return the distance the vertex moved
+	 */
+	private double applyNewPosition(@NotNull final V vertex) {
+		double distance = 0.0;
+		if(isMoving(vertex)) {
+			double newX = newXC.getValue(vertex);
+			double newY = newYC.getValue(vertex);
+			distance = GeometryUtils.length(vertex.getX() - newX, vertex.getY() - newY);
+			getMesh().setCoords(vertex, newX, newY);
+		}
+		setVelocityX(vertex, 0);
+		setVelocityY(vertex, 0);
+		setAbsVelocity(vertex, 0);
+		return distance;
+	}
+
 	/**
 	 * Moves the vertex to its new location (newX, newY) if and only if the movement is legal.
 	 *
@@ -1080,16 +1244,24 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	 * @param vertex the vertex might be projected
 	 */
 	private VPoint computeProjection(@NotNull final V vertex) {
+		return computeProjection(vertex, vertex.getX(), vertex.getY());
+	}
+
+	/**
+	 * Computes the projection of the vertex as if it would be located at (x, y), see {@link GenEikMesh#computeProjection(IVertex)}.
+	 *
+	 * @param vertex    the vertex might be projected
+	 * @param x         x-coordinate of the position of the vertex
+	 * @param y         y-coordinate of the position of the vertex
+	 */
+	private VPoint computeProjection(@NotNull final V vertex, final double x, final double y) {
 		// we only project boundary vertices back
 		if(isBoundary(vertex)) {
 
 			// TODO: get rid of VPoint
-			VPoint position = getMesh().toPoint(vertex);
+			VPoint position = new VPoint(x, y);
 			double distance = distanceFunc.apply(position);
 
-			double x = position.getX();
-			double y = position.getY();
-
 			// the gradient (dx, dy)
 			double dGradPX = (distanceFunc.apply(position.add(new VPoint(deps, 0))) - distance) / deps;
 			double dGradPY = (distanceFunc.apply(position.add(new VPoint(0, deps))) - distance) / deps;
@@ -1107,12 +1279,12 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 				return new VPoint(newX, newY);
 			}
 			// back projection towards the inside if the point is inside (to improve the convergence rate of the algorithm)
-			else if(isInsideProjectionValid(vertex, newX, newY)) {
+			else if(isInsideProjectionValid(vertex, x, y, newX, newY)) {
 				return new VPoint(newX, newY);
 			}
 		}
 
-		return new VPoint(vertex.getX(), vertex.getY());
+		return new VPoint(x, y);
 	}
 
 	private boolean hasRefiner(){
@@ -1250,21 +1422,22 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	 * vertex and its two neighbouring border vertices.
 	 *
 	 * @param vertex    the vertex
+	 * @param x         x-coordinate of the current position of the vertex
+	 * @param y         y-coordinate of the current position of the vertex
 	 * @param newX      x-coordinate of the new position (after projection)
 	 * @param newY      y-coordinate of the new position (after projection)
 	 *
 	 * @return true if the inside projection is valid, false otherwise
 	 */
-	private boolean isInsideProjectionValid(@NotNull final V vertex, final double newX, final double newY) {
+	private boolean isInsideProjectionValid(@NotNull final V vertex, final double x, final double y, final double newX, final double newY) {
 		Optional<E> boundaryEdgeOpt = getMesh().getBoundaryEdge(vertex);
 
 		if(!boundaryEdgeOpt.isPresent()) {
 			return false;
 		}
 		else {
-			// TODO: if the algorithm runs in parallel this might lead to unexpected results!
 			E boundaryEdge = boundaryEdgeOpt.get();
-			VPoint p = getMesh().toPoint(vertex);
+			VPoint p = new VPoint(x, y);
 			VPoint q = getMesh().toPoint(getMesh().getNext(boundaryEdge));
 			VPoint r = getMesh().toPoint(getMesh().getPrev(boundaryEdge));
 			double angle = GeometryUtils.angle(r, p, q);
@@ -1314,10 +1487,19 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	 */
 	private boolean flipEdges() {
 		if(runParallel) {
-			streamEdges()
-					.filter(e -> getTriangulation().isIllegal(e))
+			// the legality test is read-only and runs in parallel, the flips change the connectivity and run sequentially
+			List<E> illegalEdges = new ArrayList<>();
+			runInPool(() -> illegalEdges.addAll(streamEdges()
 					.filter(e -> !isConstrained(e))
-					.forEach(e -> getTriangulation().flipSync(e));
+					.filter(e -> getTriangulation().isIllegal(e))
+					.collect(Collectors.toList())));
+
+			// an earlier flip might have already repaired the edge (e.g. its twin)
+			for(E e : illegalEdges) {
+				if(getTriangulation().isIllegal(e)) {
+					getTriangulation().flip(e);
+				}
+			}
 		}
 		else {
 			streamEdges()
@@ -1332,15 +1514,32 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	 * Computation of the factor which transforms relative edge length into absolute ones.
 	 */
 	private double computeEdgeScalingFactor(@NotNull final IEdgeLengthFunction edgeLengthFunc) {
-		double edgeLengthSum = streamEdges()
-				.map(edge -> getMesh().toLine(edge))
-				.mapToDouble(line -> line.length())
-				.sum();
-
-		double desiredEdgeLenSum = streamEdges()
-				.map(edge -> getMesh().toLine(edge))
-				.map(line -> line.midPoint())
-				.mapToDouble(midPoint -> edgeLengthFunc.apply(midPoint)).sum();
+		double edgeLengthSum;
+		double desiredEdgeLenSum;
+
+		if(runParallel) {
+			// the sum of a parallel stream depends on the number of threads, therefore we sum up sequentially
+			edgeLengthSum = Arrays.stream(streamEdges()
+					.map(edge -> getMesh().toLine(edge))
+					.mapToDouble(line -> line.length())
+					.toArray()).sum();
+
+			desiredEdgeLenSum = Arrays.stream(streamEdges()
+					.map(edge -> getMesh().toLine(edge))
+					.map(line -> line.midPoint())
+					.mapToDouble(midPoint -> edgeLengthFunc.apply(midPoint))
+					.toArray()).sum();
+		} else {
+			edgeLengthSum = streamEdges()
+					.map(edge -> getMesh().toLine(edge))
+					.mapToDouble(line -> line.length())
+					.sum();
+
+			desiredEdgeLenSum = streamEdges()
+					.map(edge -> getMesh().toLine(edge))
+					.map(line -> line.midPoint())
+					.mapToDouble(midPoint -> edgeLengthFunc.apply(midPoint)).sum();
+		}
 		return Math.sqrt((edgeLengthSum * edgeLengthSum) / (desiredEdgeLenSum * desiredEdgeLenSum));
 	}
 
@@ -1354,6 +1553,28 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 		return runParallel ? getMesh().streamVerticesParallel() : getMesh().streamVertices();
 	}
 
+	/**
+	 * Runs the task inside the {@link ForkJoinPool} of this algorithm such that parallel streams
+	 * use the configured number of threads. If the algorithm does not run in parallel the task
+	 * is executed by the calling thread.
+	 *
+	 * @param task the task
+	 */
+	private void runInPool(@NotNull final Runnable task) {
+		if(runParallel) {
+			try {
+				forkJoinPool.submit(task).get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		} else {
+			task.run();
+		}
+	}
+
 	/**
 	 * Returns true if and only if the vertex {@link V} is a fix point.
 	 *
@@ -1670,6 +1891,34 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 		this.allowVertexCollapse = allowVertexCollapse;
 	}
 
+	/**
+	 * Enables or disables the multi-threaded CPU version of the algorithm which uses as many threads as the common pool.
+	 *
+	 * @param runParallel if true forces, displacements and the legality tests of the edge flips are computed in parallel
+	 */
+	public void setRunParallel(final boolean runParallel) {
+		setRunParallel(runParallel, ForkJoinPool.getCommonPoolParallelism());
+	}
+
+	/**
+	 * Enables or disables the multi-threaded CPU version of the algorithm. All changes of the connectivity i.e.
+	 * edge flips, edge splits and vertex collapses remain sequential.
+	 *
+	 * @param runParallel   if true forces, displacements and the legality tests of the edge flips are computed in parallel
+	 * @param nThreads      the number of threads used if the algorithm runs in parallel
+	 */
+	public void setRunParallel(final boolean runParallel, final int nThreads) {
+		if(forkJoinPool != null) {
+			forkJoinPool.shutdown();
+			forkJoinPool = null;
+		}
+
+		this.runParallel = runParallel;
+		if(runParallel) {
+			forkJoinPool = new ForkJoinPool(nThreads);
+		}
+	}
+
 	public void setUseVirtualEdges(final boolean useVirtualEdges) {
 		this.useVirtualEdges = useVirtualEdges;
 	}
@@ -0,0 +1,209 @@
+package org.vadere.meshing.utils.io.bin;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.meshing.mesh.inter.IFace;
+import org.vadere.meshing.mesh.inter.IHalfEdge;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.meshing.mesh.inter.IVertex;
+import org.vadere.meshing.mesh.inter.IVertexContainerDouble;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link MeshBinaryReader} reads a mesh written by {@link MeshBinaryWriter} into an existing {@link IMesh}.
+ * Each section of the file is transferred by bulk {@link ByteBuffer} reads into primitive arrays before the mesh
+ * elements are constructed, i.e. no parsing is involved. The target mesh is cleared before it is filled.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the half-edges
+ * @param <F> the type of the faces
+ */
+public class MeshBinaryReader<V extends IVertex, E extends IHalfEdge, F extends IFace> {
+
+	private final ByteBuffer buffer;
+
+	public MeshBinaryReader() {
+		this.buffer = ByteBuffer.allocateDirect(MeshBinaryWriter.BUFFER_SIZE);
+	}
+
+	/**
+	 * Reads the mesh contained in <tt>file</tt> into <tt>mesh</tt>.
+	 *
+	 * @param mesh  the target mesh which will be cleared and filled
+	 * @param file  the source file
+	 *
+	 * @return the names of the vertex double containers which were restored
+	 *
+	 * @throws IOException if the file can not be read or is not a binary mesh file
+	 */
+	public List<String> read(@NotNull final IMesh<V, E, F> mesh, @NotNull final File file) throws IOException {
+		try (FileChannel channel = new FileInputStream(file).getChannel()) {
+			return read(mesh, channel);
+		}
+	}
+
+	/**
+	 * Reads the mesh contained in <tt>inputStream</tt> into <tt>mesh</tt>. The stream will not be closed.
+	 *
+	 * @param mesh          the target mesh which will be cleared and filled
+	 * @param inputStream   the source stream
+	 *
+	 * @return the names of the vertex double containers which were restored
+	 *
+	 * @throws IOException if the stream can not be read or does not contain a binary mesh
+	 */
+	public List<String> read(@NotNull final IMesh<V, E, F> mesh, @NotNull final InputStream inputStream) throws IOException {
+		return read(mesh, Channels.newChannel(inputStream));
+	}
+
+	private List<String> read(@NotNull final IMesh<V, E, F> mesh, @NotNull final ReadableByteChannel channel) throws IOException {
+		fill(channel, 7 * Integer.BYTES);
+		int magic = buffer.getInt();
+		int version = buffer.getInt();
+		if(magic != MeshBinaryWriter.MAGIC) {
+			throw new IOException("not a binary mesh file, magic number " + Integer.toHexString(magic));
+		}
+		if(version != MeshBinaryWriter.VERSION) {
+			throw new IOException("unsupported binary mesh version " + version + " (expected " + MeshBinaryWriter.VERSION + ")");
+		}
+		int nVertices = buffer.getInt();
+		int nEdges = buffer.getInt();
+		int nFaces = buffer.getInt();
+		int nContainers = buffer.getInt();
+		int borderEdge = buffer.getInt();
+
+		double[] coords = new double[2 * nVertices];
+		int[] vertexEdges = new int[nVertices];
+		int[] edgeData = new int[4 * nEdges];
+		int[] faceEdges = new int[nFaces];
+		byte[] holes = new byte[nFaces];
+		readDoubles(channel, coords);
+		readInts(channel, vertexEdges);
+		readInts(channel, edgeData);
+		readInts(channel, faceEdges);
+		readBytes(channel, holes);
+
+		mesh.clear();
+		F border = mesh.getBorder();
+		List<V> vertices = new ArrayList<>(nVertices);
+		List<E> edges = new ArrayList<>(nEdges);
+		List<F> faces = new ArrayList<>(nFaces);
+
+		for(int i = 0; i < nVertices; i++) {
+			V vertex = mesh.createVertex(coords[2*i], coords[2*i+1]);
+			mesh.insertVertex(vertex);
+			vertices.add(vertex);
+		}
+
+		for(int i = 0; i < nFaces; i++) {
+			faces.add(mesh.createFace(holes[i] != 0));
+		}
+
+		for(int i = 0; i < nEdges; i++) {
+			E edge = mesh.createEdge(vertices.get(edgeData[4*i]));
+			int face = edgeData[4*i+3];
+			mesh.setFace(edge, face == -1 ? border : faces.get(face));
+			edges.add(edge);
+		}
+
+		for(int i = 0; i < nEdges; i++) {
+			E edge = edges.get(i);
+			int next = edgeData[4*i+1];
+			int twin = edgeData[4*i+2];
+			if(next != -1) {
+				mesh.setNext(edge, edges.get(next));
+			}
+			if(twin != -1) {
+				mesh.setTwin(edge, edges.get(twin));
+			}
+		}
+
+		for(int i = 0; i < nVertices; i++) {
+			if(vertexEdges[i] != -1) {
+				mesh.setEdge(vertices.get(i), edges.get(vertexEdges[i]));
+			}
+		}
+
+		for(int i = 0; i < nFaces; i++) {
+			mesh.setEdge(faces.get(i), edges.get(faceEdges[i]));
+		}
+
+		if(borderEdge != -1) {
+			mesh.setEdge(border, edges.get(borderEdge));
+		}
+
+		List<String> containerNames = new ArrayList<>(nContainers);
+		double[] values = new double[nVertices];
+		for(int i = 0; i < nContainers; i++) {
+			fill(channel, Integer.BYTES);
+			byte[] bytes = new byte[buffer.getInt()];
+			readBytes(channel, bytes);
+			String name = new String(bytes, StandardCharsets.UTF_8);
+			readDoubles(channel, values);
+
+			IVertexContainerDouble<V, E, F> container = mesh.getDoubleVertexContainer(name);
+			for(int j = 0; j < nVertices; j++) {
+				container.setValue(vertices.get(j), values[j]);
+			}
+			containerNames.add(name);
+		}
+
+		assert mesh.isValid();
+		return containerNames;
+	}
+
+	private void readDoubles(@NotNull final ReadableByteChannel channel, @NotNull final double[] dst) throws IOException {
+		int offset = 0;
+		while (offset < dst.length) {
+			int n = Math.min(dst.length - offset, buffer.capacity() / Double.BYTES);
+			fill(channel, n * Double.BYTES);
+			buffer.asDoubleBuffer().get(dst, offset, n);
+			offset += n;
+		}
+	}
+
+	private void readInts(@NotNull final ReadableByteChannel channel, @NotNull final int[] dst) throws IOException {
+		int offset = 0;
+		while (offset < dst.length) {
+			int n = Math.min(dst.length - offset, buffer.capacity() / Integer.BYTES);
+			fill(channel, n * Integer.BYTES);
+			buffer.asIntBuffer().get(dst, offset, n);
+			offset += n;
+		}
+	}
+
+	private void readBytes(@NotNull final ReadableByteChannel channel, @NotNull final byte[] dst) throws IOException {
+		int offset = 0;
+		while (offset < dst.length) {
+			int n = Math.min(dst.length - offset, buffer.capacity());
+			fill(channel, n);
+			buffer.get(dst, offset, n);
+			offset += n;
+		}
+	}
+
+	/**
+	 * Reads exactly <tt>nBytes</tt> from the channel into the (flipped) buffer.
+	 */
+	private void fill(@NotNull final ReadableByteChannel channel, final int nBytes) throws IOException {
+		buffer.clear();
+		buffer.limit(nBytes);
+		while (buffer.hasRemaining()) {
+			if(channel.read(buffer) < 0) {
+				throw new EOFException("unexpected end of binary mesh, " + buffer.remaining() + " bytes missing");
+			}
+		}
+		buffer.flip();
+	}
+}
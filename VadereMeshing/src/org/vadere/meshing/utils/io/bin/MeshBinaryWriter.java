@@ -0,0 +1,191 @@
+package org.vadere.meshing.utils.io.bin;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.meshing.mesh.inter.IFace;
+import org.vadere.meshing.mesh.inter.IHalfEdge;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.meshing.mesh.inter.IVertex;
+import org.vadere.meshing.mesh.inter.IVertexContainerDouble;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link MeshBinaryWriter} writes a {@link IMesh} into a compact binary format. In contrast
+ * to the poly-format the half-edge connectivity is stored explicitly, such that reading the mesh
+ * does not require any reconstruction of twins or the border.
+ * It is the counterpart to {@link MeshBinaryReader}.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *     int magic, int version
+ *     int #vertices, int #half-edges, int #faces (including holes), int #containers, int borderEdge
+ *     #vertices  x (double), y (double)
+ *     #vertices  edge (int)
+ *     #half-edges end-vertex (int), next (int), twin (int), face (int, -1 for the border)
+ *     #faces     edge (int)
+ *     #faces     hole (byte)
+ *     #containers name (int length + UTF-8 bytes), #vertices values (double)
+ * </pre>
+ * Elements are referenced by their position in the written arrays, -1 refers to no element.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the half-edges
+ * @param <F> the type of the faces
+ */
+public class MeshBinaryWriter<V extends IVertex, E extends IHalfEdge, F extends IFace> {
+
+	static final int MAGIC = 0x564D4248; // VMBH
+	static final int VERSION = 1;
+	static final int BUFFER_SIZE = 1 << 20;
+
+	private final ByteBuffer buffer;
+
+	public MeshBinaryWriter() {
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	}
+
+	/**
+	 * Writes the mesh and the named vertex double containers into the <tt>file</tt>.
+	 *
+	 * @param mesh              the mesh
+	 * @param containerNames    names of vertex double containers which will be written
+	 * @param file              the destination file
+	 *
+	 * @throws IOException if the file can not be written
+	 */
+	public void write(
+			@NotNull final IMesh<V, E, F> mesh,
+			@NotNull final Collection<String> containerNames,
+			@NotNull final File file) throws IOException {
+		try (FileChannel channel = new FileOutputStream(file).getChannel()) {
+			write(mesh, containerNames, channel);
+		}
+	}
+
+	/**
+	 * Writes the mesh and the named vertex double containers into the <tt>outputStream</tt>.
+	 * The stream will not be closed.
+	 *
+	 * @param mesh              the mesh
+	 * @param containerNames    names of vertex double containers which will be written
+	 * @param outputStream      the destination stream
+	 *
+	 * @throws IOException if the stream can not be written
+	 */
+	public void write(
+			@NotNull final IMesh<V, E, F> mesh,
+			@NotNull final Collection<String> containerNames,
+			@NotNull final OutputStream outputStream) throws IOException {
+		write(mesh, containerNames, Channels.newChannel(outputStream));
+		outputStream.flush();
+	}
+
+	private void write(
+			@NotNull final IMesh<V, E, F> mesh,
+			@NotNull final Collection<String> containerNames,
+			@NotNull final WritableByteChannel channel) throws IOException {
+		List<V> vertices = mesh.getVertices();
+		List<E> edges = mesh.getEdges();
+		List<F> faces = mesh.streamFaces(f -> true).filter(f -> mesh.isAlive(f)).collect(Collectors.toList());
+
+		// identity based, since e.g. PHalfEdge#equals does not distinguish all half-edges
+		Map<V, Integer> vertexIndices = new IdentityHashMap<>(vertices.size());
+		Map<E, Integer> edgeIndices = new IdentityHashMap<>(edges.size());
+		Map<F, Integer> faceIndices = new IdentityHashMap<>(faces.size());
+		for(int i = 0; i < vertices.size(); i++) {
+			vertexIndices.put(vertices.get(i), i);
+		}
+		for(int i = 0; i < edges.size(); i++) {
+			edgeIndices.put(edges.get(i), i);
+		}
+		for(int i = 0; i < faces.size(); i++) {
+			faceIndices.put(faces.get(i), i);
+		}
+
+		F border = mesh.getBorder();
+		buffer.clear();
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(vertices.size());
+		buffer.putInt(edges.size());
+		buffer.putInt(faces.size());
+		buffer.putInt(containerNames.size());
+		buffer.putInt(indexOf(edgeIndices, mesh.getEdge(border)));
+
+		for(V vertex : vertices) {
+			ensureRemaining(channel, 2 * Double.BYTES);
+			buffer.putDouble(mesh.getX(vertex));
+			buffer.putDouble(mesh.getY(vertex));
+		}
+
+		for(V vertex : vertices) {
+			ensureRemaining(channel, Integer.BYTES);
+			buffer.putInt(indexOf(edgeIndices, mesh.getEdge(vertex)));
+		}
+
+		for(E edge : edges) {
+			ensureRemaining(channel, 4 * Integer.BYTES);
+			F face = mesh.getFace(edge);
+			buffer.putInt(indexOf(vertexIndices, mesh.getVertex(edge)));
+			buffer.putInt(indexOf(edgeIndices, mesh.getNext(edge)));
+			buffer.putInt(indexOf(edgeIndices, mesh.getTwin(edge)));
+			buffer.putInt(face == border ? -1 : indexOf(faceIndices, face));
+		}
+
+		for(F face : faces) {
+			ensureRemaining(channel, Integer.BYTES);
+			buffer.putInt(indexOf(edgeIndices, mesh.getEdge(face)));
+		}
+
+		for(F face : faces) {
+			ensureRemaining(channel, Byte.BYTES);
+			buffer.put(mesh.isHole(face) ? (byte)1 : (byte)0);
+		}
+
+		for(String name : containerNames) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			ensureRemaining(channel, Integer.BYTES + bytes.length);
+			buffer.putInt(bytes.length);
+			buffer.put(bytes);
+
+			IVertexContainerDouble<V, E, F> container = mesh.getDoubleVertexContainer(name);
+			for(V vertex : vertices) {
+				ensureRemaining(channel, Double.BYTES);
+				buffer.putDouble(container.getValue(vertex));
+			}
+		}
+
+		flush(channel);
+	}
+
+	private static <T> int indexOf(@NotNull final Map<T, Integer> indices, final T element) {
+		return element == null ? -1 : indices.getOrDefault(element, -1);
+	}
+
+	private void ensureRemaining(@NotNull final WritableByteChannel channel, final int nBytes) throws IOException {
+		if(buffer.remaining() < nBytes) {
+			flush(channel);
+		}
+	}
+
+	private void flush(@NotNull final WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,75 @@
+package org.vadere.geometry.mesh;
+
+import org.junit.Test;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.inter.IFace;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.meshing.mesh.triangulation.improver.eikmesh.impl.PEikMesh;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestEikMeshParallel {
+
+	private static final VRectangle bound = new VRectangle(0, 0, 10, 10);
+	private static final List<VShape> obstacles = Collections.singletonList(new VRectangle(4, 4, 2, 2));
+	private static final double h0 = 0.5;
+	private static final int nSteps = 40;
+
+	@Test
+	public void testParallelIsDeterministic() {
+		PEikMesh eikMesh2 = improve(true, 2);
+		PEikMesh eikMesh4 = improve(true, 4);
+
+		List<PVertex> vertices2 = eikMesh2.getMesh().getVertices();
+		List<PVertex> vertices4 = eikMesh4.getMesh().getVertices();
+		assertEquals(vertices2.size(), vertices4.size());
+		for(int i = 0; i < vertices2.size(); i++) {
+			assertEquals(vertices2.get(i).getX(), vertices4.get(i).getX(), 0.0);
+			assertEquals(vertices2.get(i).getY(), vertices4.get(i).getY(), 0.0);
+		}
+	}
+
+	@Test
+	public void testParallelQualityEqualsSequentialQuality() {
+		PEikMesh sequential = improve(false, 1);
+		PEikMesh parallel = improve(true, 4);
+
+		assertTrue(parallel.getMesh().isValid());
+		assertTrue(isConsistentlyOriented(parallel.getMesh()));
+		assertEquals(sequential.getQuality(), parallel.getQuality(), 0.02);
+		assertEquals(sequential.getMesh().getNumberOfVertices(), parallel.getMesh().getNumberOfVertices(), 0.05 * sequential.getMesh().getNumberOfVertices());
+	}
+
+	private static PEikMesh improve(final boolean runParallel, final int nThreads) {
+		IDistanceFunction distanceFunction = IDistanceFunction.create(bound, obstacles);
+		PEikMesh eikMesh = new PEikMesh(distanceFunction, p -> 1.0 + 0.2 * Math.abs(distanceFunction.apply(p)), h0, bound, obstacles);
+		eikMesh.setRunParallel(runParallel, nThreads);
+
+		while (!eikMesh.isInitialized()) {
+			eikMesh.initialize();
+		}
+
+		for(int i = 0; i < nSteps; i++) {
+			eikMesh.improve();
+		}
+		return eikMesh;
+	}
+
+	/**
+	 * A triangle which is inverted by an illegal displacement has the opposite orientation.
+	 */
+	private static <F extends IFace> boolean isConsistentlyOriented(final IMesh<PVertex, ?, F> mesh) {
+		return mesh.streamFaces()
+				.filter(f -> !mesh.isBoundary(f))
+				.map(f -> Math.signum(mesh.toTriangle(f).getSignedArea()))
+				.distinct()
+				.count() == 1;
+	}
+}
@@ -0,0 +1,106 @@
+package org.vadere.geometry.mesh;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.meshing.mesh.gen.AFace;
+import org.vadere.meshing.mesh.gen.AHalfEdge;
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AVertex;
+import org.vadere.meshing.mesh.gen.PFace;
+import org.vadere.meshing.mesh.gen.PHalfEdge;
+import org.vadere.meshing.mesh.gen.PMesh;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.inter.IFace;
+import org.vadere.meshing.mesh.inter.IHalfEdge;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.meshing.mesh.inter.IVertex;
+import org.vadere.meshing.mesh.triangulation.improver.eikmesh.impl.PEikMesh;
+import org.vadere.meshing.utils.io.bin.MeshBinaryReader;
+import org.vadere.meshing.utils.io.bin.MeshBinaryWriter;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestMeshBinaryReadWrite {
+
+	private static final String potential = "potential";
+	private IMesh<PVertex, PHalfEdge, PFace> mesh;
+
+	@Before
+	public void setUp() {
+		VRectangle bound = new VRectangle(0, 0, 10, 10);
+		List<VShape> obstacles = Collections.singletonList(new VRectangle(4, 4, 2, 2));
+		IDistanceFunction distanceFunction = IDistanceFunction.create(bound, obstacles);
+		PEikMesh eikMesh = new PEikMesh(distanceFunction, p -> 1.0, 1.0, bound, obstacles);
+		eikMesh.generate();
+		mesh = eikMesh.getMesh();
+		mesh.garbageCollection();
+		for(PVertex vertex : mesh.getVertices()) {
+			mesh.setDoubleData(vertex, potential, vertex.getX() + 2 * vertex.getY());
+		}
+	}
+
+	@Test
+	public void testPMeshRoundTrip() throws IOException {
+		PMesh target = new PMesh();
+		List<String> names = new MeshBinaryReader<PVertex, PHalfEdge, PFace>().read(target, new ByteArrayInputStream(toBytes()));
+
+		assertEquals(Collections.singletonList(potential), names);
+		assertEqualMeshes(mesh, target);
+	}
+
+	@Test
+	public void testReadIntoAMesh() throws IOException {
+		AMesh target = new AMesh();
+		new MeshBinaryReader<AVertex, AHalfEdge, AFace>().read(target, new ByteArrayInputStream(toBytes()));
+		assertEqualMeshes(mesh, target);
+	}
+
+	@Test
+	public void testReadReplacesTargetContent() throws IOException {
+		PMesh target = new PMesh();
+		target.createFace(target.insertVertex(0, 0), target.insertVertex(1, 0), target.insertVertex(0, 1));
+		new MeshBinaryReader<PVertex, PHalfEdge, PFace>().read(target, new ByteArrayInputStream(toBytes()));
+		assertEqualMeshes(mesh, target);
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectInvalidHeader() throws IOException {
+		new MeshBinaryReader<PVertex, PHalfEdge, PFace>().read(new PMesh(), new ByteArrayInputStream(new byte[64]));
+	}
+
+	private byte[] toBytes() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		new MeshBinaryWriter<PVertex, PHalfEdge, PFace>().write(mesh, Collections.singletonList(potential), outputStream);
+		return outputStream.toByteArray();
+	}
+
+	private static <V extends IVertex, E extends IHalfEdge, F extends IFace> void assertEqualMeshes(final IMesh<PVertex, PHalfEdge, PFace> expected, final IMesh<V, E, F> actual) {
+		assertTrue(actual.isValid());
+		assertEquals(expected.getNumberOfVertices(), actual.getNumberOfVertices());
+		assertEquals(expected.getNumberOfEdges(), actual.getNumberOfEdges());
+		assertEquals(expected.getNumberOfFaces(), actual.getNumberOfFaces());
+		assertEquals(expected.getNumberOfHoles(), actual.getNumberOfHoles());
+		assertEquals(expected.getBoundaryEdges().size(), actual.getBoundaryEdges().size());
+
+		List<PVertex> expectedVertices = expected.getVertices();
+		List<V> actualVertices = actual.getVertices();
+		for(int i = 0; i < expectedVertices.size(); i++) {
+			PVertex v = expectedVertices.get(i);
+			V u = actualVertices.get(i);
+			assertEquals(expected.getX(v), actual.getX(u), 0.0);
+			assertEquals(expected.getY(v), actual.getY(u), 0.0);
+			assertEquals(expected.getDoubleData(v, potential), actual.getDoubleData(u, potential), 0.0);
+			assertEquals(expected.degree(v), actual.degree(u));
+		}
+	}
+}
@@ -5,6 +5,7 @@ import org.vadere.simulator.context.VadereContext;
 import org.vadere.simulator.models.potential.fields.PotentialFieldDistancesBruteForce;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.simulator.utils.cache.SharedFloorFields;
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.scenario.Car;
 import org.vadere.state.scenario.Obstacle;
@@ -16,6 +17,7 @@ import org.vadere.util.math.IDistanceFunctionCached;
 import org.vadere.util.random.SimpleReachablePointProvider;
 
 import java.util.Random;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class OfflineTopographyController extends ScenarioElementController  {
@@ -28,8 +30,15 @@ public class OfflineTopographyController extends ScenarioElementController  {
 		this.random = random;
 	}
 
+	/**
+	 * The spatial maps are kept consistent by adding, moving and removing elements through the {@link Topography}.
+	 * They are only rebuilt if some model marked them as outdated, see {@link Topography#setRecomputeCells(boolean)}.
+	 */
 	public void update(double simTimeInSec) {
-		recomputeCells();
+		if (getTopography().isRecomputeCells()) {
+			recomputeCells();
+		}
+		assert isCellsConsistent() : "the linked cells grid does not match the positions of the dynamic elements";
 	}
 
 	public Topography getTopography() {
@@ -59,12 +68,18 @@ public class OfflineTopographyController extends ScenarioElementController  {
 
 		} else {
 			// add distance function
-			ScenarioCache cache = (ScenarioCache) VadereContext.getCtx(getTopography()).getOrDefault("cache", ScenarioCache.empty());
-			PotentialFieldDistancesBruteForce distanceField = new PotentialFieldDistancesBruteForce(
+			VadereContext ctx = VadereContext.getCtx(getTopography());
+			ScenarioCache cache = (ScenarioCache) ctx.getOrDefault("cache", ScenarioCache.empty());
+			Supplier<PotentialFieldDistancesBruteForce> distanceFieldSupplier = () -> new PotentialFieldDistancesBruteForce(
 					getTopography().getObstacles().stream().map(obs -> obs.getShape()).collect(Collectors.toList()),
 					new VRectangle(getTopography().getBounds()),
 					attributesFloorField, cache);
 
+			// the distance field is read-only, i.e. concurrent runs of the same topography can share it
+			SharedFloorFields sharedFloorFields = (SharedFloorFields) ctx.get("sharedFloorFields");
+			PotentialFieldDistancesBruteForce distanceField = sharedFloorFields == null ? distanceFieldSupplier.get() :
+					sharedFloorFields.computeIfAbsent(SharedFloorFields.distToIdentifier("BruteForce"), distanceFieldSupplier);
+
 			getTopography().setObstacleDistanceFunction(iPoint -> -distanceField.getPotential(iPoint, null));
 
 			// use PotentialFieldDistancesBruteForce as distance function
@@ -79,14 +94,17 @@ public class OfflineTopographyController extends ScenarioElementController  {
 	 * Recomputes the {@link org.vadere.util.geometry.LinkedCellsGrid} for fast access to pedestrian neighbors.
 	 */
 	protected void recomputeCells() {
-		getTopography().getSpatialMap(Pedestrian.class).clear();
-		for (Pedestrian pedestrian : getTopography().getElements(Pedestrian.class)) {
-			getTopography().getSpatialMap(Pedestrian.class).addObject(pedestrian);
-		}
-		getTopography().getSpatialMap(Car.class).clear();
-		for (Car car : getTopography().getElements(Car.class)) {
-			getTopography().getSpatialMap(Car.class).addObject(car);
-		}
+		getTopography().getSpatialMap(Pedestrian.class).bulkLoad(getTopography().getElements(Pedestrian.class));
+		getTopography().getSpatialMap(Car.class).bulkLoad(getTopography().getElements(Car.class));
 		getTopography().setRecomputeCells(false);
 	}
+
+	/**
+	 * Checks whether the {@link org.vadere.util.geometry.LinkedCellsGrid}s match the positions of the dynamic elements.
+	 * This is expensive and should only be used for debugging.
+	 */
+	protected boolean isCellsConsistent() {
+		return getTopography().getSpatialMap(Pedestrian.class).isConsistent(getTopography().getElements(Pedestrian.class))
+				&& getTopography().getSpatialMap(Car.class).isConsistent(getTopography().getElements(Car.class));
+	}
 }
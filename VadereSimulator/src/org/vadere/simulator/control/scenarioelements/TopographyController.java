@@ -47,6 +47,8 @@ public class TopographyController extends OfflineTopographyController implements
 		}
 		prepareTopography(attributesFloorField);
 		createAgentWrapperPedestrians(simTimeInSec);
+		// the attributes of the initial pedestrians are applied after they have been placed
+		getTopography().setRecomputeCells(true);
 	}
 
 	private void createAgentWrapperPedestrians(double simTimeInSec) {
@@ -98,9 +100,6 @@ public class TopographyController extends OfflineTopographyController implements
 		newPedestrian.setHealthStatus(agentWrapper.getHealthStatus());
 	}
 
-	public void update(double simTimeInSec) {
-		recomputeCells();
-	}
 
 	public void postLoop(double simTimeInSec) {
 		domain.getTopography().reset();
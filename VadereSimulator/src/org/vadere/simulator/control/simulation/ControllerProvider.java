@@ -15,4 +15,5 @@ public interface ControllerProvider {
 	TeleporterController getTeleporterController();
 	TopographyController getTopographyController();
 	ProcessorManager getProcessorManager();
+	SimulationMetrics getSimulationMetrics();
 }
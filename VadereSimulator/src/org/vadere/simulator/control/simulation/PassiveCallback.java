@@ -1,5 +1,6 @@
 package org.vadere.simulator.control.simulation;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.vadere.meshing.mesh.gen.PMesh;
 import org.vadere.simulator.models.potential.fields.IPotentialField;
@@ -30,4 +31,10 @@ public interface PassiveCallback {
 	default void setPotentialField(@Nullable IPotentialField potentialField) {}
 
 	default void setPotentialFieldTargetMesh(@Nullable Map<Integer, PMesh> meshMap) {}
+
+	/**
+	 * Provides the instrumentation of the simulation loop. The metrics of all completed steps
+	 * can be read in {@link #preUpdate(double)}, {@link #postUpdate(double)} and {@link #postLoop(double)}.
+	 */
+	default void setSimulationMetrics(@NotNull SimulationMetrics metrics) {}
 }
@@ -21,6 +21,7 @@ import org.vadere.simulator.models.MainModel;
 import org.vadere.simulator.models.MainModelBuilder;
 import org.vadere.simulator.models.infection.AirTransmissionModel;
 import org.vadere.simulator.models.potential.solver.EikonalSolverCacheProvider;
+import org.vadere.simulator.models.potential.solver.EikonalSolverSharedProvider;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.simulator.projects.RunnableFinishedListener;
 import org.vadere.simulator.projects.Scenario;
@@ -28,8 +29,12 @@ import org.vadere.simulator.projects.ScenarioStore;
 import org.vadere.simulator.projects.SimulationResult;
 import org.vadere.simulator.projects.dataprocessing.DataProcessingJsonManager;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
+import org.vadere.simulator.projects.io.ScenarioBundle;
 import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.simulator.utils.cache.SharedFloorFieldRegistry;
+import org.vadere.simulator.utils.cache.SharedFloorFields;
 import org.vadere.state.psychology.perception.json.StimulusInfo;
+import org.vadere.state.scenario.Target;
 import org.vadere.util.io.IOUtils;
 import org.vadere.util.logging.Logger;
 
@@ -48,6 +53,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Manages single simulation runs.
@@ -86,6 +94,17 @@ public class ScenarioRun implements Runnable {
 
 	protected SimulationResult simulationResult;
 
+	// meshes provided by a precompiled ScenarioBundle, if present they are used instead of the mesh files.
+	private AMesh providedFloorFieldMesh;
+	private AMesh providedBackgroundMesh;
+
+	// floor fields shared with concurrent runs of the same topography, null if nothing is shared.
+	private @Nullable SharedFloorFieldRegistry sharedFloorFieldRegistry;
+	private @Nullable SharedFloorFields sharedFloorFields;
+
+	// concurrent runs of the same scenario need their own context
+	private static final AtomicInteger contextCounter = new AtomicInteger();
+
 	public ScenarioRun(final Scenario scenario, RunnableFinishedListener scenarioFinishedListener, Path scenarioFilePath, boolean singleStepMode, ScenarioCache scenarioCache) {
 		this(scenario, IOUtils.OUTPUT_DIR, scenarioFinishedListener, scenarioFilePath, scenarioCache);
 		this.singleStepMode = singleStepMode;
@@ -112,19 +131,48 @@ public class ScenarioRun implements Runnable {
 		this.scenarioCache = scenarioCache;
 	}
 
+	/**
+	 * Creates a run from a precompiled {@link ScenarioBundle}, i.e. the scenario is already migrated and
+	 * the meshes and floor fields are taken from the bundle instead of being parsed or computed.
+	 */
+	public ScenarioRun(final ScenarioBundle bundle, final String outputDir, boolean overwriteTimestampSetting, final RunnableFinishedListener scenarioFinishedListener, Path bundleFilePath) {
+		this(bundle.getScenario(), outputDir, overwriteTimestampSetting, scenarioFinishedListener, bundleFilePath,
+				bundle.createScenarioCache(bundleFilePath.toAbsolutePath().getParent()));
+		this.providedFloorFieldMesh = bundle.getFloorFieldMesh().orElse(null);
+		this.providedBackgroundMesh = bundle.getBackgroundMesh().orElse(null);
+	}
+
+
+	/**
+	 * Shares the static floor fields of this run with concurrent runs of the same topography which use the
+	 * same registry. Has to be set before the run is started.
+	 */
+	public void setSharedFloorFieldRegistry(@Nullable final SharedFloorFieldRegistry sharedFloorFieldRegistry) {
+		this.sharedFloorFieldRegistry = sharedFloorFieldRegistry;
+	}
 
 	private void initializeVadereContext(){
-		String scenarioName = scenario.getName();
-		this.scenarioStore.getTopography().setContextId(scenarioName);
+		String contextId = scenario.getName() + "#" + contextCounter.incrementAndGet();
+		this.scenarioStore.getTopography().setContextId(contextId);
 		VadereContext ctx = new VadereContext();
 
 		if (scenarioCache.isNotEmpty())
 			ctx.setEikonalSolverProvider(new EikonalSolverCacheProvider(scenarioCache)); // cache found use CacheProvider if possible
 
+		String floorFieldHash = sharedFloorFieldRegistry == null ? null : ScenarioCache.getHash(scenario);
+		if (floorFieldHash != null) {
+			sharedFloorFields = sharedFloorFieldRegistry.acquire(floorFieldHash);
+			Set<Integer> targetIds = scenarioStore.getTopography().getTargets().stream()
+					.map(Target::getId)
+					.collect(Collectors.toSet());
+			ctx.setEikonalSolverProvider(new EikonalSolverSharedProvider(ctx.getEikonalSolverProvider(), sharedFloorFields, targetIds));
+			ctx.put("sharedFloorFields", sharedFloorFields);
+		}
+
 		ctx.put("cache", scenarioCache);
 		ctx.put(AirTransmissionModel.simStepLength, scenario.getAttributesSimulation().getSimTimeStepLength());
 
-		VadereContext.add(scenarioName, ctx);
+		VadereContext.add(contextId, ctx);
 		logger.info("scenario context initialized.");
 	}
 
@@ -136,86 +184,167 @@ public class ScenarioRun implements Runnable {
 	@Override
 	public void run() {
 		try {
-			simulationResult.startTime();
-
-			/**
-			 * To make sure that no other Thread changes the scenarioStore object during the initialization of a scenario run
-			 * this is an atomic operation with respect to the scenarioStore. We observed that with Linux 18.04 KUbunto
-			 * the GUI-Thread changes the scenarioStore object during a simulation run. Which can lead to any unexpected behaviour.
-			 */
-			synchronized (scenarioStore) {
-				logger.info(String.format("Initializing scenario: %s...", scenario.getName()));
-
-				scenarioStore.getTopography().reset();
-				initializeVadereContext();
-
-				AMesh floorFieldMesh = loadFloorFieldMesh().orElse(null);
-				AMesh backgroundMesh = loadBackgrounddMesh().orElse(null);
-				MainModelBuilder modelBuilder = new MainModelBuilder(scenarioStore, floorFieldMesh, backgroundMesh);
-				modelBuilder.createModelAndRandom();
-
-				final MainModel mainModel = modelBuilder.getModel();
-				final Random random = modelBuilder.getRandom();
-				final Domain domain = modelBuilder.getDomain();
-				//todo[random]: place the Random object in the context for now. This should be replaced by the meta seed.
-				VadereContext.getCtx(scenarioStore.getTopography()).put("random", random);
-
-				// prepare processors and simulation data writer
-				if(scenarioStore.getAttributesSimulation().isWriteSimulationData()) {
-					processorManager = dataProcessingJsonManager.createProcessorManager(mainModel, scenarioStore.getTopography());
-					processorManager.setSimulationResult(simulationResult);
-				}
+			initializeSimulation();
 
-				// Only create output directory and write .scenario file if there is any output.
-				if (processorManager != null && !processorManager.isEmpty()) {
-					createAndSetOutputDirectory();
-					scenario.saveToOutputPath(outputPath);
-					if(floorFieldMesh != null) {
-						writeFloorFieldMeshToOutput(floorFieldMesh);
-					}
-					if(backgroundMesh != null) {
-						writeBackgroundMeshToOutput(backgroundMesh);
-					}
+			simulation.run();
+			simulationResult.setState("SimulationRun completed");
+			writeSimulationMetrics();
+
+		} catch (Exception e) {
+			logger.error("Simulation failed", e);
+			throw new RuntimeException("Simulation failed.", e);
+		} finally {
+			finishRun();
+		}
+	}
+
+	/**
+	 * Builds the models, processors and the {@link Simulation} of this run.
+	 */
+	protected void initializeSimulation() throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+		simulationResult.startTime();
+
+		/**
+		 * To make sure that no other Thread changes the scenarioStore object during the initialization of a scenario run
+		 * this is an atomic operation with respect to the scenarioStore. We observed that with Linux 18.04 KUbunto
+		 * the GUI-Thread changes the scenarioStore object during a simulation run. Which can lead to any unexpected behaviour.
+		 */
+		synchronized (scenarioStore) {
+			logger.info(String.format("Initializing scenario: %s...", scenario.getName()));
+
+			scenarioStore.getTopography().reset();
+			initializeVadereContext();
+
+			AMesh floorFieldMesh = loadFloorFieldMesh().orElse(null);
+			AMesh backgroundMesh = loadBackgrounddMesh().orElse(null);
+			MainModelBuilder modelBuilder = new MainModelBuilder(scenarioStore, floorFieldMesh, backgroundMesh);
+			modelBuilder.createModelAndRandom();
+
+			final MainModel mainModel = modelBuilder.getModel();
+			final Random random = modelBuilder.getRandom();
+			final Domain domain = modelBuilder.getDomain();
+			//todo[random]: place the Random object in the context for now. This should be replaced by the meta seed.
+			VadereContext.getCtx(scenarioStore.getTopography()).put("random", random);
+
+			// prepare processors and simulation data writer
+			if(scenarioStore.getAttributesSimulation().isWriteSimulationData()) {
+				processorManager = dataProcessingJsonManager.createProcessorManager(mainModel, scenarioStore.getTopography());
+				processorManager.setSimulationResult(simulationResult);
+			}
+
+			// Only create output directory and write .scenario file if there is any output.
+			if (processorManager != null && !processorManager.isEmpty()) {
+				createAndSetOutputDirectory();
+				scenario.saveToOutputPath(outputPath);
+				if(floorFieldMesh != null) {
+					writeFloorFieldMeshToOutput(floorFieldMesh);
 				}
+				if(backgroundMesh != null) {
+					writeBackgroundMeshToOutput(backgroundMesh);
+				}
+			}
 
-				IPerceptionModel perceptionModel = PerceptionModelBuilder.instantiateModel(scenarioStore);
-				ICognitionModel cognitionModel = CognitionModelBuilder.instantiateModel(scenarioStore);
+			IPerceptionModel perceptionModel = PerceptionModelBuilder.instantiateModel(scenarioStore);
+			ICognitionModel cognitionModel = CognitionModelBuilder.instantiateModel(scenarioStore);
 
 
-				// ensure all elements have unique id before attributes are sealed
-				scenario.getTopography().generateUniqueIdIfNotSet();
-				sealAllAttributes();
+			// ensure all elements have unique id before attributes are sealed
+			scenario.getTopography().generateUniqueIdIfNotSet();
+			sealAllAttributes();
 
-				// Run simulation main loop from start time = 0 seconds
-				simulation = new Simulation(mainModel, perceptionModel,
-						cognitionModel, 0.0,
-						scenarioStore.getName(), scenarioStore, domain,
-						passiveCallbacks, random,
-						processorManager, simulationResult,
-						remoteRunListeners, singleStepMode,
-						scenarioCache);
-			}
+			// Run simulation main loop from start time = 0 seconds
+			simulation = new Simulation(mainModel, perceptionModel,
+					cognitionModel, 0.0,
+					scenarioStore.getName(), scenarioStore, domain,
+					passiveCallbacks, random,
+					processorManager, simulationResult,
+					remoteRunListeners, singleStepMode,
+					scenarioCache);
+		}
+	}
 
-			simulation.run();
-			simulationResult.setState("SimulationRun completed");
+	/**
+	 * Executed after the simulation of this run, even if it failed.
+	 */
+	protected void finishRun() {
+		simulationResult.stopTime();
+		logger.info("Simulation run finished.");
+		doAfterSimulation();
+		VadereContext.remove(scenarioStore.getTopography().getContextId());
+		if (sharedFloorFields != null) {
+			sharedFloorFields.release();
+			sharedFloorFields = null;
+		}
+	}
 
+	/**
+	 * Starts this run without a simulation thread, i.e. the calling thread drives the simulation by
+	 * {@link #simulateInThread(double)} and ends it by {@link #finishInThread()}, see {@link Simulation#startInThread()}.
+	 */
+	protected void startInThread() {
+		try {
+			initializeSimulation();
+			simulation.startInThread();
 		} catch (Exception e) {
-			logger.error("Simulation failed", e);
-			throw new RuntimeException("Simulation failed.", e);
+			failInThread(e);
+		}
+	}
+
+	/**
+	 * Simulates until <tt>simulateUntilInSec</tt> is reached in the calling thread.
+	 *
+	 * @return false if the main loop has ended
+	 */
+	protected boolean simulateInThread(final double simulateUntilInSec) {
+		try {
+			return simulation.simulateInThread(simulateUntilInSec);
+		} catch (Exception e) {
+			failInThread(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Ends a run started by {@link #startInThread()}, i.e. executes the post loop if this has not happened
+	 * yet and informs the listeners.
+	 */
+	protected void finishInThread() {
+		if (simulation == null || simulation.getThreadState() == SimThreadState.FINISHED) {
+			return;
+		}
+
+		try {
+			simulation.finishInThread();
+			simulationResult.setState("SimulationRun completed");
+			writeSimulationMetrics();
 		} finally {
-			simulationResult.stopTime();
-			logger.info("Simulation run finished.");
-			doAfterSimulation();
-			VadereContext.remove(scenarioStore.getTopography().getContextId());
+			finishRun();
+		}
+	}
 
+	private void failInThread(@NotNull final Exception e) {
+		logger.error("Simulation failed", e);
+		try {
+			if (simulation != null) {
+				simulation.finishInThread();
+			}
+		} finally {
+			finishRun();
 		}
+		throw new RuntimeException("Simulation failed.", e);
 	}
 
 	private Optional<AMesh> loadFloorFieldMesh() {
+		if(providedFloorFieldMesh != null) {
+			return Optional.of(providedFloorFieldMesh);
+		}
 		return loadMesh(scenario.getName()+".poly");
 	}
 
 	private Optional<AMesh> loadBackgrounddMesh() {
+		if(providedBackgroundMesh != null) {
+			return Optional.of(providedBackgroundMesh);
+		}
 		return loadMesh(scenario.getName()+IOUtils.BACKGROUND_MESH_ENDING+".poly");
 	}
 
@@ -252,6 +381,22 @@ public class ScenarioRun implements Runnable {
 		}
 	}
 
+	/**
+	 * Writes the instrumentation of the simulation loop next to the other output files,
+	 * if there is an output directory.
+	 */
+	private void writeSimulationMetrics() {
+		if (processorManager != null && !processorManager.isEmpty()) {
+			Path file = outputPath.resolve(SimulationMetrics.OUTPUT_FILE_NAME);
+			try {
+				simulation.getSimulationMetrics().write(file, DataProcessingJsonManager.DEFAULT_SEPARATOR);
+				logger.info("write simulation metrics to " + file + ".");
+			} catch (IOException e) {
+				logger.error("could not write simulation metrics to " + file + ": " + e.getMessage());
+			}
+		}
+	}
+
 	public void simulationFailed(Throwable e) {
 		e.printStackTrace();
 		logger.error(e);
@@ -56,6 +56,9 @@ public class Simulation implements ControllerProvider{
 	private boolean singleStepMode; // constructor
 	private boolean waitForSimCommand = false;
 	private double simulateUntilInSec = -1;
+	private boolean inThreadStepping = false;
+	private boolean inThreadStepPending = false;
+	private long inThreadStepEndInNs = 0;
 
 	/**
 	 * current simulation time (seconds)
@@ -69,6 +72,10 @@ public class Simulation implements ControllerProvider{
 	 * time (seconds) that should be simulated, i.e. the final time is startTimeInSec + runTimeInSec
 	 */
 	private double runTimeInSec = 0;
+	/**
+	 * time (seconds) where the current step decided to stop, i.e. runTimeInSec or an earlier stop time
+	 */
+	private double stopTimeInSec = 0;
 	private long lastFrameInMs = 0;
 	private int step = 0;
 	private SimulationState simulationState;
@@ -87,6 +94,14 @@ public class Simulation implements ControllerProvider{
 	private final StimulusController stimulusController;
 	private final ScenarioCache scenarioCache;
 
+	private final SimulationMetrics metrics;
+	private final SimulationMetrics.Phase scenarioElementsPhase;
+	private final SimulationMetrics.Phase cellRebuildPhase;
+	private final SimulationMetrics.Phase psychologyLayerPhase;
+	private final SimulationMetrics.Phase[] modelPhases;
+	private final SimulationMetrics.Phase processorManagerPhase;
+	private final SimulationMetrics.Phase traciWaitPhase;
+
 
 	public Simulation(MainModel mainModel, IPerceptionModel perceptionModel,
 					  ICognitionModel cognitionModel, double startTimeInSec,
@@ -118,6 +133,19 @@ public class Simulation implements ControllerProvider{
 		this.scenarioCache = scenarioCache;
 
 		this.models = mainModel.getSubmodels();
+
+		this.metrics = new SimulationMetrics();
+		this.scenarioElementsPhase = metrics.phase(SimulationMetrics.SCENARIO_ELEMENTS);
+		this.cellRebuildPhase = metrics.phase(SimulationMetrics.TOPOGRAPHY_CELL_REBUILD);
+		this.psychologyLayerPhase = metrics.phase(SimulationMetrics.PSYCHOLOGY_LAYER);
+		this.modelPhases = new SimulationMetrics.Phase[models.size()];
+		int i = 0;
+		for (Model model : models) {
+			modelPhases[i++] = metrics.phase(SimulationMetrics.MODEL_PREFIX + model.getClass().getSimpleName());
+		}
+		this.processorManagerPhase = metrics.phase(SimulationMetrics.PROCESSOR_MANAGER);
+		this.traciWaitPhase = metrics.phase(SimulationMetrics.TRACI_WAIT);
+
 		this.sourceControllerFactory = mainModel.getSourceControllerFactory();
 
 		// TODO [priority=normal] [task=bugfix] - the attributesCar are missing in initialize' parameters
@@ -145,6 +173,7 @@ public class Simulation implements ControllerProvider{
 
 		for (PassiveCallback pc : this.passiveCallbacks) {
 			pc.setDomain(domain);
+			pc.setSimulationMetrics(metrics);
 		}
 	}
 
@@ -253,7 +282,7 @@ public class Simulation implements ControllerProvider{
 		// Notify remoteManger that simulation ended.
 		logger.info("Post-loop: before waitForTraci");
 
-		if (singleStepMode) {
+		if (singleStepMode && !inThreadStepping) {
 			synchronized (this){
 				waitForTraci();
 			}
@@ -266,17 +295,8 @@ public class Simulation implements ControllerProvider{
 	 */
 	public void run() {
 		try {
+			startMainLoop();
 
-
-			if (attributesSimulation.isWriteSimulationData()) {
-				processorManager.setMainModel(mainModel);
-				processorManager.initOutputFiles();
-			}
-			threadState = SimThreadState.PRE_LOOP;
-			preLoop();
-			logger.info("preLoop finished.");
-
-			threadState = SimThreadState.MAIN_LOOP;
 			while (isRunSimulation) {
 				synchronized (this) {
 					while (isPaused) {
@@ -290,44 +310,7 @@ public class Simulation implements ControllerProvider{
 					}
 				}
 
-				if (attributesSimulation.isVisualizationEnabled()) {
-					sleepTillStartOfNextFrame();
-				}
-
-				for (PassiveCallback c : passiveCallbacks) {
-					c.preUpdate(simTimeInSec);
-				}
-
-				assert assertAllPedestrianInBounds(): "Pedestrians are outside of topography bound.";
-				updateCallbacks(simTimeInSec);
-
-				step++;
-				this.simulationState = new SimulationState(name, topography, scenarioStore, simTimeInSec, step, mainModel, this);
-
-				if (attributesSimulation.isWriteSimulationData()) {
-					processorManager.update(this.simulationState);
-				}
-
-				for (PassiveCallback c : passiveCallbacks) {
-					c.postUpdate(simTimeInSec);
-				}
-
-				double stopTime = runTimeInSec;
-				if (this.simulationState.isSimStop()) {
-					// get stopTime if the simulation should finish before finish time. New finish time = stop time
-					stopTime = this.simTimeInSec;
-				}
-
-				if (stopTime + startTimeInSec > simTimeInSec + 1e-7) {
-					// do nothing here. This is done after the  Remote Control Hook
-				} else {
-					// inform Remote Control Hook that simulation is stopped before
-					// static runTimeInSec is reached.
-					isRunSimulation = false;
-					remoteRunListeners.forEach(e-> e.simulationStoppedEarlyListener(simTimeInSec));
-					if (stopTime < runTimeInSec) {
-						logger.info("Run simulation until time t=" + stopTime +"s is reached."); }
-				}
+				runStep();
 
 				// Single step hook
 				// Remote Control Hook
@@ -338,33 +321,176 @@ public class Simulation implements ControllerProvider{
 						boolean timeReached = Math.round(simulateUntilInSec - simTimeInSec) <= 0;
 						if (timeReached && isRunSimulation){
 							logger.debugf("Synchronized reached at: %.4f. Wait for traci commands.", simTimeInSec);
+							long waitStart = System.nanoTime();
 							waitForTraci();
+							traciWaitPhase.add(System.nanoTime() - waitStart);
 						}
 					}
 				}
 
-				if (stopTime + startTimeInSec > simTimeInSec + 1e-7) {
-					simTimeInSec += Math.min(attributesSimulation.getSimTimeStepLength(), runTimeInSec + startTimeInSec - simTimeInSec);
-				}
+				finishStep();
+			}
+		} finally {
+			// Always execute postLoop
+			endMainLoop();
+			threadState = SimThreadState.FINISHED;
+		}
+	}
+
+	/**
+	 * Starts the simulation without a simulation thread, i.e. the caller drives the main loop step by step
+	 * via {@link #simulateInThread(double)} and accesses the state between the calls within its own thread.
+	 * This avoids the hand over between the TraCI thread and the simulation thread of {@link #run()} for
+	 * each simulation step. As in {@link #run()} the first step is simulated right away.
+	 */
+	void startInThread() {
+		inThreadStepping = true;
+		startMainLoop();
+		simulateInThread(-1);
+	}
+
+	/**
+	 * Continues the main loop in the calling thread until <tt>simulateUntilInSec</tt> is reached (-1 simulates
+	 * one step), i.e. until {@link #run()} would wait for the next TraCI command. If the main loop ends, the
+	 * post loop is executed and the thread state stays {@link SimThreadState#POST_LOOP} until
+	 * {@link #finishInThread()} is called.
+	 *
+	 * @return false if the main loop has ended
+	 */
+	boolean simulateInThread(final double simulateUntilInSec) {
+		if (threadState != SimThreadState.MAIN_LOOP) {
+			return false;
+		}
 
+		try {
+			// the last step of the previous call waits for its time advance like in run()
+			if (inThreadStepPending) {
+				traciWaitPhase.add(System.nanoTime() - inThreadStepEndInNs);
+				inThreadStepPending = false;
+				finishStep();
+			}
 
-				//remove comment to fasten simulation for evacuation simulations
-				//if (topography.getElements(Pedestrian.class).size() == 0){
-				// isRunSimulation = false;
-				//}
+			while (isRunSimulation) {
+				runStep();
 
-				if (Thread.interrupted()) {
-					isRunSimulation = false;
-					simulationResult.setState("Simulation interrupted.");
-					logger.info("Simulation interrupted.");
+				boolean timeReached = Math.round(simulateUntilInSec - simTimeInSec) <= 0;
+				if (timeReached && isRunSimulation) {
+					inThreadStepPending = true;
+					inThreadStepEndInNs = System.nanoTime();
+					return true;
 				}
+
+				finishStep();
 			}
+		} catch (RuntimeException | Error e) {
+			isRunSimulation = false;
+			throw e;
 		} finally {
-			// Always execute postLoop
+			if (!isRunSimulation) {
+				endMainLoop();
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Ends a simulation started by {@link #startInThread()} after the post loop.
+	 */
+	void finishInThread() {
+		if (threadState == SimThreadState.MAIN_LOOP) {
 			isRunSimulation = false;
-			threadState = SimThreadState.POST_LOOP;
-			postLoop();
-			threadState = SimThreadState.FINISHED;
+			endMainLoop();
+		}
+		threadState = SimThreadState.FINISHED;
+	}
+
+	private void startMainLoop() {
+		if (attributesSimulation.isWriteSimulationData()) {
+			processorManager.setMainModel(mainModel);
+			processorManager.initOutputFiles();
+		}
+		threadState = SimThreadState.PRE_LOOP;
+		preLoop();
+		logger.info("preLoop finished.");
+
+		threadState = SimThreadState.MAIN_LOOP;
+	}
+
+	private void endMainLoop() {
+		isRunSimulation = false;
+		threadState = SimThreadState.POST_LOOP;
+		postLoop();
+	}
+
+	/**
+	 * Simulates the current time step, i.e. everything of the main loop before the remote control hook.
+	 */
+	private void runStep() {
+		if (attributesSimulation.isVisualizationEnabled()) {
+			sleepTillStartOfNextFrame();
+		}
+
+		metrics.beginStep();
+
+		for (PassiveCallback c : passiveCallbacks) {
+			c.preUpdate(simTimeInSec);
+		}
+
+		assert assertAllPedestrianInBounds(): "Pedestrians are outside of topography bound.";
+		updateCallbacks(simTimeInSec);
+
+		step++;
+		this.simulationState = new SimulationState(name, topography, scenarioStore, simTimeInSec, step, mainModel, this);
+
+		if (attributesSimulation.isWriteSimulationData()) {
+			long processorStart = System.nanoTime();
+			processorManager.update(this.simulationState);
+			processorManagerPhase.add(System.nanoTime() - processorStart);
+		}
+
+		for (PassiveCallback c : passiveCallbacks) {
+			c.postUpdate(simTimeInSec);
+		}
+
+		double stopTime = runTimeInSec;
+		if (this.simulationState.isSimStop()) {
+			// get stopTime if the simulation should finish before finish time. New finish time = stop time
+			stopTime = this.simTimeInSec;
+		}
+		this.stopTimeInSec = stopTime;
+
+		if (stopTime + startTimeInSec > simTimeInSec + 1e-7) {
+			// do nothing here. This is done after the  Remote Control Hook
+		} else {
+			// inform Remote Control Hook that simulation is stopped before
+			// static runTimeInSec is reached.
+			isRunSimulation = false;
+			remoteRunListeners.forEach(e-> e.simulationStoppedEarlyListener(simTimeInSec));
+			if (stopTime < runTimeInSec) {
+				logger.info("Run simulation until time t=" + stopTime +"s is reached."); }
+		}
+	}
+
+	/**
+	 * Advances the simulation time after the remote control hook.
+	 */
+	private void finishStep() {
+		if (stopTimeInSec + startTimeInSec > simTimeInSec + 1e-7) {
+			simTimeInSec += Math.min(attributesSimulation.getSimTimeStepLength(), runTimeInSec + startTimeInSec - simTimeInSec);
+		}
+
+		metrics.endStep(topography.getPedestrianDynamicElements().getElements().size());
+
+
+		//remove comment to fasten simulation for evacuation simulations
+		//if (topography.getElements(Pedestrian.class).size() == 0){
+		// isRunSimulation = false;
+		//}
+
+		if (Thread.interrupted()) {
+			isRunSimulation = false;
+			simulationResult.setState("Simulation interrupted.");
+			logger.info("Simulation interrupted.");
 		}
 	}
 
@@ -413,7 +539,9 @@ public class Simulation implements ControllerProvider{
 
 		updateScenarioElements(simTimeInSec);
 
+		long psychologyStart = System.nanoTime();
 		updatePsychologyLayer(simTimeInSec);
+		psychologyLayerPhase.add(System.nanoTime() - psychologyStart);
 
 		updateLocomotionLayer(simTimeInSec);
 
@@ -427,6 +555,7 @@ public class Simulation implements ControllerProvider{
 		// pedestrians can be declared as targets in each simulation loop.
 		// Therefore, create the necessary controller wrappers here for these
 		// new targets.
+		long start = System.nanoTime();
 		this.targetControllers.clear();
 		for (Target target : this.topographyController.getTopography().getTargets()) {
 			targetControllers.add(new TargetController(this.topographyController.getTopography(), target,random));
@@ -447,8 +576,15 @@ public class Simulation implements ControllerProvider{
 		for (AbsorbingAreaController absorbingAreaController : this.absorbingAreaControllers) {
 			absorbingAreaController.update(simTimeInSec);
 		}
+		scenarioElementsPhase.add(System.nanoTime() - start);
+
+		rebuildTopographyCells(simTimeInSec);
+	}
 
+	private void rebuildTopographyCells(double simTimeInSec) {
+		long start = System.nanoTime();
 		topographyController.update(simTimeInSec); //rebuild CellGrid
+		cellRebuildPhase.add(System.nanoTime() - start);
 	}
 
 
@@ -472,18 +608,22 @@ public class Simulation implements ControllerProvider{
 
 
 	private void updateLocomotionLayer(double simTimeInSec) {
+		int i = 0;
 		for (Model m : models) {
+			SimulationMetrics.Phase modelPhase = modelPhases[i++];
 			List<SourceController> stillSpawningSource = this.sourceControllers.stream().filter(s -> !s.isSourceFinished(simTimeInSec)).collect(Collectors.toList());
 			int pedestriansInSimulation = this.simulationState.getTopography().getPedestrianDynamicElements().getElements().size();
 			int aerosolCloudsInSimulation = this.simulationState.getTopography().getAerosolClouds().size();
 
 			// Only update until there are pedestrians in the scenario or pedestrian to spawn or aerosol clouds persist
 			if (!stillSpawningSource.isEmpty() || pedestriansInSimulation > 0 || aerosolCloudsInSimulation > 0) {
+				long start = System.nanoTime();
 				m.update(simTimeInSec);
+				modelPhase.add(System.nanoTime() - start);
 
 				if (topography.isRecomputeCells()) {
 					// rebuild CellGrid if model does not manage the CellGrid state while updating
-					topographyController.update(simTimeInSec); //rebuild CellGrid
+					rebuildTopographyCells(simTimeInSec);
 				}
 			}
 		}
@@ -628,6 +768,11 @@ public class Simulation implements ControllerProvider{
 		return processorManager;
 	}
 
+	@Override
+	public SimulationMetrics getSimulationMetrics() {
+		return metrics;
+	}
+
 	public void setIsRunSimulation(boolean running){
 		isRunSimulation = running;
 	}
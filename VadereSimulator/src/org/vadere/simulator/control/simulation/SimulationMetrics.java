@@ -0,0 +1,191 @@
+package org.vadere.simulator.control.simulation;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.data.LogLinearHistogram;
+import org.vadere.util.logging.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Low overhead instrumentation of the simulation loop. For every step the wall time of each phase of the
+ * loop (scenario elements, psychology layer, each {@link org.vadere.simulator.models.Model#update(double)},
+ * rebuilding the topography cells, the processors and waiting for TraCI), the number of agents and the bytes
+ * allocated by the simulation thread are recorded into {@link LogLinearHistogram}s. Times are measured in
+ * nanoseconds. If a phase is entered several times during one step, the durations are summed up.
+ *
+ * The metrics are recorded by the simulation thread only. Reading them is safe whenever the simulation
+ * thread does not run, e.g. while it waits for TraCI or inside a {@link PassiveCallback}.
+ */
+public class SimulationMetrics {
+
+	private static final Logger logger = Logger.getLogger(SimulationMetrics.class);
+
+	public static final String OUTPUT_FILE_NAME = "simulation_metrics.txt";
+
+	public static final String STEP = "step";
+	public static final String SCENARIO_ELEMENTS = "scenarioElements";
+	public static final String PSYCHOLOGY_LAYER = "psychologyLayer";
+	public static final String TOPOGRAPHY_CELL_REBUILD = "topographyCellRebuild";
+	public static final String PROCESSOR_MANAGER = "processorManager";
+	public static final String TRACI_WAIT = "traciWait";
+	public static final String MODEL_PREFIX = "model:";
+	public static final String AGENTS = "agents";
+	public static final String ALLOCATED_BYTES = "allocatedBytes";
+
+	public static final String[] SUMMARY_COLUMNS = {"count", "min", "mean", "p50", "p90", "p99", "max", "sum"};
+
+	/**
+	 * A phase of the simulation loop whose duration is accumulated during a step.
+	 */
+	public static class Phase {
+		private final LogLinearHistogram histogram = new LogLinearHistogram();
+		private long duration;
+		private boolean entered;
+
+		public void add(final long durationInNs) {
+			duration += durationInNs;
+			entered = true;
+		}
+
+		private void endStep() {
+			if(entered) {
+				histogram.record(duration);
+				duration = 0;
+				entered = false;
+			}
+		}
+
+		public LogLinearHistogram getHistogram() {
+			return histogram;
+		}
+	}
+
+	private final Map<String, Phase> phases;
+	private final LogLinearHistogram steps;
+	private final LogLinearHistogram agents;
+	private final LogLinearHistogram allocatedBytes;
+	private final com.sun.management.ThreadMXBean allocationBean;
+
+	private long stepStart;
+	private long allocationStart;
+
+	public SimulationMetrics() {
+		this.phases = new LinkedHashMap<>();
+		this.steps = new LogLinearHistogram();
+		this.agents = new LogLinearHistogram();
+		this.allocatedBytes = new LogLinearHistogram();
+		this.allocationBean = createAllocationBean();
+	}
+
+	private static com.sun.management.ThreadMXBean createAllocationBean() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if(bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+			if(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+				return allocationBean;
+			}
+		}
+		logger.info("thread allocation measurement is not supported, allocation rates will not be recorded.");
+		return null;
+	}
+
+	/**
+	 * Returns the phase with the given name, it will be created if it does not exist. Callers should keep
+	 * the reference instead of looking it up in every step.
+	 */
+	public Phase phase(@NotNull final String name) {
+		return phases.computeIfAbsent(name, n -> new Phase());
+	}
+
+	public void beginStep() {
+		stepStart = System.nanoTime();
+		allocationStart = allocatedBytes();
+	}
+
+	public void endStep(final int numberOfAgents) {
+		steps.record(System.nanoTime() - stepStart);
+		agents.record(numberOfAgents);
+		if(allocationBean != null) {
+			allocatedBytes.record(Math.max(0, allocatedBytes() - allocationStart));
+		}
+		for(Phase phase : phases.values()) {
+			phase.endStep();
+		}
+	}
+
+	private long allocatedBytes() {
+		return allocationBean == null ? 0 : allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	public long getNumberOfSteps() {
+		return steps.getCount();
+	}
+
+	/**
+	 * Returns all histograms in the order: the whole step, the phases in order of their first use,
+	 * the number of agents and the allocated bytes per step.
+	 */
+	public Map<String, LogLinearHistogram> getHistograms() {
+		Map<String, LogLinearHistogram> histograms = new LinkedHashMap<>();
+		histograms.put(STEP, steps);
+		phases.forEach((name, phase) -> histograms.put(name, phase.getHistogram()));
+		histograms.put(AGENTS, agents);
+		if(allocationBean != null) {
+			histograms.put(ALLOCATED_BYTES, allocatedBytes);
+		}
+		return Collections.unmodifiableMap(histograms);
+	}
+
+	/**
+	 * Returns the values of {@link #SUMMARY_COLUMNS} of a histogram.
+	 */
+	public static double[] summary(@NotNull final LogLinearHistogram histogram) {
+		return new double[] {
+				histogram.getCount(),
+				histogram.getMin(),
+				histogram.getMean(),
+				histogram.getValueAtPercentile(50),
+				histogram.getValueAtPercentile(90),
+				histogram.getValueAtPercentile(99),
+				histogram.getMax(),
+				histogram.getSum()
+		};
+	}
+
+	/**
+	 * Returns a table with one row per histogram and the columns {@link #SUMMARY_COLUMNS}.
+	 */
+	public List<String> toLines(@NotNull final String separator) {
+		List<String> lines = new ArrayList<>();
+		lines.add("metric" + separator + String.join(separator, SUMMARY_COLUMNS));
+		for(Map.Entry<String, LogLinearHistogram> entry : getHistograms().entrySet()) {
+			StringBuilder builder = new StringBuilder(entry.getKey());
+			for(double value : summary(entry.getValue())) {
+				builder.append(separator);
+				if(value == Math.rint(value)) {
+					builder.append((long) value);
+				} else {
+					builder.append(value);
+				}
+			}
+			lines.add(builder.toString());
+		}
+		return lines;
+	}
+
+	public void write(@NotNull final Path file, @NotNull final String separator) throws IOException {
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+			toLines(separator).forEach(out::println);
+		}
+	}
+}
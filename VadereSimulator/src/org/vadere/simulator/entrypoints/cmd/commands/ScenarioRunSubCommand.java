@@ -6,6 +6,7 @@ import net.sourceforge.argparse4j.inf.Namespace;
 import org.vadere.simulator.entrypoints.ScenarioFactory;
 import org.vadere.simulator.entrypoints.cmd.SubCommandRunner;
 import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.projects.io.ScenarioBundle;
 import org.vadere.simulator.control.simulation.ScenarioRun;
 import org.vadere.simulator.utils.scenariochecker.ConsoleScenarioCheckerMessageFormatter;
 import org.vadere.simulator.utils.scenariochecker.ScenarioChecker;
@@ -62,6 +63,11 @@ public class ScenarioRunSubCommand implements SubCommandRunner {
 			System.exit(-1);
 		}
 
+		if (ScenarioBundle.isBundle(scenarioFile)){
+			runBundle(scenarioFile, outputDir, overrideTimeStepSetting, scenarioCheckerSwitch);
+			return;
+		}
+
 		try {
 			Scenario scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
 			if (checkScenario(scenario, scenarioCheckerSwitch)){
@@ -77,4 +83,19 @@ public class ScenarioRunSubCommand implements SubCommandRunner {
 		}
 
 	}
+
+	private void runBundle(Path bundleFile, Path outputDir, boolean overrideTimeStepSetting, String scenarioCheckerSwitch){
+		try {
+			ScenarioBundle bundle = ScenarioBundle.load(bundleFile);
+			if (checkScenario(bundle.getScenario(), scenarioCheckerSwitch)){
+				new ScenarioRun(bundle, outputDir.toFile().toString(), overrideTimeStepSetting, null, bundleFile).run();
+			} else {
+				System.exit(-1);
+			}
+		} catch (Throwable e){
+			e.printStackTrace();
+			logger.error(e);
+			System.exit(-1);
+		}
+	}
 }
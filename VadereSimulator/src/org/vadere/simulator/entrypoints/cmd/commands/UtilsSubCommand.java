@@ -7,16 +7,11 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.vadere.simulator.entrypoints.ScenarioFactory;
 import org.vadere.util.version.Version;
 import org.vadere.simulator.entrypoints.cmd.SubCommandRunner;
-import org.vadere.simulator.models.potential.fields.IPotentialField;
-import org.vadere.simulator.models.potential.fields.PotentialFieldDistancesBruteForce;
-import org.vadere.simulator.models.potential.solver.EikonalSolverCacheProvider;
-import org.vadere.simulator.projects.Domain;
 import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.projects.io.ScenarioBundle;
 import org.vadere.simulator.utils.cache.ScenarioCache;
 import org.vadere.state.attributes.models.AttributesFloorField;
-import org.vadere.state.scenario.Target;
 import org.vadere.state.types.CacheType;
-import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.logging.Logger;
 
 import java.io.IOException;
@@ -24,7 +19,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 
 public class UtilsSubCommand implements SubCommandRunner {
@@ -38,6 +32,7 @@ public class UtilsSubCommand implements SubCommandRunner {
 		methods.put("getHash", Pair.of("[-i: file, -o: ignored]", this::getHash));
 		methods.put("binCache", Pair.of("[-i: file, -o: directory]",this::calculateBinCache));
 		methods.put("txtCache", Pair.of("[-i: file, -o: directory]",this::calculateTextCache));
+		methods.put("compileScenario", Pair.of("[-i: file, -o: bundle file (" + ScenarioBundle.BUNDLE_ENDING + ")]",this::compileScenario));
 	}
 
 	public String[] methodsString(){
@@ -131,23 +126,24 @@ public class UtilsSubCommand implements SubCommandRunner {
 		attFF.setCacheDir(out.toAbsolutePath().toString());
 		attFF.setCacheType(cacheType);
 
-		logger.infof("write Distance cache");
-		ScenarioCache cache = ScenarioCache.load(scenario, out.toAbsolutePath());
-		IPotentialField distanceField = new PotentialFieldDistancesBruteForce(
-				scenario.getTopography().getObstacles().stream().map(obs -> obs.getShape()).collect(Collectors.toList()),
-				new VRectangle(scenario.getTopography().getBounds()),
-				new AttributesFloorField(), cache);
-
-		EikonalSolverCacheProvider provider = new EikonalSolverCacheProvider(cache);
-		for (Target target : scenario.getTopography().getTargets()) {
-			logger.infof("write cache for target %s", target.getId());
-			//TODO: load the mesh if there is one
-			provider.provide(new Domain(scenario.getTopography())
-					, target.getId()
-					, scenario.getTopography().getTargetShapes().get(target.getId())
-					, scenario.getTopography().getAttributesPedestrian()
-					, attFF);
-		}
+		//TODO: load the mesh if there is one
+		ScenarioBundle.computeCaches(scenario, out, null);
+	}
 
+	/**
+	 * Compile the scenario into a single bundle containing the migrated scenario, the meshes and all
+	 * precomputed floor fields. The bundle can be passed to scenario-run instead of the scenario file.
+	 */
+	private void compileScenario(Namespace ns, ArgumentParser parser) throws Exception{
+		if (ns.getString("output") == null){
+			logger.errorf("need output file for this method");
+			System.exit(-1);
+		}
+		Path in = Paths.get(ns.getString("input").replace("~", System.getProperty("user.home")));
+		Path out = Paths.get(ns.getString("output"));
+		if (!ScenarioBundle.isBundle(out)){
+			out = Paths.get(out.toString() + ScenarioBundle.BUNDLE_ENDING);
+		}
+		ScenarioBundle.compile(in, out);
 	}
 }
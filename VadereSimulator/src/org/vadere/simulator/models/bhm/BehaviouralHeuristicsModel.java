@@ -4,6 +4,8 @@ import org.jetbrains.annotations.NotNull;
 import org.vadere.annotation.factories.models.ModelClass;
 import org.vadere.simulator.models.MainModel;
 import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.bhm.helpers.navigation.NavigationCluster;
+import org.vadere.simulator.models.bhm.helpers.navigation.NavigationFollower;
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTargetGrid;
 import org.vadere.simulator.models.potential.fields.PotentialFieldTargetGrid;
@@ -16,19 +18,27 @@ import org.vadere.state.scenario.DynamicElement;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Target;
 import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.LinkedCellsGrid;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.logging.Logger;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 @ModelClass(isMainModel = true)
 public class BehaviouralHeuristicsModel implements MainModel {
 
+	private static Logger logger = Logger.getLogger(BehaviouralHeuristicsModel.class);
+
 	private IPotentialFieldTarget potentialFieldTarget;
 
 	/**
@@ -54,6 +64,9 @@ public class BehaviouralHeuristicsModel implements MainModel {
 	private Topography topography;
 	private double lastSimTimeInSec;
 	private PriorityQueue<PedestrianBHM> pedestrianEventsQueue;
+	private ProximityIndex proximityIndex;
+	private boolean parallelUpdate;
+	private ForkJoinPool forkJoinPool;
 
 	public BehaviouralHeuristicsModel() {
 		this.pedestrianEventsQueue = new PriorityQueue<>(100, new ComparatorPedestrianBHM());
@@ -79,7 +92,15 @@ public class BehaviouralHeuristicsModel implements MainModel {
 		this.attributesPedestrian = attributesPedestrian;
 		this.topography = domain.getTopography();
 		this.random = random;
+		this.proximityIndex = new ProximityIndex(topography, attributesBHM, attributesPedestrian.getRadius());
+		this.parallelUpdate = attributesBHM.isParallelUpdate();
 		this.models.add(this);
+
+		// the cluster navigation looks at all pedestrians ahead, i.e. there are no independent pedestrians
+		if (parallelUpdate && attributesBHM.getNavigationModel().equals(NavigationCluster.class.getSimpleName())) {
+			logger.warn("the parallel update does not support " + attributesBHM.getNavigationModel() + ", use the sequential update.");
+			parallelUpdate = false;
+		}
 	}
 
 	@Override
@@ -105,8 +126,11 @@ public class BehaviouralHeuristicsModel implements MainModel {
 	}
 
 	private PedestrianBHM createElement(VPoint position, @NotNull final AttributesAgent pedAttributes) {
-		PedestrianBHM pedestrian = new PedestrianBHM(topography, pedAttributes, attributesBHM, random, potentialFieldTarget);
+		// pedestrians updated concurrently must not share a random number generator, otherwise the run is not deterministic
+		Random pedestrianRandom = parallelUpdate ? new Random(random.nextLong()) : random;
+		PedestrianBHM pedestrian = new PedestrianBHM(topography, pedAttributes, attributesBHM, pedestrianRandom, potentialFieldTarget);
 		pedestrian.setPosition(position);
+		pedestrian.setProximityIndex(proximityIndex);
 		return pedestrian;
 	}
 
@@ -118,11 +142,20 @@ public class BehaviouralHeuristicsModel implements MainModel {
 	@Override
 	public void preLoop(final double simTimeInSec) {
 		this.lastSimTimeInSec = simTimeInSec;
+		if (parallelUpdate) {
+			int numberOfThreads = attributesBHM.getNumberOfThreads();
+			forkJoinPool = numberOfThreads > 0 ? new ForkJoinPool(numberOfThreads) : ForkJoinPool.commonPool();
+		}
 	}
 
 
 	@Override
-	public void postLoop(double simTimeInSec) {}
+	public void postLoop(double simTimeInSec) {
+		if (forkJoinPool != null && forkJoinPool != ForkJoinPool.commonPool()) {
+			forkJoinPool.shutdown();
+		}
+		forkJoinPool = null;
+	}
 
 	@Override
 	public void update(final double simTimeInSec) {
@@ -132,28 +165,113 @@ public class BehaviouralHeuristicsModel implements MainModel {
 			ped.clearFootSteps();
 		}
 
-		// event driven update
-		if (!pedestrianEventsQueue.isEmpty()) {
-			while (pedestrianEventsQueue.peek().getTimeOfNextStep() < simTimeInSec) {
-				PedestrianBHM ped = pedestrianEventsQueue.poll();
+		proximityIndex.update();
+
+		if (forkJoinPool != null) {
+			updateParallel(simTimeInSec);
+		} else {
+			updateSequential(simTimeInSec);
+		}
+	}
 
-				if (ped.hasNextTarget()) {
+	/**
+	 * Processes the events in the order of their times.
+	 */
+	private void updateSequential(final double simTimeInSec) {
+		while (!pedestrianEventsQueue.isEmpty() && pedestrianEventsQueue.peek().getTimeOfNextStep() < simTimeInSec) {
+			PedestrianBHM ped = pedestrianEventsQueue.poll();
+
+			if (ped.hasNextTarget()) {
+				VPoint oldPosition = ped.getPosition();
+				ped.update(simTimeInSec);
+				finishEvent(ped, oldPosition);
+			}
+		}
+	}
 
-					ped.update(simTimeInSec);
+	/**
+	 * Processes the events in rounds similar to {@link org.vadere.simulator.models.osm.updateScheme.UpdateSchemeEventDrivenParallel}.
+	 * The events are polled in the order of their times and the cell of each pedestrian and its neighbouring cells are
+	 * locked. A pedestrian whose cell was not locked by an earlier event joins the current round, all others are
+	 * postponed to the next round. The cells are larger than the interaction range of a pedestrian plus the step
+	 * length, i.e. pedestrians of one round can neither see each other nor the steps of each other and are updated
+	 * concurrently. The linked cells grid of the topography is updated after each round in the order of the events,
+	 * such that the result does not depend on the number of threads.
+	 */
+	private void updateParallel(final double simTimeInSec) {
+		double maxStepLength = 0;
+		double maxSearchRadius = 0;
+		for (PedestrianBHM ped : pedestrianEventsQueue) {
+			maxStepLength = Math.max(maxStepLength, ped.getStepLength());
+			maxSearchRadius = Math.max(maxSearchRadius, ped.getAttributes().getSearchRadius());
+		}
 
-					Target target = topography.getTarget(ped.getNextTargetId());
+		// collision tests look at pedestrians touching a step, the evasion and the follower navigation look further
+		double interactionRange = Math.max(maxSearchRadius, maxStepLength
+				+ 2 * proximityIndex.getMaxPedestrianRadius() + 2 * attributesBHM.getSpaceToKeep());
+		if (attributesBHM.getNavigationModel().equals(NavigationFollower.class.getSimpleName())) {
+			interactionRange = Math.max(interactionRange, attributesBHM.getFollowerDistance());
+		}
+		LinkedCellsGrid<PedestrianBHM> linkedCellsGrid =
+				new LinkedCellsGrid<>(new VRectangle(topography.getBounds()), interactionRange + maxStepLength);
 
-					if (!(target.getShape().contains(ped.getPosition()) && target.isAbsorbing())) {
-						pedestrianEventsQueue.add(ped);
-					}
+		while (!pedestrianEventsQueue.isEmpty() && pedestrianEventsQueue.peek().getTimeOfNextStep() < simTimeInSec) {
+			boolean[][] locked = new boolean[linkedCellsGrid.getGridWidth()][linkedCellsGrid.getGridHeight()];
+			List<PedestrianBHM> updateAblePedestrians = new ArrayList<>();
+			List<PedestrianBHM> notUpdateAblePedestrians = new ArrayList<>();
+
+			while (!pedestrianEventsQueue.isEmpty() && pedestrianEventsQueue.peek().getTimeOfNextStep() < simTimeInSec) {
+				PedestrianBHM ped = pedestrianEventsQueue.poll();
+
+				if (!ped.hasNextTarget()) {
+					continue;
+				}
+
+				int[] gridPos = linkedCellsGrid.gridPos(ped.getPosition());
+				if (!locked[gridPos[0]][gridPos[1]]) {
+					updateAblePedestrians.add(ped);
+				} else {
+					notUpdateAblePedestrians.add(ped);
 				}
 
-				if (pedestrianEventsQueue.isEmpty()) {
-					break;
+				for (int y = -1; y <= 1; y++) {
+					for (int x = -1; x <= 1; x++) {
+						int col = Math.min(locked.length - 1, Math.max(0, gridPos[0] + x));
+						int row = Math.min(locked[0].length - 1, Math.max(0, gridPos[1] + y));
+						locked[col][row] = true;
+					}
 				}
 			}
+
+			VPoint[] oldPositions = new VPoint[updateAblePedestrians.size()];
+			for (int i = 0; i < oldPositions.length; i++) {
+				oldPositions[i] = updateAblePedestrians.get(i).getPosition();
+			}
+
+			forkJoinPool.submit(() -> IntStream.range(0, oldPositions.length).parallel()
+					.forEach(i -> updateAblePedestrians.get(i).update(simTimeInSec))).join();
+
+			for (int i = 0; i < oldPositions.length; i++) {
+				finishEvent(updateAblePedestrians.get(i), oldPositions[i]);
+			}
+			pedestrianEventsQueue.addAll(notUpdateAblePedestrians);
+		}
+	}
+
+	/**
+	 * Moves the pedestrian in the linked cells grid and schedules its next event unless it has been absorbed.
+	 */
+	private void finishEvent(@NotNull final PedestrianBHM ped, @NotNull final VPoint oldPosition) {
+		// keep the linked cells grid up to date, the collision tests of the next pedestrian depend on it
+		if (topography.getElement(Pedestrian.class, ped.getId()) == ped) {
+			topography.moveElement(ped, oldPosition);
+		}
+
+		Target target = topography.getTarget(ped.getNextTargetId());
+
+		if (!(target.getShape().contains(ped.getPosition()) && target.isAbsorbing())) {
+			pedestrianEventsQueue.add(ped);
 		}
-		topography.setRecomputeCells(true);
 	}
 
 	@Override
@@ -51,6 +51,11 @@ public class PedestrianBHM extends Pedestrian {
 	private transient @Nullable IPotentialFieldTarget potentialFieldTarget;
 	private transient TargetDirection targetDirectionStrategy;
 
+	/**
+	 * bounds the collision and proximity tests, if it is <tt>null</tt> all pedestrians and obstacles are tested.
+	 */
+	private transient @Nullable ProximityIndex proximityIndex;
+
 	public PedestrianBHM(Topography topography, AttributesAgent attributesPedestrian,
 	                     AttributesBHM attributesBHM, Random random) {
 		this(topography, attributesPedestrian, attributesBHM, random, null);
@@ -107,6 +112,10 @@ public class PedestrianBHM extends Pedestrian {
 
 	public IPotentialFieldTarget getPotentialFieldTarget() { return potentialFieldTarget; }
 
+	void setProximityIndex(@Nullable final ProximityIndex proximityIndex) {
+		this.proximityIndex = proximityIndex;
+	}
+
 	private void setEvasionStrategy() {
 
 		if (attributesBHM.isSwitchBehaviour()) {
@@ -318,7 +327,11 @@ public class PedestrianBHM extends Pedestrian {
 	 */
 	public boolean collidesWithPedestrian(VPoint position, double spaceToKeep) {
 
-		for (Pedestrian other : topography.getElements(Pedestrian.class)) {
+		Collection<Pedestrian> others = proximityIndex != null ?
+				proximityIndex.getPedestrians(position, getRadius(), spaceToKeep) :
+				topography.getElements(Pedestrian.class);
+
+		for (Pedestrian other : others) {
 			if (other.getId() != getId()) {
 
 				double distance = position.distance(other.getPosition()) -
@@ -410,7 +423,7 @@ public class PedestrianBHM extends Pedestrian {
 	 */
 	public List<Obstacle> detectObstacleProximity(@NotNull VPoint position, double proximity) {
 
-		Collection<Obstacle> obstacles = topography.getObstacles();
+		Collection<Obstacle> obstacles = getObstacleCandidates(position, proximity);
 		List<Obstacle> result = new LinkedList<>();
 
 		for (Obstacle obstacle : obstacles) {
@@ -424,7 +437,7 @@ public class PedestrianBHM extends Pedestrian {
 
 	Optional<Obstacle> detectClosestObstacleProximity(@NotNull final VPoint position, double proximity) {
 
-		Collection<Obstacle> obstacles = topography.getObstacles();
+		Collection<Obstacle> obstacles = getObstacleCandidates(position, proximity);
 		Obstacle obs = null;
 		double minDistance = Double.MAX_VALUE;
 
@@ -438,6 +451,10 @@ public class PedestrianBHM extends Pedestrian {
 		return Optional.ofNullable(obs);
 	}
 
+	private Collection<Obstacle> getObstacleCandidates(@NotNull final VPoint position, double proximity) {
+		return proximityIndex != null ? proximityIndex.getObstacles(position, proximity) : topography.getObstacles();
+	}
+
 
 
 	// Java nuisance...
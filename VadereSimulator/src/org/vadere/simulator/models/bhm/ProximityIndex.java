@@ -0,0 +1,111 @@
+package org.vadere.simulator.models.bhm;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.attributes.models.AttributesBHM;
+import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.GeometryUtils;
+import org.vadere.util.geometry.ShapeGrid;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounds the collision and proximity tests of the {@link PedestrianBHM}s of one model. Pedestrians are looked up in
+ * the linked cells grid of the {@link Topography} and obstacles in a {@link ShapeGrid}, such that a test only looks
+ * at the agents and obstacles close to the tested position instead of at all of them.
+ *
+ * The index has to be updated by {@link #update()} before the pedestrians are updated and the pedestrians have to
+ * be moved by {@link Topography#moveElement}, otherwise the linked cells grid is outdated.
+ */
+public class ProximityIndex {
+
+	private final Topography topography;
+	private final double obstacleCellSize;
+
+	private ShapeGrid<Obstacle> obstacleGrid;
+	private List<Obstacle> indexedObstacles;
+	private List<Object> indexedShapes;
+
+	/**
+	 * an upper bound of the radii of the pedestrians.
+	 */
+	private double maxPedestrianRadius;
+
+	/**
+	 * @param topography        the topography containing the pedestrians and obstacles
+	 * @param attributesBHM     the attributes of the model, the largest obstacle proximity which is tested defines
+	 *                          the size of the cells of the obstacle grid
+	 * @param radius            the radius of the pedestrians created by the model
+	 */
+	public ProximityIndex(@NotNull final Topography topography, @NotNull final AttributesBHM attributesBHM, final double radius) {
+		this.topography = topography;
+		this.obstacleCellSize = Math.max(1.0, 2 * radius + attributesBHM.getObstacleRepulsionReach());
+		this.maxPedestrianRadius = radius;
+	}
+
+	/**
+	 * Updates the bound of the radii of the pedestrians and rebuilds the obstacle grid if the obstacles have been
+	 * changed. The costs are linear in the number of pedestrians and obstacles.
+	 */
+	public void update() {
+		maxPedestrianRadius = topography.getElements(Pedestrian.class).stream()
+				.mapToDouble(Agent::getRadius)
+				.max()
+				.orElse(0);
+
+		List<Obstacle> obstacles = topography.getObstacles();
+		if (obstacleGrid == null || !isIndexed(obstacles)) {
+			indexedObstacles = new ArrayList<>(obstacles);
+			indexedShapes = new ArrayList<>(obstacles.size());
+			for (Obstacle obstacle : obstacles) {
+				indexedShapes.add(obstacle.getShape());
+			}
+			obstacleGrid = new ShapeGrid<>(indexedObstacles, Obstacle::getShape, topography.getBounds(), obstacleCellSize);
+		}
+	}
+
+	/**
+	 * Returns the pedestrians which might be closer than <tt>distance</tt> to a pedestrian of radius <tt>radius</tt>
+	 * at the given position, i.e. whose centers are closer than <tt>distance + radius + </tt> the largest radius.
+	 */
+	public List<Pedestrian> getPedestrians(@NotNull final VPoint position, final double radius, final double distance) {
+		return topography.getSpatialMap(Pedestrian.class)
+				.getObjects(position, distance + radius + maxPedestrianRadius + GeometryUtils.DOUBLE_EPS);
+	}
+
+	/**
+	 * Returns the obstacles which might be closer than <tt>proximity</tt> to the position in the order of
+	 * {@link Topography#getObstacles()}.
+	 */
+	public List<Obstacle> getObstacles(@NotNull final VPoint position, final double proximity) {
+		if (obstacleGrid == null) {
+			update();
+		}
+		return obstacleGrid.getObjects(position.x, position.y, proximity + GeometryUtils.DOUBLE_EPS);
+	}
+
+	/**
+	 * Returns the bound of the radii of the pedestrians computed by the last {@link #update()}.
+	 */
+	public double getMaxPedestrianRadius() {
+		return maxPedestrianRadius;
+	}
+
+	private boolean isIndexed(@NotNull final List<Obstacle> obstacles) {
+		if (obstacles.size() != indexedObstacles.size()) {
+			return false;
+		}
+		int i = 0;
+		for (Obstacle obstacle : obstacles) {
+			if (obstacle != indexedObstacles.get(i) || obstacle.getShape() != indexedShapes.get(i)) {
+				return false;
+			}
+			i++;
+		}
+		return true;
+	}
+}
@@ -125,6 +125,8 @@ public class BiomechanicsModel implements MainModel {
 			agent.getFootstepHistory().add(currentFootstep);
 		}
 
+		// pedestrians are moved without updating the linked cells grid
+		topography.setRecomputeCells(true);
 		this.lastSimTimeInSec = simTimeInSec;
 	}
 
@@ -3,19 +3,43 @@ package org.vadere.simulator.models.density;
 import java.awt.geom.Rectangle2D;
 import java.util.function.BiFunction;
 
-import org.vadere.util.math.Convolution;
+import org.vadere.util.math.SeparableConvolution;
 
+/**
+ * The CPU implementation of the {@link IGaussianFilter}. The input and output matrices are allocated once
+ * and reused for each filtering. Since only a few cells around each agent are set, the input is sparse
+ * and the convolution only touches the rows and columns close to the agents, see {@link SeparableConvolution}.
+ */
 public class JGaussianFilter extends GaussianFilter {
 
+	private final SeparableConvolution convolution;
+
 	JGaussianFilter(Rectangle2D scenarioBounds, double scale, final BiFunction<Integer, Integer, Float> f,
 			final boolean normalize) {
 		super(scenarioBounds, scale, f, normalize);
+		this.convolution = new SeparableConvolution(matrixWidth, matrixHeight, kernel);
+		this.inputMatrix = convolution.getInput();
+	}
+
+	@Override
+	public void setInputValue(final int x, final int y, final double value) {
+		convolution.set(x, y, (float) value);
+	}
+
+	@Override
+	public void setInputValue(final double x, final double y, final double value) {
+		convolution.set(toXIndex(x), toYIndex(y), (float) value);
+	}
+
+	@Override
+	public void clear() {
+		convolution.clear();
 	}
 
 	@Override
 	public void filterImage() {
 		long ms = System.currentTimeMillis();
-		outputMatrix = Convolution.convolveSeperate(inputMatrix, kernel, kernel, matrixWidth, matrixHeight, kernelWidth);
+		outputMatrix = convolution.convolve();
 		ms = System.currentTimeMillis() - ms;
 		IGaussianFilter.logger.debug("filtering required " + ms + "[ms]");
 	}
@@ -81,9 +81,7 @@ public class OSMBehaviorController {
 
         } else {
             pedestrian.setPosition(nextPosition);
-            synchronized (topography) {
-                topography.moveElement(pedestrian, currentPosition);
-            }
+            topography.moveElement(pedestrian, currentPosition);
 
             // compute velocity by forward difference
             Vector2D pedVelocity = new Vector2D(nextPosition.x - currentPosition.x, nextPosition.y - currentPosition.y).multiply(1.0 / stepTime);
@@ -109,9 +107,7 @@ public class OSMBehaviorController {
 	    pedestrian.getFootstepHistory().removeLast();
 
 	    pedestrian.setPosition(footStep.getStart());
-	    synchronized (topography) {
-		    topography.moveElement(pedestrian, footStep.getEnd());
-	    }
+	    topography.moveElement(pedestrian, footStep.getEnd());
 	    pedestrian.setVelocity(new Vector2D(0, 0));
     }
 
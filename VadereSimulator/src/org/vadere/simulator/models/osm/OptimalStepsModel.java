@@ -74,6 +74,9 @@ public class OptimalStepsModel implements MainModel, PotentialFieldModel {
 		this.random = random;
 		this.attributesPedestrian = attributesPedestrian;
 
+		// keep the pedestrian state in primitive arrays which are read by the batched potential evaluation
+		domain.getTopography().getPedestrianDynamicElements().getStateStore();
+
 		final SubModelBuilder subModelBuilder = new SubModelBuilder(modelAttributesList, domain,
 				attributesPedestrian, random);
 		logger.debug("build subModels");
@@ -1,5 +1,6 @@
 package org.vadere.simulator.models.osm;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.models.StepSizeAdjuster;
@@ -12,12 +13,14 @@ import org.vadere.simulator.models.SpeedAdjuster;
 import org.vadere.simulator.models.osm.optimization.StepCircleOptimizer;
 import org.vadere.simulator.models.osm.stairOptimization.StairStepOptimizer;
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
+import org.vadere.simulator.models.potential.fields.PotentialEvaluationBatch;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
 import org.vadere.simulator.models.potential.fields.PotentialFieldTargetRingExperiment;
 import org.vadere.state.attributes.models.AttributesOSM;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.AgentStateStore;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Stairs;
 import org.vadere.state.scenario.Topography;
@@ -57,6 +60,12 @@ public class PedestrianOSM extends Pedestrian {
 	private double timeOfNextStep;
 
 	private transient Collection<? extends Agent> relevantPedestrians;
+	// the slots of the relevant pedestrians in the state store or null if they are unknown
+	private transient IntArrayList relevantPedestrianSlots;
+	private transient IntArrayList relevantPedestrianSlotBuffer;
+
+	// scratch buffers of the batched potential evaluation, reused in every step.
+	private transient PotentialEvaluationBatch potentialEvaluationBatch;
 
 	// calculated by (current position - last position)/(period of time).
 	private double speedByAbsoluteDistance;
@@ -301,6 +310,26 @@ public class PedestrianOSM extends Pedestrian {
 		return combinedPotentialStrategy.getValue(newPos, this, relevantPedestrians);
 	}
 
+	/**
+	 * Returns the combined potential at all positions like {@link #getPotential(IPoint)}, evaluated at once.
+	 * The returned array is reused by the next call and it might be larger than the number of positions.
+	 *
+	 * @param positions the positions
+	 * @return the combined potential of the i-th position at index i
+	 */
+	public double[] getPotentials(@NotNull final List<VPoint> positions) {
+		if (potentialEvaluationBatch == null) {
+			potentialEvaluationBatch = new PotentialEvaluationBatch();
+		}
+		if (relevantPedestrianSlots != null) {
+			potentialEvaluationBatch.set(this, positions, relevantPedestrians, relevantPedestrianSlots);
+		} else {
+			potentialEvaluationBatch.set(this, positions, relevantPedestrians);
+		}
+		combinedPotentialStrategy.getValues(potentialEvaluationBatch, this);
+		return potentialEvaluationBatch.getValues();
+	}
+
 	public void clearStrides() {
 		strides.clear();
 	}
@@ -340,6 +369,12 @@ public class PedestrianOSM extends Pedestrian {
 
 	public void setTimeOfNextStep(double timeOfNextStep) {
 		this.timeOfNextStep = timeOfNextStep;
+		setStoredNextEventTime(timeOfNextStep);
+	}
+
+	@Override
+	protected double getNextEventTime() {
+		return timeOfNextStep;
 	}
 
 	public VPoint getNextPosition() {
@@ -360,7 +395,21 @@ public class PedestrianOSM extends Pedestrian {
 
 	public void refreshRelevantPedestrians() {
 		VCircle reachableArea = new VCircle(getPosition(), getFreeFlowStepSize());
-		setRelevantPedestrians(potentialFieldPedestrian.getRelevantAgents(reachableArea, this, getTopography()));
+		if (relevantPedestrianSlotBuffer == null) {
+			relevantPedestrianSlotBuffer = new IntArrayList();
+		}
+
+		if (potentialFieldPedestrian.getRelevantAgentSlots(reachableArea, this, getTopography(), relevantPedestrianSlotBuffer)) {
+			AgentStateStore store = getStateStore();
+			List<Agent> agents = new ArrayList<>(relevantPedestrianSlotBuffer.size());
+			for (int i = 0; i < relevantPedestrianSlotBuffer.size(); i++) {
+				agents.add(store.getAgent(relevantPedestrianSlotBuffer.getInt(i)));
+			}
+			this.relevantPedestrians = agents;
+			this.relevantPedestrianSlots = relevantPedestrianSlotBuffer;
+		} else {
+			setRelevantPedestrians(potentialFieldPedestrian.getRelevantAgents(reachableArea, this, getTopography()));
+		}
 	}
 
 
@@ -368,6 +417,7 @@ public class PedestrianOSM extends Pedestrian {
 
 	public void setRelevantPedestrians(@NotNull final Collection<? extends Agent> relevantPedestrians) {
 		this.relevantPedestrians = relevantPedestrians;
+		this.relevantPedestrianSlots = null;
 	}
 
 	public void setCombinedPotentialStrategy(CombinedPotentialStrategy newStrategy) {
@@ -0,0 +1,176 @@
+package org.vadere.simulator.models.osm.optimization;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Brent's method, i.e. a combination of golden section search and parabolic interpolation, which finds a
+ * local minimum of a function of one variable without allocating any memory. The iteration is the one of
+ * commons-math's <tt>BrentOptimizer</tt>, compare 'Algorithms for Minimization Without Derivatives' brent-1973.
+ *
+ * An instance is a workspace which is reused for any number of optimizations but which must not be shared
+ * between threads.
+ */
+public class BrentMinimizer {
+
+	private static final double GOLDEN_SECTION = 0.5 * (3 - Math.sqrt(5));
+
+	private final double relativeAccuracy;
+	private final double absoluteAccuracy;
+	private final int maxIterations;
+
+	private double value;
+	private int iterations;
+	private boolean converged;
+
+	/**
+	 * @param relativeAccuracy  the relative accuracy of the minimum
+	 * @param absoluteAccuracy  the absolute accuracy of the minimum
+	 * @param maxIterations     the number of iterations after which the optimization fails
+	 */
+	public BrentMinimizer(final double relativeAccuracy, final double absoluteAccuracy, final int maxIterations) {
+		if(relativeAccuracy <= 0 || absoluteAccuracy <= 0) {
+			throw new IllegalArgumentException("the accuracy has to be positive.");
+		}
+		this.relativeAccuracy = relativeAccuracy;
+		this.absoluteAccuracy = absoluteAccuracy;
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Searches a local minimum of the function in the interval [<tt>lo</tt>, <tt>hi</tt>]. If the search did not
+	 * converge within the maximum number of iterations, {@link #isConverged()} returns false and the best point
+	 * found so far is returned.
+	 *
+	 * @param function  the function which is minimized
+	 * @param lo        the lower bound of the interval
+	 * @param hi        the upper bound of the interval
+	 * @param start     the start point inside the interval
+	 *
+	 * @return the argument of the minimum, its value is accessible by {@link #getValue()}
+	 */
+	public double minimize(@NotNull final DoubleUnaryOperator function, final double lo, final double hi, final double start) {
+		double a = Math.min(lo, hi);
+		double b = Math.max(lo, hi);
+		double x = start;
+		double v = x;
+		double w = x;
+		double d = 0;
+		double e = 0;
+		double fx = function.applyAsDouble(x);
+		double fv = fx;
+		double fw = fx;
+		iterations = 0;
+		converged = false;
+
+		while (true) {
+			double m = 0.5 * (a + b);
+			double tol1 = relativeAccuracy * Math.abs(x) + absoluteAccuracy;
+			double tol2 = 2 * tol1;
+
+			if (Math.abs(x - m) <= tol2 - 0.5 * (b - a)) {
+				converged = true;
+				value = fx;
+				return x;
+			}
+
+			double p = 0;
+			double q = 0;
+			double r = 0;
+			double u = 0;
+
+			if (Math.abs(e) > tol1) {
+				// fit a parabola
+				r = (x - w) * (fx - fv);
+				q = (x - v) * (fx - fw);
+				p = (x - v) * q - (x - w) * r;
+				q = 2 * (q - r);
+
+				if (q > 0) {
+					p = -p;
+				} else {
+					q = -q;
+				}
+
+				r = e;
+				e = d;
+
+				if (p > q * (a - x) && p < q * (b - x) && Math.abs(p) < Math.abs(0.5 * q * r)) {
+					// parabolic interpolation step
+					d = p / q;
+					u = x + d;
+
+					// the function must not be evaluated too close to a or b
+					if (u - a < tol2 || b - u < tol2) {
+						d = x <= m ? tol1 : -tol1;
+					}
+				} else {
+					e = x < m ? b - x : a - x;
+					d = GOLDEN_SECTION * e;
+				}
+			} else {
+				e = x < m ? b - x : a - x;
+				d = GOLDEN_SECTION * e;
+			}
+
+			// update by at least tol1
+			if (Math.abs(d) < tol1) {
+				u = d >= 0 ? x + tol1 : x - tol1;
+			} else {
+				u = x + d;
+			}
+
+			double fu = function.applyAsDouble(u);
+
+			if (fu <= fx) {
+				if (u < x) {
+					b = x;
+				} else {
+					a = x;
+				}
+				v = w;
+				fv = fw;
+				w = x;
+				fw = fx;
+				x = u;
+				fx = fu;
+			} else {
+				if (u < x) {
+					a = u;
+				} else {
+					b = u;
+				}
+				if (fu <= fw || w == x) {
+					v = w;
+					fv = fw;
+					w = u;
+					fw = fu;
+				} else if (fu <= fv || v == x || v == w) {
+					v = u;
+					fv = fu;
+				}
+			}
+
+			if(++iterations > maxIterations) {
+				value = fx;
+				return x;
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of the minimum of the last optimization.
+	 */
+	public double getValue() {
+		return value;
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	public boolean isConverged() {
+		return converged;
+	}
+}
@@ -0,0 +1,246 @@
+package org.vadere.simulator.models.osm.optimization;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * A two dimensional Nelder-Mead simplex method which does not allocate any memory while minimizing.
+ * The algorithm (reflection, expansion, contraction and shrink coefficients as well as the order of the
+ * vertices) is the one of commons-math's <tt>NelderMead</tt> and the stopping criterion is the one of
+ * {@link NelderMeadConvergenceChecker}, i.e. the variance of the values of the vertices is smaller than
+ * <tt>threshold</tt> or the number of iterations exceeds <tt>maxIterations</tt>. Therefore, both produce
+ * identical results.
+ *
+ * An instance is a workspace which is reused for any number of optimizations but which must not be shared
+ * between threads.
+ */
+public class NelderMead2D {
+
+	private static final double RHO = 1.0;
+	private static final double KHI = 2.0;
+	private static final double GAMMA = 0.5;
+	private static final double SIGMA = 0.5;
+
+	private final double threshold;
+	private final int maxIterations;
+
+	/**
+	 * the start configuration, i.e. the vertices 1 and 2 relative to vertex 0.
+	 */
+	private final double[] startX;
+	private final double[] startY;
+
+	/**
+	 * the vertices of the simplex sorted by their value, i.e. the best vertex is at index 0.
+	 */
+	private final double[] x;
+	private final double[] y;
+	private final double[] values;
+
+	private int iterations;
+	private int evaluations;
+
+	public NelderMead2D() {
+		this(0.01, 100);
+	}
+
+	/**
+	 * @param threshold     the variance of the values of the vertices at which the simplex converged
+	 * @param maxIterations the number of iterations after which the optimization stops
+	 */
+	public NelderMead2D(final double threshold, final int maxIterations) {
+		this.threshold = threshold;
+		this.maxIterations = maxIterations;
+		this.startX = new double[2];
+		this.startY = new double[2];
+		this.x = new double[3];
+		this.y = new double[3];
+		this.values = new double[3];
+	}
+
+	/**
+	 * Sets the vertices 1 and 2 of the initial simplex relative to the start point.
+	 */
+	public void setStartConfiguration(final double x1, final double y1, final double x2, final double y2) {
+		startX[0] = x1;
+		startY[0] = y1;
+		startX[1] = x2;
+		startY[1] = y2;
+	}
+
+	/**
+	 * Minimizes the function starting with the simplex which is defined by the start point and the
+	 * start configuration. The minimum is accessible by {@link #getX()} and {@link #getY()}.
+	 *
+	 * @param function  the function which is minimized
+	 * @param x0        the x-coordinate of the start point
+	 * @param y0        the y-coordinate of the start point
+	 *
+	 * @return the value of the minimum
+	 */
+	public double minimize(@NotNull final DoubleBinaryOperator function, final double x0, final double y0) {
+		iterations = 0;
+		evaluations = 0;
+
+		x[0] = x0;
+		y[0] = y0;
+		values[0] = Double.NaN;
+		for(int i = 1; i < 3; i++) {
+			x[i] = x0 + startX[i-1];
+			y[i] = y0 + startY[i-1];
+			values[i] = Double.NaN;
+		}
+		evaluateSimplex(function);
+
+		while (iterations == 0 || !isConverged()) {
+			iterateSimplex(function);
+		}
+
+		return values[0];
+	}
+
+	public double getX() {
+		return x[0];
+	}
+
+	public double getY() {
+		return y[0];
+	}
+
+	public double getValue() {
+		return values[0];
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	public int getEvaluations() {
+		return evaluations;
+	}
+
+	private boolean isConverged() {
+		double meanValue = (values[0] + values[1] + values[2]) / 3;
+		double value = 0;
+		for(int i = 0; i < 3; i++) {
+			value += Math.pow(values[i] - meanValue, 2);
+		}
+		return value / 3 < threshold || iterations > maxIterations;
+	}
+
+	private double evaluate(@NotNull final DoubleBinaryOperator function, final double px, final double py) {
+		evaluations++;
+		return function.applyAsDouble(px, py);
+	}
+
+	/**
+	 * Evaluates all vertices which have not been evaluated yet and sorts the simplex (stable).
+	 */
+	private void evaluateSimplex(@NotNull final DoubleBinaryOperator function) {
+		for(int i = 0; i < 3; i++) {
+			if(Double.isNaN(values[i])) {
+				values[i] = evaluate(function, x[i], y[i]);
+			}
+		}
+
+		for(int i = 1; i < 3; i++) {
+			for(int j = i; j > 0 && Double.compare(values[j-1], values[j]) > 0; j--) {
+				swap(j-1, j);
+			}
+		}
+	}
+
+	private void iterateSimplex(@NotNull final DoubleBinaryOperator function) {
+		iterations++;
+
+		// the centroid of the best vertices
+		double centroidX = (x[0] + x[1]) * 0.5;
+		double centroidY = (y[0] + y[1]) * 0.5;
+
+		double worstX = x[2];
+		double worstY = y[2];
+
+		double reflectedX = centroidX + RHO * (centroidX - worstX);
+		double reflectedY = centroidY + RHO * (centroidY - worstY);
+		double reflectedValue = evaluate(function, reflectedX, reflectedY);
+
+		if(Double.compare(values[0], reflectedValue) <= 0 && Double.compare(reflectedValue, values[1]) < 0) {
+			replaceWorstPoint(reflectedX, reflectedY, reflectedValue);
+		} else if(Double.compare(reflectedValue, values[0]) < 0) {
+			double expandedX = centroidX + KHI * (reflectedX - centroidX);
+			double expandedY = centroidY + KHI * (reflectedY - centroidY);
+			double expandedValue = evaluate(function, expandedX, expandedY);
+
+			if(Double.compare(expandedValue, reflectedValue) < 0) {
+				replaceWorstPoint(expandedX, expandedY, expandedValue);
+			} else {
+				replaceWorstPoint(reflectedX, reflectedY, reflectedValue);
+			}
+		} else {
+			if(Double.compare(reflectedValue, values[2]) < 0) {
+				// outside contraction
+				double contractedX = centroidX + GAMMA * (reflectedX - centroidX);
+				double contractedY = centroidY + GAMMA * (reflectedY - centroidY);
+				double contractedValue = evaluate(function, contractedX, contractedY);
+
+				if(Double.compare(contractedValue, reflectedValue) <= 0) {
+					replaceWorstPoint(contractedX, contractedY, contractedValue);
+					return;
+				}
+			} else {
+				// inside contraction
+				double contractedX = centroidX - GAMMA * (centroidX - worstX);
+				double contractedY = centroidY - GAMMA * (centroidY - worstY);
+				double contractedValue = evaluate(function, contractedX, contractedY);
+
+				if(Double.compare(contractedValue, values[2]) < 0) {
+					replaceWorstPoint(contractedX, contractedY, contractedValue);
+					return;
+				}
+			}
+
+			// shrink towards the best vertex
+			for(int i = 1; i < 3; i++) {
+				x[i] = x[0] + SIGMA * (x[i] - x[0]);
+				y[i] = y[0] + SIGMA * (y[i] - y[0]);
+				values[i] = Double.NaN;
+			}
+			evaluateSimplex(function);
+		}
+	}
+
+	/**
+	 * Inserts the point into the sorted simplex and drops the worst vertex.
+	 */
+	private void replaceWorstPoint(double px, double py, double value) {
+		for(int i = 0; i < 2; i++) {
+			if(Double.compare(values[i], value) > 0) {
+				double tmpX = x[i];
+				double tmpY = y[i];
+				double tmpValue = values[i];
+				x[i] = px;
+				y[i] = py;
+				values[i] = value;
+				px = tmpX;
+				py = tmpY;
+				value = tmpValue;
+			}
+		}
+		x[2] = px;
+		y[2] = py;
+		values[2] = value;
+	}
+
+	private void swap(final int i, final int j) {
+		double tmp = x[i];
+		x[i] = x[j];
+		x[j] = tmp;
+		tmp = y[i];
+		y[i] = y[j];
+		y[j] = tmp;
+		tmp = values[i];
+		values[i] = values[j];
+		values[j] = tmp;
+	}
+}
@@ -5,14 +5,10 @@ import org.apache.commons.math.analysis.MultivariateRealFunction;
 import org.apache.commons.math.analysis.UnivariateRealFunction;
 import org.apache.commons.math3.analysis.MultivariateFunction;
 import org.vadere.simulator.models.osm.PedestrianOSM;
-import org.vadere.state.scenario.Obstacle;
 import org.vadere.state.scenario.Pedestrian;
-import org.vadere.util.geometry.shapes.VLine;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.logging.Logger;
 
-import java.util.List;
-
 /**
  * The Class PotentialEvaluationFunction.
  * 
@@ -130,29 +126,9 @@ public class PotentialEvaluationFunction implements UnivariateRealFunction,
 	 */
 	@Override
 	public double value(double[] pos) {
-		final VPoint pedPos = pedestrian.getPosition();
-		final VPoint newPos = new VPoint(pos[0], pos[1]);
-
-		// Large value, do not consider point when minimizing -- why not use Double.MAX_VALUE?
-		double result = 100000;
-		// TODO: this is a dirty hack, fix it!
-		if (pedestrian.getAttributesOSM().isSeeSmallWalls()) {
-			List<Obstacle> obstacles = pedestrian.getTopography().getObstacles();
-			for (Obstacle obstacle : obstacles) {
-				if (obstacle.getShape().intersects(new VLine(pedPos, newPos)))
-					return result;
-			}
-		}
-
-		final double sqx = (newPos.x-pedPos.x)*(newPos.x-pedPos.x); // Math.pow(newPos.x - pedPos.x, 2)
-		final double sqy = (newPos.y-pedPos.y)*(newPos.y-pedPos.y); // Math.pow(newPos.y - pedPos.y, 2)
-		final double sqss = stepSize * stepSize; 					// Math.pow(stepSize, 2)
-
-		// the step has to be inside the circle with radius stepSize (the tolerance relaxes floating point comparisons
-		// on equality of the circle around the disk)
-		final double tolInsideCircle = 0.00001;
-		if (sqx + sqy <= sqss + tolInsideCircle) {
-			result = pedestrian.getPotential(newPos);
+		double result = StepCircleConstraint.OUTSIDE_VALUE;
+		if (StepCircleConstraint.isFeasible(pedestrian, pos[0], pos[1], stepSize)) {
+			result = pedestrian.getPotential(new VPoint(pos[0], pos[1]));
 			evaluationCounter++;
 			/*if(evaluationCounter % 100 == 0) {
 				logger.debugf("#evaluations: " + evaluationCounter);
@@ -0,0 +1,56 @@
+package org.vadere.simulator.models.osm.optimization;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.util.geometry.shapes.VPoint;
+
+/**
+ * The constraint of the step circle which is shared by all evaluations of the potential of the optimizers,
+ * i.e. the batch evaluation of {@link StepCircleOptimizerDiscrete}, {@link PotentialEvaluationFunction} and
+ * {@link StepCircleOptimizerWorkspace}. A position is feasible if it is inside the step circle and, if the
+ * pedestrian sees small walls, the step to it does not cross an obstacle. Infeasible positions get the
+ * potential {@link #OUTSIDE_VALUE}.
+ */
+final class StepCircleConstraint {
+
+	/**
+	 * Large value, the point is not considered when minimizing -- why not use Double.MAX_VALUE?
+	 */
+	static final double OUTSIDE_VALUE = 100000;
+
+	/**
+	 * relaxes floating point comparisons on equality of the circle around the disk.
+	 */
+	static final double TOL_INSIDE_CIRCLE = 0.00001;
+
+	private StepCircleConstraint() {}
+
+	/**
+	 * Tests if the pedestrian can step to (x, y).
+	 *
+	 * @param pedestrian    the pedestrian
+	 * @param x             x-coordinate of the position
+	 * @param y             y-coordinate of the position
+	 * @param stepSize      the radius of the step circle
+	 * @return true if the position is feasible, otherwise false
+	 */
+	static boolean isFeasible(@NotNull final PedestrianOSM pedestrian, final double x, final double y, final double stepSize) {
+		final VPoint pedPos = pedestrian.getPosition();
+		final double sqx = (x - pedPos.x) * (x - pedPos.x);
+		final double sqy = (y - pedPos.y) * (y - pedPos.y);
+
+		return sqx + sqy <= stepSize * stepSize + TOL_INSIDE_CIRCLE
+				&& !(pedestrian.getAttributesOSM().isSeeSmallWalls() && intersectsObstacle(pedestrian, pedPos, x, y));
+	}
+
+	// TODO: this is a dirty hack, fix it!
+	private static boolean intersectsObstacle(@NotNull final PedestrianOSM pedestrian, @NotNull final VPoint from, final double x, final double y) {
+		for (Obstacle obstacle : pedestrian.getTopography().getObstacles()) {
+			if (obstacle.getShape().intersectsLine(from.x, from.y, x, y)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
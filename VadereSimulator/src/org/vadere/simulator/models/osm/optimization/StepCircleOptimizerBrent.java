@@ -1,11 +1,5 @@
 package org.vadere.simulator.models.osm.optimization;
 
-import org.apache.commons.math.ConvergenceException;
-import org.apache.commons.math.FunctionEvaluationException;
-import org.apache.commons.math.optimization.GoalType;
-import org.apache.commons.math.optimization.UnivariateRealOptimizer;
-import org.apache.commons.math.optimization.univariate.BrentOptimizer;
-import org.apache.commons.math.util.MathUtils;
 import org.vadere.simulator.models.osm.PedestrianOSM;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.VPoint;
@@ -15,15 +9,14 @@ import java.awt.*;
 import java.util.Random;
 
 /**
- * The Class StepCircleOptimizerBrent.
+ * The Class StepCircleOptimizerBrent. Brent's method searches the minimum on the step circle starting
+ * from 8 angles, it uses the workspace of the current thread, see {@link StepCircleOptimizerWorkspace}.
  * 
  */
 public class StepCircleOptimizerBrent extends StepCircleOptimizer {
 	private static Logger logger = Logger
 			.getLogger(StepCircleOptimizerBrent.class);
 
-	private final UnivariateRealOptimizer optimizer;
-
 	private double stepSize;
 
 	private final Random random;
@@ -31,13 +24,7 @@ public class StepCircleOptimizerBrent extends StepCircleOptimizer {
 	/**
 	 * Instantiates a new Brent optimizer.
 	 */
-	@SuppressWarnings("deprecation")
 	public StepCircleOptimizerBrent(Random random) {
-		// this.potentialEvaluationFunction = new HimmelblauFunction( pedestrian
-		// );
-		this.optimizer = new BrentOptimizer();
-		optimizer.setAbsoluteAccuracy(100 * MathUtils.EPSILON);
-		optimizer.setRelativeAccuracy(100 * MathUtils.EPSILON);
 		this.random = random;
 	}
 
@@ -48,8 +35,8 @@ public class StepCircleOptimizerBrent extends StepCircleOptimizer {
 			this.stepSize = ((VCircle) reachableArea).getRadius();
 		}
 
-		PotentialEvaluationFunction potentialEvaluationFunction = new PotentialEvaluationFunction(ped);
-		potentialEvaluationFunction.setStepSize(stepSize);
+		StepCircleOptimizerWorkspace workspace = StepCircleOptimizerWorkspace.get(ped, stepSize);
+		BrentMinimizer optimizer = workspace.brent;
 
 		double minimum = 0;
 		double newMinimum = 0;
@@ -60,18 +47,20 @@ public class StepCircleOptimizerBrent extends StepCircleOptimizer {
 
 		try {
 			minimum = -1;
-			minimumValue = potentialEvaluationFunction
-					.value(potentialEvaluationFunction.pointToArray(curPos));
+			minimumValue = workspace.value(curPos.x, curPos.y);
 			int counter = 0;
 
 			int bound = 8;
 
 			while (counter < bound) {
 
-				newMinimum = optimizer.optimize(potentialEvaluationFunction,
-						GoalType.MINIMIZE, 0, 2 * Math.PI, 2 * Math.PI / bound
-								* (counter + randOffset));
-				newMinimumValue = potentialEvaluationFunction.value(newMinimum);
+				newMinimum = optimizer.minimize(workspace.potentialAtAngle, 0, 2 * Math.PI,
+						2 * Math.PI / bound * (counter + randOffset));
+				if (!optimizer.isConverged()) {
+					logger.error("brent's method did not converge within " + optimizer.getIterations() + " iterations.");
+					break;
+				}
+				newMinimumValue = optimizer.getValue();
 
 				counter++;
 
@@ -84,8 +73,8 @@ public class StepCircleOptimizerBrent extends StepCircleOptimizer {
 
 			}
 
-		} catch (ConvergenceException | FunctionEvaluationException e) {
-			logger.error(e);
+		} finally {
+			workspace.release();
 		}
 
 		if (minimum == -1) {
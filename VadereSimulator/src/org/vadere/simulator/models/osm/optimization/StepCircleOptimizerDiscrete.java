@@ -45,25 +45,28 @@ public class StepCircleOptimizerDiscrete extends StepCircleOptimizer {
 	public VPoint getNextPosition(@NotNull final PedestrianOSM pedestrian, final List<VPoint> positions,
 								  final double stepSize){
 
-		PotentialEvaluationFunction potentialEvaluationFunction = new PotentialEvaluationFunction(pedestrian);
-		potentialEvaluationFunction.setStepSize(stepSize);
-
 		VPoint curPos = pedestrian.getPosition();
 		VPoint nextPos = curPos.clone();
 		double curPosPotential = pedestrian.getPotential(curPos);
 		double potential = curPosPotential;
-		double currentPotential;
 
-		for (VPoint currentPosition : positions) {
-			try {
-				currentPotential = potentialEvaluationFunction.getPotential(currentPosition);
+		// all candidates are evaluated at once, see PotentialEvaluationFunction#value for the single point version
+		double[] potentials;
+		try {
+			potentials = pedestrian.getPotentials(positions);
+		} catch (Exception e) {
+			Logger.getLogger(StepCircleOptimizerDiscrete.class).error("Potential evaluation threw an error: " + e.getMessage());
+			return curPos;
+		}
+
+		for (int i = 0; i < positions.size(); i++) {
+			VPoint currentPosition = positions.get(i);
+			double currentPotential = StepCircleConstraint.isFeasible(pedestrian, currentPosition.x, currentPosition.y, stepSize)
+					? potentials[i] : StepCircleConstraint.OUTSIDE_VALUE;
 
-				if(currentPotential < potential) {
-					potential = currentPotential;
-					nextPos = currentPosition;
-				}
-			} catch (Exception e) {
-				Logger.getLogger(StepCircleOptimizerDiscrete.class).error("Potential evaluation threw an error: " + e.getMessage());
+			if(currentPotential < potential) {
+				potential = currentPotential;
+				nextPos = currentPosition;
 			}
 		}
 
@@ -1,22 +1,21 @@
 package org.vadere.simulator.models.osm.optimization;
 
-import org.apache.commons.math.ConvergenceException;
-import org.apache.commons.math.FunctionEvaluationException;
-import org.apache.commons.math.optimization.GoalType;
-import org.apache.commons.math.optimization.direct.NelderMead;
 import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.state.simulation.FootStep;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.logging.Logger;
 
 import java.awt.*;
-import java.util.HashMap;
+import java.awt.geom.Point2D;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 
 /**
- * The class StepCircleOptimizerNelderMead.
+ * The class StepCircleOptimizerNelderMead. The Nelder-Mead method is restarted from the center of the step
+ * circle, from each reachable position and from the position into the direction of the last step of the
+ * pedestrian. The optimization uses the workspace of the current thread, see {@link StepCircleOptimizerWorkspace},
+ * such that no garbage is produced while minimizing.
  * 
  */
 public class StepCircleOptimizerNelderMead extends StepCircleOptimizer {
@@ -35,49 +34,52 @@ public class StepCircleOptimizerNelderMead extends StepCircleOptimizer {
 
 		double stepSize = ((VCircle) reachableArea).getRadius();
 		List<VPoint> positions = StepCircleOptimizerDiscrete.getReachablePositions(pedestrian, (VCircle)reachableArea, random);
-		PotentialEvaluationFunction potentialEvaluationFunction = new PotentialEvaluationFunction(pedestrian);
-		potentialEvaluationFunction.setStepSize(stepSize);
-
-		double[] position = potentialEvaluationFunction.pointToArray(pedestrian.getPosition());
-		double[] newPosition = new double[2];
-		double[] minimum = position;
-		double[] newMinimum = {0, 0};
-		double minimumValue = pedestrian.getPotential(pedestrian.getPosition());
-		double newMinimumValue = 0;
+		StepCircleOptimizerWorkspace workspace = StepCircleOptimizerWorkspace.get(pedestrian, stepSize);
+		NelderMead2D optimizer = workspace.nelderMead;
+
+		VPoint pedPos = pedestrian.getPosition();
+		double minimumX = pedPos.x;
+		double minimumY = pedPos.y;
+		double minimumValue = pedestrian.getPotential(pedPos);
+		double newMinimumValue;
 		double step = stepSize / 2;
 		double threshold = 0.0001;
 
-		NelderMead optimizer = new NelderMead();
-
 		try {
-
-			/*if(lastSolution.containsKey(pedestrian)) {
-				VPoint optimum = lastSolution.get(pedestrian).add(pedestrian.getPosition());
-				if(isLocalMinimum(potentialEvaluationFunction, (VCircle) reachableArea, optimum)) {
-					logger.info("quick solution found.");
-					return optimum;
+			// warm start into the direction of the last step, the agent most likely keeps it
+			FootStep lastStep = pedestrian.getFootstepHistory().getYoungestFootStep();
+			if (lastStep != null) {
+				double dirX = lastStep.getEnd().x - lastStep.getStart().x;
+				double dirY = lastStep.getEnd().y - lastStep.getStart().y;
+				double length = Math.sqrt(dirX * dirX + dirY * dirY);
+				if (length > 0) {
+					dirX /= length;
+					dirY /= length;
+					optimizer.setStartConfiguration(-step * dirX, -step * dirY, -step * dirY, step * dirX);
+					newMinimumValue = optimizer.minimize(workspace.potential, pedPos.x + stepSize * dirX, pedPos.y + stepSize * dirY);
+
+					if ((minimumValue > newMinimumValue && Math.abs(minimumValue - newMinimumValue) > threshold)) {
+						minimumValue = newMinimumValue;
+						minimumX = optimizer.getX();
+						minimumY = optimizer.getY();
+					}
 				}
-			}*/
-
-			//minimum = position;
-			double[][] simplex = new double[][] {{0, 0}, {step, step}, {step, -step}};
-			optimizer.setStartConfiguration(simplex);
-			optimizer.setConvergenceChecker(new NelderMeadConvergenceChecker());
-			newMinimum = optimizer.optimize(potentialEvaluationFunction, GoalType.MINIMIZE, position).getPoint();
-			//logger.info("["+0+","+0+"],["+step+","+step+"],["+step+","+(-step)+")]");
-			newMinimumValue = potentialEvaluationFunction.value(newMinimum);
+			}
+
+			optimizer.setStartConfiguration(step, step, step, -step);
+			newMinimumValue = optimizer.minimize(workspace.potential, pedPos.x, pedPos.y);
 			int counter = 0;
 
 			if ((minimumValue > newMinimumValue && Math.abs(minimumValue - newMinimumValue) > threshold)) {
 				minimumValue = newMinimumValue;
-				minimum = newMinimum;
+				minimumX = optimizer.getX();
+				minimumY = optimizer.getY();
 			}
 
 			int bound = positions.size();
 
 			while (counter < bound) {
-				newPosition[0] = positions.get(counter).getX();
-				newPosition[1] = positions.get(counter).getY();
+				VPoint position = positions.get(counter);
 
 				int anotherPoint;
 				if (counter == bound - 1) {
@@ -86,73 +88,50 @@ public class StepCircleOptimizerNelderMead extends StepCircleOptimizer {
 					anotherPoint = counter + 1;
 				}
 
-				double innerDistance = pedestrian.getPosition().distance(
-						(positions.get(counter)));
-				VPoint innerDirection = pedestrian.getPosition()
-						.subtract((positions.get(counter)))
-						.scalarMultiply(1.0 / innerDistance);
-				double outerDistance = positions.get(anotherPoint).distance(
-						(positions.get(counter)));
-				VPoint outerDirection = positions.get(anotherPoint)
-						.subtract((positions.get(counter)))
-						.scalarMultiply(1.0 / outerDistance);
-
-				simplex[1][0] = Math.min(step, innerDistance) * innerDirection.getX();
-				simplex[1][1] = Math.min(step, innerDistance) * innerDirection.getY();
-				simplex[2][0] = Math.min(step, outerDistance) * outerDirection.getX();
-				simplex[2][1] = Math.min(step, outerDistance) * outerDirection.getY();
-
-				//logger.info("["+simplex[0][0]+","+simplex[0][1]+"],["+simplex[1][0]+","+simplex[1][1]+"],["+simplex[2][0]+","+simplex[2][1]+")]");
-
-				optimizer.setStartConfiguration(simplex);
-
-				optimizer.setConvergenceChecker(new NelderMeadConvergenceChecker());
-				newMinimum = optimizer.optimize(potentialEvaluationFunction,
-						GoalType.MINIMIZE, newPosition).getPoint();
-				newMinimumValue = potentialEvaluationFunction.value(newMinimum);
+				// the inner direction points to the center, the outer direction to the next position on the circle
+				double innerDistance = Point2D.distance(pedPos.x, pedPos.y, position.x, position.y);
+				double innerFactor = 1.0 / innerDistance;
+				double innerDirectionX = (pedPos.x - position.x) * innerFactor;
+				double innerDirectionY = (pedPos.y - position.y) * innerFactor;
+				VPoint other = positions.get(anotherPoint);
+				double outerDistance = Point2D.distance(other.x, other.y, position.x, position.y);
+				double outerFactor = 1.0 / outerDistance;
+				double outerDirectionX = (other.x - position.x) * outerFactor;
+				double outerDirectionY = (other.y - position.y) * outerFactor;
+
+				optimizer.setStartConfiguration(
+						Math.min(step, innerDistance) * innerDirectionX,
+						Math.min(step, innerDistance) * innerDirectionY,
+						Math.min(step, outerDistance) * outerDirectionX,
+						Math.min(step, outerDistance) * outerDirectionY);
+
+				newMinimumValue = optimizer.minimize(workspace.potential, position.x, position.y);
 
 				counter++;
 
 				if ((minimumValue > newMinimumValue && Math.abs(minimumValue - newMinimumValue) > threshold)) {
 					minimumValue = newMinimumValue;
-					minimum = newMinimum;
-					//logger.info("new min: ["+minimum[0]+","+minimum[1]+"]");
+					minimumX = optimizer.getX();
+					minimumY = optimizer.getY();
 				}
 
 			}
 
-		} catch (ConvergenceException | FunctionEvaluationException e) {
-			logger.error(e);
+		} finally {
+			workspace.release();
 		}
-		// System.out.println(potentialEvaluationFunction.counter);
-		//logger.info("["+(minimum[0]-pedestrian.getPosition().getX())+","+(minimum[1]-pedestrian.getPosition().getY())+"]");
-		//lastSolution.put(pedestrian, new VPoint(minimum[0]-pedestrian.getPosition().getX(), minimum[1]-pedestrian.getPosition().getY()));
 
 		if(getIsComputeMetric()){
 			// See merge request !65
 			this.computeAndAddBruteForceSolutionMetric(pedestrian,
-                    new SolutionPair(new VPoint(minimum[0], minimum[1]), minimumValue));
+                    new SolutionPair(new VPoint(minimumX, minimumY), minimumValue));
 		}
 
-		return new VPoint(minimum[0], minimum[1]);
+		return new VPoint(minimumX, minimumY);
 
 	}
 
 	public StepCircleOptimizer clone() {
 		return new StepCircleOptimizerNelderMead(random);
 	}
-
-	private boolean isLocalMinimum(PotentialEvaluationFunction evaluationFunction, VCircle stepDisc, VPoint optimum) throws FunctionEvaluationException {
-		double delta = 0.0001;
-		double angle = 0.05 * 2 * Math.PI;
-		double value = evaluationFunction.getValue(optimum);
-
-		for(double angleDelta = 0; angleDelta <= 2 * Math.PI; angleDelta += angle) {
-			VPoint newPoint = optimum.add(new VPoint(delta, 0).rotate(angleDelta));
-			if(stepDisc.contains(newPoint) && evaluationFunction.getValue(newPoint) < value) {
-				return false;
-			}
-		}
-		return evaluationFunction.getValue(stepDisc.getCenter()) > value;
-	}
 }
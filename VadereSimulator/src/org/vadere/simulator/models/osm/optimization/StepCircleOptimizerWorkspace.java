@@ -0,0 +1,75 @@
+package org.vadere.simulator.models.osm.optimization;
+
+import org.apache.commons.math.util.MathUtils;
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The per thread workspace of {@link StepCircleOptimizerNelderMead} and {@link StepCircleOptimizerBrent}.
+ * It contains the optimizers and evaluates the potential of the current pedestrian like
+ * {@link PotentialEvaluationFunction} does, but without allocating a new point for each evaluation.
+ * Optimizers are cloned for each pedestrian, therefore the workspace is shared by all optimizers of a thread
+ * instead of being a member.
+ */
+class StepCircleOptimizerWorkspace {
+
+	private static final ThreadLocal<StepCircleOptimizerWorkspace> workspaces = ThreadLocal.withInitial(StepCircleOptimizerWorkspace::new);
+
+	final NelderMead2D nelderMead;
+	final BrentMinimizer brent;
+	final DoubleBinaryOperator potential = this::value;
+	final DoubleUnaryOperator potentialAtAngle = this::valueAtAngle;
+
+	private final VPoint evaluationPoint;
+	private PedestrianOSM pedestrian;
+	private double stepSize;
+
+	private StepCircleOptimizerWorkspace() {
+		this.nelderMead = new NelderMead2D();
+		this.brent = new BrentMinimizer(100 * MathUtils.EPSILON, 100 * MathUtils.EPSILON, 100);
+		this.evaluationPoint = new VPoint();
+	}
+
+	/**
+	 * Returns the workspace of the current thread prepared for the pedestrian.
+	 */
+	static StepCircleOptimizerWorkspace get(@NotNull final PedestrianOSM pedestrian, final double stepSize) {
+		StepCircleOptimizerWorkspace workspace = workspaces.get();
+		workspace.pedestrian = pedestrian;
+		workspace.stepSize = stepSize;
+		return workspace;
+	}
+
+	/**
+	 * Releases the pedestrian such that it can be garbage collected.
+	 */
+	void release() {
+		pedestrian = null;
+	}
+
+	/**
+	 * The potential at (x, y) which is only defined for feasible positions, see {@link StepCircleConstraint}.
+	 */
+	double value(final double x, final double y) {
+		if (StepCircleConstraint.isFeasible(pedestrian, x, y, stepSize)) {
+			evaluationPoint.x = x;
+			evaluationPoint.y = y;
+			return pedestrian.getPotential(evaluationPoint);
+		}
+		return StepCircleConstraint.OUTSIDE_VALUE;
+	}
+
+	/**
+	 * The potential on the step circle, see {@link PotentialEvaluationFunction#value(double)}.
+	 */
+	double valueAtAngle(final double angle) {
+		final VPoint pedPos = pedestrian.getPosition();
+		evaluationPoint.x = stepSize * Math.cos(angle) + pedPos.x;
+		evaluationPoint.y = stepSize * Math.sin(angle) + pedPos.y;
+		return pedestrian.getPotential(evaluationPoint);
+	}
+}
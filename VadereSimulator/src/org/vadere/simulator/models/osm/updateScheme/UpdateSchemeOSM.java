@@ -117,9 +117,7 @@ public interface UpdateSchemeOSM extends DynamicElementRemoveListener<Pedestrian
 	 */
 	default void movePedestrian(@NotNull final Topography topography, @NotNull final PedestrianOSM pedestrian, @NotNull final VPoint from, @NotNull final VPoint to) {
 		pedestrian.setPosition(to);
-		synchronized (topography) {
-			topography.moveElement(pedestrian, from);
-		}
+		topography.moveElement(pedestrian, from);
 	}
 
 	default void shutdown() {
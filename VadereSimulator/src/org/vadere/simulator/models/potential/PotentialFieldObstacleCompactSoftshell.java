@@ -2,6 +2,7 @@ package org.vadere.simulator.models.potential;
 
 import org.vadere.annotation.factories.models.ModelClass;
 import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.potential.fields.PotentialEvaluationBatch;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.Attributes;
@@ -14,6 +15,7 @@ import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
+import org.vadere.util.math.TabulatedFunction;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -31,12 +33,21 @@ public class PotentialFieldObstacleCompactSoftshell implements PotentialFieldObs
 	private Collection<Obstacle> obstacles;
 	private Domain domain;
 
+	// lookup tables of the kernels over the normalised squared distance, null if they are not used
+	private TabulatedFunction obstacleKernel;
+	private TabulatedFunction bodyKernel;
+
 	public PotentialFieldObstacleCompactSoftshell() {}
 
 	@Override
 	public void initialize(List<Attributes> attributesList, Domain domain,
 	                       AttributesAgent attributesPedestrian, Random random) {
 		init(Model.findAttributes(attributesList, AttributesPotentialCompactSoftshell.class), domain, random);
+
+		if (attributes.isUseTabulatedKernels()) {
+			this.obstacleKernel = TabulatedFunction.compactSupport(2, 1, attributes.getTabulatedKernelTolerance());
+			this.bodyKernel = TabulatedFunction.compactSupport(1, 1, attributes.getTabulatedKernelTolerance());
+		}
 	}
 
 	private void init(AttributesPotentialCompactSoftshell attributes, Domain domain, Random random){
@@ -51,32 +62,46 @@ public class PotentialFieldObstacleCompactSoftshell implements PotentialFieldObs
 
 	@Override
 	public double getObstaclePotential(IPoint pos, Agent pedestrian) {
+		double distance = domain.getTopography().distanceToObstacle(pos, pedestrian);
+		return getObstaclePotential(distance, pedestrian.getRadius());
+	}
 
-		double potential = 0;
-		//for (Obstacle obstacle : obstacles) {
-
-			//double distance = obstacle.getShape().distance(pos);
-			double distance = domain.getTopography().distanceToObstacle(pos, pedestrian);
+	/**
+	 * Computes the obstacle potential of all candidates based on the obstacle distances of the batch.
+	 */
+	@Override
+	public void getObstaclePotentials(PotentialEvaluationBatch batch, Agent pedestrian, double[] potentials) {
+		double[] distances = batch.getObstacleDistances(domain.getTopography(), pedestrian);
+		double radius = pedestrian.getRadius();
 
-			/*if(distance > 0) {
-				log.info("distance: " + distance);
-			}*/
+		for (int i = 0; i < batch.size(); i++) {
+			potentials[i] = getObstaclePotential(distances[i], radius);
+		}
+	}
 
-			double radius = pedestrian.getRadius();
-			double currentPotential = 0;
+	/**
+	 * The non-negative obstacle potential at the distance to the closest obstacle which might be negative. It is used
+	 * by the evaluation of single points and of batches. The lookup tables are only used for |distance| smaller than
+	 * the respective width, beyond it the exact term differs from the compact kernel.
+	 */
+	private double getObstaclePotential(double distance, double radius) {
+		double potential = 0;
 
-			if (distance < this.width) {
-				currentPotential = this.height * Math.exp(2 / (Math.pow(distance / (this.width), 2) - 1));
+		if (distance < this.width) {
+			if (obstacleKernel != null && distance > -this.width) {
+				potential = this.height * obstacleKernel.applyAsDouble(distance * distance / (this.width * this.width));
+			} else {
+				potential = this.height * Math.exp(2 / (Math.pow(distance / (this.width), 2) - 1));
 			}
-			if (distance < radius) {
-				currentPotential += 100000 * Math.exp(1 / (Math.pow(distance / radius, 2) - 1));
+		}
+		if (distance < radius) {
+			if (bodyKernel != null && distance > -radius) {
+				potential += 100000 * bodyKernel.applyAsDouble(distance * distance / (radius * radius));
+			} else {
+				potential += 100000 * Math.exp(1 / (Math.pow(distance / radius, 2) - 1));
 			}
-
-			if (potential < currentPotential)
-				potential = currentPotential;
-		//}
-
-		return potential;
+		}
+		return potential > 0 ? potential : 0;
 	}
 
 	@Override
@@ -97,6 +122,8 @@ public class PotentialFieldObstacleCompactSoftshell implements PotentialFieldObs
 	public PotentialFieldObstacle copy() {
 		PotentialFieldObstacleCompactSoftshell potentialFieldObstacle = new PotentialFieldObstacleCompactSoftshell();
 		potentialFieldObstacle.init(attributes, domain, random);
+		potentialFieldObstacle.obstacleKernel = obstacleKernel;
+		potentialFieldObstacle.bodyKernel = bodyKernel;
 		return potentialFieldObstacle;
 	}
 }
@@ -1,7 +1,9 @@
 package org.vadere.simulator.models.potential;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.vadere.annotation.factories.models.ModelClass;
 import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.potential.fields.PotentialEvaluationBatch;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.Attributes;
@@ -13,6 +15,7 @@ import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.Vector2D;
+import org.vadere.util.math.TabulatedFunction;
 
 import java.util.Collection;
 import java.util.List;
@@ -37,6 +40,11 @@ public class PotentialFieldPedestrianCompactSoftshell implements PotentialFieldA
 
 	private double height; // intensity of repulsion \mu_p
 
+	// lookup tables of the kernels over the normalised squared distance, null if they are not used
+	private TabulatedFunction personalKernel;
+	private TabulatedFunction intimateKernel;
+	private TabulatedFunction bodyKernel;
+
 	public PotentialFieldPedestrianCompactSoftshell() {}
 
 	@Override
@@ -47,6 +55,13 @@ public class PotentialFieldPedestrianCompactSoftshell implements PotentialFieldA
 		this.intimateWidth = attributes.getPedPotentialIntimateSpaceWidth();
 		this.personalWidth = attributes.getPedPotentialPersonalSpaceWidth();
 		this.height = attributes.getPedPotentialHeight();
+
+		if (attributes.isUseTabulatedKernels()) {
+			double tolerance = attributes.getTabulatedKernelTolerance();
+			this.personalKernel = TabulatedFunction.compactSupport(4, attributes.getPersonalSpacePower(), tolerance);
+			this.intimateKernel = TabulatedFunction.compactSupport(4, attributes.getIntimateSpacePower(), tolerance);
+			this.bodyKernel = TabulatedFunction.compactSupport(1, 2, tolerance);
+		}
 	}
 
 	@Override
@@ -62,6 +77,16 @@ public class PotentialFieldPedestrianCompactSoftshell implements PotentialFieldA
 		return closePedestrians;
 	}
 
+	@Override
+	public boolean getRelevantAgentSlots(VCircle maxStepCircle, Agent pedestrian, Topography scenario, IntArrayList slots) {
+		if (pedestrian.getStateStore() == null) {
+			return false;
+		}
+		scenario.getSpatialMap(Pedestrian.class).getObjectIndices(maxStepCircle.getCenter(),
+				this.personalWidth + maxStepCircle.getRadius() + pedestrian.getRadius(), Agent::getStateSlot, slots);
+		return true;
+	}
+
 
 	public double getPersonalWidth() { return personalWidth; }
 	public void setPersonalWidth(final double personalWidth) { this.personalWidth = personalWidth; }
@@ -87,7 +112,9 @@ public class PotentialFieldPedestrianCompactSoftshell implements PotentialFieldA
 		double distanceSq = otherPedestrian.getPosition().distanceSq(pos);
 		double maxDistanceSq = (Math.max(width, intimateWidth)  + radii) * (Math.max(width, intimateWidth)  + radii);
 
-		if (distanceSq < maxDistanceSq) {
+		if (distanceSq < maxDistanceSq && personalKernel != null) {
+			potential = getTabulatedAgentPotential(distanceSq, radii, height, width);
+		} else if (distanceSq < maxDistanceSq) {
 			double distance = otherPedestrian.getPosition().distance(pos); // Euclidean distance d_j(x) between agent j and position x
 
 			int intPower = this.attributes.getIntimateSpacePower(); // b_p
@@ -112,6 +139,29 @@ public class PotentialFieldPedestrianCompactSoftshell implements PotentialFieldA
 
 	}
 
+	/**
+	 * Computes the agent potential like {@link #getAgentPotential(IPoint, Agent, Agent, double, double)} by the
+	 * lookup tables of the kernels, which are functions of the squared distance normalised by the width of
+	 * the respective zone. Therefore, no square root, power or exponential function is evaluated.
+	 */
+	private double getTabulatedAgentPotential(double distanceSq, double radii, double height, double width) {
+		double potential = 0;
+		double personalSq = (width + radii) * (width + radii);
+		double intimateSq = (this.intimateWidth + radii) * (this.intimateWidth + radii);
+		double radiiSq = radii * radii;
+
+		if (distanceSq < personalSq) {
+			potential += height * personalKernel.applyAsDouble(distanceSq / personalSq);
+		}
+		if (distanceSq < intimateSq) {
+			potential += height / this.attributes.getIntimateSpaceFactor() * intimateKernel.applyAsDouble(distanceSq / intimateSq);
+		}
+		if (distanceSq < radiiSq) {
+			potential += 1000 * bodyKernel.applyAsDouble(distanceSq / radiiSq);
+		}
+		return potential;
+	}
+
 
 	/*@Override
 	public double getAgentPotential(IPoint pos, Agent pedestrian,
@@ -159,6 +209,62 @@ public class PotentialFieldPedestrianCompactSoftshell implements PotentialFieldA
 		return potential;
 	}
 
+	@Override
+	public void getAgentPotentials(PotentialEvaluationBatch batch, Agent pedestrian, double[] potentials) {
+		getAgentPotentials(batch, pedestrian, getHeight(), getPersonalWidth(), potentials);
+	}
+
+	/**
+	 * Computes the agent potential of all candidates of the batch like
+	 * {@link #getAgentPotential(IPoint, Agent, Agent, double, double)} summed up over all neighbours
+	 * of the batch. The neighbours are traversed in the inner loop using their gathered positions.
+	 */
+	public void getAgentPotentials(PotentialEvaluationBatch batch, Agent pedestrian,
+	                               double height, double width, double[] potentials) {
+		double[] x = batch.getX();
+		double[] y = batch.getY();
+		double[] neighbourX = batch.getNeighbourX();
+		double[] neighbourY = batch.getNeighbourY();
+		double[] neighbourRadius = batch.getNeighbourRadius();
+		int numberOfNeighbours = batch.getNumberOfNeighbours();
+
+		double radius = pedestrian.getRadius();
+		double maxWidth = Math.max(width, intimateWidth);
+		int intPower = this.attributes.getIntimateSpacePower(); // b_p
+		int perPower = this.attributes.getPersonalSpacePower();
+		double factor = this.attributes.getIntimateSpaceFactor(); // a_p
+
+		for (int i = 0; i < batch.size(); i++) {
+			double potential = 0;
+			for (int j = 0; j < numberOfNeighbours; j++) {
+				double radii = radius + neighbourRadius[j];
+				double dx = neighbourX[j] - x[i];
+				double dy = neighbourY[j] - y[i];
+				double distanceSq = dx * dx + dy * dy;
+
+				if (distanceSq < (maxWidth + radii) * (maxWidth + radii) && personalKernel != null) {
+					potential += getTabulatedAgentPotential(distanceSq, radii, height, width);
+				} else if (distanceSq < (maxWidth + radii) * (maxWidth + radii)) {
+					double distance = Math.sqrt(distanceSq);
+					double neighbourPotential = 0;
+
+					if (distance < width + radii) {
+						neighbourPotential += height * Math.exp(4 / (Math.pow(distance / (width + radii), (2 * perPower)) - 1));
+					}
+					if (distance < this.intimateWidth + radii) {
+						neighbourPotential += height / factor
+								* Math.exp(4 / (Math.pow(distance / (this.intimateWidth + radii), (2 * intPower)) - 1));
+					}
+					if (distance < radii) {
+						neighbourPotential += 1000 * Math.exp(1 / (Math.pow(distance / radii, 4) - 1));
+					}
+					potential += neighbourPotential;
+				}
+			}
+			potentials[i] = potential;
+		}
+	}
+
 	@Override
 	public Vector2D getAgentPotentialGradient(IPoint pos,
 			Vector2D velocity, Agent pedestrian,
@@ -1,5 +1,6 @@
 package org.vadere.simulator.models.potential.combinedPotentials;
 
+ import org.vadere.simulator.models.potential.fields.PotentialEvaluationBatch;
  import org.vadere.state.scenario.Agent;
  import org.vadere.util.geometry.shapes.IPoint;
 
@@ -31,4 +32,15 @@ public interface ICombinedPotentialStrategy {
      */
     public double getValue(IPoint newPos, Agent thisAgent, Collection<? extends Agent> otherAgents);
 
+    /**
+     * Get the combined potential at all candidate positions of the batch, the i-th value is
+     * written to {@link PotentialEvaluationBatch#getValues()}.
+     */
+    default void getValues(PotentialEvaluationBatch batch, Agent thisAgent) {
+        double[] values = batch.getValues();
+        for (int i = 0; i < batch.size(); i++) {
+            values[i] = getValue(batch.getCandidate(i), thisAgent, batch.getOtherAgents());
+        }
+    }
+
 }
@@ -3,6 +3,7 @@ package org.vadere.simulator.models.potential.combinedPotentials;
 import org.vadere.simulator.models.osm.PedestrianOSM;
 import org.vadere.simulator.models.potential.PotentialFieldPedestrianCompactSoftshell;
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
+import org.vadere.simulator.models.potential.fields.PotentialEvaluationBatch;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
 import org.vadere.state.attributes.models.AttributesPedestrianRepulsionPotentialStrategy;
@@ -54,6 +55,28 @@ public class PedestrianRepulsionStrategy implements ICombinedPotentialStrategy {
         return targetPotential + agentPotential + obstaclePotential;
     }
 
+    @Override
+    public void getValues(PotentialEvaluationBatch batch, Agent pedestrian) {
+        double socialDistance = getSocialDistance((PedestrianOSM) pedestrian);
+        if (!isSocialDistanceInRange(socialDistance)) {
+            throw new RuntimeException("Social distance must be in range [1.25, 2.0]. Got " + socialDistance);
+        }
+
+        double[] targetPotentials = batch.getTargetPotentials();
+        double[] obstaclePotentials = batch.getObstaclePotentials();
+        double[] agentPotentials = batch.getAgentPotentials();
+        double[] values = batch.getValues();
+
+        potentialFieldTarget.getPotentials(batch, pedestrian, targetPotentials);
+        potentialFieldObstacle.getObstaclePotentials(batch, pedestrian, obstaclePotentials);
+        ((PotentialFieldPedestrianCompactSoftshell) potentialFieldAgent).getAgentPotentials(batch, pedestrian,
+                getHeightFromSocialDistance(socialDistance), getPersonalSpaceFromSocialDistance(socialDistance), agentPotentials);
+
+        for (int i = 0; i < batch.size(); i++) {
+            values[i] = targetPotentials[i] + agentPotentials[i] + obstaclePotentials[i];
+        }
+    }
+
     private double getSocialDistancingAgentPotential(final IPoint pos, final Agent pedestrian, final Collection<? extends Agent> otherAgents, final double socialDistance) {
         double agentPotential = 0.0;
         for (Agent neighbor : otherAgents) {
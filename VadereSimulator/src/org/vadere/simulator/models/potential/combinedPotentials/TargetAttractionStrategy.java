@@ -1,6 +1,7 @@
 package org.vadere.simulator.models.potential.combinedPotentials;
 
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
+import org.vadere.simulator.models.potential.fields.PotentialEvaluationBatch;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
 import org.vadere.state.scenario.Agent;
@@ -30,4 +31,20 @@ public class TargetAttractionStrategy implements ICombinedPotentialStrategy {
 
         return targetPotential + agentPotential + obstaclePotential;
     }
+
+    @Override
+    public void getValues(PotentialEvaluationBatch batch, Agent thisAgent) {
+        double[] targetPotentials = batch.getTargetPotentials();
+        double[] obstaclePotentials = batch.getObstaclePotentials();
+        double[] agentPotentials = batch.getAgentPotentials();
+        double[] values = batch.getValues();
+
+        potentialFieldTarget.getPotentials(batch, thisAgent, targetPotentials);
+        potentialFieldObstacle.getObstaclePotentials(batch, thisAgent, obstaclePotentials);
+        potentialFieldAgent.getAgentPotentials(batch, thisAgent, agentPotentials);
+
+        for (int i = 0; i < batch.size(); i++) {
+            values[i] = targetPotentials[i] + agentPotentials[i] + obstaclePotentials[i];
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.vadere.simulator.models.potential.combinedPotentials;
 
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
+import org.vadere.simulator.models.potential.fields.PotentialEvaluationBatch;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
 import org.vadere.state.scenario.Agent;
@@ -37,4 +38,24 @@ public class TargetRepulsionStrategy implements ICombinedPotentialStrategy {
 
         return targetPotential + agentPotential + obstaclePotential;
     }
+
+    @Override
+    public void getValues(PotentialEvaluationBatch batch, Agent thisAgent) {
+        double[] targetPotentials = batch.getTargetPotentials();
+        double[] obstaclePotentials = batch.getObstaclePotentials();
+        double[] agentPotentials = batch.getAgentPotentials();
+        double[] values = batch.getValues();
+
+        potentialFieldTarget.getPotentials(batch, thisAgent, targetPotentials);
+        potentialFieldObstacle.getObstaclePotentials(batch, thisAgent, obstaclePotentials);
+        potentialFieldAgent.getAgentPotentials(batch, thisAgent, agentPotentials);
+
+        for (int i = 0; i < batch.size(); i++) {
+            double targetPotential = targetPotentials[i];
+            if (targetPotential != Double.MAX_VALUE) {
+                targetPotential *= -1;
+            }
+            values[i] = targetPotential + agentPotentials[i] + obstaclePotentials[i];
+        }
+    }
 }
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.context.VadereContext;
 import org.vadere.simulator.models.potential.solver.EikonalSolverProvider;
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolverAsync;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.attributes.scenario.AttributesAgent;
@@ -60,7 +61,7 @@ public interface IPotentialField {
 		// retrieve EikonalSolverProvider from context object.
 		EikonalSolverProvider provider = VadereContext.getCtx(domain.getTopography()).getEikonalSolverProvider();
 
-        return provider.provide(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+        return provide(provider, domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
     }
 
 	static EikonalSolver create(final Domain domain,
@@ -71,7 +72,32 @@ public interface IPotentialField {
 	                            final AttributesFloorField attributesPotential)
 	{
 		EikonalSolverProvider provider = VadereContext.getCtx(topography).getEikonalSolverProvider();
-		return provider.provide(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+		return provide(provider, domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+	}
+
+	/**
+	 * Provides the solver and, if the floor field is dynamic and should be updated asynchronously,
+	 * a second solver as back buffer. The back buffer uses a copy of the floor field mesh since
+	 * mesh based solvers store their solution in the mesh.
+	 */
+	private static EikonalSolver provide(
+			final EikonalSolverProvider provider,
+			final Domain domain,
+			final int targetId,
+			final List<VShape> targetShapes,
+			final AttributesAgent attributesPedestrian,
+			final AttributesFloorField attributesPotential) {
+		EikonalSolver eikonalSolver = provider.provide(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+
+		if(attributesPotential.isAsynchronousDynamicUpdate() && eikonalSolver.needsUpdate()) {
+			Domain backDomain = domain.getFloorFieldMesh() == null ? domain :
+					new Domain(domain.getFloorFieldMesh().clone(), domain.getBackgroundMesh(), domain.getTopography());
+			EikonalSolver backBuffer = provider.provide(backDomain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+			return new EikonalSolverAsync(eikonalSolver, backBuffer,
+					attributesPotential.getDynamicUpdateInterval(), attributesPotential.getDynamicUpdateMaxStaleness());
+		}
+
+		return eikonalSolver;
 	}
 
 
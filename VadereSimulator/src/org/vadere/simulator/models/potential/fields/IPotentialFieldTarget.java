@@ -46,4 +46,17 @@ public interface IPotentialFieldTarget extends IPotentialField, Model {
 	Function<Agent, IMesh<?, ?, ?>> getDiscretization();
 
 	double getPotential(@NotNull final IPoint pos, final int targetId);
+
+	/**
+	 * Computes the target potential of all candidates of the batch for the agent.
+	 *
+	 * @param batch         the candidate positions
+	 * @param agent         the agent
+	 * @param potentials    the array the potential of the i-th candidate is written to
+	 */
+	default void getPotentials(@NotNull final PotentialEvaluationBatch batch, @NotNull final Agent agent, @NotNull final double[] potentials) {
+		for(int i = 0; i < batch.size(); i++) {
+			potentials[i] = getPotential(batch.getCandidate(i), agent);
+		}
+	}
 }
@@ -0,0 +1,237 @@
+package org.vadere.simulator.models.potential.fields;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.AgentStateStore;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A batch of candidate positions of one agent for which the combined potential is evaluated at once,
+ * see {@link org.vadere.simulator.models.potential.combinedPotentials.ICombinedPotentialStrategy#getValues}.
+ * The coordinates of the candidates and the positions and radii of the relevant neighbours are gathered
+ * into flat arrays once, such that the potential fields can compute the potentials in tight loops. The
+ * distances to the closest obstacle are computed lazily and shared by the target and the obstacle potential.
+ * If the slots of the relevant agents in an {@link AgentStateStore} are known, the neighbours are gathered from its arrays.
+ *
+ * A batch is owned by a single agent and reused in every step, the buffers only grow.
+ */
+public class PotentialEvaluationBatch {
+
+	private List<VPoint> candidates;
+	private int size;
+	private double[] x;
+	private double[] y;
+	private double[] obstacleDistances;
+	private boolean obstacleDistancesComputed;
+
+	private Collection<? extends Agent> otherAgents;
+	private int numberOfNeighbours;
+	private double[] neighbourX;
+	private double[] neighbourY;
+	private double[] neighbourRadius;
+
+	private double[] targetPotentials;
+	private double[] obstaclePotentials;
+	private double[] agentPotentials;
+	private double[] values;
+
+	public PotentialEvaluationBatch() {
+		this.size = 0;
+		this.numberOfNeighbours = 0;
+		this.x = new double[0];
+		this.y = new double[0];
+		this.obstacleDistances = new double[0];
+		this.targetPotentials = new double[0];
+		this.obstaclePotentials = new double[0];
+		this.agentPotentials = new double[0];
+		this.values = new double[0];
+		this.neighbourX = new double[0];
+		this.neighbourY = new double[0];
+		this.neighbourRadius = new double[0];
+	}
+
+	/**
+	 * Sets the candidate positions and the relevant agents of the agent for the next evaluation.
+	 *
+	 * @param agent         the agent which owns the batch, it is excluded from the neighbours
+	 * @param candidates    the candidate positions
+	 * @param otherAgents   the relevant agents, i.e. the potential neighbours
+	 */
+	public void set(@NotNull final Agent agent, @NotNull final List<VPoint> candidates, @NotNull final Collection<? extends Agent> otherAgents) {
+		setCandidates(candidates, otherAgents);
+		ensureNeighbourCapacity(otherAgents.size());
+
+		numberOfNeighbours = 0;
+		for(Agent neighbour : otherAgents) {
+			if(neighbour.getId() != agent.getId()) {
+				setNeighbour(neighbour);
+				numberOfNeighbours++;
+			}
+		}
+	}
+
+	/**
+	 * Sets the candidate positions and the relevant agents of the agent for the next evaluation. The neighbours
+	 * are read from the arrays of the {@link AgentStateStore} of the agent, i.e. the agents are not accessed.
+	 *
+	 * @param agent         the agent which owns the batch, it is excluded from the neighbours
+	 * @param candidates    the candidate positions
+	 * @param otherAgents   the relevant agents, i.e. the potential neighbours
+	 * @param neighbourSlots the slots of the relevant agents in the store of the agent,
+	 *                       see {@link PotentialFieldAgent#getRelevantAgentSlots}
+	 */
+	public void set(@NotNull final Agent agent, @NotNull final List<VPoint> candidates, @NotNull final Collection<? extends Agent> otherAgents,
+	                @NotNull final IntArrayList neighbourSlots) {
+		setCandidates(candidates, otherAgents);
+		ensureNeighbourCapacity(neighbourSlots.size());
+
+		AgentStateStore store = agent.getStateStore();
+		double[] storeX = store.getX();
+		double[] storeY = store.getY();
+		double[] storeRadius = store.getRadius();
+		int[] slots = neighbourSlots.elements();
+		int ownSlot = agent.getStateSlot();
+
+		numberOfNeighbours = 0;
+		for(int i = 0; i < neighbourSlots.size(); i++) {
+			int slot = slots[i];
+			if(slot != ownSlot) {
+				neighbourX[numberOfNeighbours] = storeX[slot];
+				neighbourY[numberOfNeighbours] = storeY[slot];
+				neighbourRadius[numberOfNeighbours] = storeRadius[slot];
+				numberOfNeighbours++;
+			}
+		}
+	}
+
+	private void setCandidates(@NotNull final List<VPoint> candidates, @NotNull final Collection<? extends Agent> otherAgents) {
+		this.candidates = candidates;
+		this.size = candidates.size();
+		this.otherAgents = otherAgents;
+		this.obstacleDistancesComputed = false;
+
+		if(x.length < size) {
+			int capacity = Math.max(size, 2 * x.length);
+			x = new double[capacity];
+			y = new double[capacity];
+			obstacleDistances = new double[capacity];
+			targetPotentials = new double[capacity];
+			obstaclePotentials = new double[capacity];
+			agentPotentials = new double[capacity];
+			values = new double[capacity];
+		}
+
+		for(int i = 0; i < size; i++) {
+			VPoint candidate = candidates.get(i);
+			x[i] = candidate.x;
+			y[i] = candidate.y;
+		}
+	}
+
+	private void ensureNeighbourCapacity(final int numberOfRelevantAgents) {
+		if(neighbourX.length < numberOfRelevantAgents) {
+			int capacity = Math.max(numberOfRelevantAgents, 2 * neighbourX.length);
+			neighbourX = new double[capacity];
+			neighbourY = new double[capacity];
+			neighbourRadius = new double[capacity];
+		}
+	}
+
+	private void setNeighbour(@NotNull final Agent neighbour) {
+		VPoint position = neighbour.getPosition();
+		neighbourX[numberOfNeighbours] = position.x;
+		neighbourY[numberOfNeighbours] = position.y;
+		neighbourRadius[numberOfNeighbours] = neighbour.getRadius();
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public VPoint getCandidate(final int i) {
+		return candidates.get(i);
+	}
+
+	public double[] getX() {
+		return x;
+	}
+
+	public double[] getY() {
+		return y;
+	}
+
+	/**
+	 * Returns the distances of the candidates to the closest obstacle, see {@link Topography#distanceToObstacle}.
+	 * They are computed on the first call for the current candidates.
+	 *
+	 * @param topography    the topography
+	 * @param caller        the caller which is passed to the obstacle distance function
+	 *
+	 * @return the distances of the candidates to the closest obstacle
+	 */
+	public double[] getObstacleDistances(@NotNull final Topography topography, final Object caller) {
+		if(!obstacleDistancesComputed) {
+			for(int i = 0; i < size; i++) {
+				obstacleDistances[i] = topography.distanceToObstacle(candidates.get(i), caller);
+			}
+			obstacleDistancesComputed = true;
+		}
+		return obstacleDistances;
+	}
+
+	public Collection<? extends Agent> getOtherAgents() {
+		return otherAgents;
+	}
+
+	/**
+	 * Returns the number of neighbours, i.e. the relevant agents except the owner of the batch.
+	 */
+	public int getNumberOfNeighbours() {
+		return numberOfNeighbours;
+	}
+
+	public double[] getNeighbourX() {
+		return neighbourX;
+	}
+
+	public double[] getNeighbourY() {
+		return neighbourY;
+	}
+
+	public double[] getNeighbourRadius() {
+		return neighbourRadius;
+	}
+
+	/**
+	 * scratch buffer for the target potential of each candidate.
+	 */
+	public double[] getTargetPotentials() {
+		return targetPotentials;
+	}
+
+	/**
+	 * scratch buffer for the obstacle potential of each candidate.
+	 */
+	public double[] getObstaclePotentials() {
+		return obstaclePotentials;
+	}
+
+	/**
+	 * scratch buffer for the agent potential of each candidate.
+	 */
+	public double[] getAgentPotentials() {
+		return agentPotentials;
+	}
+
+	/**
+	 * the combined potential of each candidate.
+	 */
+	public double[] getValues() {
+		return values;
+	}
+}
@@ -1,11 +1,13 @@
 package org.vadere.simulator.models.potential.fields;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.vadere.simulator.models.Model;
 import org.vadere.simulator.models.potential.PedestrianRepulsionPotentialCycle;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.Attributes;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.AgentStateStore;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VCircle;
@@ -13,6 +15,7 @@ import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.reflection.DynamicClassInstantiator;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
@@ -51,16 +54,61 @@ public interface PotentialFieldAgent extends Model {
 	Collection<? extends Agent> getRelevantAgents(VCircle relevantArea,
 			Agent pedestrian, Topography topography);
 
+	/**
+	 * Computes the slots of the relevant agents, see {@link #getRelevantAgents(VCircle, Agent, Topography)},
+	 * in the {@link AgentStateStore} of the pedestrian without accessing the agents.
+	 *
+	 * @param relevantArea  the relevant area
+	 * @param pedestrian    the pedestrian in the center of the relevant area
+	 * @param topography    the current topography
+	 * @param slots         the list the slots are written to
+	 * @return true if the slots have been computed, false if this potential field does not support it or the
+	 *         pedestrian is not part of a store, then {@link #getRelevantAgents(VCircle, Agent, Topography)} has to be used
+	 */
+	default boolean getRelevantAgentSlots(VCircle relevantArea, Agent pedestrian, Topography topography, IntArrayList slots) {
+		return false;
+	}
+
 	double getAgentPotential(IPoint pos, Agent pedestrian,
 	                         Agent otherPedestrian);
 
 	double getAgentPotential(IPoint pos, Agent pedestrian,
 			Collection<? extends Agent> otherAgents);
 
+	/**
+	 * Computes the agent potential of all candidates of the batch for the pedestrian,
+	 * caused by the relevant agents of the batch.
+	 *
+	 * @param batch         the candidate positions and the relevant agents
+	 * @param pedestrian    the pedestrian
+	 * @param potentials    the array the potential of the i-th candidate is written to
+	 */
+	default void getAgentPotentials(PotentialEvaluationBatch batch, Agent pedestrian, double[] potentials) {
+		for(int i = 0; i < batch.size(); i++) {
+			potentials[i] = getAgentPotential(batch.getCandidate(i), pedestrian, batch.getOtherAgents());
+		}
+	}
+
 	Vector2D getAgentPotentialGradient(IPoint pos,
 			Vector2D velocity, Agent pedestrian,
 			Collection<? extends Agent> otherAgents);
 
+	/**
+	 * Computes the gradient like {@link #getAgentPotentialGradient(IPoint, Vector2D, Agent, Collection)}
+	 * for the relevant agents given by their slots, see {@link #getRelevantAgentSlots}.
+	 *
+	 * @param slots the slots of the relevant agents in the {@link AgentStateStore} of the pedestrian
+	 */
+	default Vector2D getAgentPotentialGradientOfSlots(IPoint pos,
+			Vector2D velocity, Agent pedestrian, IntArrayList slots) {
+		AgentStateStore store = pedestrian.getStateStore();
+		List<Agent> otherAgents = new ArrayList<>(slots.size());
+		for(int i = 0; i < slots.size(); i++) {
+			otherAgents.add(store.getAgent(slots.getInt(i)));
+		}
+		return getAgentPotentialGradient(pos, velocity, pedestrian, otherAgents);
+	}
+
 	static PotentialFieldAgent createPotentialField(
 			final List<Attributes> modelAttributesList,
 			final Domain domain,
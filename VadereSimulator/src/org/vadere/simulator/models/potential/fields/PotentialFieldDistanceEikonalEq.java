@@ -2,8 +2,10 @@ package org.vadere.simulator.models.potential.fields;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.vadere.simulator.models.potential.solver.EikonalSolverProvider;
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
 import org.vadere.simulator.models.potential.solver.calculators.PotentialFieldCalculatorNone;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverBlockFIM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFIM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFSM;
@@ -114,6 +116,9 @@ public class PotentialFieldDistanceEikonalEq implements IPotentialField {
 			case FAST_ITERATIVE_METHOD:
 				eikonalSolver = new EikonalSolverFIM(cellGrid, distFunc, isHighAccuracyFM, new UnitTimeCostFunction(), attributesFloorField.getObstacleGridPenalty(), attributesFloorField.getTargetAttractionStrength());
 				break;
+			case BLOCK_FAST_ITERATIVE_METHOD:
+				eikonalSolver = new EikonalSolverBlockFIM(cellGrid, distFunc, new UnitTimeCostFunction(), attributesFloorField.getObstacleGridPenalty(), attributesFloorField.getTargetAttractionStrength(), EikonalSolverProvider.getForkJoinPool(attributesFloorField.getNumberOfSolverThreads()), EikonalSolverBlockFIM.DEFAULT_TILE_SIZE);
+				break;
 			case FAST_SWEEPING_METHOD:
 				eikonalSolver = new EikonalSolverFSM(cellGrid, distFunc, isHighAccuracyFM, new UnitTimeCostFunction(), attributesFloorField.getObstacleGridPenalty(), attributesFloorField.getTargetAttractionStrength());
 				break;
@@ -27,6 +27,19 @@ public interface PotentialFieldObstacle extends Model {
 
 	double getObstaclePotential(IPoint pos, Agent pedestrian);
 
+	/**
+	 * Computes the obstacle potential of all candidates of the batch for the pedestrian.
+	 *
+	 * @param batch         the candidate positions
+	 * @param pedestrian    the pedestrian
+	 * @param potentials    the array the potential of the i-th candidate is written to
+	 */
+	default void getObstaclePotentials(PotentialEvaluationBatch batch, Agent pedestrian, double[] potentials) {
+		for(int i = 0; i < batch.size(); i++) {
+			potentials[i] = getObstaclePotential(batch.getCandidate(i), pedestrian);
+		}
+	}
+
 	Vector2D getObstaclePotentialGradient(VPoint pos, Agent pedestrian);
 
 	PotentialFieldObstacle copy();
@@ -20,6 +20,7 @@ import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.MathUtil;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -183,6 +184,37 @@ public class PotentialFieldTarget implements IPotentialFieldTarget {
 		return getPotential(pos, targetId, null);
 	}
 
+	/**
+	 * Computes the target potential of all candidates like {@link #getPotential(IPoint, Agent)} but looks up
+	 * the target and its solver only once and shares the obstacle distances of the batch.
+	 */
+	@Override
+	public void getPotentials(@NotNull final PotentialEvaluationBatch batch, @NotNull final Agent agent, @NotNull final double[] potentials) {
+		if (!agent.hasNextTarget()) {
+			Arrays.fill(potentials, 0, batch.size(), 0.0);
+			return;
+		}
+
+		int targetId = agent.getNextTargetId();
+		VShape targetShape = domain.getTopography().getTarget(targetId).getShape();
+		double[] obstacleDistances = batch.getObstacleDistances(domain.getTopography(), agent);
+		Optional<EikonalSolver> optEikonalSolver = getSolver(targetId);
+
+		for(int i = 0; i < batch.size(); i++) {
+			VPoint pos = batch.getCandidate(i);
+			if (targetShape.contains(pos)) {
+				potentials[i] = 0.0;
+			} else if (obstacleDistances[i] <= 0) {
+				potentials[i] = Double.MAX_VALUE;
+			} else if (!optEikonalSolver.isPresent()) {
+				logger.error("no target potential field for target = " + targetId + ", was found!");
+				potentials[i] = 0.0;
+			} else {
+				potentials[i] = optEikonalSolver.get().getPotential(pos, agent);
+			}
+		}
+	}
+
 	/**
 	 * Updates a specific potential field (defined by (targetId, targetShapes)) if it is:
 	 * - dynamic
@@ -204,7 +236,7 @@ public class PotentialFieldTarget implements IPotentialFieldTarget {
 		}
 
 		if (eikonalSolvers.containsKey(target.getId())) {
-			eikonalSolvers.get(target.getId()).update();
+			eikonalSolvers.get(target.getId()).update(simTimeInSec);
 		} else {
 			logger.warn("potential field for target " + target.getId() + " is not contained in " + this);
 		}
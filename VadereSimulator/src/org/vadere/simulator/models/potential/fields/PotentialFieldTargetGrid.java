@@ -2,6 +2,7 @@ package org.vadere.simulator.models.potential.fields;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolverShared;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.AGridEikonalSolver;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.models.AttributesFloorField;
@@ -35,6 +36,11 @@ public class PotentialFieldTargetGrid extends PotentialFieldTarget implements IP
             Integer targetId = entry.getKey();
             EikonalSolver eikonalSolver = entry.getValue();
 
+            // shared static floor fields are wrapped by a read-only view
+            if(eikonalSolver instanceof EikonalSolverShared){
+                eikonalSolver = ((EikonalSolverShared)eikonalSolver).getSolver();
+            }
+
             if(eikonalSolver instanceof AGridEikonalSolver){
                 map.put(targetId, ((AGridEikonalSolver)eikonalSolver).getCellGrid());
             }
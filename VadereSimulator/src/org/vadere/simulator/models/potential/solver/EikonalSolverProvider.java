@@ -10,13 +10,16 @@ import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
 import org.vadere.simulator.models.potential.fields.IPotentialField;
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
 import org.vadere.simulator.models.potential.solver.calculators.PotentialFieldCalculatorNone;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverBlockFIM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFIM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMMIncremental;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFSM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverIFIM;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFIM;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFIMLockFree;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMMIncremental;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverIFIM;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverIFIMLockFree;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
@@ -39,10 +42,18 @@ import org.vadere.util.math.IDistanceFunction;
 
 import java.awt.geom.Rectangle2D;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 public abstract class EikonalSolverProvider  {
 	private  static Logger logger = Logger.getLogger(IPotentialField.class);
 
+	/**
+	 * pools of multi threaded solvers by their number of threads, shared by all floor fields.
+	 */
+	private static final Map<Integer, ForkJoinPool> forkJoinPools = new ConcurrentHashMap<>();
+
 
 	public abstract EikonalSolver provide(
 			final Domain domain,
@@ -91,6 +102,10 @@ public abstract class EikonalSolverProvider  {
 			return new PotentialFieldCalculatorNone();
 		}
 
+		if(attributesPotential.isIncrementalUpdate() && !createMethod.isFastMarching()) {
+			logger.warn("incremental updates are only supported by fast marching solvers, " + createMethod + " recomputes the whole floor field.");
+		}
+
 		/**
 		 * Use a regular grid based method.
 		 */
@@ -134,11 +149,18 @@ public abstract class EikonalSolverProvider  {
 				case FAST_ITERATIVE_METHOD:
 					eikonalSolver = new EikonalSolverFIM(cellGrid, distFunc, isHighAccuracyFM, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
 					break;
+				case BLOCK_FAST_ITERATIVE_METHOD:
+					eikonalSolver = new EikonalSolverBlockFIM(cellGrid, distFunc, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength(), getForkJoinPool(attributesPotential.getNumberOfSolverThreads()), EikonalSolverBlockFIM.DEFAULT_TILE_SIZE);
+					break;
 				case FAST_SWEEPING_METHOD:
 					eikonalSolver = new EikonalSolverFSM(cellGrid, distFunc, isHighAccuracyFM, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
 					break;
 				default:
-					eikonalSolver = new EikonalSolverFMM(cellGrid, distFunc, isHighAccuracyFM, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
+					if(attributesPotential.isIncrementalUpdate()) {
+						eikonalSolver = new EikonalSolverFMMIncremental(cellGrid, distFunc, isHighAccuracyFM, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength(), attributesPotential.getIncrementalUpdateThreshold());
+					} else {
+						eikonalSolver = new EikonalSolverFMM(cellGrid, distFunc, isHighAccuracyFM, timeCost, attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
+					}
 			}
 		} else {
 			if(domain.getFloorFieldMesh() != null) {
@@ -164,7 +186,11 @@ public abstract class EikonalSolverProvider  {
 						eikonalSolver = new MeshEikonalSolverIFIMLockFree<>(targetId+"", targetShapes, timeCost, triangulation);
 						break;
 					default:
-						eikonalSolver = new MeshEikonalSolverFMM<>(targetId+"", targetShapes, timeCost, triangulation);
+						if(attributesPotential.isIncrementalUpdate()) {
+							eikonalSolver = new MeshEikonalSolverFMMIncremental<>(targetId+"", targetShapes, timeCost, triangulation, attributesPotential.getIncrementalUpdateThreshold());
+						} else {
+							eikonalSolver = new MeshEikonalSolverFMM<>(targetId+"", targetShapes, timeCost, triangulation);
+						}
 						break;
 				}
 
@@ -177,4 +203,18 @@ public abstract class EikonalSolverProvider  {
 		}
 		return eikonalSolver;
 	}
+
+	/**
+	 * Returns the pool for multi threaded solvers.
+	 *
+	 * @param numberOfThreads the number of threads, zero or less means the common pool
+	 *
+	 * @return the pool for multi threaded solvers
+	 */
+	public static ForkJoinPool getForkJoinPool(final int numberOfThreads) {
+		if(numberOfThreads <= 0) {
+			return ForkJoinPool.commonPool();
+		}
+		return forkJoinPools.computeIfAbsent(numberOfThreads, n -> new ForkJoinPool(n));
+	}
 }
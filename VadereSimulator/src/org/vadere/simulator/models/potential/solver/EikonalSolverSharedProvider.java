@@ -0,0 +1,77 @@
+package org.vadere.simulator.models.potential.solver;
+
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolverShared;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.cache.SharedFloorFields;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.attributes.models.TimeCostFunctionType;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.scenario.Target;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.logging.Logger;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Provides the static grid based floor fields of the targets from {@link SharedFloorFields}, i.e. concurrent
+ * simulations of the same topography use the same solved {@link org.vadere.util.data.cellgrid.CellGrid}
+ * through an {@link EikonalSolverShared}.
+ * All other floor fields are provided by the wrapped provider for each simulation separately: dynamic floor
+ * fields are updated during the simulation and mesh based solvers are not read-only since they cache point
+ * locations. Since the floor field hash only covers the topography at the start, floor fields of targets
+ * added later are not shared either.
+ */
+public class EikonalSolverSharedProvider extends EikonalSolverProvider {
+
+	private static Logger logger = Logger.getLogger(EikonalSolverSharedProvider.class);
+
+	private static final Set<TimeCostFunctionType> STATIC_TIME_COSTS =
+			EnumSet.of(TimeCostFunctionType.UNIT, TimeCostFunctionType.OBSTACLES, TimeCostFunctionType.DISTANCE_TO_OBSTACLES);
+
+	private final EikonalSolverProvider provider;
+	private final SharedFloorFields sharedFloorFields;
+	private final Set<Integer> sharedTargetIds;
+
+	/**
+	 * @param provider          the provider computing the floor fields
+	 * @param sharedFloorFields the floor fields shared with the other simulations
+	 * @param sharedTargetIds   the ids of the targets covered by the floor field hash
+	 */
+	public EikonalSolverSharedProvider(EikonalSolverProvider provider, SharedFloorFields sharedFloorFields, Set<Integer> sharedTargetIds) {
+		this.provider = provider;
+		this.sharedFloorFields = sharedFloorFields;
+		this.sharedTargetIds = sharedTargetIds;
+	}
+
+	@Override
+	public EikonalSolver provide(Domain domain, int targetId, List<VShape> targetShapes, AttributesAgent attributesPedestrian, AttributesFloorField attributesPotential) {
+		if (!isShareable(domain, targetId, attributesPotential)) {
+			return provider.provide(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+		}
+
+		EikonalSolver eikonalSolver = sharedFloorFields.computeIfAbsent(SharedFloorFields.targetToIdentifier(targetId), () -> {
+			EikonalSolver solver = provider.provide(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+			return solver.needsUpdate() ? solver : new EikonalSolverShared(solver);
+		});
+
+		if (eikonalSolver.needsUpdate()) {
+			logger.warnf("floor field of target %d is dynamic and cannot be shared.", targetId);
+			return provider.provide(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+		}
+		return eikonalSolver;
+	}
+
+	private boolean isShareable(Domain domain, int targetId, AttributesFloorField attributesPotential) {
+		if (!attributesPotential.getCreateMethod().isUsingCellGrid()
+				|| !STATIC_TIME_COSTS.contains(attributesPotential.getTimeCostAttributes().getType())
+				|| !sharedTargetIds.contains(targetId)) {
+			return false;
+		}
+
+		Target target = domain.getTopography().getTarget(targetId);
+		return target != null && !target.isMovingTarget() && !target.isTargetPedestrian();
+	}
+}
@@ -33,6 +33,27 @@ public interface EikonalSolver {
 	 */
 	default void update() {}
 
+	/**
+	 * Recomputes the potentials at simulation time <tt>simTimeInSec</tt>. Solvers which do not
+	 * recompute in every step, e.g. {@link EikonalSolverAsync}, use the time to decide whether
+	 * an update is due. The default implementation is {@link #update()}.
+	 *
+	 * @param simTimeInSec the current simulation time in seconds
+	 */
+	default void update(final double simTimeInSec) {
+		update();
+	}
+
+	/**
+	 * Recomputes the potentials based on the current state of the time cost function without
+	 * updating the time cost function itself, i.e. without accessing the state of the simulation.
+	 * For dynamic floor fields {@link #update()} is equivalent to updating the time cost function
+	 * followed by this method, which allows to run the expensive part on a different thread.
+	 */
+	default void recompute() {
+		solve();
+	}
+
 	/**
 	 * Returns true if the potential field needs an update. The value indicates
 	 * the type of initializer: static or dynamic floor field. Initializer of
@@ -0,0 +1,178 @@
+package org.vadere.simulator.models.potential.solver.calculators;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.util.geometry.shapes.IPoint;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * A double buffered dynamic floor field which recomputes the eikonal equation on a background thread.
+ * Agents read the potential of the front buffer, i.e. the last completed solution, while the back buffer
+ * is recomputed. The buffers are swapped by {@link #update(double)} which is called by the simulation
+ * thread between two steps, therefore all agents of a step see the same floor field.
+ *
+ * The time cost function of the back buffer is updated on the simulation thread (it reads the positions
+ * of the agents), only {@link EikonalSolver#recompute()} runs in the background. A recomputation is
+ * started every <tt>updateInterval</tt> seconds of simulation time. The front buffer represents the state
+ * of the simulation at the time its recomputation has been started. If it becomes older than
+ * <tt>maxStaleness</tt> seconds, the simulation thread waits for the running recomputation.
+ *
+ * Both solvers have to work on their own discretization and time cost function.
+ */
+public class EikonalSolverAsync implements EikonalSolver {
+
+	private final double updateInterval;
+	private final double maxStaleness;
+
+	private volatile EikonalSolver front;
+	private EikonalSolver back;
+
+	private ForkJoinTask<?> recomputation;
+
+	/**
+	 * the simulation time in seconds of the state the front buffer represents.
+	 */
+	private double frontTimestamp;
+
+	/**
+	 * the simulation time in seconds at which the last recomputation has been started.
+	 */
+	private double backTimestamp;
+
+	/**
+	 * @param front             the solver which is read first, it has to be solved
+	 * @param back              the second solver for the same target, it will be recomputed before it is read
+	 * @param updateInterval    the simulation time in seconds between two recomputations, 0 means every step
+	 * @param maxStaleness      the maximal age in seconds of the state of the simulation the front buffer represents
+	 */
+	public EikonalSolverAsync(@NotNull final EikonalSolver front, @NotNull final EikonalSolver back,
+	                          final double updateInterval, final double maxStaleness) {
+		if(front == back) {
+			throw new IllegalArgumentException("the front and the back buffer have to be different solvers.");
+		}
+		this.front = front;
+		this.back = back;
+		this.updateInterval = updateInterval;
+		this.maxStaleness = maxStaleness;
+		this.recomputation = null;
+		this.frontTimestamp = 0;
+		this.backTimestamp = 0;
+	}
+
+	@Override
+	public void solve() {
+		awaitRecomputation();
+		front.solve();
+	}
+
+	/**
+	 * Updates the front buffer synchronously.
+	 */
+	@Override
+	public void update() {
+		awaitRecomputation();
+		front.update();
+	}
+
+	@Override
+	public void update(final double simTimeInSec) {
+		if(recomputation != null && (recomputation.isDone() || simTimeInSec - frontTimestamp > maxStaleness)) {
+			awaitRecomputation();
+		}
+
+		if(recomputation == null && simTimeInSec - backTimestamp >= updateInterval) {
+			back.getTimeCostFunction().update();
+			backTimestamp = simTimeInSec;
+			final EikonalSolver solver = back;
+			recomputation = ForkJoinPool.commonPool().submit(() -> solver.recompute());
+		}
+	}
+
+	/**
+	 * Waits for a running recomputation and swaps the buffers if there was one. Exceptions of the
+	 * recomputation are rethrown.
+	 */
+	private void awaitRecomputation() {
+		if(recomputation != null) {
+			try {
+				recomputation.join();
+			} finally {
+				recomputation = null;
+			}
+			EikonalSolver tmp = front;
+			front = back;
+			back = tmp;
+			frontTimestamp = backTimestamp;
+		}
+	}
+
+	@Override
+	public boolean needsUpdate() {
+		return true;
+	}
+
+	@Override
+	public double getPotential(final IPoint pos, final double unknownPenalty, final double weight) {
+		return front.getPotential(pos, unknownPenalty, weight);
+	}
+
+	@Override
+	public double getPotential(final IPoint pos, final double unknownPenalty, final double weight, final Object caller) {
+		return front.getPotential(pos, unknownPenalty, weight, caller);
+	}
+
+	@Override
+	public Function<IPoint, Double> getPotentialField() {
+		return front.getPotentialField();
+	}
+
+	@Override
+	public double getPotential(final IPoint pos) {
+		return front.getPotential(pos);
+	}
+
+	@Override
+	public double getPotential(final IPoint pos, final Object caller) {
+		return front.getPotential(pos, caller);
+	}
+
+	@Override
+	public double getPotential(final double x, final double y) {
+		return front.getPotential(x, y);
+	}
+
+	@Override
+	public double getPotential(final double x, final double y, final Object caller) {
+		return front.getPotential(x, y, caller);
+	}
+
+	@Override
+	public boolean isHighAccuracy() {
+		return front.isHighAccuracy();
+	}
+
+	@Override
+	public ITimeCostFunction getTimeCostFunction() {
+		return front.getTimeCostFunction();
+	}
+
+	@Override
+	public boolean loadCachedFloorField(final ICacheObject cacheObject) {
+		return front.loadCachedFloorField(cacheObject);
+	}
+
+	@Override
+	public void saveFloorFieldToCache(final ICacheObject cache) {
+		front.saveFloorFieldToCache(cache);
+	}
+
+	@Override
+	public IMesh<?, ?, ?> getDiscretization() {
+		return front.getDiscretization();
+	}
+}
@@ -0,0 +1,114 @@
+package org.vadere.simulator.models.potential.solver.calculators;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.util.geometry.shapes.IPoint;
+
+import java.util.function.Function;
+
+/**
+ * A read-only view of a solved static floor field which is shared by concurrent simulations, see
+ * {@link org.vadere.simulator.models.potential.solver.EikonalSolverSharedProvider}. Some solvers recompute
+ * the floor field whenever they are updated, even if it is static, which would overwrite the solution
+ * while other simulations read it. Therefore, this view ignores all updates.
+ */
+public class EikonalSolverShared implements EikonalSolver {
+
+	private final EikonalSolver solver;
+
+	/**
+	 * @param solver the solved static floor field
+	 */
+	public EikonalSolverShared(@NotNull final EikonalSolver solver) {
+		if(solver.needsUpdate()) {
+			throw new IllegalArgumentException("only static floor fields can be shared.");
+		}
+		this.solver = solver;
+	}
+
+	/**
+	 * Returns the shared solver, e.g. to read the cell grid of a grid based solver. It must not be updated.
+	 */
+	public EikonalSolver getSolver() {
+		return solver;
+	}
+
+	@Override
+	public void solve() {}
+
+	@Override
+	public void update() {}
+
+	@Override
+	public void update(final double simTimeInSec) {}
+
+	@Override
+	public void recompute() {}
+
+	@Override
+	public boolean needsUpdate() {
+		return false;
+	}
+
+	@Override
+	public double getPotential(final IPoint pos, final double unknownPenalty, final double weight) {
+		return solver.getPotential(pos, unknownPenalty, weight);
+	}
+
+	@Override
+	public double getPotential(final IPoint pos, final double unknownPenalty, final double weight, final Object caller) {
+		return solver.getPotential(pos, unknownPenalty, weight, caller);
+	}
+
+	@Override
+	public Function<IPoint, Double> getPotentialField() {
+		return solver.getPotentialField();
+	}
+
+	@Override
+	public double getPotential(final IPoint pos) {
+		return solver.getPotential(pos);
+	}
+
+	@Override
+	public double getPotential(final IPoint pos, final Object caller) {
+		return solver.getPotential(pos, caller);
+	}
+
+	@Override
+	public double getPotential(final double x, final double y) {
+		return solver.getPotential(x, y);
+	}
+
+	@Override
+	public double getPotential(final double x, final double y, final Object caller) {
+		return solver.getPotential(x, y, caller);
+	}
+
+	@Override
+	public boolean isHighAccuracy() {
+		return solver.isHighAccuracy();
+	}
+
+	@Override
+	public ITimeCostFunction getTimeCostFunction() {
+		return solver.getTimeCostFunction();
+	}
+
+	@Override
+	public boolean loadCachedFloorField(final ICacheObject cacheObject) {
+		return false;
+	}
+
+	@Override
+	public void saveFloorFieldToCache(final ICacheObject cache) {
+		solver.saveFloorFieldToCache(cache);
+	}
+
+	@Override
+	public IMesh<?, ?, ?> getDiscretization() {
+		return solver.getDiscretization();
+	}
+}
@@ -0,0 +1,259 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.logging.Logger;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation of the (multi threaded) block fast iterative method, compare
+ * 'A Fast Iterative Method for Eikonal Equations' jeong-2008. The cell grid is partitioned into square
+ * tiles of <tt>tileSize</tt> x <tt>tileSize</tt> cells. Instead of single cells, the active list consists
+ * of tiles which are converged by Gauss-Seidel sweeps. If the travel time of a cell at the border of a tile
+ * decreases, the adjacent tile becomes active.
+ *
+ * The tiles are colored like a checkerboard. Active tiles of the same color are converged in parallel:
+ * a tile only writes its own cells and only reads the border cells of its (differently colored) neighbours,
+ * therefore no locks are required. The active flags are primitive arrays which are written by the
+ * tasks of the other color only. The result is independent of the number of threads.
+ *
+ * The time cost function has to be thread safe, i.e. {@link ITimeCostFunction#costAt} must not modify any state.
+ */
+public class EikonalSolverBlockFIM extends AGridEikonalSolver {
+
+	private static Logger logger = Logger.getLogger(EikonalSolverBlockFIM.class);
+
+	public static final int DEFAULT_TILE_SIZE = 16;
+
+	private final CellGrid cellGrid;
+	private final IDistanceFunction distFunc;
+	private final ITimeCostFunction timeCostFunction;
+	private final List<Point> targetPoints;
+	private final ForkJoinPool forkJoinPool;
+	private final double epsilon;
+
+	private final int tileSize;
+	private final int numTilesX;
+	private final int numTilesY;
+
+	/**
+	 * the active flags of the tiles, i.e. <tt>active[tileY * numTilesX + tileX]</tt>.
+	 */
+	private final boolean[] active;
+
+	/**
+	 * the number of cell updates of each tile of the last solve.
+	 */
+	private final int[] nUpdates;
+
+	public EikonalSolverBlockFIM(
+			final CellGrid cellGrid,
+			final IDistanceFunction distFunc,
+			final ITimeCostFunction timeCostFunction,
+			final double unknownPenalty,
+			final double weight) {
+		this(cellGrid, distFunc, timeCostFunction, unknownPenalty, weight, ForkJoinPool.commonPool(), DEFAULT_TILE_SIZE);
+	}
+
+	/**
+	 * @param forkJoinPool  the pool which converges the tiles
+	 * @param tileSize      the number of cells of a side of a tile, at least 2
+	 */
+	public EikonalSolverBlockFIM(
+			final CellGrid cellGrid,
+			final IDistanceFunction distFunc,
+			final ITimeCostFunction timeCostFunction,
+			final double unknownPenalty,
+			final double weight,
+			@NotNull final ForkJoinPool forkJoinPool,
+			final int tileSize) {
+		super(cellGrid, unknownPenalty, weight);
+		if(tileSize < 2) {
+			throw new IllegalArgumentException("the tile size has to be at least 2.");
+		}
+		this.cellGrid = cellGrid;
+		this.distFunc = distFunc;
+		this.timeCostFunction = timeCostFunction;
+		this.forkJoinPool = forkJoinPool;
+		this.tileSize = tileSize;
+		this.numTilesX = (cellGrid.getNumPointsX() + tileSize - 1) / tileSize;
+		this.numTilesY = (cellGrid.getNumPointsY() + tileSize - 1) / tileSize;
+		this.active = new boolean[numTilesX * numTilesY];
+		this.nUpdates = new int[numTilesX * numTilesY];
+		this.epsilon = cellGrid.getResolution() * 1.0E-6;
+		this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Target).collect(Collectors.toList());
+
+		if (targetPoints.size() == 0) {
+			logger.error("EikonalSolverBlockFIM: no target points given. Target missing or grid resolution too low.");
+		}
+	}
+
+	@Override
+	public void solve() {
+		long ms = System.currentTimeMillis();
+		init();
+
+		int iterations = 0;
+		boolean anyActive = true;
+		while (anyActive) {
+			anyActive = false;
+			for(int color = 0; color < 2; color++) {
+				int[] tiles = activeTiles(color);
+				if(tiles.length > 0) {
+					anyActive = true;
+					forkJoinPool.submit(() -> Arrays.stream(tiles).parallel().forEach(tile -> convergeTile(tile))).join();
+				}
+			}
+			iterations++;
+		}
+
+		for (CellState data : cellGrid.getRawBuffer()) {
+			if(data.tag == PathFindingTag.NARROW || (data.tag == PathFindingTag.Undefined && data.potential < Double.MAX_VALUE)) {
+				data.tag = PathFindingTag.Reached;
+			}
+		}
+
+		logger.debug("block fim run time = " + (System.currentTimeMillis() - ms) + " [ms], #iterations = " + iterations
+				+ ", #updates = " + IntStream.of(nUpdates).sum() + ", #tiles = " + active.length);
+	}
+
+	private void init() {
+		for (CellState data : cellGrid.getRawBuffer()) {
+			data.potential = Double.MAX_VALUE;
+
+			if (data.tag == PathFindingTag.Reached || data.tag == PathFindingTag.NARROW) {
+				data.tag = PathFindingTag.Undefined;
+			} else if (data.tag == PathFindingTag.Target) {
+				data.potential = 0.0;
+			}
+		}
+		Arrays.fill(active, false);
+		Arrays.fill(nUpdates, 0);
+
+		// set distances of the target neighbor points like the FMM does
+		for(Point point : targetPoints) {
+			for(Point neighbor : cellGrid.getLegitNeumannNeighborhood(point)) {
+				CellState state = cellGrid.getValue(neighbor);
+				if(state.tag == PathFindingTag.Undefined || state.tag == PathFindingTag.NARROW) {
+					double distance = Math.max(0, -distFunc.apply(cellGrid.pointToCoord(neighbor)));
+					double timeCost = timeCostFunction.costAt(cellGrid.pointToCoord(neighbor));
+					cellGrid.setValue(neighbor, new CellState(distance / timeCost, PathFindingTag.NARROW));
+					active[tileIndex(neighbor.x / tileSize, neighbor.y / tileSize)] = true;
+				}
+			}
+		}
+	}
+
+	private int[] activeTiles(final int color) {
+		return IntStream.range(0, active.length).filter(i -> active[i] && color(i) == color).toArray();
+	}
+
+	/**
+	 * Converges the travel times of the cells of a tile for fixed travel times of its neighbouring tiles
+	 * and activates the neighbouring tiles whose border cells might decrease. Each sweep alternates the
+	 * direction such that the characteristics are followed in all four quadrants.
+	 */
+	private void convergeTile(final int tile) {
+		active[tile] = false;
+		int tileX = tile % numTilesX;
+		int tileY = tile / numTilesX;
+		int minX = tileX * tileSize;
+		int minY = tileY * tileSize;
+		int maxX = Math.min(minX + tileSize, cellGrid.getNumPointsX()) - 1;
+		int maxY = Math.min(minY + tileSize, cellGrid.getNumPointsY()) - 1;
+
+		boolean left = false, right = false, bottom = false, top = false;
+		boolean changed = true;
+		int sweep = 0;
+		while (changed || sweep % 4 != 0) {
+			if(sweep % 4 == 0) {
+				changed = false;
+			}
+			boolean reverseX = sweep % 4 == 1 || sweep % 4 == 2;
+			boolean reverseY = sweep % 4 >= 2;
+			for(int j = 0; j <= maxY - minY; j++) {
+				int y = reverseY ? maxY - j : minY + j;
+				for(int i = 0; i <= maxX - minX; i++) {
+					int x = reverseX ? maxX - i : minX + i;
+					if(updateCell(x, y)) {
+						nUpdates[tile]++;
+						changed = true;
+						left |= x == minX;
+						right |= x == maxX;
+						bottom |= y == minY;
+						top |= y == maxY;
+					}
+				}
+			}
+			sweep++;
+		}
+
+		if(left && tileX > 0) {
+			active[tileIndex(tileX - 1, tileY)] = true;
+		}
+		if(right && tileX < numTilesX - 1) {
+			active[tileIndex(tileX + 1, tileY)] = true;
+		}
+		if(bottom && tileY > 0) {
+			active[tileIndex(tileX, tileY - 1)] = true;
+		}
+		if(top && tileY < numTilesY - 1) {
+			active[tileIndex(tileX, tileY + 1)] = true;
+		}
+	}
+
+	/**
+	 * Updates the travel time of a cell and returns true if it decreased.
+	 */
+	private boolean updateCell(final int x, final int y) {
+		CellState state = cellGrid.getValue(x, y);
+		if(state.tag == PathFindingTag.Target || !state.tag.accessible) {
+			return false;
+		}
+		double potential = computeGodunovDifference(new Point(x, y), cellGrid, Direction.ANY);
+		if(potential < state.potential - epsilon) {
+			state.potential = potential;
+			return true;
+		}
+		return false;
+	}
+
+	private int color(final int tile) {
+		return (tile % numTilesX + tile / numTilesX) % 2;
+	}
+
+	private int tileIndex(final int tileX, final int tileY) {
+		return tileY * numTilesX + tileX;
+	}
+
+	@Override
+	public void update() {
+		timeCostFunction.update();
+		solve();
+	}
+
+	@Override
+	public boolean needsUpdate() {
+		return timeCostFunction.needsUpdate();
+	}
+
+	@Override
+	public ITimeCostFunction getTimeCostFunction() {
+		return timeCostFunction;
+	}
+
+	@Override
+	public boolean isHighAccuracy() {
+		return false;
+	}
+}
@@ -104,13 +104,18 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 		long ms = System.currentTimeMillis();
 		if (needsUpdate()) {
 			timeCostFunction.update();
-			resetDynamicPotentialField();
-			solve();
+			recompute();
 		}
 		// logger.info("ffm-runtime: " + (System.currentTimeMillis() - ms));
 		runtime = System.currentTimeMillis();
 	}
 
+	@Override
+	public void recompute() {
+		resetDynamicPotentialField();
+		solve();
+	}
+
 	protected void resetDynamicPotentialField() {
 		for (CellState data : cellGrid.getRawBuffer()) {
 			data.potential = Double.MAX_VALUE;
@@ -0,0 +1,294 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.logging.Logger;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * EikonalSolverFMMIncremental is a fast marching method for dynamic floor fields which repairs
+ * the solution locally instead of recomputing it from scratch. On {@link #recompute()} the time
+ * cost of each cell is compared with the time cost the current solution is based on. Cells whose
+ * time cost changed by more than <tt>threshold</tt> (relative) and all cells downstream of them,
+ * i.e. cells reachable by non-decreasing travel times, are invalidated. The fast marching restarts
+ * from the boundary of the remaining valid solution. If travel times decrease, frozen cells outside
+ * of the invalidated region are reopened, such that the decrease propagates.
+ *
+ * For a threshold of zero the result is equal to a full recomputation up to the order dependence of
+ * the fast marching method.
+ */
+public class EikonalSolverFMMIncremental extends EikonalSolverFMM {
+
+	private static Logger logger = Logger.getLogger(EikonalSolverFMMIncremental.class);
+
+	/**
+	 * the relative decrease of the travel time of a frozen cell which is required to reopen it.
+	 */
+	private static final double REOPEN_TOLERANCE = 1.0E-10;
+
+	private final double threshold;
+
+	/**
+	 * the time costs of the last full or incremental solve, <tt>null</tt> if there was none.
+	 */
+	private double[] timeCosts;
+
+	/**
+	 * marks the cells which are recomputed by the current repair.
+	 */
+	private boolean[] invalid;
+
+	private int numberOfInvalidatedCells;
+
+	/**
+	 * the travel time of the cell which is frozen by the current repair, {@link Double#NEGATIVE_INFINITY}
+	 * while the repair restarts from the boundary and {@link Double#MAX_VALUE} outside of a repair.
+	 */
+	private double front;
+
+	/**
+	 * Initializes the incremental FM potential calculator with a time cost function F > 0.
+	 *
+	 * @param threshold the relative change of the time cost of a cell which invalidates the cell
+	 */
+	public EikonalSolverFMMIncremental(
+			final CellGrid potentialField,
+			final IDistanceFunction distFunc,
+			final boolean isHighAccuracy,
+			final ITimeCostFunction timeCostFunction,
+			final double unknownPenalty,
+			final double weight,
+			final double threshold) {
+		super(potentialField, distFunc, isHighAccuracy, timeCostFunction, unknownPenalty, weight);
+		this.threshold = threshold;
+		this.timeCosts = null;
+		this.invalid = new boolean[cellGrid.getNumPointsX() * cellGrid.getNumPointsY()];
+		this.numberOfInvalidatedCells = 0;
+		this.front = Double.MAX_VALUE;
+	}
+
+	@Override
+	public void solve() {
+		super.solve();
+		storeTimeCosts();
+	}
+
+	@Override
+	public void recompute() {
+		if(timeCosts == null) {
+			super.recompute();
+		} else {
+			repair();
+		}
+	}
+
+	/**
+	 * Returns the number of cells which have been recomputed by the last repair.
+	 *
+	 * @return the number of cells which have been recomputed by the last repair
+	 */
+	public int getNumberOfInvalidatedCells() {
+		return numberOfInvalidatedCells;
+	}
+
+	private void repair() {
+		long ms = System.currentTimeMillis();
+		front = Double.NEGATIVE_INFINITY;
+		List<Point> invalidCells = invalidateDownstream(findChangedCells());
+
+		for(Point point : invalidCells) {
+			CellState state = cellGrid.getValue(point);
+			state.potential = Double.MAX_VALUE;
+			state.tag = PathFindingTag.Undefined;
+		}
+
+		for(Point point : targetPoints) {
+			setTargetNeighborsDistances(point);
+		}
+
+		// restart from the boundary of the valid solution
+		for(Point point : invalidCells) {
+			if(cellGrid.getValue(point).tag == PathFindingTag.Undefined && hasFrozenNeighbor(point)) {
+				double distance = computeGodunovDifference(point, cellGrid);
+				if(distance < Double.MAX_VALUE) {
+					cellGrid.setValue(point, new CellState(distance, PathFindingTag.Reachable));
+					narrowBand.add(point);
+				}
+			}
+		}
+
+		while (!narrowBand.isEmpty()) {
+			Point point = narrowBand.poll();
+			front = cellGrid.getValue(point).potential;
+			cellGrid.getValue(point).tag = PathFindingTag.Reached;
+			setNeighborDistances(point);
+			reopenNeighbors(point, invalidCells);
+		}
+
+		// the list also contains the reopened cells
+		numberOfInvalidatedCells = invalidCells.size();
+		for(Point point : invalidCells) {
+			invalid[index(point.x, point.y)] = false;
+		}
+		front = Double.MAX_VALUE;
+		logger.debug("incremental fmm on the grid run time = " + (System.currentTimeMillis() - ms) + ", #invalidated cells = " + numberOfInvalidatedCells);
+	}
+
+	/**
+	 * Returns all cells whose time cost changed by more than the threshold and stores their new time cost.
+	 */
+	private LinkedList<Point> findChangedCells() {
+		LinkedList<Point> changed = new LinkedList<>();
+		for(int y = 0; y < cellGrid.getNumPointsY(); y++) {
+			for(int x = 0; x < cellGrid.getNumPointsX(); x++) {
+				if(isFixed(cellGrid.getValue(x, y).tag)) {
+					continue;
+				}
+				int index = index(x, y);
+				double timeCost = timeCostFunction.costAt(cellGrid.pointToCoord(x, y));
+				if(Math.abs(timeCost - timeCosts[index]) > threshold * timeCosts[index]) {
+					timeCosts[index] = timeCost;
+					invalid[index] = true;
+					changed.add(new Point(x, y));
+				}
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Marks all cells downstream of the changed cells as invalid. The travel time of a cell only
+	 * depends on neighbors with a smaller travel time, therefore the downstream region contains all
+	 * cells whose travel time might increase.
+	 */
+	private List<Point> invalidateDownstream(final LinkedList<Point> changed) {
+		List<Point> invalidCells = new ArrayList<>(changed);
+		while (!changed.isEmpty()) {
+			Point point = changed.removeFirst();
+			double potential = cellGrid.getValue(point).potential;
+			for(Point neighbor : cellGrid.getLegitNeumannNeighborhood(point)) {
+				int index = index(neighbor.x, neighbor.y);
+				CellState state = cellGrid.getValue(neighbor);
+				if(!invalid[index] && !isFixed(state.tag) && state.potential >= potential) {
+					invalid[index] = true;
+					invalidCells.add(neighbor);
+					changed.add(neighbor);
+				}
+			}
+		}
+		return invalidCells;
+	}
+
+	/**
+	 * Reopens frozen neighbors outside of the invalidated region whose travel time decreases and adds
+	 * them to the invalidated cells.
+	 */
+	private void reopenNeighbors(final Point point, final List<Point> invalidCells) {
+		for(Point neighbor : cellGrid.getLegitNeumannNeighborhood(point)) {
+			int index = index(neighbor.x, neighbor.y);
+			CellState state = cellGrid.getValue(neighbor);
+			if(!invalid[index] && state.tag == PathFindingTag.Reached) {
+				double distance = computeGodunovDifference(neighbor, cellGrid);
+				if(distance < state.potential * (1.0 - REOPEN_TOLERANCE)) {
+					invalid[index] = true;
+					invalidCells.add(neighbor);
+					cellGrid.setValue(neighbor, new CellState(distance, PathFindingTag.Reachable));
+					narrowBand.add(neighbor);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The Godunov difference assumes that the travel times of the frozen neighbors are smaller than the
+	 * travel time of the cell, which holds for a full solve. During a repair valid cells which are not
+	 * reopened yet might have larger travel times than the front, i.e. the quadratic equation has no
+	 * solution or its solution is not upwind. In this case the one-sided difference along the smallest
+	 * frozen neighbor is used, like a full solve does if the other neighbors are not frozen yet.
+	 */
+	@Override
+	public double computeGodunovDifference(final Point point, final CellGrid cellGrid) {
+		double distance = super.computeGodunovDifference(point, cellGrid);
+		if(!hasStaleNeighbor(point)) {
+			return distance;
+		}
+		double xMin = Math.min(frozenPotential(point.x - 1, point.y), frozenPotential(point.x + 1, point.y));
+		double yMin = Math.min(frozenPotential(point.x, point.y - 1), frozenPotential(point.x, point.y + 1));
+		if(Math.min(xMin, yMin) < Double.MAX_VALUE && (distance == Double.MAX_VALUE || distance < Math.max(xMin, yMin))) {
+			return xMin <= yMin ? computeOneSidedDifference(point, 1, 0) : computeOneSidedDifference(point, 0, 1);
+		}
+		return distance;
+	}
+
+	/**
+	 * Returns the one-sided difference of the (high accuracy) Godunov difference along the direction (dx, dy).
+	 */
+	private double computeOneSidedDifference(final Point point, final int dx, final int dy) {
+		double step = cellGrid.getResolution() * timeCostFunction.costAt(cellGrid.pointToCoord(point.x, point.y));
+		int side = frozenPotential(point.x + dx, point.y + dy) < frozenPotential(point.x - dx, point.y - dy) ? 1 : -1;
+		double val1 = frozenPotential(point.x + side * dx, point.y + side * dy);
+		double val2 = frozenPotential(point.x + 2 * side * dx, point.y + 2 * side * dy);
+		if(isHighAccuracy() && val2 <= val1) {
+			return (4.0 * val1 - val2) / 3.0 + 2.0 / 3.0 * step;
+		}
+		return val1 + step;
+	}
+
+	private boolean hasStaleNeighbor(final Point point) {
+		if(front == Double.MAX_VALUE) {
+			return false;
+		}
+		for(Point neighbor : cellGrid.getLegitNeumannNeighborhood(point)) {
+			CellState state = cellGrid.getValue(neighbor);
+			if(state.tag == PathFindingTag.Reached && !invalid[index(neighbor.x, neighbor.y)] && state.potential > front) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private double frozenPotential(final int x, final int y) {
+		if(!cellGrid.isValidPoint(x, y) || !cellGrid.getValue(x, y).tag.frozen) {
+			return Double.MAX_VALUE;
+		}
+		return cellGrid.getValue(x, y).potential;
+	}
+
+	private boolean hasFrozenNeighbor(final Point point) {
+		for(Point neighbor : cellGrid.getLegitNeumannNeighborhood(point)) {
+			PathFindingTag tag = cellGrid.getValue(neighbor).tag;
+			if(tag == PathFindingTag.Reached || tag == PathFindingTag.Target) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void storeTimeCosts() {
+		if(timeCosts == null) {
+			timeCosts = new double[cellGrid.getNumPointsX() * cellGrid.getNumPointsY()];
+		}
+		for(int y = 0; y < cellGrid.getNumPointsY(); y++) {
+			for(int x = 0; x < cellGrid.getNumPointsX(); x++) {
+				if(!isFixed(cellGrid.getValue(x, y).tag)) {
+					timeCosts[index(x, y)] = timeCostFunction.costAt(cellGrid.pointToCoord(x, y));
+				}
+			}
+		}
+	}
+
+	private static boolean isFixed(final PathFindingTag tag) {
+		return tag == PathFindingTag.Obstacle || tag == PathFindingTag.Target || tag == PathFindingTag.Margin;
+	}
+
+	private int index(final int x, final int y) {
+		return y * cellGrid.getNumPointsX() + x;
+	}
+}
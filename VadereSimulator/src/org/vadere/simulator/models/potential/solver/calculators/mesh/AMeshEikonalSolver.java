@@ -6,6 +6,10 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.vadere.meshing.mesh.gen.PFace;
+import org.vadere.meshing.mesh.gen.PHalfEdge;
+import org.vadere.meshing.mesh.gen.PMesh;
+import org.vadere.meshing.mesh.gen.PVertex;
 import org.vadere.meshing.mesh.inter.IEdgeContainerBoolean;
 import org.vadere.meshing.mesh.inter.IEdgeContainerDouble;
 import org.vadere.meshing.mesh.inter.IEdgeContainerObject;
@@ -17,6 +21,8 @@ import org.vadere.meshing.mesh.inter.ITriEventListener;
 import org.vadere.meshing.mesh.inter.IVertex;
 import org.vadere.meshing.mesh.inter.IVertexContainerBoolean;
 import org.vadere.meshing.mesh.inter.IVertexContainerDouble;
+import org.vadere.meshing.utils.io.bin.MeshBinaryReader;
+import org.vadere.meshing.utils.io.bin.MeshBinaryWriter;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunctionMesh;
 import org.vadere.util.geometry.GeometryUtils;
@@ -24,8 +30,14 @@ import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.math.IDistanceFunction;
+import org.vadere.simulator.utils.cache.CacheException;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.simulator.utils.cache.IMeshCacheObject;
 import org.vadere.util.math.InterpolationUtil;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -77,6 +89,12 @@ public abstract class AMeshEikonalSolver<V extends IVertex, E extends IHalfEdge,
 
 	protected boolean solved = false;
 
+	/**
+	 * The maximal distance of a vertex of a cached mesh to the vertex of this mesh, the poly format of
+	 * {@link org.vadere.simulator.utils.cache.MeshTxtCacheObject} stores 6 decimal places.
+	 */
+	private static final double CACHE_VERTEX_TOLERANCE = 1e-5;
+
 	final String identifier;
 
 	private MeshEikonalSolver.LocalSover localSover = MeshEikonalSolver.LocalSover.SETHIAN;
@@ -466,6 +484,75 @@ public abstract class AMeshEikonalSolver<V extends IVertex, E extends IHalfEdge,
 		return getTimeCostFunction().needsUpdate();
 	}
 
+	/**
+	 * Loads the traveling times T from a {@link IMeshCacheObject}. The cached mesh has to contain the
+	 * vertices of this mesh in the same order, otherwise nothing is loaded. The mesh dependent
+	 * measures are computed such that the solution can be updated later on.
+	 *
+	 * @param cacheObject the cache of the floor field
+	 *
+	 * @return true if the floor field could be loaded, false otherwise
+	 */
+	@Override
+	public boolean loadCachedFloorField(final ICacheObject cacheObject) {
+		try {
+			PMesh cachedMesh = new PMesh();
+			((IMeshCacheObject) cacheObject).initializeObjectFromCache(cachedMesh);
+			List<PVertex> cachedVertices = cachedMesh.getVertices();
+			List<V> vertices = getMesh().getVertices();
+
+			if(cachedVertices.size() != vertices.size()) {
+				throw new CacheException("The cached mesh contains " + cachedVertices.size() + " instead of " + vertices.size() + " vertices.");
+			}
+
+			for(int i = 0; i < vertices.size(); i++) {
+				if(Math.abs(cachedMesh.getX(cachedVertices.get(i)) - getMesh().getX(vertices.get(i))) > CACHE_VERTEX_TOLERANCE
+						|| Math.abs(cachedMesh.getY(cachedVertices.get(i)) - getMesh().getY(vertices.get(i))) > CACHE_VERTEX_TOLERANCE) {
+					throw new CacheException("The cached mesh does not match the mesh of the solver at vertex " + i + ".");
+				}
+			}
+
+			IVertexContainerDouble<PVertex, PHalfEdge, PFace> cachedPotential = cachedMesh.getDoubleVertexContainer(namePotential);
+			prepareMesh();
+			for(int i = 0; i < vertices.size(); i++) {
+				setPotential(vertices.get(i), cachedPotential.getValue(cachedVertices.get(i)));
+				setBurned(vertices.get(i));
+			}
+			solved = true;
+			return true;
+		} catch (CacheException | ClassCastException e) {
+			logger.errorf("Error loading cache. Initialize manually. " + e);
+			return false;
+		}
+	}
+
+	/**
+	 * Saves the mesh and the traveling times T to a {@link IMeshCacheObject}. The cache stores a copy
+	 * of the mesh with the traveling times in the vertex container {@link #namePotential}.
+	 *
+	 * @param cacheObject the cache of the floor field
+	 */
+	@Override
+	public void saveFloorFieldToCache(final ICacheObject cacheObject) {
+		try {
+			String potentialName = identifier + "_" + namePotential;
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			new MeshBinaryWriter<V, E, F>().write(getMesh(), Collections.singletonList(potentialName), outputStream);
+
+			PMesh cachedMesh = new PMesh();
+			new MeshBinaryReader<PVertex, PHalfEdge, PFace>().read(cachedMesh, new ByteArrayInputStream(outputStream.toByteArray()));
+			IVertexContainerDouble<PVertex, PHalfEdge, PFace> cachedPotential = cachedMesh.getDoubleVertexContainer(potentialName);
+			IVertexContainerDouble<PVertex, PHalfEdge, PFace> potential = cachedMesh.getDoubleVertexContainer(namePotential);
+			for(PVertex vertex : cachedMesh.getVertices()) {
+				potential.setValue(vertex, cachedPotential.getValue(vertex));
+			}
+
+			((IMeshCacheObject) cacheObject).persistObject(cachedMesh);
+		} catch (IOException | CacheException | ClassCastException e) {
+			logger.errorf("Error saving cache. " + e);
+		}
+	}
+
 	/**
 	 * Returns barycentric interpolated value at (x,y) based on the {@link IVertexContainerDouble} containerDouble.
 	 *
@@ -649,7 +736,15 @@ public abstract class AMeshEikonalSolver<V extends IVertex, E extends IHalfEdge,
 	}
 
 	protected void setTimeCost(@NotNull final V v) {
-		setTimeCost(v, meshTimeCostFunction.costAt(v));
+		setTimeCost(v, computeTimeCost(v));
+	}
+
+	/**
+	 * Evaluates the time cost function at the vertex, in contrast to {@link #getTimeCost(IVertex)}
+	 * which returns the time cost used by the current solution.
+	 */
+	protected double computeTimeCost(@NotNull final V v) {
+		return meshTimeCostFunction.costAt(v);
 	}
 
 	protected void setTimeCost(@NotNull final V v, final double value) {
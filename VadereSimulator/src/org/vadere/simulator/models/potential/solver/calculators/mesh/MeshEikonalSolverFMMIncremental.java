@@ -0,0 +1,210 @@
+package org.vadere.simulator.models.potential.solver.calculators.mesh;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.vadere.meshing.mesh.inter.IFace;
+import org.vadere.meshing.mesh.inter.IHalfEdge;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IVertex;
+import org.vadere.meshing.mesh.inter.IVertexContainerBoolean;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fast marching method on a triangular mesh for dynamic floor fields which repairs the solution
+ * locally instead of recomputing it from scratch, compare
+ * {@link org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMMIncremental}.
+ * Vertices whose time cost changed by more than <tt>threshold</tt> (relative) and all vertices downstream
+ * of them are invalidated. Besides adjacent vertices, a vertex also depends on the virtual support of its
+ * non-acute triangles. The fast marching restarts from the boundary of the remaining valid solution and
+ * burned vertices outside of the invalidated region are reopened if their travel time decreases.
+ *
+ * @param <V>   the type of the vertices of the triangulation
+ * @param <E>   the type of the half-edges of the triangulation
+ * @param <F>   the type of the faces of the triangulation
+ */
+public class MeshEikonalSolverFMMIncremental<V extends IVertex, E extends IHalfEdge, F extends IFace> extends MeshEikonalSolverFMM<V, E, F> {
+
+	private static Logger logger = Logger.getLogger(MeshEikonalSolverFMMIncremental.class);
+
+	/**
+	 * the relative decrease of the travel time of a burned vertex which is required to reopen it.
+	 */
+	private static final double REOPEN_TOLERANCE = 1.0E-10;
+
+	public static final String nameInvalid = "invalid";
+
+	private final double threshold;
+
+	private final IVertexContainerBoolean<V, E, F> invalid;
+
+	/**
+	 * maps a vertex to all vertices which use it as virtual support.
+	 */
+	private Map<V, List<V>> virtualDependents;
+
+	private int numberOfInvalidatedVertices;
+
+	/**
+	 * Constructor for certain target shapes.
+	 *
+	 * @param identifier
+	 * @param targetShapes      shapes that define the whole target area.
+	 * @param timeCostFunction  the time cost function t(x). Note F(x) = 1 / t(x).
+	 * @param triangulation     the triangulation the propagating wave moves on.
+	 * @param threshold         the relative change of the time cost of a vertex which invalidates the vertex
+	 */
+	public MeshEikonalSolverFMMIncremental(@NotNull final String identifier,
+	                                       @NotNull final Collection<VShape> targetShapes,
+	                                       @NotNull final ITimeCostFunction timeCostFunction,
+	                                       @NotNull final IIncrementalTriangulation<V, E, F> triangulation,
+	                                       final double threshold
+	) {
+		super(identifier, targetShapes, timeCostFunction, triangulation);
+		this.threshold = threshold;
+		this.invalid = getMesh().getBooleanVertexContainer(identifier + "_" + nameInvalid);
+		this.virtualDependents = null;
+		this.numberOfInvalidatedVertices = 0;
+	}
+
+	@Override
+	public void solve() {
+		if(solved && needsUpdate()) {
+			repair();
+		} else {
+			super.solve();
+		}
+	}
+
+	/**
+	 * Returns the number of vertices which have been recomputed by the last repair.
+	 *
+	 * @return the number of vertices which have been recomputed by the last repair
+	 */
+	public int getNumberOfInvalidatedVertices() {
+		return numberOfInvalidatedVertices;
+	}
+
+	private void repair() {
+		long ms = System.currentTimeMillis();
+		getTriangulation().enableCache();
+		if(virtualDependents == null) {
+			virtualDependents = computeVirtualDependents();
+		}
+
+		List<V> invalidVertices = invalidateDownstream(findChangedVertices());
+
+		for(V v : invalidVertices) {
+			setUndefined(v);
+			setPotential(v, Double.MAX_VALUE);
+		}
+
+		// restart from the boundary of the valid solution
+		for(V v : invalidVertices) {
+			updatePotential(v);
+		}
+
+		while (!isEmpty()) {
+			V vertex = pop();
+			setBurned(vertex);
+			updatePotentialOfNeighbours(vertex);
+			for(V neighbour : getMesh().getAdjacentVertexIt(vertex)) {
+				reopen(neighbour, invalidVertices);
+			}
+			for(V dependent : virtualDependents.getOrDefault(vertex, Collections.emptyList())) {
+				reopen(dependent, invalidVertices);
+			}
+		}
+
+		// the list also contains the reopened vertices
+		numberOfInvalidatedVertices = invalidVertices.size();
+		for(V v : invalidVertices) {
+			invalid.setValue(v, false);
+		}
+		logger.debug("incremental fmm run time = " + (System.currentTimeMillis() - ms) + ", #invalidated vertices = " + numberOfInvalidatedVertices);
+	}
+
+	/**
+	 * Returns all vertices whose time cost changed by more than the threshold and stores their new time cost.
+	 */
+	private LinkedList<V> findChangedVertices() {
+		LinkedList<V> changed = new LinkedList<>();
+		for(V v : getMesh().getVertices()) {
+			if(isInitialVertex(v)) {
+				continue;
+			}
+			double timeCost = computeTimeCost(v);
+			double oldTimeCost = getTimeCost(v);
+			if(Math.abs(timeCost - oldTimeCost) > threshold * oldTimeCost) {
+				setTimeCost(v, timeCost);
+				invalid.setValue(v, true);
+				changed.add(v);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Marks all vertices downstream of the changed vertices as invalid, i.e. all vertices whose travel
+	 * time might increase.
+	 */
+	private List<V> invalidateDownstream(@NotNull final LinkedList<V> changed) {
+		List<V> invalidVertices = new ArrayList<>(changed);
+		while (!changed.isEmpty()) {
+			V vertex = changed.removeFirst();
+			double potential = getPotential(vertex);
+			for(V neighbour : getMesh().getAdjacentVertexIt(vertex)) {
+				invalidate(neighbour, potential, changed, invalidVertices);
+			}
+			for(V dependent : virtualDependents.getOrDefault(vertex, Collections.emptyList())) {
+				invalidate(dependent, potential, changed, invalidVertices);
+			}
+		}
+		return invalidVertices;
+	}
+
+	private void invalidate(@NotNull final V v, final double potential, @NotNull final LinkedList<V> changed, @NotNull final List<V> invalidVertices) {
+		if(!invalid.getValue(v) && !isInitialVertex(v) && getPotential(v) >= potential) {
+			invalid.setValue(v, true);
+			invalidVertices.add(v);
+			changed.add(v);
+		}
+	}
+
+	/**
+	 * Reopens a burned vertex outside of the invalidated region if its travel time decreases and adds
+	 * it to the invalidated vertices.
+	 */
+	private void reopen(@NotNull final V v, @NotNull final List<V> invalidVertices) {
+		if(!invalid.getValue(v) && isBurned(v) && !isInitialVertex(v)) {
+			double potential = recomputePotential(v);
+			if(potential < getPotential(v) * (1.0 - REOPEN_TOLERANCE)) {
+				invalid.setValue(v, true);
+				invalidVertices.add(v);
+				setUndefined(v);
+				updatePotential(v);
+			}
+		}
+	}
+
+	private Map<V, List<V>> computeVirtualDependents() {
+		Map<V, List<V>> dependents = new HashMap<>();
+		getMesh().streamEdges().filter(e -> !getMesh().isBoundary(e) && isNonAcute(e)).forEach(e -> {
+			V v = getMesh().getVertex(e);
+			for(Pair<V, V> pair : getVirtualSupport(e)) {
+				dependents.computeIfAbsent(pair.getLeft(), k -> new ArrayList<>()).add(v);
+				dependents.computeIfAbsent(pair.getRight(), k -> new ArrayList<>()).add(v);
+			}
+		});
+		return dependents;
+	}
+}
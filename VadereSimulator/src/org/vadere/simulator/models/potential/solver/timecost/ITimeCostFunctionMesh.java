@@ -37,6 +37,16 @@ public interface ITimeCostFunctionMesh<V extends IVertex> extends ITimeCostFunct
 				return timeCostFunction.costAt(p, obj);
 			}
 
+			@Override
+			public void update() {
+				timeCostFunction.update();
+			}
+
+			@Override
+			public boolean needsUpdate() {
+				return timeCostFunction.needsUpdate();
+			}
+
 		};
 	}
 }
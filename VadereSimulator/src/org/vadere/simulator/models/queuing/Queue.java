@@ -70,7 +70,7 @@ public class Queue implements DynamicElementRemoveListener<Pedestrian>, DynamicE
 	public void elementAdded(Pedestrian ped) {
 		if (ped.getNextTargetId() == targetId) {
 			if (isActive()) {
-				ped.getTargets().addFirst(queueTailId);
+				ped.addFirstTarget(queueTailId);
 			}
 			pedestrianOutQueue.put(ped.getId(), ped);
 		}
@@ -118,7 +118,7 @@ public class Queue implements DynamicElementRemoveListener<Pedestrian>, DynamicE
 	private void queuePedestrian(final Pedestrian ped) {
 		pedestrianOutQueue.remove(ped.getId());
 		pedestrianInQueue.put(ped.getId(), ped);
-		ped.getTargets().removeIf(id -> id == this.queueTailId);
+		ped.removeTarget(queueTailId);
 	}
 
 	public boolean isActive() {
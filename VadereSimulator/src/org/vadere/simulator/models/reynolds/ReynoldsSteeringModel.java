@@ -96,6 +96,9 @@ public class ReynoldsSteeringModel implements MainModel {
 
 			ped.move(simTimeInSec, mov);
 		}
+
+		// pedestrians are moved without updating the linked cells grid
+		domain.getTopography().setRecomputeCells(true);
 	}
 
 	public Topography getScenario() {
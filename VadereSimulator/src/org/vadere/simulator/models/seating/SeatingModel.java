@@ -21,7 +21,9 @@ import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Target;
 import org.vadere.state.scenario.TargetListener;
+import org.vadere.state.scenario.Topography;
 import org.vadere.state.scenario.TrainGeometry;
+import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.TruncatedNormalDistribution;
@@ -50,6 +52,7 @@ public class SeatingModel implements Model {
 	
 	private AttributesSeating attributes;
 	private TrainModel trainModel;
+	private Topography topography;
 	private Random random;
 	/** Used for distributions from Apache Commons Math. */
 	private RandomGenerator rng;
@@ -68,6 +71,7 @@ public class SeatingModel implements Model {
 					trainGeometry.getClass().getSimpleName()), e);
 		}
 
+		this.topography = domain.getTopography();
 		this.random = random;
 		this.rng = new JDKRandomGenerator(random.nextInt());
 		
@@ -272,7 +276,9 @@ public class SeatingModel implements Model {
 		if (seat.getSittingPerson() == null) {
 			seat.setSittingPerson(pedestrian);
 			final VShape seatGeometry = seat.getAssociatedTarget().getShape();
+			final VPoint oldPosition = pedestrian.getPosition();
 			pedestrian.setPosition(seatGeometry.getCentroid());
+			topography.moveElement(pedestrian, oldPosition);
 
 		} else {
 			lookForAlternativeSeat(pedestrian, seat);
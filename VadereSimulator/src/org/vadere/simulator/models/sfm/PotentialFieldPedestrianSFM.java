@@ -1,5 +1,6 @@
 package org.vadere.simulator.models.sfm;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.vadere.annotation.factories.models.ModelClass;
 import org.vadere.simulator.models.Model;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
@@ -8,6 +9,8 @@ import org.vadere.state.attributes.Attributes;
 import org.vadere.state.attributes.models.AttributesPotentialSFM;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.AgentStateStore;
+import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VCircle;
@@ -47,14 +50,59 @@ public class PotentialFieldPedestrianSFM implements PotentialFieldAgent {
 			Collection<? extends Agent> closePedestrians) {
 
 		double[] completeGrad = new double[2];
+		double[] x = new double[] {pos.getX(), pos.getY()};
+		double[] v = new double[] {velocity.x, velocity.y};
+
+		for (Agent otherPedestrian : closePedestrians) {
+			if (otherPedestrian == pedestrian) {
+				continue;
+			}
+
+			addAgentGradient(completeGrad, x, v,
+					otherPedestrian.getPosition().x, otherPedestrian.getPosition().y,
+					otherPedestrian.getVelocity().x, otherPedestrian.getVelocity().y);
+		}
+
+		return new Vector2D(completeGrad[0], completeGrad[1]);
+	}
+
+	/**
+	 * Reads the positions and velocities of the close pedestrians from the arrays of the state store.
+	 */
+	@Override
+	public Vector2D getAgentPotentialGradientOfSlots(IPoint pos,
+			Vector2D velocity, Agent pedestrian, IntArrayList slots) {
+
+		AgentStateStore store = pedestrian.getStateStore();
+		double[] storeX = store.getX();
+		double[] storeY = store.getY();
+		double[] storeVelocityX = store.getVelocityX();
+		double[] storeVelocityY = store.getVelocityY();
+
+		double[] completeGrad = new double[2];
+		double[] x = new double[] {pos.getX(), pos.getY()};
+		double[] v = new double[] {velocity.x, velocity.y};
+
+		for (int i = 0; i < slots.size(); i++) {
+			int slot = slots.getInt(i);
+			if (slot == pedestrian.getStateSlot()) {
+				continue;
+			}
+
+			addAgentGradient(completeGrad, x, v,
+					storeX[slot], storeY[slot], storeVelocityX[slot], storeVelocityY[slot]);
+		}
+
+		return new Vector2D(completeGrad[0], completeGrad[1]);
+	}
+
+	private void addAgentGradient(double[] completeGrad, double[] x, double[] v,
+			double otherX, double otherY, double otherVelocityX, double otherVelocityY) {
 		double[] grad = new double[2];
 		double[] pedDistance = new double[2];
 		double distance;
 		double pot;
 		double phi;
-		double[] x = new double[] {pos.getX(), pos.getY()};
-		double[] x2 = new double[2];
-		double[] v = new double[] {velocity.x, velocity.y};
 		double[] v2 = new double[2];
 		double b;
 		double stepLength2;
@@ -62,51 +110,41 @@ public class PotentialFieldPedestrianSFM implements PotentialFieldAgent {
 		double c = 0.5; // constant for weight when other pedestrian is not in line of sight
 		double viewingAngle = Math.PI * 100 / 180;
 
-		for (Agent otherPedestrian : closePedestrians) {
-			if (otherPedestrian == pedestrian) {
-				continue;
-			}
-
-			distance = otherPedestrian.getPosition().distance(pos);
-			x2[0] = otherPedestrian.getPosition().x;
-			x2[1] = otherPedestrian.getPosition().y;
-
-			pedDistance[0] = x[0] - x2[0];
-			pedDistance[1] = x[1] - x2[1];
+		pedDistance[0] = x[0] - otherX;
+		pedDistance[1] = x[1] - otherY;
 
-			v2[0] = otherPedestrian.getVelocity().x;
-			v2[1] = otherPedestrian.getVelocity().y;
+		distance = Math.sqrt(pedDistance[0] * pedDistance[0] + pedDistance[1] * pedDistance[1]);
 
-			// MathUtil.normalize(v2);
+		v2[0] = otherVelocityX;
+		v2[1] = otherVelocityY;
 
-			stepLength2 = otherPedestrian.getVelocity().getLength() * dt;
+		// MathUtil.normalize(v2);
 
-			double distance2 = MathUtil.norm2(new double[] {
-					pedDistance[0] - dt * v2[0],
-					pedDistance[1] - dt * v2[1]});
-			b = 0.5 * Math.sqrt(Math.pow(distance + distance2, 2) - stepLength2
-					* stepLength2);
+		stepLength2 = Math.sqrt(v2[0] * v2[0] + v2[1] * v2[1]) * dt;
 
-			pot = attributes.getPedestrianBodyPotential()
-					* Math.exp(-b
-							/ attributes.getPedestrianRecognitionDistance());
+		double distance2 = MathUtil.norm2(new double[] {
+				pedDistance[0] - dt * v2[0],
+				pedDistance[1] - dt * v2[1]});
+		b = 0.5 * Math.sqrt(Math.pow(distance + distance2, 2) - stepLength2
+				* stepLength2);
 
-			// compute and normalize the gradient length to the
-			// potential
-			phi = Math.atan2(pedDistance[1], pedDistance[0]);
+		pot = attributes.getPedestrianBodyPotential()
+				* Math.exp(-b
+						/ attributes.getPedestrianRecognitionDistance());
 
-			grad[0] = -Math.cos(phi) * pot;
-			grad[1] = -Math.sin(phi) * pot;
+		// compute and normalize the gradient length to the
+		// potential
+		phi = Math.atan2(pedDistance[1], pedDistance[0]);
 
-			// line of sight
-			double visibility = visibility(c, grad, v, viewingAngle);
+		grad[0] = -Math.cos(phi) * pot;
+		grad[1] = -Math.sin(phi) * pot;
 
-			// add to total gradient at x
-			completeGrad[0] += grad[0] * visibility;
-			completeGrad[1] += grad[1] * visibility;
-		}
+		// line of sight
+		double visibility = visibility(c, grad, v, viewingAngle);
 
-		return new Vector2D(completeGrad[0], completeGrad[1]);
+		// add to total gradient at x
+		completeGrad[0] += grad[0] * visibility;
+		completeGrad[1] += grad[1] * visibility;
 	}
 
 	private double visibility(double c, double[] fvec, double[] v, double phi) {
@@ -140,6 +178,20 @@ public class PotentialFieldPedestrianSFM implements PotentialFieldAgent {
 		return closePedestrians;
 	}
 
+	/**
+	 * The slots are only known for the pedestrians, therefore this falls back to
+	 * {@link #getRelevantAgents(VCircle, Agent, Topography)} if the topography contains cars.
+	 */
+	@Override
+	public boolean getRelevantAgentSlots(VCircle relevantArea, Agent center, Topography scenario, IntArrayList slots) {
+		if (center.getStateStore() == null || !scenario.getCarDynamicElements().getElements().isEmpty()) {
+			return false;
+		}
+		scenario.getSpatialMap(Pedestrian.class).getObjectIndices(relevantArea.getCenter(),
+				attributes.getPedestrianRecognitionDistance() + 3, Agent::getStateSlot, slots);
+		return true;
+	}
+
 	@Override
 	public void preLoop(double simTimeInSec) {
 		// TODO Auto-generated method stub
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.vadere.simulator.models.ode.AbstractModelEquations;
 import org.vadere.simulator.models.ode.ODEModel;
 import org.vadere.state.scenario.Agent;
@@ -171,12 +172,21 @@ public class SFMEquations extends AbstractModelEquations<Pedestrian> implements
 		Vector2D obstacleGradient = obstacleGradientProvider
 				.getObstaclePotentialGradient(pos, currentPed);
 		// get the dynamic gradient for pedestrians
-		Collection<? extends Agent> otherPedestrians = pedestrianGradientProvider
-				.getRelevantAgents(new VCircle(pos, 0.1), currentPed,
-						topography);
-		Vector2D pedestrianGradient = pedestrianGradientProvider
-				.getAgentPotentialGradient(pos, vel, currentPed,
-						otherPedestrians);
+		VCircle relevantArea = new VCircle(pos, 0.1);
+		IntArrayList otherPedestrianSlots = new IntArrayList();
+		Vector2D pedestrianGradient;
+		if (pedestrianGradientProvider.getRelevantAgentSlots(relevantArea, currentPed, topography, otherPedestrianSlots)) {
+			pedestrianGradient = pedestrianGradientProvider
+					.getAgentPotentialGradientOfSlots(pos, vel, currentPed,
+							otherPedestrianSlots);
+		} else {
+			Collection<? extends Agent> otherPedestrians = pedestrianGradientProvider
+					.getRelevantAgents(relevantArea, currentPed,
+							topography);
+			pedestrianGradient = pedestrianGradientProvider
+					.getAgentPotentialGradient(pos, vel, currentPed,
+							otherPedestrians);
+		}
 
 		// get ped speed and acceleration data
 		double v0 = currentPed.getFreeFlowSpeed();
@@ -73,6 +73,9 @@ public class SocialForceModel extends ODEModel<Pedestrian, AttributesAgent> impl
 
 		this.attributes = Model.findAttributes(modelAttributesList, AttributesSFM.class);
 
+		// keep the pedestrian state in primitive arrays which are read by the pedestrian repulsion
+		domain.getTopography().getPedestrianDynamicElements().getStateStore();
+
 		super.initializeODEModel(Pedestrian.class,
 				IntegratorFactory.createFirstOrderIntegrator(
 						attributes.getAttributesODEIntegrator()),
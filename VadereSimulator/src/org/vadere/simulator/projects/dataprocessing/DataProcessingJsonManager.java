@@ -15,6 +15,7 @@ import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
 import org.vadere.simulator.projects.dataprocessing.processor.DataProcessorFactory;
 import org.vadere.simulator.projects.dataprocessing.store.DataProcessorStore;
 import org.vadere.simulator.projects.dataprocessing.store.OutputFileStore;
+import org.vadere.simulator.projects.dataprocessing.writer.OutputCompression;
 import org.vadere.state.attributes.processor.AttributesProcessor;
 import org.vadere.state.scenario.Topography;
 import org.vadere.state.util.StateJsonConverter;
@@ -44,6 +45,7 @@ public class DataProcessingJsonManager {
 	private static final String FILENAME_KEY = "filename";
 	private static final String FILE_PROCESSORS_KEY = "processors";
 	private static final String SEPARATOR_KEY = "separator";
+	private static final String COMPRESSION_KEY = "compression";
 	private static final String PROCESSORID_KEY = "id";
 	private static final String ATTRIBUTESTYPE_KEY = "attributesType";
 	private static final String TIMESTAMP_KEY = "isTimestamped";
@@ -84,6 +86,10 @@ public class DataProcessingJsonManager {
 			node.put(SEPARATOR_KEY, separator);
 		}
 
+		if (outputFile.getCompression() != OutputCompression.NONE) {
+			node.put(COMPRESSION_KEY, outputFile.getCompression().name());
+		}
+
 		return node;
 	}
 
@@ -0,0 +1,21 @@
+package org.vadere.simulator.projects.dataprocessing;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.simulation.FootStep;
+
+/**
+ * A listener which is notified exactly once about each new {@link FootStep} of each pedestrian,
+ * see {@link FootStepStream}.
+ */
+@FunctionalInterface
+public interface FootStepListener {
+
+	/**
+	 * @param state         the simulation state of the step in which the foot step was made
+	 * @param pedestrian    the pedestrian who made the foot step
+	 * @param footStep      the new foot step
+	 */
+	void handleFootStep(@NotNull SimulationState state, @NotNull Pedestrian pedestrian, @NotNull FootStep footStep);
+}
@@ -0,0 +1,72 @@
+package org.vadere.simulator.projects.dataprocessing;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.simulation.FootStep;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes each new {@link FootStep} of each pedestrian once to all registered {@link FootStepListener}s,
+ * such that processors can maintain their aggregates step by step instead of collecting and scanning
+ * the whole trajectories. The foot steps of a step are pushed by the first call of
+ * {@link #update(SimulationState)} for that step, i.e. each processor which listens calls it at the
+ * beginning of its update. A foot step is new if it does not start before the end of the last foot
+ * step pushed for that pedestrian, see {@link org.vadere.state.simulation.VTrajectory#concat}.
+ */
+public class FootStepStream {
+
+	private final List<FootStepListener> listeners;
+	private final Map<Integer, Double> lastEndTimes;
+	private SimulationState lastState;
+
+	public FootStepStream() {
+		this.listeners = new ArrayList<>();
+		this.lastEndTimes = new HashMap<>();
+		this.lastState = null;
+	}
+
+	public void addListener(@NotNull final FootStepListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Forgets all pushed foot steps, e.g. before the simulation starts.
+	 */
+	public void clear() {
+		lastEndTimes.clear();
+		lastState = null;
+	}
+
+	/**
+	 * Pushes the new foot steps of all pedestrians of <tt>state</tt> to the listeners if this has not
+	 * been done for <tt>state</tt> yet.
+	 */
+	public void update(@NotNull final SimulationState state) {
+		if (state == lastState) {
+			return;
+		}
+		lastState = state;
+
+		for (Pedestrian pedestrian : state.getTopography().getElements(Pedestrian.class)) {
+			Double lastEndTime = lastEndTimes.get(pedestrian.getId());
+
+			for (FootStep footStep : pedestrian.getTrajectory()) {
+				if (lastEndTime == null || footStep.getStartTime() >= lastEndTime) {
+					lastEndTime = footStep.getEndTime();
+					for (FootStepListener listener : listeners) {
+						listener.handleFootStep(state, pedestrian, footStep);
+					}
+				}
+			}
+
+			if (lastEndTime != null) {
+				lastEndTimes.put(pedestrian.getId(), lastEndTime);
+			}
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package org.vadere.simulator.projects.dataprocessing;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.simulation.FootStep;
+import org.vadere.util.geometry.ShapeGrid;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classifies the pedestrians of a simulation step by the measurement areas (or other regions, e.g. the
+ * lines of {@link org.vadere.simulator.projects.dataprocessing.processor.PedestrianLineCrossProcessor})
+ * which are evaluated by the processors. Instead of testing each pedestrian against the region of each
+ * processor, the pedestrians are classified once per {@link SimulationState}: the regions are stored in a
+ * {@link ShapeGrid} such that each position or foot step is only tested against the regions close to it.
+ *
+ * Regions are identified by their shape, e.g. {@link VShape} or {@link org.vadere.util.geometry.shapes.VLine},
+ * and registered on their first query. The classification is
+ * computed lazily on the first query of a state, i.e. processors updated with the same state share it.
+ * A region registered after the classification of the current state is classified on its own.
+ * The pedestrians of a region keep the order of the topography, i.e. a processor iterating over them
+ * produces the same output as a processor filtering all pedestrians.
+ */
+public class MeasurementAreaIndex {
+
+	private static final double CELL_SIZE = 2.0;
+
+	private final Map<Shape, Region> regions;
+	private ShapeGrid<Region> grid;
+
+	private SimulationState positionState;
+	private SimulationState footStepState;
+
+	public MeasurementAreaIndex() {
+		this.regions = new LinkedHashMap<>();
+		this.grid = null;
+		this.positionState = null;
+		this.footStepState = null;
+	}
+
+	/**
+	 * Returns the pedestrians whose position is contained in the shape, see {@link VShape#contains(org.vadere.util.geometry.shapes.IPoint)}.
+	 */
+	public List<Pedestrian> getPedestrians(@NotNull final SimulationState state, @NotNull final VShape shape) {
+		Region region = region(shape);
+		classifyPositions(state);
+		return Collections.unmodifiableList(region.pedestrians);
+	}
+
+	public boolean contains(@NotNull final SimulationState state, @NotNull final VShape shape, final int pedestrianId) {
+		Region region = region(shape);
+		classifyPositions(state);
+		return region.pedestrianIds.contains(pedestrianId);
+	}
+
+	/**
+	 * Returns the pedestrians with at least one foot step of their current trajectory, see
+	 * {@link Pedestrian#getTrajectory()}, whose bounding box touches the bounding box of the shape. These are the
+	 * candidates for an exact intersection test of the foot steps, all other pedestrians can not cross the shape.
+	 */
+	public List<Pedestrian> getFootStepPedestrians(@NotNull final SimulationState state, @NotNull final Shape shape) {
+		Region region = region(shape);
+		classifyFootSteps(state);
+		return Collections.unmodifiableList(region.footStepPedestrians);
+	}
+
+	private Region region(@NotNull final Shape shape) {
+		Region region = regions.get(shape);
+		if (region == null) {
+			region = new Region(shape);
+			regions.put(shape, region);
+			grid = null;
+
+			// the grid of the current state does not contain the new region
+			if (positionState != null) {
+				getPedestrians(positionState).forEach(region::addIfContained);
+			}
+			if (footStepState != null) {
+				getPedestrians(footStepState).forEach(region::addIfTouched);
+			}
+		}
+		return region;
+	}
+
+	private ShapeGrid<Region> getGrid() {
+		if (grid == null) {
+			Rectangle2D bounds = null;
+			for (Region region : regions.values()) {
+				if (bounds == null) {
+					bounds = (Rectangle2D) region.bounds.clone();
+				} else {
+					bounds.add(region.bounds);
+				}
+			}
+			grid = new ShapeGrid<>(new ArrayList<>(regions.values()), region -> region.bounds, bounds, CELL_SIZE);
+		}
+		return grid;
+	}
+
+	private void classifyPositions(@NotNull final SimulationState state) {
+		if (positionState == state) {
+			return;
+		}
+
+		ShapeGrid<Region> grid = getGrid();
+		regions.values().forEach(Region::clearPositions);
+		for (Pedestrian pedestrian : getPedestrians(state)) {
+			VPoint position = pedestrian.getPosition();
+			for (Region region : grid.getObjects(position.x, position.y, 0)) {
+				region.addIfContained(pedestrian);
+			}
+		}
+		positionState = state;
+	}
+
+	private void classifyFootSteps(@NotNull final SimulationState state) {
+		if (footStepState == state) {
+			return;
+		}
+
+		ShapeGrid<Region> grid = getGrid();
+		regions.values().forEach(region -> region.footStepPedestrians.clear());
+		for (Pedestrian pedestrian : getPedestrians(state)) {
+			for (FootStep footStep : pedestrian.getTrajectory()) {
+				Rectangle2D bounds = bounds(footStep);
+				double radius = Math.max(bounds.getWidth(), bounds.getHeight()) / 2.0;
+				for (Region region : grid.getObjects(bounds.getCenterX(), bounds.getCenterY(), radius)) {
+					region.addIfTouched(pedestrian, bounds);
+				}
+			}
+		}
+		footStepState = state;
+	}
+
+	private static Collection<Pedestrian> getPedestrians(@NotNull final SimulationState state) {
+		return state.getTopography().getElements(Pedestrian.class);
+	}
+
+	private static Rectangle2D bounds(@NotNull final FootStep footStep) {
+		Rectangle2D bounds = new Rectangle2D.Double(footStep.getStart().x, footStep.getStart().y, 0, 0);
+		bounds.add(footStep.getEnd().x, footStep.getEnd().y);
+		return bounds;
+	}
+
+	private static class Region {
+		private final Shape shape;
+		private final Rectangle2D bounds;
+		private final List<Pedestrian> pedestrians;
+		private final Set<Integer> pedestrianIds;
+		private final List<Pedestrian> footStepPedestrians;
+
+		private Region(@NotNull final Shape shape) {
+			this.shape = shape;
+			this.bounds = shape.getBounds2D();
+			this.pedestrians = new ArrayList<>();
+			this.pedestrianIds = new HashSet<>();
+			this.footStepPedestrians = new ArrayList<>();
+		}
+
+		private void clearPositions() {
+			pedestrians.clear();
+			pedestrianIds.clear();
+		}
+
+		private void addIfContained(@NotNull final Pedestrian pedestrian) {
+			VPoint position = pedestrian.getPosition();
+			boolean contained = shape instanceof VShape ? ((VShape) shape).contains(position) : shape.contains(position.x, position.y);
+			if (contained) {
+				pedestrians.add(pedestrian);
+				pedestrianIds.add(pedestrian.getId());
+			}
+		}
+
+		private void addIfTouched(@NotNull final Pedestrian pedestrian) {
+			for (FootStep footStep : pedestrian.getTrajectory()) {
+				addIfTouched(pedestrian, MeasurementAreaIndex.bounds(footStep));
+			}
+		}
+
+		private void addIfTouched(@NotNull final Pedestrian pedestrian, @NotNull final Rectangle2D footStepBounds) {
+			// the foot steps of a pedestrian are classified one after another
+			boolean added = !footStepPedestrians.isEmpty() && footStepPedestrians.get(footStepPedestrians.size() - 1) == pedestrian;
+			if (!added && bounds.getMinX() <= footStepBounds.getMaxX() && bounds.getMaxX() >= footStepBounds.getMinX()
+					&& bounds.getMinY() <= footStepBounds.getMaxY() && bounds.getMaxY() >= footStepBounds.getMinY()) {
+				footStepPedestrians.add(pedestrian);
+			}
+		}
+	}
+}
@@ -7,11 +7,14 @@ import org.vadere.simulator.projects.SimulationResult;
 import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
 import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
 import org.vadere.state.scenario.MeasurementArea;
+import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.VShape;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +31,8 @@ public class ProcessorManager {
 	private Map<Integer, DataProcessor<?, ?>> processorMap;
 	private List<OutputFile<?>> outputFiles;
 	private SimulationResult simulationResult;
+	private final MeasurementAreaIndex measurementAreaIndex;
+	private final FootStepStream footStepStream;
 
 	public ProcessorManager(List<DataProcessor<?, ?>> dataProcessors,
 							List<OutputFile<?>> outputFiles, MainModel mainModel,
@@ -36,6 +41,8 @@ public class ProcessorManager {
 		this.topography = topography;
 
 		this.outputFiles = outputFiles;
+		this.measurementAreaIndex = new MeasurementAreaIndex();
+		this.footStepStream = new FootStepStream();
 
 		this.processorMap = new LinkedHashMap<>();
 		for (DataProcessor<?, ?> proc : dataProcessors)
@@ -70,6 +77,22 @@ public class ProcessorManager {
 
 		return measurementArea;
 	}
+
+	/**
+	 * Returns the index which classifies the pedestrians of each step by the regions evaluated by the
+	 * processors, such that processors sharing a region do not test all pedestrians again.
+	 */
+	public MeasurementAreaIndex getMeasurementAreaIndex() {
+		return measurementAreaIndex;
+	}
+
+	/**
+	 * Returns the stream which pushes each new foot step once to the processors listening to it.
+	 */
+	public FootStepStream getFootStepStream() {
+		return footStepStream;
+	}
+
 	public List<VShape> getObstacles() {
 		return topography.getObstacleShapes();
 	}
@@ -79,6 +102,12 @@ public class ProcessorManager {
 	}
 
 	public void preLoop(final SimulationState state) {
+		footStepStream.clear();
+		int requiredFootstepHistorySize = getRequiredFootstepHistorySize();
+		if (requiredFootstepHistorySize > 0 && topography != null) {
+			topography.getElements(Pedestrian.class).forEach(ped -> ped.getFootstepHistory().ensureCapacity(requiredFootstepHistorySize));
+			topography.addElementAddedListener(Pedestrian.class, ped -> ped.getFootstepHistory().ensureCapacity(requiredFootstepHistorySize));
+		}
 		this.processorMap.values().forEach(proc -> proc.preLoop(state));
 	}
 
@@ -99,14 +128,52 @@ public class ProcessorManager {
 								new File(file.getFileName()).getName())).toString()));
 	}
 
+	/**
+	 * Writes the output files concurrently. Files which share a processor are written one after another
+	 * by the same thread, such that the data of each processor is only read by one thread.
+	 */
 	public void writeOutput() {
-		this.outputFiles.forEach(file -> file.write());
+		// union-find over the indices of the files, two files are united if they share a processor
+		int[] parent = new int[outputFiles.size()];
+		Map<Integer, Integer> fileOfProcessor = new HashMap<>();
+
+		for (int i = 0; i < outputFiles.size(); i++) {
+			parent[i] = i;
+			for (Integer processorId : outputFiles.get(i).getProcessorIds()) {
+				Integer other = fileOfProcessor.putIfAbsent(processorId, i);
+				if (other != null) {
+					parent[findRoot(parent, i)] = findRoot(parent, other);
+				}
+			}
+		}
+
+		Map<Integer, List<OutputFile<?>>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < outputFiles.size(); i++) {
+			groups.computeIfAbsent(findRoot(parent, i), root -> new ArrayList<>()).add(outputFiles.get(i));
+		}
+
+		groups.values().parallelStream().forEach(group -> group.forEach(file -> file.write()));
+	}
+
+	private static int findRoot(final int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
 	}
 
 	public void setSimulationResult(SimulationResult simulationResult) {
 		this.simulationResult = simulationResult;
 	}
 
+	/**
+	 * Returns the maximum number of the last foot steps of each pedestrian which is read by any processor.
+	 */
+	public int getRequiredFootstepHistorySize() {
+		return processorMap.values().stream().mapToInt(DataProcessor::getRequiredFootstepHistorySize).max().orElse(0);
+	}
+
 	/**
 	 * Returns true if there is no output to write, otherwise false.
 	 */
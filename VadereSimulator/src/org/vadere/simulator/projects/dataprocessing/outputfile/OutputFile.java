@@ -5,6 +5,7 @@ package org.vadere.simulator.projects.dataprocessing.outputfile;
 import org.vadere.simulator.projects.dataprocessing.DataProcessingJsonManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.DataKey;
 import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.writer.OutputCompression;
 import org.vadere.simulator.projects.dataprocessing.writer.VadereWriter;
 import org.vadere.simulator.projects.dataprocessing.writer.VadereWriterFactory;
 import org.vadere.util.logging.Logger;
@@ -19,14 +20,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Base class for all types of output files.
  *
  * This class knows all the data processors of which the data should be saved. It writes the data
- * with the specified <tt>separator</tt> sign into a file specified by <tt>filename</tt>.
+ * with the specified <tt>separator</tt> sign into a file specified by <tt>filename</tt>. If a
+ * <tt>compression</tt> is specified, the file is compressed and its extension is appended to the file name.
  *
  * @param <K> key type
  * @author Mario Teixeira Parente
@@ -57,6 +58,7 @@ public abstract class OutputFile<K extends DataKey<K>> {
 	private boolean isWriteMetaData;
 
 	private String separator;
+	private OutputCompression compression;
 
 	// Check also the PostVis where there is a dependency
 	public final static String headerProcSep = "-";
@@ -70,6 +72,7 @@ public abstract class OutputFile<K extends DataKey<K>> {
 		this.isAddedProcessors = false;  // init method has to be called
         this.isWriteMetaData = false;
 		this.dataProcessors = new ArrayList<>();
+		this.compression = OutputCompression.NONE;
 		this.writerFactory = VadereWriterFactory.getFileWriterFactory();
 	}
 
@@ -93,6 +96,14 @@ public abstract class OutputFile<K extends DataKey<K>> {
 	    this.separator = separator;
 	}
 
+	public OutputCompression getCompression() {
+		return this.compression;
+	}
+
+	public void setCompression(final OutputCompression compression) {
+		this.compression = compression;
+	}
+
 	@SuppressWarnings("unchecked")
 	public void init(final Map<Integer, DataProcessor<?, ?>> processorMap) {
 		this.dataProcessors.clear();
@@ -106,8 +117,9 @@ public abstract class OutputFile<K extends DataKey<K>> {
 
 	public void write() {
 		if (!isEmpty()) {
-			logger.info("Absolute file name" + absoluteFileName);
-			try (VadereWriter out = writerFactory.create(absoluteFileName)) {
+			String compressedFileName = absoluteFileName + compression.getExtension();
+			logger.info("Absolute file name" + compressedFileName);
+			try (VadereWriter out = writerFactory.create(compressedFileName, compression)) {
 
 			    this.writer = out;
 
@@ -243,7 +255,7 @@ public abstract class OutputFile<K extends DataKey<K>> {
 
 	private List<String> composeLine(String[] keyFieldArray,
 									 @SuppressWarnings("rawtypes") Function<DataProcessor, Stream<String>> valueFields){
-		final List<String> fields = new  LinkedList<>();
+		final List<String> fields = new ArrayList<>();
 
 		addkeysToLine(fields, keyFieldArray);
 		addProcessorToLine(fields, valueFields);
@@ -257,11 +269,9 @@ public abstract class OutputFile<K extends DataKey<K>> {
 	}
 
 	List<String> addProcessorToLine(final List<String> fields, Function<DataProcessor, Stream<String>> valueFields){
-		final List<String> processorFields = dataProcessors.stream()
-				.flatMap(valueFields)
-				.collect(Collectors.toList());
-
-		fields.addAll(processorFields);
+		for (DataProcessor dataProcessor : dataProcessors) {
+			valueFields.apply(dataProcessor).forEachOrdered(fields::add);
+		}
 		return fields;
 	}
 
@@ -1,9 +1,14 @@
 package org.vadere.simulator.projects.dataprocessing.processor;
 
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.TimestepKey;
 import org.vadere.state.attributes.processor.AttributesAreaProcessor;
 import org.vadere.state.scenario.MeasurementArea;
+import org.vadere.state.scenario.Pedestrian;
+
+import java.util.List;
 
 /**
  * @author Mario Teixeira Parente
@@ -12,6 +17,7 @@ import org.vadere.state.scenario.MeasurementArea;
 
 public abstract class AreaDataProcessor<V> extends DataProcessor<TimestepKey, V> {
     private MeasurementArea measurementArea;
+    private MeasurementAreaIndex measurementAreaIndex;
 
     protected AreaDataProcessor(final String... headers) {
         super(headers);
@@ -22,9 +28,21 @@ public abstract class AreaDataProcessor<V> extends DataProcessor<TimestepKey, V>
         super.init(manager);
         AttributesAreaProcessor att = (AttributesAreaProcessor) this.getAttributes();
         this.measurementArea = manager.getMeasurementArea(att.getMeasurementAreaId(), false);
+        this.measurementAreaIndex = manager.getMeasurementAreaIndex();
     }
 
     public MeasurementArea getMeasurementArea() {
         return this.measurementArea;
     }
+
+    /**
+     * Returns the pedestrians of the state whose position is contained in the measurement area.
+     */
+    protected List<Pedestrian> getPedestriansInMeasurementArea(final SimulationState state) {
+        return this.measurementAreaIndex.getPedestrians(state, this.measurementArea.getShape());
+    }
+
+    protected MeasurementAreaIndex getMeasurementAreaIndex() {
+        return this.measurementAreaIndex;
+    }
 }
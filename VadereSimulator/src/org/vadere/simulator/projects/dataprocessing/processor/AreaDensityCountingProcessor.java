@@ -4,9 +4,6 @@ import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.simulator.projects.dataprocessing.datakey.TimestepKey;
 import org.vadere.state.attributes.processor.AttributesAreaDensityCountingProcessor;
 import org.vadere.state.attributes.processor.AttributesProcessor;
-import org.vadere.state.scenario.Pedestrian;
-import java.util.Collection;
-
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
 import org.vadere.state.traci.CompoundObject;
 import org.vadere.state.traci.CompoundObjectBuilder;
@@ -36,18 +33,8 @@ public class AreaDensityCountingProcessor extends AreaDataProcessor<Integer> imp
 
         // Compute density by counting the pedestrians
         // With the area of the shape the density can be normalized to [ped/m^2] "pedCount/area"
-        int pedCount = 0;
-
-        // Here could also be another processor. However, because a processor uses more memory, all pedestrians
-        // are collected from the state directly.
-        Collection<Pedestrian> pedestrians = state.getTopography().getPedestrianDynamicElements().getElements();
-
-        // Alternatively, this could be implemented with "Streams"
-        for (Pedestrian p : pedestrians) {
-            if(this.getMeasurementArea().getShape().contains(p.getPosition())){
-                pedCount++;
-            }
-        }
+        // The pedestrians in the measurement area are shared with all other processors of this area.
+        int pedCount = getPedestriansInMeasurementArea(state).size();
 
         this.putValue(new TimestepKey(state.getStep()), pedCount);
     }
@@ -5,6 +5,7 @@ import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.simulator.projects.dataprocessing.procesordata.AreaGroupMetaData;
 import org.vadere.simulator.models.groups.cgm.CentroidGroup;
 import org.vadere.simulator.models.groups.cgm.CentroidGroupModel;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.TimestepGroupIdKey;
 import org.vadere.state.attributes.processor.AttributesGroupMetaDataProcessor;
@@ -28,6 +29,7 @@ import java.util.stream.Collectors;
 public class AreaGroupMetaDataProcessor extends DataProcessor<TimestepGroupIdKey, AreaGroupMetaData> implements ModelFilter {
 
     private MeasurementArea measurementArea;
+    private MeasurementAreaIndex measurementAreaIndex;
 
     public AreaGroupMetaDataProcessor() {
         super("sim_time", "ped_total", "memb_in_area", "peds_lost", "centroid_x", "centroid_y");
@@ -41,6 +43,7 @@ public class AreaGroupMetaDataProcessor extends DataProcessor<TimestepGroupIdKey
         if (att.getMeasurementAreaId() != -1) {
             this.measurementArea = manager.getMeasurementArea(att.getMeasurementAreaId(), false);
         }
+        this.measurementAreaIndex = manager.getMeasurementAreaIndex();
     }
 
     @Override
@@ -53,9 +56,7 @@ public class AreaGroupMetaDataProcessor extends DataProcessor<TimestepGroupIdKey
 
         // the pedestrians in the measurement area
         if (measurementArea != null) {
-            pedestrians = pedestrians.stream()
-                    .filter(p -> this.measurementArea.getShape().contains(p.getPosition()))
-                    .collect(Collectors.toList());
+            pedestrians = this.measurementAreaIndex.getPedestrians(state, this.measurementArea.getShape());
         }
 
         // compute the id of groups represented in the measurement area
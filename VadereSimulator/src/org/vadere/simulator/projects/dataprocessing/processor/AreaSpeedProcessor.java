@@ -44,7 +44,7 @@ public class AreaSpeedProcessor extends AreaDataProcessor<Double> {
             final VPoint pos = entry.getValue();
 
             //getMeasurementArea from AreaDataProcessor
-            if (this.getMeasurementArea().getShape().contains(pos)) {
+            if (isInMeasurementArea(state, pedId, pos)) {
                 sumVelocities += this.pedVelProc.getValue(new TimestepPedestrianIdKey(step, pedId));
                 pedCount++;
             }
@@ -54,6 +54,14 @@ public class AreaSpeedProcessor extends AreaDataProcessor<Double> {
         this.putValue(new TimestepKey(step), (pedCount > 0 ? sumVelocities / pedCount : Double.NaN));
     }
 
+    private boolean isInMeasurementArea(final SimulationState state, final int pedId, final VPoint pos) {
+        // interpolated positions differ from the positions classified by the index
+        if (this.pedPosProc.getAttributes().isInterpolate()) {
+            return this.getMeasurementArea().getShape().contains(pos);
+        }
+        return this.getMeasurementAreaIndex().contains(state, this.getMeasurementArea().getShape(), pedId);
+    }
+
     @Override
     public void init(final ProcessorManager manager) {
         super.init(manager);
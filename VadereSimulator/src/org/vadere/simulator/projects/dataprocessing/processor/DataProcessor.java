@@ -156,6 +156,18 @@ public abstract class DataProcessor<K extends DataKey<K>, V> {
 
 	}
 
+	/**
+	 * Returns the number of the last foot steps of each pedestrian, see {@link org.vadere.state.simulation.FootstepHistory},
+	 * this processor reads. The {@link ProcessorManager} makes sure that the foot step history of each pedestrian
+	 * stores at least the required foot steps. Processors which only read the foot steps of the current simulation
+	 * step, i.e. {@link org.vadere.state.scenario.Pedestrian#getTrajectory()}, do not require any history.
+	 *
+	 * @return the number of the last foot steps this processor requires
+	 */
+	public int getRequiredFootstepHistorySize() {
+		return 0;
+	}
+
 	public void init(final ProcessorManager manager){
 		this.data.clear();
 		this.lastStep = 0;
@@ -6,8 +6,8 @@ import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.EventtimePedestrianIdKey;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.simulation.FootStep;
+import org.vadere.state.simulation.VTrajectory;
 
-import java.util.LinkedList;
 import java.util.Locale;
 
 /**
@@ -25,7 +25,7 @@ public class FootStepHealthStatusProcessor extends DataProcessor<EventtimePedest
     @Override
     protected void doUpdate(final SimulationState state) {
         for (Pedestrian pedestrian : state.getTopography().getElements(Pedestrian.class)) {
-            LinkedList<FootStep> footSteps = pedestrian.getTrajectory().clone().getFootSteps();
+            VTrajectory footSteps = pedestrian.getTrajectory();
 
 
             String healthStatusAsString = healthStatusToString(pedestrian);
@@ -9,8 +9,8 @@ import org.vadere.state.psychology.PsychologyStatus;
 import org.vadere.state.psychology.perception.ThreatMemory;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.simulation.FootStep;
+import org.vadere.state.simulation.VTrajectory;
 
-import java.util.LinkedList;
 
 /**
  * Log {@link Pedestrian}'s current {@link PsychologyStatus} except its {@link ThreatMemory}.
@@ -27,7 +27,7 @@ public class FootStepPsychologyStatusProcessor extends DataProcessor<EventtimePe
 	@Override
 	protected void doUpdate(final SimulationState state) {
 		for (Pedestrian pedestrian : state.getTopography().getElements(Pedestrian.class)) {
-			LinkedList<FootStep> footSteps = pedestrian.getTrajectory().clone().getFootSteps();
+			VTrajectory footSteps = pedestrian.getTrajectory();
 
 			String psychologyStatus = psychologyStatusToString(pedestrian);
 
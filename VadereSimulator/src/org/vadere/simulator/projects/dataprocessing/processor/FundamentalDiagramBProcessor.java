@@ -4,14 +4,19 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
 import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.FootStepListener;
+import org.vadere.simulator.projects.dataprocessing.FootStepStream;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.PedestrianIdKey;
 import org.vadere.simulator.projects.dataprocessing.flags.UsesMeasurementArea;
 import org.vadere.state.attributes.processor.AttributesFundamentalDiagramBProcessor;
 import org.vadere.state.attributes.processor.AttributesProcessor;
 import org.vadere.state.scenario.MeasurementArea;
+import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Topography;
+import org.vadere.state.simulation.FootStep;
 import org.vadere.state.simulation.VTrajectory;
+import org.vadere.state.simulation.VTrajectoryCut;
 import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.logging.Logger;
 
@@ -32,19 +37,25 @@ import java.util.Optional;
  *
  * <p>Note that this processor does only work if pedestrians do not move multiple times through <tt>measurementArea</tt></p>
  *
+ * <p>The part of each trajectory inside the <tt>measurementArea</tt> is built foot step by foot step from the
+ * {@link FootStepStream}, i.e. the whole trajectories are not cut after the simulation.</p>
+ *
  * @author Benedikt Zoennchen
  */
 @DataProcessorClass()
-public class FundamentalDiagramBProcessor extends DataProcessor<PedestrianIdKey, Pair<Double, Double>> implements UsesMeasurementArea {
+public class FundamentalDiagramBProcessor extends DataProcessor<PedestrianIdKey, Pair<Double, Double>> implements UsesMeasurementArea, FootStepListener {
 
 	private static Logger logger = Logger.getLogger(Topography.class);
 
 	private MeasurementArea measurementArea;
 	private VRectangle measurementAreaVRec;
 	private PedestrianTrajectoryProcessor pedestrianTrajectoryProcessor;
+	private FootStepStream footStepStream;
+	private final Map<Integer, VTrajectoryCut> cutTrajectories;
 
 	public FundamentalDiagramBProcessor() {
 		super("velocity", "density");
+		this.cutTrajectories = new HashMap<>();
 	}
 
 	@Override
@@ -54,6 +65,8 @@ public class FundamentalDiagramBProcessor extends DataProcessor<PedestrianIdKey,
 		pedestrianTrajectoryProcessor = (PedestrianTrajectoryProcessor) manager.getProcessor(att.getPedestrianTrajectoryProcessorId());
 		measurementArea = manager.getMeasurementArea(att.getMeasurementAreaId(), false);
 		measurementAreaVRec = measurementArea.asVRectangle();
+		footStepStream = manager.getFootStepStream();
+		footStepStream.addListener(this);
 	}
 
 	@Override
@@ -67,28 +80,33 @@ public class FundamentalDiagramBProcessor extends DataProcessor<PedestrianIdKey,
 	@Override
 	public void preLoop(SimulationState state) {
 		super.preLoop(state);
+		cutTrajectories.clear();
 	}
 
 	@Override
 	protected void doUpdate(SimulationState state) {
+		footStepStream.update(state);
 		pedestrianTrajectoryProcessor.update(state);
 	}
 
+	@Override
+	public void handleFootStep(@NotNull final SimulationState state, @NotNull final Pedestrian pedestrian, @NotNull final FootStep footStep) {
+		cutTrajectories.computeIfAbsent(pedestrian.getId(), id -> new VTrajectoryCut(measurementAreaVRec)).add(footStep);
+	}
+
 	@Override
 	public void postLoop(SimulationState state) {
 		super.postLoop(state);
 		pedestrianTrajectoryProcessor.postLoop(state);
-		Map<PedestrianIdKey, VTrajectory> trajectoryMap = pedestrianTrajectoryProcessor.getData();
 		Map<PedestrianIdKey, VTrajectory> cutTrajectoryMap = new HashMap<>();
 
 		/**
-		 * (1) Cut the trajectories due to the measurement area.
+		 * (1) Collect the trajectories cut by the measurement area. The keys are inserted in the order of
+		 * the trajectories such that the density integrals are summed up in the same order.
 		 */
-		for(Map.Entry<PedestrianIdKey, VTrajectory> trajectoryEntry : trajectoryMap.entrySet()) {
-			PedestrianIdKey key = trajectoryEntry.getKey();
-			VTrajectory trajectory = trajectoryEntry.getValue();
-			VTrajectory clone = trajectory.cut(measurementAreaVRec);
-			cutTrajectoryMap.put(key, clone);
+		for(PedestrianIdKey key : pedestrianTrajectoryProcessor.getKeys()) {
+			VTrajectoryCut cut = cutTrajectories.get(key.getPedestrianId());
+			cutTrajectoryMap.put(key, cut != null ? cut.getTrajectory() : new VTrajectory());
 		}
 
 		/**
@@ -108,10 +126,14 @@ public class FundamentalDiagramBProcessor extends DataProcessor<PedestrianIdKey,
 	private double density(@NotNull final PedestrianIdKey key, @NotNull final Map<PedestrianIdKey, VTrajectory> cutTrajectoryMap) {
 		VTrajectory pedTrajectory = cutTrajectoryMap.get(key);
 		Optional<Double> duration = pedTrajectory.duration();
+		double startTime = pedTrajectory.getStartTime().get();
+		double endTime = pedTrajectory.getEndTime().get();
 
 		double densityIntegral = cutTrajectoryMap.values()
 				.stream()
-				.map(trajectory -> trajectory.cut(pedTrajectory.getStartTime().get(), pedTrajectory.getEndTime().get()))
+				// trajectories which do not overlap in time would be empty after the cut
+				.filter(trajectory -> !trajectory.isEmpty() && trajectory.getStartTime().get() < endTime && trajectory.getEndTime().get() > startTime)
+				.map(trajectory -> trajectory.cut(startTime, endTime))
 				.filter(trajectory -> !trajectory.isEmpty())
 				//.filter(trajectory -> trajectory.isInBetween(pedTrajectory))
 				//.sorted(Comparator.comparingDouble(t -> t.getStartTime().get()))
@@ -11,8 +11,11 @@ import org.vadere.simulator.projects.dataprocessing.flags.UsesMeasurementArea;
 import org.vadere.state.attributes.processor.AttributesFundamentalDiagramCProcessor;
 import org.vadere.state.attributes.processor.AttributesProcessor;
 import org.vadere.state.scenario.MeasurementArea;
+import org.vadere.state.scenario.Pedestrian;
 import org.vadere.util.geometry.shapes.VRectangle;
 
+import java.util.List;
+
 /**
  * <p>This processor computes the fundamental diagram by computing at a certain time the
  * <tt>density</tt> defined by the number of pedestrians contained in the <tt>measurementArea</tt>
@@ -62,13 +65,10 @@ public class FundamentalDiagramCProcessor extends AreaDataProcessor<Pair<Double,
 	@Override
 	protected void doUpdate(SimulationState state) {
 		pedestrianVelocityProcessor.update(state);
-		long N = state.getTopography().getPedestrianDynamicElements().getElements()
-				.stream()
-				.filter(pedestrian -> measurementAreaVRec.contains(pedestrian.getPosition()))
-				.count();
-		double velocity = state.getTopography().getPedestrianDynamicElements().getElements()
+		List<Pedestrian> pedestrians = getMeasurementAreaIndex().getPedestrians(state, measurementAreaVRec);
+		long N = pedestrians.size();
+		double velocity = pedestrians
 				.stream()
-				.filter(pedestrian -> measurementAreaVRec.contains(pedestrian.getPosition()))
 				.mapToDouble(pedestrian ->
 						//pedestrian.getVelocity().getLength()
 						pedestrianVelocityProcessor.getValue(new TimestepPedestrianIdKey(state.getStep(), pedestrian.getId()))
@@ -43,12 +43,18 @@ public class PedStimulusCountingProcessor extends DataProcessor<TimestepKey, Inf
 
 	}
 
+	@Override
+	public int getRequiredFootstepHistorySize() {
+		// pedestrians which made more than one step are counted
+		return 2;
+	}
+
 	@Override
 	protected void doUpdate(SimulationState state) {
 		Collection<Pedestrian> peds = state.getTopography().getElements(Pedestrian.class);
 
 		int numberPedsInformed = (int) peds.stream().filter(p -> filter_by_stimuli.test(p)).count();
-		int numberPedsAll = (int) peds.stream().filter(p-> p.getFootstepHistory().getFootSteps().size() > 1).count();
+		int numberPedsAll = (int) peds.stream().filter(p-> p.getFootstepHistory().size() > 1).count();
 
 		numberPedsAll = Math.max(numberPedsAll,numberPedsInformed);
 		InformationDegree informationDegree =  new InformationDegree(numberPedsInformed, numberPedsAll);
@@ -4,6 +4,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
 import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.PedestrianIdKey;
 import org.vadere.simulator.projects.dataprocessing.flags.UsesMeasurementArea;
@@ -22,6 +23,7 @@ public class PedestrianCrossingTimeProcessor extends DataProcessor<PedestrianIdK
 
 	private MeasurementArea measurementArea;
 	private VRectangle measurementAreaVRec;
+	private MeasurementAreaIndex measurementAreaIndex;
 
 	private static Logger logger = Logger.getLogger(PedestrianCrossingTimeProcessor.class);
 
@@ -32,7 +34,7 @@ public class PedestrianCrossingTimeProcessor extends DataProcessor<PedestrianIdK
 
 	@Override
 	protected void doUpdate(SimulationState state) {
-		Collection<Pedestrian> peds = state.getTopography().getElements(Pedestrian.class);
+		Collection<Pedestrian> peds = measurementAreaIndex.getFootStepPedestrians(state, measurementAreaVRec);
 
 		for(Pedestrian ped : peds) {
 			PedestrianIdKey key = new PedestrianIdKey(ped.getId());
@@ -80,6 +82,7 @@ public class PedestrianCrossingTimeProcessor extends DataProcessor<PedestrianIdK
 		AttributesCrossingTimeProcessor att = (AttributesCrossingTimeProcessor) this.getAttributes();
 		this.measurementArea  = manager.getMeasurementArea(att.getMeasurementAreaId(), true);
 		measurementAreaVRec = measurementArea.asVRectangle();
+		measurementAreaIndex = manager.getMeasurementAreaIndex();
 
 	}
 
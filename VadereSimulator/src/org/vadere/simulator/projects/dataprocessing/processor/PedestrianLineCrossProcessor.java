@@ -2,6 +2,7 @@ package org.vadere.simulator.projects.dataprocessing.processor;
 
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
 import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.PedestrianIdKey;
 import org.vadere.state.attributes.processor.AttributesPedestrianLineCrossProcessor;
@@ -22,6 +23,7 @@ import java.util.Collection;
 public class PedestrianLineCrossProcessor extends DataProcessor<PedestrianIdKey, Double> {
 
 	private VLine line;
+	private MeasurementAreaIndex measurementAreaIndex;
 
 	public PedestrianLineCrossProcessor() {
 		super("crossTime");
@@ -30,7 +32,8 @@ public class PedestrianLineCrossProcessor extends DataProcessor<PedestrianIdKey,
 
 	@Override
 	protected void doUpdate(SimulationState state) {
-		Collection<Pedestrian> peds = state.getTopography().getElements(Pedestrian.class);
+		// only pedestrians with foot steps close to the line can cross it
+		Collection<Pedestrian> peds = measurementAreaIndex.getFootStepPedestrians(state, line);
 
 		for(Pedestrian ped : peds) {
 			PedestrianIdKey key = new PedestrianIdKey(ped.getId());
@@ -53,6 +56,7 @@ public class PedestrianLineCrossProcessor extends DataProcessor<PedestrianIdKey,
 		super.init(manager);
 		AttributesPedestrianLineCrossProcessor att = (AttributesPedestrianLineCrossProcessor) this.getAttributes();
 		this.line = new VLine(att.getP1(), att.getP2());
+		this.measurementAreaIndex = manager.getMeasurementAreaIndex();
 	}
 
 	@Override
@@ -1,18 +1,25 @@
 package org.vadere.simulator.projects.dataprocessing.processor;
 
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
+import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.FootStepListener;
+import org.vadere.simulator.projects.dataprocessing.FootStepStream;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
-import org.vadere.simulator.projects.dataprocessing.datakey.PedestrianIdKey;
 import org.vadere.simulator.projects.dataprocessing.datakey.TimestepPedestrianIdKey;
 import org.vadere.state.attributes.processor.AttributesProcessor;
 import org.vadere.state.attributes.processor.AttributesSpeedInAreaProcessorUsingAgentTrajectory;
 import org.vadere.state.attributes.processor.enums.SpeedCalculationStrategy;
 import org.vadere.state.scenario.MeasurementArea;
 import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.simulation.FootStep;
 import org.vadere.state.simulation.VTrajectory;
+import org.vadere.state.simulation.VTrajectoryCut;
 import org.vadere.util.geometry.shapes.VRectangle;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.BiFunction;
 
 /**
@@ -48,8 +55,9 @@ import java.util.function.BiFunction;
  *
  * Note: If trajectory of pedestrian is empty, log -2.
  *
- * Use the {@link PedestrianTrajectoryProcessor} to access pedestrian's
- * trajectory.
+ * The trajectory inside the measurement area is built foot step by foot step from the
+ * {@link FootStepStream}, i.e. it is equal to the trajectory of the {@link PedestrianTrajectoryProcessor}
+ * cut by the measurement area.
  *
  * This processor offers different methods do calculate pedestrian's speed:
  * - ByTrajectory: Use {@link VTrajectory#speed()}, i.e. trajectory.length() / trajectory.duration()
@@ -57,7 +65,7 @@ import java.util.function.BiFunction;
  * - ByMeasurementAreaWidth: Use measurementArea.width() / trajectory.duration()
  */
 @DataProcessorClass()
-public class PedestrianSpeedInAreaProcessorUsingAgentTrajectory extends DataProcessor<TimestepPedestrianIdKey, Double> {
+public class PedestrianSpeedInAreaProcessorUsingAgentTrajectory extends DataProcessor<TimestepPedestrianIdKey, Double> implements FootStepListener {
 
 	// Static variables
 	public static double ERROR_PED_NOT_IN_MEASUREMENT_AREA = -1;
@@ -65,12 +73,16 @@ public class PedestrianSpeedInAreaProcessorUsingAgentTrajectory extends DataProc
 
 	// Variables
 	private MeasurementArea measurementArea;
+	private MeasurementAreaIndex measurementAreaIndex;
 	private PedestrianTrajectoryProcessor pedestrianTrajectoryProcessor;
 	private BiFunction<VTrajectory, VRectangle, Double> speedCalculationStrategy;
+	private FootStepStream footStepStream;
+	private final Map<Integer, VTrajectoryCut> cutTrajectories;
 
 	// Constructors
 	public PedestrianSpeedInAreaProcessorUsingAgentTrajectory() {
 		super("speedInAreaUsingAgentTrajectory");
+		this.cutTrajectories = new HashMap<>();
 		// "init()" method is used by processor manager to initialize variables.
 	}
 
@@ -90,6 +102,7 @@ public class PedestrianSpeedInAreaProcessorUsingAgentTrajectory extends DataProc
 		// manager.getMeasurementArea() throws an exception if area is "null" or not rectangular. Though, no checks required here.
 		boolean rectangularAreaRequired = true;
 		measurementArea = manager.getMeasurementArea(processorAttributes.getMeasurementAreaId(), rectangularAreaRequired);
+		measurementAreaIndex = manager.getMeasurementAreaIndex();
 
 		pedestrianTrajectoryProcessor = (PedestrianTrajectoryProcessor) manager.getProcessor(processorAttributes.getPedestrianTrajectoryProcessorId());
 
@@ -97,6 +110,9 @@ public class PedestrianSpeedInAreaProcessorUsingAgentTrajectory extends DataProc
 			throw new RuntimeException(String.format("PedestrianTrajectoryProcessor with index %d does not exist.", processorAttributes.getPedestrianTrajectoryProcessorId()));
 		}
 
+		footStepStream = manager.getFootStepStream();
+		footStepStream.addListener(this);
+
 		initSpeedCalculationStrategy(processorAttributes);
 	}
 
@@ -121,16 +137,27 @@ public class PedestrianSpeedInAreaProcessorUsingAgentTrajectory extends DataProc
 		return super.getAttributes();
 	}
 
+	@Override
+	public void preLoop(final SimulationState state) {
+		super.preLoop(state);
+		cutTrajectories.clear();
+	}
+
+	@Override
+	public void handleFootStep(@NotNull final SimulationState state, @NotNull final Pedestrian pedestrian, @NotNull final FootStep footStep) {
+		cutTrajectories.computeIfAbsent(pedestrian.getId(), id -> new VTrajectoryCut(measurementArea.asVRectangle())).add(footStep);
+	}
+
 	@Override
 	protected void doUpdate(final SimulationState state) {
-		pedestrianTrajectoryProcessor.update(state);
+		footStepStream.update(state);
 
 		for (Pedestrian pedestrian : state.getTopography().getElements(Pedestrian.class)) {
 			double speed = ERROR_PED_NOT_IN_MEASUREMENT_AREA;
 
-			if (measurementArea.getShape().contains(pedestrian.getPosition())) {
-				VTrajectory wholeTrajectory = pedestrianTrajectoryProcessor.getValue(new PedestrianIdKey(pedestrian.getId()));
-				VTrajectory cuttedTrajectory = wholeTrajectory.cut(measurementArea.asVRectangle());
+			if (measurementAreaIndex.contains(state, measurementArea.getShape(), pedestrian.getId())) {
+				VTrajectoryCut cut = cutTrajectories.get(pedestrian.getId());
+				VTrajectory cuttedTrajectory = cut != null ? cut.getTrajectory() : new VTrajectory();
 
 				speed = speedCalculationStrategy.apply(cuttedTrajectory, measurementArea.asVRectangle());
 			}
@@ -2,6 +2,7 @@ package org.vadere.simulator.projects.dataprocessing.processor;
 
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
 import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.TimestepPedestrianIdKey;
 import org.vadere.state.attributes.processor.AttributesProcessor;
@@ -51,6 +52,7 @@ public class PedestrianSpeedInAreaProcessorUsingAgentVelocity extends DataProces
 
 	// Variables
 	private MeasurementArea measurementArea;
+	private MeasurementAreaIndex measurementAreaIndex;
 	private PedestrianVelocityDefaultProcessor pedestrianVelocityDefaultProcessor;
 
 	// Constructors
@@ -75,6 +77,7 @@ public class PedestrianSpeedInAreaProcessorUsingAgentVelocity extends DataProces
 		// manager.getMeasurementArea() throws an exception if area is "null" or not rectangular. Though, no checks required here.
 		boolean rectangularAreaRequired = true;
 		measurementArea = manager.getMeasurementArea(processorAttributes.getMeasurementAreaId(), rectangularAreaRequired);
+		measurementAreaIndex = manager.getMeasurementAreaIndex();
 
 		pedestrianVelocityDefaultProcessor = (PedestrianVelocityDefaultProcessor) manager.getProcessor(processorAttributes.getPedestrianVelocityDefaultProcessorId());
 
@@ -100,7 +103,7 @@ public class PedestrianSpeedInAreaProcessorUsingAgentVelocity extends DataProces
 			double speed = ERROR_PED_NOT_IN_MEASUREMENT_AREA;
 			TimestepPedestrianIdKey rowKey = new TimestepPedestrianIdKey(state.getStep(), pedestrian.getId());
 
-			if (measurementArea.getShape().contains(pedestrian.getPosition())) {
+			if (measurementAreaIndex.contains(state, measurementArea.getShape(), pedestrian.getId())) {
 				speed = pedestrianVelocityDefaultProcessor.getValue(rowKey);
 			}
 
@@ -2,6 +2,7 @@ package org.vadere.simulator.projects.dataprocessing.processor;
 
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
 import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.PedestrianIdKey;
 import org.vadere.simulator.projects.dataprocessing.flags.UsesMeasurementArea;
@@ -9,7 +10,6 @@ import org.vadere.state.attributes.processor.AttributesPedestrianWaitingEndTimeP
 import org.vadere.state.attributes.processor.AttributesProcessor;
 import org.vadere.state.scenario.MeasurementArea;
 import org.vadere.state.scenario.Pedestrian;
-import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
 
 import java.util.Collection;
@@ -21,6 +21,7 @@ import java.util.Collection;
 public class PedestrianWaitingEndTimeProcessor extends DataProcessor<PedestrianIdKey, Double> implements UsesMeasurementArea {
 	private MeasurementArea waitingArea;
 	private VRectangle waitingAreaVRec;
+	private MeasurementAreaIndex measurementAreaIndex;
 
 	public PedestrianWaitingEndTimeProcessor() {
 		super("waitingEndTime");
@@ -29,15 +30,10 @@ public class PedestrianWaitingEndTimeProcessor extends DataProcessor<PedestrianI
 
 	@Override
 	protected void doUpdate(final SimulationState state) {
-		Collection<Pedestrian> peds = state.getTopography().getElements(Pedestrian.class);
+		Collection<Pedestrian> peds = measurementAreaIndex.getPedestrians(state, this.waitingAreaVRec);
 		for (Pedestrian p : peds) {
-			int pedId = p.getId();
-			VPoint pos = p.getPosition();
-
-			if (this.waitingAreaVRec.contains(pos)) {
-				PedestrianIdKey key = new PedestrianIdKey(pedId);
-				this.putValue(key, state.getSimTimeInSec());
-			}
+			PedestrianIdKey key = new PedestrianIdKey(p.getId());
+			this.putValue(key, state.getSimTimeInSec());
 		}
 	}
 
@@ -47,6 +43,7 @@ public class PedestrianWaitingEndTimeProcessor extends DataProcessor<PedestrianI
 		AttributesPedestrianWaitingEndTimeProcessor att = (AttributesPedestrianWaitingEndTimeProcessor) this.getAttributes();
 		this.waitingArea = manager.getMeasurementArea(att.getWaitingAreaId(), true);
 		waitingAreaVRec = waitingArea.asVRectangle();
+		this.measurementAreaIndex = manager.getMeasurementAreaIndex();
 	}
 
 	@Override
@@ -2,6 +2,7 @@ package org.vadere.simulator.projects.dataprocessing.processor;
 
 import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
 import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.PedestrianIdKey;
 import org.vadere.simulator.projects.dataprocessing.flags.UsesMeasurementArea;
@@ -9,7 +10,6 @@ import org.vadere.state.attributes.processor.AttributesPedestrianWaitingTimeProc
 import org.vadere.state.attributes.processor.AttributesProcessor;
 import org.vadere.state.scenario.MeasurementArea;
 import org.vadere.state.scenario.Pedestrian;
-import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
 
 import java.util.Collection;
@@ -22,6 +22,7 @@ public class PedestrianWaitingTimeProcessor extends DataProcessor<PedestrianIdKe
 	private double lastSimTime;
 	private MeasurementArea waitingArea;
 	private VRectangle waitingAreaRec;
+	private MeasurementAreaIndex measurementAreaIndex;
 
 	public PedestrianWaitingTimeProcessor() {
 		super("waitingTimeStart");
@@ -31,18 +32,13 @@ public class PedestrianWaitingTimeProcessor extends DataProcessor<PedestrianIdKe
 
 	@Override
 	protected void doUpdate(final SimulationState state) {
-		Collection<Pedestrian> peds = state.getTopography().getElements(Pedestrian.class);
+		Collection<Pedestrian> peds = measurementAreaIndex.getPedestrians(state, this.waitingAreaRec);
 
 		double dt = state.getSimTimeInSec() - this.lastSimTime;
 
 		for (Pedestrian p : peds) {
-			int pedId = p.getId();
-			VPoint pos = p.getPosition();
-
-			if (this.waitingAreaRec.contains(pos)) {
-				PedestrianIdKey key = new PedestrianIdKey(pedId);
-				this.putValue(key, (this.hasValue(key) ? this.getValue(key) : 0.0) + dt);
-			}
+			PedestrianIdKey key = new PedestrianIdKey(p.getId());
+			this.putValue(key, (this.hasValue(key) ? this.getValue(key) : 0.0) + dt);
 		}
 
 		this.lastSimTime = state.getSimTimeInSec();
@@ -54,6 +50,7 @@ public class PedestrianWaitingTimeProcessor extends DataProcessor<PedestrianIdKe
 		AttributesPedestrianWaitingTimeProcessor att = (AttributesPedestrianWaitingTimeProcessor) this.getAttributes();
 		this.waitingArea  = manager.getMeasurementArea(att.getWaitingAreaId(), true);
 		waitingAreaRec = waitingArea.asVRectangle();
+		this.measurementAreaIndex = manager.getMeasurementAreaIndex();
 		this.lastSimTime = 0.0;
 	}
 
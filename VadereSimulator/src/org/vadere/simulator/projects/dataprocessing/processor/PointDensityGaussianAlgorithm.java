@@ -4,6 +4,7 @@ import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.simulator.models.density.IGaussianFilter;
 import org.vadere.simulator.models.potential.timeCostFunction.loading.IPedestrianLoadingStrategy;
 import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.VPoint;
 
 /**
@@ -18,6 +19,7 @@ public class PointDensityGaussianAlgorithm extends PointDensityAlgorithm {
 
 	private IGaussianFilter obstacleFilter;
 	private IGaussianFilter pedestrianFilter;
+	private Topography pedestrianFilterTopography;
 
 	private boolean filteredObstacles;
 
@@ -48,13 +50,20 @@ public class PointDensityGaussianAlgorithm extends PointDensityAlgorithm {
 				this.filteredObstacles = true;
 			}
 
-			this.pedestrianFilter = IGaussianFilter.create(
-					state.getTopography().getBounds(),
-					state.getTopography().getElements(Pedestrian.class),
-					this.scale,
-					this.standDev,
-					state.getTopography().getAttributesPedestrian(),
-					IPedestrianLoadingStrategy.create());
+			// the filter reads the pedestrians of the topography, i.e. its grid is reused for each step
+			if (this.pedestrianFilterTopography != state.getTopography()) {
+				if (this.pedestrianFilter != null) {
+					this.pedestrianFilter.destroy();
+				}
+				this.pedestrianFilter = IGaussianFilter.create(
+						state.getTopography().getBounds(),
+						state.getTopography().getElements(Pedestrian.class),
+						this.scale,
+						this.standDev,
+						state.getTopography().getAttributesPedestrian(),
+						IPedestrianLoadingStrategy.create());
+				this.pedestrianFilterTopography = state.getTopography();
+			}
 			this.pedestrianFilter.filterImage();
 
 			this.lastStep = state.getStep();
@@ -0,0 +1,36 @@
+package org.vadere.simulator.projects.dataprocessing.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compression of an output file which can be selected for each file of the output definition,
+ * e.g. <tt>"compression" : "GZIP"</tt>. The extension of the compression is appended to the file name.
+ */
+public enum OutputCompression {
+	NONE(""),
+	GZIP(".gz");
+
+	private final String extension;
+
+	OutputCompression(final String extension) {
+		this.extension = extension;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * Wraps the <tt>stream</tt> such that everything written to it is compressed.
+	 */
+	public OutputStream compress(final OutputStream stream, final int bufferSize) throws IOException {
+		switch (this) {
+			case GZIP:
+				return new GZIPOutputStream(stream, bufferSize);
+			default:
+				return stream;
+		}
+	}
+}
@@ -1,7 +1,10 @@
 package org.vadere.simulator.projects.dataprocessing.writer;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UncheckedIOException;
 
@@ -12,11 +15,19 @@ import java.io.UncheckedIOException;
  */
 public class VadereFileWriter implements VadereWriter {
 
+	/** the size of the buffers of the text and of the compression. */
+	private static final int BUFFER_SIZE = 1 << 16;
+
 	PrintWriter w;
 
 	public VadereFileWriter(String absoluteFileName) {
+		this(absoluteFileName, OutputCompression.NONE);
+	}
+
+	public VadereFileWriter(String absoluteFileName, OutputCompression compression) {
 		try {
-			this.w = new PrintWriter(new FileWriter(absoluteFileName));
+			OutputStream stream = compression.compress(new FileOutputStream(absoluteFileName), BUFFER_SIZE);
+			this.w = new PrintWriter(new BufferedWriter(new OutputStreamWriter(stream), BUFFER_SIZE));
 		} catch (IOException e) {
 			throw new UncheckedIOException(e);
 		}
@@ -12,4 +12,11 @@ public abstract class VadereWriterFactory {
 
 	public abstract VadereWriter create(String path);
 
+	/**
+	 * Creates a writer whose output is compressed, writers which do not write files ignore the compression.
+	 */
+	public VadereWriter create(String path, OutputCompression compression) {
+		return create(path);
+	}
+
 }
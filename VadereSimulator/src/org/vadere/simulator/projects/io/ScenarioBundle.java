@@ -0,0 +1,340 @@
+package org.vadere.simulator.projects.io;
+
+import it.unimi.dsi.fastutil.io.FastBufferedInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.meshing.mesh.gen.AFace;
+import org.vadere.meshing.mesh.gen.AHalfEdge;
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AVertex;
+import org.vadere.meshing.utils.io.bin.MeshBinaryReader;
+import org.vadere.meshing.utils.io.bin.MeshBinaryWriter;
+import org.vadere.meshing.utils.io.poly.MeshPolyReader;
+import org.vadere.simulator.entrypoints.ScenarioFactory;
+import org.vadere.simulator.models.potential.fields.PotentialFieldDistancesBruteForce;
+import org.vadere.simulator.models.potential.solver.EikonalSolverCacheProvider;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.types.CacheType;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.io.IOUtils;
+import org.vadere.util.logging.Logger;
+import org.vadere.util.version.Version;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A {@link ScenarioBundle} is a single, versioned file containing everything which is required to start a
+ * simulation run without any preprocessing: the migrated scenario (including its topography), the binary
+ * obstacle distance field, the binary floor fields of all targets and the floor field and background meshes
+ * in the binary mesh format. Loading a bundle skips the migration, the mesh parsing and the floor field
+ * computation.
+ *
+ * The bundle is a zip archive with the following entries:
+ * <pre>
+ *     bundle.properties        format version, Vadere version and floor field hash
+ *     scenario.json            the migrated scenario
+ *     cache/[identifier]       binary caches, keyed by their {@link ScenarioCache} identifier
+ *     mesh/floorfield          optional floor field mesh ({@link MeshBinaryWriter} format)
+ *     mesh/background          optional background mesh ({@link MeshBinaryWriter} format)
+ * </pre>
+ */
+public class ScenarioBundle {
+
+	private static Logger logger = Logger.getLogger(ScenarioBundle.class);
+
+	public static final String BUNDLE_ENDING = ".vbundle";
+	public static final int BUNDLE_VERSION = 1;
+
+	private static final String PROPERTIES_ENTRY = "bundle.properties";
+	private static final String SCENARIO_ENTRY = "scenario.json";
+	private static final String CACHE_DIR = "cache/";
+	private static final String FLOOR_FIELD_MESH_ENTRY = "mesh/floorfield";
+	private static final String BACKGROUND_MESH_ENTRY = "mesh/background";
+
+	private static final String KEY_BUNDLE_VERSION = "bundleVersion";
+	private static final String KEY_VADERE_VERSION = "vadereVersion";
+	private static final String KEY_HASH = "floorFieldHash";
+
+	private final Scenario scenario;
+	private final Map<String, byte[]> caches;
+	private final AMesh floorFieldMesh;
+	private final AMesh backgroundMesh;
+
+	private ScenarioBundle(@NotNull final Scenario scenario,
+	                       @NotNull final Map<String, byte[]> caches,
+	                       @Nullable final AMesh floorFieldMesh,
+	                       @Nullable final AMesh backgroundMesh) {
+		this.scenario = scenario;
+		this.caches = caches;
+		this.floorFieldMesh = floorFieldMesh;
+		this.backgroundMesh = backgroundMesh;
+	}
+
+	public static boolean isBundle(@NotNull final Path path) {
+		return path.toString().endsWith(BUNDLE_ENDING);
+	}
+
+	public Scenario getScenario() {
+		return scenario;
+	}
+
+	public Optional<AMesh> getFloorFieldMesh() {
+		return Optional.ofNullable(floorFieldMesh);
+	}
+
+	public Optional<AMesh> getBackgroundMesh() {
+		return Optional.ofNullable(backgroundMesh);
+	}
+
+	/**
+	 * Builds a {@link ScenarioCache} which serves all floor fields contained in the bundle read-only.
+	 *
+	 * @param cacheParentDir parent directory used to resolve relative cache directories of the scenario
+	 *
+	 * @return the scenario cache
+	 */
+	public ScenarioCache createScenarioCache(@NotNull final Path cacheParentDir) {
+		ScenarioCache cache = ScenarioCache.load(scenario, cacheParentDir);
+		if (cache.isNotEmpty()) {
+			caches.forEach((identifier, data) -> cache.addReadOnlyCache(identifier, new ByteArrayInputStream(data)));
+		}
+		return cache;
+	}
+
+	/**
+	 * Compiles the scenario file into a bundle. Meshes are searched next to the scenario file in the same
+	 * location a {@link org.vadere.simulator.control.simulation.ScenarioRun} would search for them.
+	 * The floor fields are bundled as binary caches, i.e. the bundled scenario uses the cache type
+	 * {@link CacheType#BIN_CACHE}. Its cache directory is kept.
+	 *
+	 * @param scenarioFile  the scenario file, it will be migrated to the latest version
+	 * @param bundleFile    the destination
+	 *
+	 * @throws IOException if the scenario can not be read or the bundle can not be written
+	 */
+	public static void compile(@NotNull final Path scenarioFile, @NotNull final Path bundleFile) throws IOException {
+		Scenario scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
+		AMesh floorFieldMesh = readPolyMesh(scenarioFile, scenario.getName() + ".poly").orElse(null);
+		AMesh backgroundMesh = readPolyMesh(scenarioFile, scenario.getName() + IOUtils.BACKGROUND_MESH_ENDING + ".poly").orElse(null);
+
+		// the bundled floor fields are binary caches, therefore the bundled scenario reads binary caches
+		AttributesFloorField attFF = getAttributesFloorField(scenario);
+		if (attFF != null) {
+			attFF.setCacheType(CacheType.BIN_CACHE);
+		}
+
+		Map<String, byte[]> caches = new HashMap<>();
+		if (attFF != null) {
+			Path tmpDir = Files.createTempDirectory("vadere-bundle");
+			try {
+				// the caches are computed by a copy which writes them into the temporary directory
+				Scenario cacheScenario = scenario.clone();
+				getAttributesFloorField(cacheScenario).setCacheDir(tmpDir.toAbsolutePath().toString());
+				ScenarioCache cache = computeCaches(cacheScenario, tmpDir, floorFieldMesh);
+				for (String identifier : getCacheIdentifiers(cacheScenario, cache)) {
+					ICacheObject cacheObject = cache.getCache(identifier);
+					File file = new File(cacheObject.getCacheLocation());
+					if (file.isFile()) {
+						caches.put(identifier, Files.readAllBytes(file.toPath()));
+					} else {
+						logger.warnf("no floor field cache was computed for %s, it will be computed when the bundle is run.", identifier);
+					}
+				}
+			} finally {
+				FileUtils.deleteDirectory(tmpDir.toFile());
+			}
+		}
+
+		Properties properties = new Properties();
+		properties.setProperty(KEY_BUNDLE_VERSION, Integer.toString(BUNDLE_VERSION));
+		properties.setProperty(KEY_VADERE_VERSION, Version.latest().label());
+		String hash = ScenarioCache.getHash(scenario);
+		if (hash != null) {
+			properties.setProperty(KEY_HASH, hash);
+		}
+
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(bundleFile.toFile()))) {
+			out.setLevel(Deflater.BEST_SPEED);
+
+			out.putNextEntry(new ZipEntry(PROPERTIES_ENTRY));
+			properties.store(out, "Vadere scenario bundle");
+			out.closeEntry();
+
+			out.putNextEntry(new ZipEntry(SCENARIO_ENTRY));
+			out.write(JsonConverter.serializeScenarioRunManager(scenario, true).getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+
+			for (Map.Entry<String, byte[]> cache : caches.entrySet()) {
+				out.putNextEntry(new ZipEntry(CACHE_DIR + cache.getKey()));
+				out.write(cache.getValue());
+				out.closeEntry();
+			}
+
+			writeMesh(out, FLOOR_FIELD_MESH_ENTRY, floorFieldMesh);
+			writeMesh(out, BACKGROUND_MESH_ENTRY, backgroundMesh);
+		}
+		logger.infof("compiled scenario %s into %s (%d cached floor fields)", scenario.getName(), bundleFile.toAbsolutePath(), caches.size());
+	}
+
+	/**
+	 * Loads a bundle written by {@link #compile(Path, Path)}. The scenario is deserialized without migration.
+	 *
+	 * @param bundleFile the bundle
+	 *
+	 * @return the loaded bundle
+	 *
+	 * @throws IOException if the file is not a bundle or was written by an incompatible version
+	 */
+	public static ScenarioBundle load(@NotNull final Path bundleFile) throws IOException {
+		try (ZipFile zip = new ZipFile(bundleFile.toFile())) {
+			Properties properties = new Properties();
+			properties.load(getEntry(zip, PROPERTIES_ENTRY));
+
+			int bundleVersion = Integer.parseInt(properties.getProperty(KEY_BUNDLE_VERSION, "-1"));
+			if (bundleVersion != BUNDLE_VERSION) {
+				throw new IOException("unsupported scenario bundle version " + bundleVersion + " (expected " + BUNDLE_VERSION + ")");
+			}
+			String vadereVersion = properties.getProperty(KEY_VADERE_VERSION);
+			if (!Version.latest().label().equals(vadereVersion)) {
+				throw new IOException("scenario bundle was compiled for version " + vadereVersion + " but this is " + Version.latest().label() + ". Recompile the bundle.");
+			}
+
+			Scenario scenario = JsonConverter.deserializeScenarioRunManager(
+					new String(getEntry(zip, SCENARIO_ENTRY).readAllBytes(), StandardCharsets.UTF_8));
+
+			Map<String, byte[]> caches = new HashMap<>();
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.getName().startsWith(CACHE_DIR)) {
+					try (InputStream in = zip.getInputStream(entry)) {
+						caches.put(entry.getName().substring(CACHE_DIR.length()), in.readAllBytes());
+					}
+				}
+			}
+
+			return new ScenarioBundle(scenario, caches,
+					readMesh(zip, FLOOR_FIELD_MESH_ENTRY).orElse(null),
+					readMesh(zip, BACKGROUND_MESH_ENTRY).orElse(null));
+		}
+	}
+
+	/**
+	 * Recomputes the obstacle distance field and all target floor fields of the scenario and persists them
+	 * into <tt>cacheDir</tt>. Existing cache files in <tt>cacheDir</tt> are reused.
+	 *
+	 * @param scenario          the scenario, its floor field attributes define the cache type and location
+	 * @param cacheDir          the directory relative cache locations are resolved against
+	 * @param floorFieldMesh    the floor field mesh or <tt>null</tt>
+	 *
+	 * @return the cache pointing to the computed files
+	 */
+	public static ScenarioCache computeCaches(@NotNull final Scenario scenario, @NotNull final Path cacheDir, @Nullable final AMesh floorFieldMesh) {
+		AttributesFloorField attFF = getAttributesFloorField(scenario);
+		ScenarioCache cache = ScenarioCache.load(scenario, cacheDir.toAbsolutePath());
+
+		logger.infof("write Distance cache");
+		new PotentialFieldDistancesBruteForce(
+				scenario.getTopography().getObstacles().stream().map(obs -> obs.getShape()).collect(Collectors.toList()),
+				new VRectangle(scenario.getTopography().getBounds()),
+				new AttributesFloorField(), cache);
+
+		EikonalSolverCacheProvider provider = new EikonalSolverCacheProvider(cache);
+		for (Target target : scenario.getTopography().getTargets()) {
+			logger.infof("write cache for target %s", target.getId());
+			provider.provide(new Domain(floorFieldMesh, scenario.getTopography())
+					, target.getId()
+					, scenario.getTopography().getTargetShapes().get(target.getId())
+					, scenario.getTopography().getAttributesPedestrian()
+					, attFF);
+		}
+		return ScenarioCache.load(scenario, cacheDir.toAbsolutePath());
+	}
+
+	private static List<String> getCacheIdentifiers(@NotNull final Scenario scenario, @NotNull final ScenarioCache cache) {
+		List<String> identifiers = new ArrayList<>();
+		scenario.getTopography().getTargets().forEach(target -> identifiers.add(cache.targetToIdentifier(target.getId())));
+		identifiers.add(cache.distToIdentifier("BruteForce"));
+		return identifiers;
+	}
+
+	@Nullable
+	private static AttributesFloorField getAttributesFloorField(@NotNull final Scenario scenario) {
+		return scenario.getModelAttributes()
+				.stream()
+				.filter(a -> a instanceof AttributesFloorField)
+				.map(a -> (AttributesFloorField) a)
+				.findFirst().orElse(null);
+	}
+
+	private static Optional<AMesh> readPolyMesh(@NotNull final Path scenarioFile, @NotNull final String fileName) throws IOException {
+		Path path = scenarioFile.toAbsolutePath().getParent().resolve(IOUtils.MESH_DIR + "/" + fileName);
+		try (InputStream in = new FastBufferedInputStream(new FileInputStream(path.toFile()))) {
+			var meshReader = new MeshPolyReader<>(() -> new AMesh());
+			return Optional.of((AMesh) meshReader.readMesh(in));
+		} catch (FileNotFoundException e) {
+			logger.info("no mesh " + fileName + " was found.");
+			return Optional.empty();
+		}
+	}
+
+	private static void writeMesh(@NotNull final ZipOutputStream out, @NotNull final String entry, @Nullable final AMesh mesh) throws IOException {
+		if (mesh != null) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			new MeshBinaryWriter<AVertex, AHalfEdge, AFace>().write(mesh, Collections.emptyList(), bytes);
+			out.putNextEntry(new ZipEntry(entry));
+			bytes.writeTo(out);
+			out.closeEntry();
+		}
+	}
+
+	private static Optional<AMesh> readMesh(@NotNull final ZipFile zip, @NotNull final String entryName) throws IOException {
+		ZipEntry entry = zip.getEntry(entryName);
+		if (entry == null) {
+			return Optional.empty();
+		}
+		AMesh mesh = new AMesh();
+		try (InputStream in = zip.getInputStream(entry)) {
+			new MeshBinaryReader<AVertex, AHalfEdge, AFace>().read(mesh, in);
+		}
+		return Optional.of(mesh);
+	}
+
+	private static InputStream getEntry(@NotNull final ZipFile zip, @NotNull final String entryName) throws IOException {
+		ZipEntry entry = zip.getEntry(entryName);
+		if (entry == null) {
+			throw new IOException("invalid scenario bundle, missing entry " + entryName);
+		}
+		return zip.getInputStream(entry);
+	}
+}
@@ -0,0 +1,56 @@
+package org.vadere.simulator.utils.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.meshing.mesh.gen.PFace;
+import org.vadere.meshing.mesh.gen.PHalfEdge;
+import org.vadere.meshing.mesh.gen.PMesh;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.utils.io.bin.MeshBinaryReader;
+import org.vadere.meshing.utils.io.bin.MeshBinaryWriter;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.util.logging.Logger;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collections;
+
+public class MeshBinaryCacheObject extends AbstractCacheObject implements IMeshCacheObject {
+
+	private  static Logger logger = Logger.getLogger(MeshBinaryCacheObject.class);
+
+	public MeshBinaryCacheObject(@NotNull final String cacheIdentifier, @NotNull final File cacheLocation){
+		super(cacheIdentifier, cacheLocation);
+	}
+
+	public MeshBinaryCacheObject(@NotNull final String cacheIdentifier, final File cacheLocation, @NotNull final InputStream inputStream) {
+		super(cacheIdentifier, cacheLocation, inputStream);
+	}
+
+	@Override
+	public void initializeObjectFromCache(@NotNull final PMesh mesh) throws CacheException {
+		try {
+			logger.infof("read cache: %s", getCacheLocation());
+			new MeshBinaryReader<PVertex, PHalfEdge, PFace>().read(mesh, inputStream);
+		} catch (Exception e) {
+			throw new CacheException("Cannot load cache from BIN InputStream", e);
+		}
+	}
+
+	@Override
+	public void persistObject(@NotNull final PMesh mesh) throws CacheException {
+		try {
+			new MeshBinaryWriter<PVertex, PHalfEdge, PFace>().write(mesh, Collections.singletonList(MeshEikonalSolverFMM.namePotential), cacheLocation);
+		} catch (Exception e) {
+			logger.errorf("cannot save cache %s", cacheLocation.getAbsolutePath());
+		}
+	}
+
+	@Override
+	public String getCacheLocation() {
+		if (cacheLocation != null ){
+			return cacheLocation.getAbsolutePath();
+		} else {
+			return "provided via TraCI";
+		}
+	}
+}
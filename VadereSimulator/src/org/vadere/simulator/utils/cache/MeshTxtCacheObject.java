@@ -34,7 +34,10 @@ public class MeshTxtCacheObject extends AbstractCacheObject implements IMeshCach
 	@Override
 	public void initializeObjectFromCache(@NotNull final PMesh mesh) throws CacheException {
 		try {
-			MeshPolyReader<PVertex, PHalfEdge, PFace> meshPolyReader = new MeshPolyReader<>(() -> new PMesh());
+			MeshPolyReader<PVertex, PHalfEdge, PFace> meshPolyReader = new MeshPolyReader<>(() -> {
+				mesh.clear();
+				return mesh;
+			});
 			InputStream fastInputStream = new FastBufferedInputStream(inputStream);
 			meshPolyReader.readMesh(fastInputStream, i -> MeshEikonalSolverFMM.namePotential);
 		} catch (IOException e) {
@@ -6,7 +6,6 @@ import org.vadere.simulator.projects.Scenario;
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.scenario.Topography;
 import org.vadere.state.types.CacheType;
-import org.vadere.state.types.EikonalSolverType;
 import org.vadere.state.util.StateJsonConverter;
 import org.vadere.util.config.VadereConfig;
 import org.vadere.util.logging.Logger;
@@ -27,6 +26,7 @@ public class ScenarioCache {
 	private static final String Distance_FF = "_distanceFF_";
 	private static final String txt_sufix = ".txt";
 	private static final String bin_sufix = ".ffcache";
+	private static final String mesh_bin_sufix = ".meshcache";
 
 	private boolean empty;
 	final private Scenario scenario;
@@ -115,18 +115,19 @@ public class ScenarioCache {
 		// add target cache
 		scenario.getTopography().getTargets().forEach(target -> {
 			String cacheIdentifier = targetToIdentifier(target.getId());
-			addCacheByType(attFF.getCreateMethod(), attFF.getCacheType(), cacheIdentifier);
+			addCacheByType(attFF.getCreateMethod().isUsingCellGrid(), attFF.getCacheType(), cacheIdentifier);
 		});
 
 		// add BruteForce DistFunction //todo should be configured in scenario
+		// the distance function is always computed on a CellGrid independent of the floor field solver.
 		String cacheIdentifier = distToIdentifier("BruteForce");
-		addCacheByType(attFF.getCreateMethod(), attFF.getCacheType(), cacheIdentifier);
+		addCacheByType(true, attFF.getCacheType(), cacheIdentifier);
 	}
 
-	private void addCacheByType(EikonalSolverType eikType, CacheType cacheType, String cacheIdentifier){
+	private void addCacheByType(boolean usingCellGrid, CacheType cacheType, String cacheIdentifier){
 
 		File file;
-		if (eikType.isUsingCellGrid()){
+		if (usingCellGrid){
 			if(cacheType == CacheType.TXT_CACHE){
 				file = buildCsvCachePath(cacheIdentifier).toFile();
 				cacheMap.put(cacheIdentifier, new CellGridTxtCacheObject(cacheIdentifier, file));
@@ -138,6 +139,9 @@ public class ScenarioCache {
 			if(cacheType == CacheType.TXT_CACHE){
 				file = buildCsvCachePath(cacheIdentifier).toFile();
 				cacheMap.put(cacheIdentifier, new MeshTxtCacheObject(cacheIdentifier, file));
+			} else {
+				file = buildMeshBinCachePath(cacheIdentifier).toFile();
+				cacheMap.put(cacheIdentifier, new MeshBinaryCacheObject(cacheIdentifier, file));
 			}
 		}
 	}
@@ -150,6 +154,10 @@ public class ScenarioCache {
 		return cachePath.resolve(hash +  floorFieldIdentifier + bin_sufix);
 	}
 
+	private Path buildMeshBinCachePath(String floorFieldIdentifier){
+		return cachePath.resolve(hash +  floorFieldIdentifier + mesh_bin_sufix);
+	}
+
 	public String targetToIdentifier(int targetId){
 		return TARGET_FF + targetId;
 	}
@@ -164,7 +172,11 @@ public class ScenarioCache {
 			throw new IllegalStateException("Empty cache object.");
 		switch (attFF.getCacheType()) {
 			case BIN_CACHE:
-				cacheMap.put(cacheIdentifier, new CellGridBinaryCacheObject(cacheIdentifier, null, new DataInputStream(new FastBufferedInputStream(stream))));
+				if (attFF.getCreateMethod().isUsingCellGrid() || cacheIdentifier.startsWith(Distance_FF)){
+					cacheMap.put(cacheIdentifier, new CellGridBinaryCacheObject(cacheIdentifier, null, new DataInputStream(new FastBufferedInputStream(stream))));
+				} else {
+					cacheMap.put(cacheIdentifier, new MeshBinaryCacheObject(cacheIdentifier, null, stream));
+				}
 				logger.infof("binary cache loaded for identifier: %s", cacheIdentifier);
 				break;
 			case TXT_CACHE:
@@ -0,0 +1,48 @@
+package org.vadere.simulator.utils.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.logging.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Floor fields shared by concurrent simulations of the same topography, e.g. the runs of a server which
+ * serves multiple TraCI clients with the same scenario but different seeds. The entries are keyed by the
+ * floor field hash (see {@link ScenarioCache#getHash}) and reference counted: each run acquires the entry
+ * of its hash at the start and releases it at the end, the last release drops the floor fields.
+ *
+ * Only read-only objects, i.e. static floor fields and distance functions, must be shared.
+ */
+public class SharedFloorFieldRegistry {
+
+	private static Logger logger = Logger.getLogger(SharedFloorFieldRegistry.class);
+
+	private final Map<String, SharedFloorFields> entries = new HashMap<>();
+
+	/**
+	 * Returns the shared floor fields of the given hash and increments their reference count. Each call
+	 * has to be followed by exactly one {@link SharedFloorFields#release()}.
+	 */
+	public synchronized SharedFloorFields acquire(@NotNull final String hash) {
+		SharedFloorFields sharedFloorFields = entries.computeIfAbsent(hash, h -> new SharedFloorFields(this, h));
+		sharedFloorFields.references++;
+		logger.infof("acquire shared floor fields %s (references: %d)", hash, sharedFloorFields.references);
+		return sharedFloorFields;
+	}
+
+	synchronized void release(@NotNull final SharedFloorFields sharedFloorFields) {
+		if (sharedFloorFields.references <= 0) {
+			throw new IllegalStateException("Shared floor fields " + sharedFloorFields.getHash() + " already released.");
+		}
+		sharedFloorFields.references--;
+		if (sharedFloorFields.references == 0) {
+			entries.remove(sharedFloorFields.getHash());
+		}
+		logger.infof("release shared floor fields %s (references: %d)", sharedFloorFields.getHash(), sharedFloorFields.references);
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+}
@@ -0,0 +1,83 @@
+package org.vadere.simulator.utils.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * The floor fields of one floor field hash, shared by all runs which acquired them from the
+ * {@link SharedFloorFieldRegistry}. Each object is computed once: a run requesting an object which is
+ * being computed by another run waits for the result instead of computing it a second time.
+ */
+public class SharedFloorFields {
+
+	private static final String TARGET_FF = "_targetFF_";
+	private static final String DISTANCE_FF = "_distanceFF_";
+
+	private final SharedFloorFieldRegistry registry;
+	private final String hash;
+	private final ConcurrentHashMap<String, FutureTask<Object>> objects;
+
+	// guarded by the registry
+	int references;
+
+	SharedFloorFields(@NotNull final SharedFloorFieldRegistry registry, @NotNull final String hash) {
+		this.registry = registry;
+		this.hash = hash;
+		this.objects = new ConcurrentHashMap<>();
+		this.references = 0;
+	}
+
+	public static String targetToIdentifier(int targetId) {
+		return TARGET_FF + targetId;
+	}
+
+	public static String distToIdentifier(String name) {
+		return DISTANCE_FF + name;
+	}
+
+	/**
+	 * Returns the object of the given identifier, computed by <tt>supplier</tt> if no run has computed it
+	 * before. If the computation fails, the next call computes it again.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T computeIfAbsent(@NotNull final String identifier, @NotNull final Supplier<T> supplier) {
+		FutureTask<Object> task = new FutureTask<>(supplier::get);
+		FutureTask<Object> present = objects.putIfAbsent(identifier, task);
+		if (present == null) {
+			present = task;
+			task.run();
+		}
+
+		try {
+			return (T) present.get();
+		} catch (ExecutionException e) {
+			objects.remove(identifier, present);
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Cannot compute shared floor field " + identifier, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for shared floor field " + identifier, e);
+		}
+	}
+
+	public boolean contains(@NotNull final String identifier) {
+		return objects.containsKey(identifier);
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	/**
+	 * Releases the floor fields acquired by {@link SharedFloorFieldRegistry#acquire(String)}.
+	 */
+	public void release() {
+		registry.release(this);
+	}
+}
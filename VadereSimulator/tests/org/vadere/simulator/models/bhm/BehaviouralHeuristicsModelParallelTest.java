@@ -0,0 +1,145 @@
+package org.vadere.simulator.models.bhm;
+
+import org.junit.Test;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.reflection.ReflectionHelper;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.attributes.models.AttributesBHM;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesCar;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.attributes.scenario.AttributesTopography;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the parallel update of the {@link BehaviouralHeuristicsModel}: the trajectories must not depend on the
+ * number of threads and the linked cells grid has to stay consistent with the positions of the pedestrians.
+ */
+public class BehaviouralHeuristicsModelParallelTest {
+
+	private static final int NUMBER_OF_ROWS = 15;
+	private static final int NUMBER_OF_COLUMNS = 10;
+	private static final int NUMBER_OF_STEPS = 50;
+	private static final double TIME_STEP_IN_SEC = 0.4;
+
+	@Test
+	public void testTrajectoriesDoNotDependOnNumberOfThreads() throws Exception {
+		List<List<VPoint>> singleThreaded = simulate(1);
+		List<List<VPoint>> multiThreaded = simulate(4);
+
+		assertEquals(singleThreaded.size(), multiThreaded.size());
+		for (int step = 0; step < singleThreaded.size(); step++) {
+			assertEquals("positions differ in step " + step, singleThreaded.get(step), multiThreaded.get(step));
+		}
+
+		// the pedestrians actually walked
+		assertTrue(!multiThreaded.get(0).equals(multiThreaded.get(multiThreaded.size() - 1)));
+	}
+
+	@Test
+	public void testRepeatedRunsAreEqual() throws Exception {
+		assertEquals(simulate(4), simulate(4));
+	}
+
+	private List<List<VPoint>> simulate(final int numberOfThreads) throws Exception {
+		AttributesTopography attributesTopography = new AttributesTopography();
+		attributesTopography.setBounds(new VRectangle(0, 0, 40, 20));
+		Topography topography = new Topography(attributesTopography, new AttributesAgent(), new AttributesCar());
+		for (Obstacle obstacle : Topography.createObstacleBoundary(topography)) {
+			topography.addBoundary(obstacle);
+		}
+
+		// a wall with two bottlenecks between the two groups
+		topography.addObstacle(new Obstacle(new AttributesObstacle(101, new VRectangle(20, 0.5, 1, 5.5))));
+		topography.addObstacle(new Obstacle(new AttributesObstacle(102, new VRectangle(20, 7, 1, 6))));
+		topography.addObstacle(new Obstacle(new AttributesObstacle(103, new VRectangle(20, 14, 1, 5.5))));
+
+		Target right = new Target(new AttributesTarget());
+		right.setShape(new VRectangle(36, 1, 3, 18));
+		right.getAttributes().setId(1);
+		topography.addTarget(right);
+
+		Target left = new Target(new AttributesTarget());
+		left.setShape(new VRectangle(0.5, 1, 1, 18));
+		left.getAttributes().setId(2);
+		topography.addTarget(left);
+
+		AttributesBHM attributesBHM = new AttributesBHM();
+		ReflectionHelper.create(attributesBHM).setValOfFile("parallelUpdate", true);
+		ReflectionHelper.create(attributesBHM).setValOfFile("numberOfThreads", numberOfThreads);
+		List<Attributes> attributesList = new ArrayList<>();
+		attributesList.add(attributesBHM);
+
+		BehaviouralHeuristicsModel bhm = new BehaviouralHeuristicsModel();
+		bhm.initialize(attributesList, new Domain(topography), new AttributesAgent(), new Random(1));
+		List<Model> models = new ArrayList<>(bhm.getSubmodels());
+
+		double simTimeInSec = 0;
+		for (Model model : models) {
+			model.preLoop(simTimeInSec);
+		}
+
+		int id = 1;
+		for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+			for (int column = 0; column < NUMBER_OF_COLUMNS; column++) {
+				addPedestrian(topography, bhm, id++, new VPoint(2 + column * 0.6, 2 + row * 1.1), right);
+				addPedestrian(topography, bhm, id++, new VPoint(33 - column * 0.6, 2 + row * 1.1), left);
+			}
+		}
+
+		Collection<Pedestrian> pedestrians = topography.getElements(Pedestrian.class);
+		List<List<VPoint>> positions = new ArrayList<>();
+		positions.add(getPositions(topography));
+		try {
+			for (int step = 0; step < NUMBER_OF_STEPS; step++) {
+				simTimeInSec += TIME_STEP_IN_SEC;
+				for (Model model : models) {
+					model.update(simTimeInSec);
+				}
+				positions.add(getPositions(topography));
+
+				assertTrue("the linked cells grid does not match the pedestrians in step " + step,
+						topography.getSpatialMap(Pedestrian.class).isConsistent(pedestrians));
+			}
+		} finally {
+			for (Model model : models) {
+				model.postLoop(simTimeInSec);
+			}
+		}
+		return positions;
+	}
+
+	private void addPedestrian(final Topography topography, final BehaviouralHeuristicsModel bhm, final int id,
+	                           final VPoint position, final Target target) {
+		PedestrianBHM pedestrian = bhm.createElement(position, id, Pedestrian.class);
+		LinkedList<Integer> targets = new LinkedList<>();
+		targets.add(target.getId());
+		pedestrian.setTargets(targets);
+		topography.addElement(pedestrian);
+	}
+
+	private List<VPoint> getPositions(final Topography topography) {
+		return topography.getElements(Pedestrian.class).stream()
+				.sorted(Comparator.comparingInt(Pedestrian::getId))
+				.map(Pedestrian::getPosition)
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,152 @@
+package org.vadere.simulator.models.bhm;
+
+import org.junit.Test;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.reflection.ReflectionHelper;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.attributes.models.AttributesBHM;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesCar;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.attributes.scenario.AttributesTopography;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Regression test of the {@link ProximityIndex}: the trajectories of the {@link BehaviouralHeuristicsModel} have to
+ * be equal to the trajectories computed by testing all pedestrians and obstacles.
+ */
+public class ProximityIndexTest {
+
+	private static final int NUMBER_OF_ROWS = 15;
+	private static final int NUMBER_OF_COLUMNS = 10;
+	private static final int NUMBER_OF_STEPS = 50;
+	private static final double TIME_STEP_IN_SEC = 0.4;
+
+	@Test
+	public void testTrajectoriesEqualBruteForce() {
+		assertTrajectoriesEqualBruteForce(new AttributesBHM());
+	}
+
+	/**
+	 * Without tangential evasion each step is tested for collisions with other pedestrians.
+	 */
+	@Test
+	public void testTrajectoriesEqualBruteForceWithoutTangentialEvasion() throws Exception {
+		AttributesBHM attributesBHM = new AttributesBHM();
+		ReflectionHelper.create(attributesBHM).setValOfFile("tangentialEvasion", false);
+		assertTrajectoriesEqualBruteForce(attributesBHM);
+	}
+
+	private void assertTrajectoriesEqualBruteForce(final AttributesBHM attributesBHM) {
+		List<List<VPoint>> indexed = simulate(attributesBHM, true);
+		List<List<VPoint>> bruteForce = simulate(attributesBHM, false);
+
+		assertEquals(bruteForce.size(), indexed.size());
+		for (int step = 0; step < bruteForce.size(); step++) {
+			assertEquals(bruteForce.get(step).size(), indexed.get(step).size());
+			for (int i = 0; i < bruteForce.get(step).size(); i++) {
+				assertEquals("position of pedestrian " + i + " differs in step " + step,
+						bruteForce.get(step).get(i), indexed.get(step).get(i));
+			}
+		}
+
+		// the pedestrians actually walked
+		assertTrue(!indexed.get(0).equals(indexed.get(indexed.size() - 1)));
+	}
+
+	private List<List<VPoint>> simulate(final AttributesBHM attributesBHM, final boolean useIndex) {
+		AttributesTopography attributesTopography = new AttributesTopography();
+		attributesTopography.setBounds(new VRectangle(0, 0, 40, 20));
+		Topography topography = new Topography(attributesTopography, new AttributesAgent(), new AttributesCar());
+		for (Obstacle obstacle : Topography.createObstacleBoundary(topography)) {
+			topography.addBoundary(obstacle);
+		}
+
+		// a wall with two bottlenecks between the pedestrians and the target
+		addObstacle(topography, 101, new VRectangle(20, 0.5, 1, 5.5));
+		addObstacle(topography, 102, new VRectangle(20, 7, 1, 6));
+		addObstacle(topography, 103, new VRectangle(20, 14, 1, 5.5));
+
+		Target right = new Target(new AttributesTarget());
+		right.setShape(new VRectangle(36, 1, 3, 18));
+		right.getAttributes().setId(1);
+		topography.addTarget(right);
+
+		Target left = new Target(new AttributesTarget());
+		left.setShape(new VRectangle(0.5, 1, 1, 18));
+		left.getAttributes().setId(2);
+		topography.addTarget(left);
+
+		List<Attributes> attributesList = new ArrayList<>();
+		attributesList.add(attributesBHM);
+
+		BehaviouralHeuristicsModel bhm = new BehaviouralHeuristicsModel();
+		bhm.initialize(attributesList, new Domain(topography), new AttributesAgent(), new Random(1));
+		List<Model> models = new ArrayList<>(bhm.getSubmodels());
+
+		double simTimeInSec = 0;
+		for (Model model : models) {
+			model.preLoop(simTimeInSec);
+		}
+
+		// two groups walking in opposite directions through the bottlenecks
+		int id = 1;
+		for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+			for (int column = 0; column < NUMBER_OF_COLUMNS; column++) {
+				addPedestrian(topography, bhm, id++, new VPoint(2 + column * 0.6, 2 + row * 1.1), right, useIndex);
+				addPedestrian(topography, bhm, id++, new VPoint(33 - column * 0.6, 2 + row * 1.1), left, useIndex);
+			}
+		}
+
+		List<List<VPoint>> positions = new ArrayList<>();
+		positions.add(getPositions(topography));
+		for (int step = 0; step < NUMBER_OF_STEPS; step++) {
+			simTimeInSec += TIME_STEP_IN_SEC;
+			for (Model model : models) {
+				model.update(simTimeInSec);
+			}
+			positions.add(getPositions(topography));
+		}
+		return positions;
+	}
+
+	private void addPedestrian(final Topography topography, final BehaviouralHeuristicsModel bhm, final int id,
+	                           final VPoint position, final Target target, final boolean useIndex) {
+		PedestrianBHM pedestrian = bhm.createElement(position, id, Pedestrian.class);
+		if (!useIndex) {
+			pedestrian.setProximityIndex(null);
+		}
+		LinkedList<Integer> targets = new LinkedList<>();
+		targets.add(target.getId());
+		pedestrian.setTargets(targets);
+		topography.addElement(pedestrian);
+	}
+
+	private void addObstacle(final Topography topography, final int id, final VRectangle shape) {
+		topography.addObstacle(new Obstacle(new AttributesObstacle(id, shape)));
+	}
+
+	private List<VPoint> getPositions(final Topography topography) {
+		return topography.getElements(Pedestrian.class).stream()
+				.sorted(Comparator.comparingInt(Pedestrian::getId))
+				.map(Pedestrian::getPosition)
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,85 @@
+package org.vadere.simulator.models.osm.optimization;
+
+import org.apache.commons.math.ConvergenceException;
+import org.apache.commons.math.FunctionEvaluationException;
+import org.apache.commons.math.analysis.MultivariateRealFunction;
+import org.apache.commons.math.analysis.UnivariateRealFunction;
+import org.apache.commons.math.optimization.GoalType;
+import org.apache.commons.math.optimization.OptimizationException;
+import org.apache.commons.math.optimization.RealPointValuePair;
+import org.apache.commons.math.optimization.direct.NelderMead;
+import org.apache.commons.math.optimization.univariate.BrentOptimizer;
+import org.apache.commons.math.util.MathUtils;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the allocation free optimizers of the step circle optimizers with the commons-math
+ * optimizers they replace.
+ */
+public class TestNelderMead2D {
+
+	/**
+	 * A bumpy function on a disc with radius 1 around (0.5, -0.3) like the potential on the step circle.
+	 */
+	private final DoubleBinaryOperator potential = (x, y) -> {
+		double dx = x - 0.5;
+		double dy = y + 0.3;
+		if(dx * dx + dy * dy > 1.0) {
+			return 100000;
+		}
+		return (x - 1.2) * (x - 1.2) + 2 * (y - 0.1) * (y - 0.1) + 0.3 * Math.sin(5 * x) * Math.cos(3 * y);
+	};
+
+	private final DoubleUnaryOperator potentialAtAngle = angle -> Math.cos(angle) + 0.5 * Math.sin(3 * angle + 0.2);
+
+	@Test
+	public void testNelderMeadEqualsCommonsMath() throws FunctionEvaluationException, OptimizationException {
+		Random random = new Random(0);
+		NelderMead2D nelderMead = new NelderMead2D();
+		NelderMead reference = new NelderMead();
+		MultivariateRealFunction function = point -> potential.applyAsDouble(point[0], point[1]);
+
+		for(int i = 0; i < 200; i++) {
+			double step = 0.05 + 0.5 * random.nextDouble();
+			double x0 = 0.5 + random.nextDouble() - 0.5;
+			double y0 = -0.3 + random.nextDouble() - 0.5;
+			double[][] simplex = {{0, 0}, {step, step * random.nextDouble()}, {step * random.nextDouble(), -step}};
+
+			reference.setStartConfiguration(simplex);
+			reference.setConvergenceChecker(new NelderMeadConvergenceChecker());
+			RealPointValuePair expected = reference.optimize(function, GoalType.MINIMIZE, new double[]{x0, y0});
+
+			nelderMead.setStartConfiguration(simplex[1][0], simplex[1][1], simplex[2][0], simplex[2][1]);
+			double value = nelderMead.minimize(potential, x0, y0);
+
+			assertEquals(expected.getValue(), value, 0.0);
+			assertEquals(expected.getPoint()[0], nelderMead.getX(), 0.0);
+			assertEquals(expected.getPoint()[1], nelderMead.getY(), 0.0);
+			assertEquals(reference.getEvaluations(), nelderMead.getEvaluations());
+		}
+	}
+
+	@Test
+	public void testBrentEqualsCommonsMath() throws FunctionEvaluationException, ConvergenceException {
+		BrentMinimizer brent = new BrentMinimizer(100 * MathUtils.EPSILON, 100 * MathUtils.EPSILON, 100);
+		BrentOptimizer reference = new BrentOptimizer();
+		reference.setAbsoluteAccuracy(100 * MathUtils.EPSILON);
+		reference.setRelativeAccuracy(100 * MathUtils.EPSILON);
+		UnivariateRealFunction function = potentialAtAngle::applyAsDouble;
+
+		for(int i = 0; i < 8; i++) {
+			double start = 2 * Math.PI / 8 * (i + 0.3);
+			double expected = reference.optimize(function, GoalType.MINIMIZE, 0, 2 * Math.PI, start);
+			double minimum = brent.minimize(potentialAtAngle, 0, 2 * Math.PI, start);
+
+			assertEquals(expected, minimum, 0.0);
+			assertEquals(reference.getFunctionValue(), brent.getValue(), 0.0);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package org.vadere.simulator.models.osm.optimization;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.osm.OptimalStepsModel;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.reflection.ReflectionHelper;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.attributes.models.AttributesOSM;
+import org.vadere.state.attributes.models.AttributesPotentialCompactSoftshell;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesCar;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.attributes.scenario.AttributesTopography;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.GeometryUtils;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the batch evaluation of {@link StepCircleOptimizerDiscrete} with the evaluation of single points by
+ * {@link PotentialEvaluationFunction} for agents with neighbours in front of small walls.
+ */
+public class TestStepCircleOptimizerDiscrete {
+
+	private Topography topography;
+	private List<PedestrianOSM> pedestrians;
+
+	@Before
+	public void setUp() throws Exception {
+		AttributesTopography attributesTopography = new AttributesTopography();
+		attributesTopography.setBounds(new VRectangle(0, 0, 12, 10));
+		topography = new Topography(attributesTopography, new AttributesAgent(), new AttributesCar());
+
+		Target target = new Target(new AttributesTarget());
+		target.setShape(new VRectangle(10, 1, 1, 8));
+		target.getAttributes().setId(1);
+		topography.addTarget(target);
+
+		// small walls of all obstacle shapes between the agents and the target
+		topography.addObstacle(new Obstacle(new AttributesObstacle(2, new VRectangle(3, 1, 0.05, 3))));
+		topography.addObstacle(new Obstacle(new AttributesObstacle(3, GeometryUtils.polygonFromPoints2D(
+				new VPoint(3, 5), new VPoint(3.05, 5), new VPoint(3.05, 8), new VPoint(3, 8)))));
+		topography.addObstacle(new Obstacle(new AttributesObstacle(4, new VCircle(new VPoint(3.1, 4.5), 0.1))));
+
+		AttributesOSM attributesOSM = new AttributesOSM();
+		ReflectionHelper.create(attributesOSM).setValOfFile("seeSmallWalls", true);
+		List<Attributes> attributesList = new ArrayList<>();
+		attributesList.add(attributesOSM);
+		attributesList.add(new AttributesFloorField());
+		attributesList.add(new AttributesPotentialCompactSoftshell());
+
+		OptimalStepsModel osm = new OptimalStepsModel();
+		osm.initialize(attributesList, new Domain(topography), new AttributesAgent(), new Random(1));
+		for (Model model : osm.getSubmodels()) {
+			model.preLoop(0);
+		}
+
+		pedestrians = new ArrayList<>();
+		int id = 1;
+		for (double y = 2; y < 8; y += 0.5) {
+			for (double x = 2.1; x < 3; x += 0.4) {
+				PedestrianOSM pedestrian = osm.createElement(new VPoint(x, y), id++, Pedestrian.class);
+				LinkedList<Integer> targets = new LinkedList<>();
+				targets.add(target.getId());
+				pedestrian.setTargets(targets);
+				topography.addElement(pedestrian);
+				pedestrians.add(pedestrian);
+			}
+		}
+	}
+
+	@Test
+	public void testBatchEqualsSinglePointEvaluation() {
+		Random random = new Random(0);
+		StepCircleOptimizerDiscrete optimizer = new StepCircleOptimizerDiscrete(0, random);
+		int numberOfBlockedPositions = 0;
+
+		for (PedestrianOSM pedestrian : pedestrians) {
+			pedestrian.refreshRelevantPedestrians();
+			assertTrue(pedestrian.getRelevantPedestrians().size() > 1);
+
+			double stepSize = pedestrian.getDesiredStepSize();
+			List<VPoint> positions = StepCircleOptimizerDiscrete.getReachablePositions(pedestrian,
+					new VCircle(pedestrian.getPosition(), stepSize), random);
+
+			// the potentials of the batch are equal to the potentials of single points
+			double[] potentials = pedestrian.getPotentials(positions);
+			for (int i = 0; i < positions.size(); i++) {
+				assertEquals(pedestrian.getPotential(positions.get(i)), potentials[i], 1e-12);
+			}
+
+			// the optimizer applies the same constraint as the evaluation of single points
+			PotentialEvaluationFunction function = new PotentialEvaluationFunction(pedestrian);
+			function.setStepSize(stepSize);
+			VPoint expectedPosition = pedestrian.getPosition();
+			double potential = pedestrian.getPotential(expectedPosition);
+			for (VPoint position : positions) {
+				double value = function.value(new double[] { position.x, position.y });
+				if (value == StepCircleConstraint.OUTSIDE_VALUE) {
+					numberOfBlockedPositions++;
+				}
+				if (value < potential) {
+					potential = value;
+					expectedPosition = position;
+				}
+			}
+
+			assertEquals(expectedPosition, optimizer.getNextPosition(pedestrian, positions, stepSize));
+		}
+
+		assertTrue(numberOfBlockedPositions > 0);
+	}
+}
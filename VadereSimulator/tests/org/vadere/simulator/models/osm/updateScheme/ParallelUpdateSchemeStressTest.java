@@ -0,0 +1,212 @@
+package org.vadere.simulator.models.osm.updateScheme;
+
+import org.junit.Test;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.osm.OSMBehaviorController;
+import org.vadere.simulator.models.osm.OptimalStepsModel;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.reflection.ReflectionHelper;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.attributes.models.AttributesOSM;
+import org.vadere.state.attributes.models.AttributesPotentialCompactSoftshell;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesCar;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.attributes.scenario.AttributesTopography;
+import org.vadere.state.psychology.perception.types.ElapsedTime;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.state.types.UpdateType;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.io.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stress test of the {@link org.vadere.state.scenario.DynamicElementContainer} under the parallel update schemes:
+ * many agents read and move through the container at the same time and the linked cells grid has to stay
+ * consistent with the positions of the agents. The agents are moved without a global lock on the topography.
+ */
+public class ParallelUpdateSchemeStressTest {
+
+	private static final int NUMBER_OF_ROWS = 20;
+	private static final int NUMBER_OF_COLUMNS = 20;
+	private static final int NUMBER_OF_STEPS = 20;
+	private static final double TIME_STEP_IN_SEC = 0.4;
+	private static final int NUMBER_OF_THREADS = 8;
+
+	@Test
+	public void testUpdateSchemeParallel() throws Exception {
+		runStressTest(UpdateType.PARALLEL);
+	}
+
+	@Test
+	public void testUpdateSchemeEventDrivenParallel() throws Exception {
+		runStressTest(UpdateType.EVENT_DRIVEN_PARALLEL);
+	}
+
+	/**
+	 * Steps and rollbacks of the {@link UpdateSchemeParallel} are executed concurrently by the
+	 * {@link OSMBehaviorController}. The steps are long enough to move agents between the cells of
+	 * the linked cells grid.
+	 */
+	@Test
+	public void testConcurrentStepsAndUndos() throws Exception {
+		Topography topography = createTopography();
+		OptimalStepsModel osm = createModel(topography, UpdateType.PARALLEL);
+		double initialX = addPedestrians(topography, osm);
+		OSMBehaviorController controller = new OSMBehaviorController();
+		Random random = new Random(1);
+
+		List<PedestrianOSM> pedestrians = new ArrayList<>(CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class));
+		ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+		try {
+			for (int step = 0; step < NUMBER_OF_STEPS; step++) {
+				List<VPoint> positions = new ArrayList<>();
+				for (PedestrianOSM pedestrian : pedestrians) {
+					positions.add(pedestrian.getPosition());
+					pedestrian.setTimeOfNextStep(pedestrian.getTrajectory().getEndTime().orElse(0.0) + TIME_STEP_IN_SEC);
+					pedestrian.setNextPosition(pedestrian.getPosition().add(new VPoint(random.nextDouble() * 0.8, random.nextDouble() * 0.8 - 0.4)));
+				}
+
+				forEachConcurrently(executorService, pedestrians, pedestrian -> controller.makeStep(pedestrian, topography, TIME_STEP_IN_SEC));
+				assertTrue("the linked cells grid does not match the agents after the steps " + step,
+						topography.getSpatialMap(Pedestrian.class).isConsistent(pedestrians));
+
+				// roll back every second step
+				List<PedestrianOSM> undoPedestrians = new ArrayList<>();
+				for (PedestrianOSM pedestrian : pedestrians) {
+					if ((pedestrian.getId() + step) % 2 == 0) {
+						undoPedestrians.add(pedestrian);
+					}
+				}
+				forEachConcurrently(executorService, undoPedestrians, pedestrian -> controller.undoStep(pedestrian, topography));
+				assertTrue("the linked cells grid does not match the agents after the undos " + step,
+						topography.getSpatialMap(Pedestrian.class).isConsistent(pedestrians));
+
+				for (int i = 0; i < pedestrians.size(); i++) {
+					PedestrianOSM pedestrian = pedestrians.get(i);
+					if (undoPedestrians.contains(pedestrian)) {
+						assertEquals(positions.get(i), pedestrian.getPosition());
+					} else {
+						assertEquals(pedestrian.getNextPosition(), pedestrian.getPosition());
+					}
+				}
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		double x = pedestrians.stream().mapToDouble(pedestrian -> pedestrian.getPosition().x).sum();
+		assertTrue(x > initialX);
+	}
+
+	private void runStressTest(final UpdateType updateType) throws Exception {
+		Topography topography = createTopography();
+		OptimalStepsModel osm = createModel(topography, updateType);
+		List<Model> models = new ArrayList<>(osm.getSubmodels());
+
+		double simTimeInSec = 0;
+		for (Model model : models) {
+			model.preLoop(simTimeInSec);
+		}
+
+		double initialX = addPedestrians(topography, osm);
+
+		Collection<Pedestrian> pedestrians = topography.getElements(Pedestrian.class);
+		int numberOfPedestrians = NUMBER_OF_ROWS * NUMBER_OF_COLUMNS;
+		try {
+			for (int step = 0; step < NUMBER_OF_STEPS; step++) {
+				simTimeInSec += TIME_STEP_IN_SEC;
+				for (Pedestrian pedestrian : pedestrians) {
+					pedestrian.setMostImportantStimulus(new ElapsedTime(simTimeInSec));
+				}
+				for (Model model : models) {
+					model.update(simTimeInSec);
+				}
+
+				assertEquals(numberOfPedestrians, pedestrians.size());
+				assertTrue(updateType + ": the linked cells grid does not match the agents in step " + step,
+						topography.getSpatialMap(Pedestrian.class).isConsistent(pedestrians));
+			}
+		} finally {
+			for (Model model : models) {
+				model.postLoop(simTimeInSec);
+			}
+		}
+
+		// the agents actually walked towards the target
+		double x = pedestrians.stream().mapToDouble(pedestrian -> pedestrian.getPosition().x).sum();
+		assertTrue(x / numberOfPedestrians > initialX / numberOfPedestrians + 1.0);
+	}
+
+	private Topography createTopography() {
+		AttributesTopography attributesTopography = new AttributesTopography();
+		attributesTopography.setBounds(new VRectangle(0, 0, 30, 30));
+		Topography topography = new Topography(attributesTopography, new AttributesAgent(), new AttributesCar());
+
+		Target target = new Target(new AttributesTarget());
+		target.setShape(new VRectangle(27, 1, 2, 28));
+		target.getAttributes().setId(1);
+		topography.addTarget(target);
+		return topography;
+	}
+
+	private OptimalStepsModel createModel(final Topography topography, final UpdateType updateType) throws Exception {
+		AttributesOSM attributesOSM = new AttributesOSM();
+		ReflectionHelper.create(attributesOSM).setValOfFile("updateType", updateType);
+		List<Attributes> attributesList = new ArrayList<>();
+		attributesList.add(attributesOSM);
+		attributesList.add(new AttributesFloorField());
+		attributesList.add(new AttributesPotentialCompactSoftshell());
+
+		OptimalStepsModel osm = new OptimalStepsModel();
+		osm.initialize(attributesList, new Domain(topography), new AttributesAgent(), new Random(1));
+		return osm;
+	}
+
+	/**
+	 * Adds a block of agents walking to the target and returns the sum of their x-coordinates.
+	 */
+	private double addPedestrians(final Topography topography, final OptimalStepsModel osm) {
+		int targetId = topography.getTargets().get(0).getId();
+		double initialX = 0;
+		for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+			for (int column = 0; column < NUMBER_OF_COLUMNS; column++) {
+				VPoint position = new VPoint(2 + column, 5 + row);
+				PedestrianOSM pedestrian = osm.createElement(position, row * NUMBER_OF_COLUMNS + column + 1, Pedestrian.class);
+				LinkedList<Integer> targets = new LinkedList<>();
+				targets.add(targetId);
+				pedestrian.setTargets(targets);
+				topography.addElement(pedestrian);
+				initialX += position.x;
+			}
+		}
+		return initialX;
+	}
+
+	private void forEachConcurrently(final ExecutorService executorService, final List<PedestrianOSM> pedestrians, final Consumer<PedestrianOSM> action) throws Exception {
+		List<Future<?>> futures = new ArrayList<>();
+		for (PedestrianOSM pedestrian : pedestrians) {
+			futures.add(executorService.submit(() -> action.accept(pedestrian)));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+	}
+}
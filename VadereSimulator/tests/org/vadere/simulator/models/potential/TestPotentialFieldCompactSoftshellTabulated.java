@@ -0,0 +1,80 @@
+package org.vadere.simulator.models.potential;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.attributes.models.AttributesPotentialCompactSoftshell;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the compact support potentials evaluated by lookup tables with the exact evaluation.
+ */
+public class TestPotentialFieldCompactSoftshellTabulated {
+
+	private static final double TOLERANCE = 1.0E-9;
+
+	private Domain domain;
+	private Pedestrian pedestrian;
+	private Pedestrian neighbour;
+
+	@Before
+	public void setUp() {
+		Topography topography = new Topography();
+		topography.addObstacle(new Obstacle(new AttributesObstacle(1, new VRectangle(3, 3, 2, 4))));
+		domain = new Domain(topography);
+		pedestrian = new Pedestrian(new AttributesAgent(1), new Random(0));
+		neighbour = new Pedestrian(new AttributesAgent(2), new Random(0));
+		pedestrian.setPosition(new VPoint(5, 5));
+		neighbour.setPosition(new VPoint(5.5, 5.2));
+	}
+
+	private List<Attributes> createAttributes(final boolean tabulated) {
+		AttributesPotentialCompactSoftshell attributes = new AttributesPotentialCompactSoftshell();
+		attributes.setUseTabulatedKernels(tabulated);
+		attributes.setTabulatedKernelTolerance(TOLERANCE);
+		return Collections.singletonList(attributes);
+	}
+
+	@Test
+	public void testPedestrianPotential() {
+		PotentialFieldPedestrianCompactSoftshell exact = new PotentialFieldPedestrianCompactSoftshell();
+		PotentialFieldPedestrianCompactSoftshell tabulated = new PotentialFieldPedestrianCompactSoftshell();
+		exact.initialize(createAttributes(false), domain, null, new Random(0));
+		tabulated.initialize(createAttributes(true), domain, null, new Random(0));
+
+		Random random = new Random(1);
+		for(int i = 0; i < 10000; i++) {
+			VPoint position = new VPoint(5.5 + 4 * (random.nextDouble() - 0.5), 5.2 + 4 * (random.nextDouble() - 0.5));
+			double expected = exact.getAgentPotential(position, pedestrian, neighbour);
+			// each of the three kernels contributes at most its tolerance times its height
+			assertEquals(expected, tabulated.getAgentPotential(position, pedestrian, neighbour), 1000 * 3 * TOLERANCE);
+		}
+	}
+
+	@Test
+	public void testObstaclePotential() {
+		PotentialFieldObstacleCompactSoftshell exact = new PotentialFieldObstacleCompactSoftshell();
+		PotentialFieldObstacleCompactSoftshell tabulated = new PotentialFieldObstacleCompactSoftshell();
+		exact.initialize(createAttributes(false), domain, null, new Random(0));
+		tabulated.initialize(createAttributes(true), domain, null, new Random(0));
+
+		Random random = new Random(1);
+		for(int i = 0; i < 10000; i++) {
+			VPoint position = new VPoint(2 + 4 * random.nextDouble(), 2 + 6 * random.nextDouble());
+			assertEquals(exact.getObstaclePotential(position, pedestrian), tabulated.getObstaclePotential(position, pedestrian), 100000 * 2 * TOLERANCE);
+		}
+	}
+}
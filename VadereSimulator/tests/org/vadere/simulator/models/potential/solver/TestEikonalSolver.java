@@ -4,9 +4,11 @@ package org.vadere.simulator.models.potential.solver;
 import org.junit.Before;
 import org.junit.Test;
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverBlockFIM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFIM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFSM;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
 import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
 import org.vadere.util.data.cellgrid.CellGrid;
 import org.vadere.util.data.cellgrid.CellState;
@@ -21,7 +23,9 @@ import org.vadere.util.math.IDistanceFunction;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -96,6 +100,52 @@ public class TestEikonalSolver {
 		logger.info("FSM (not high accuracy) required " + runtimeInMs + "[ms]");
 	}
 
+	@Test
+	public void TestBlockFIM() {
+		double ms = System.currentTimeMillis();
+		EikonalSolver eikonalSolverBlockFIM = new EikonalSolverBlockFIM(cellGrid,
+				distFunc, new UnitTimeCostFunction(), unknownPenalty, weight);
+		eikonalSolverBlockFIM.solve();
+		testMaxError(eikonalSolverBlockFIM);
+		double runtimeInMs = System.currentTimeMillis() - ms;
+		logger.info("block FIM (not high accuracy) required " + runtimeInMs + "[ms]");
+	}
+
+	/**
+	 * The block FIM converges to the solution of the (not high accuracy) FMM up to the order dependence of the FMM,
+	 * independent of the number of threads and the tile size.
+	 */
+	@Test
+	public void TestBlockFIMEqualsFMM() {
+		VShape obstacle = new VRectangle(3, 5, 2, 12);
+		FloorDiscretizer.setGridValuesForShape(cellGrid, obstacle, new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
+		ITimeCostFunction timeCostFunction = p -> 1.0 / (0.8 * Math.sin(0.5 * Math.PI * p.getX()) * Math.sin(0.5 * Math.PI * p.getY()) + 1.0);
+
+		EikonalSolver eikonalSolverFMM = new EikonalSolverFMM(cellGrid.clone(),
+				distFunc, false, timeCostFunction, unknownPenalty, weight);
+		eikonalSolverFMM.solve();
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for(int tileSize : new int[]{2, 7, 16}) {
+				EikonalSolver eikonalSolverBlockFIM = new EikonalSolverBlockFIM(cellGrid.clone(),
+						distFunc, timeCostFunction, unknownPenalty, weight, pool, tileSize);
+				eikonalSolverBlockFIM.solve();
+
+				for(double x = 0; x < gridWidth; x += dx) {
+					for(double y = 0; y < gridHeight; y += dy) {
+						VPoint point = new VPoint(x, y);
+						if(!obstacle.contains(point)) {
+							assertEquals(eikonalSolverFMM.getPotential(point), eikonalSolverBlockFIM.getPotential(point), 1.0E-3);
+						}
+					}
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	private void testMaxError(EikonalSolver eikonalSolver) {
 		double max = Double.MIN_VALUE;
 		for(double x = 0; x < gridWidth; x += dx) {
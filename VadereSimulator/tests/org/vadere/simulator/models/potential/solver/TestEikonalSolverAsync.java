@@ -0,0 +1,127 @@
+package org.vadere.simulator.models.potential.solver;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolverAsync;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.awt.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestEikonalSolverAsync {
+
+	private static final double EPS = 1e-12;
+
+	private final VPoint probe = new VPoint(0.7, 0.3);
+
+	/**
+	 * the state of the "simulation" which the dynamic time cost function reads on update.
+	 */
+	private double state;
+
+	/**
+	 * A dynamic time cost function which copies the state of the simulation on update.
+	 */
+	private class StateTimeCostFunction implements ITimeCostFunction {
+		private double snapshot = state;
+
+		@Override
+		public double costAt(IPoint p) {
+			return 1.0 + snapshot * p.getX() * p.getX();
+		}
+
+		@Override
+		public void update() {
+			snapshot = state;
+		}
+
+		@Override
+		public boolean needsUpdate() {
+			return true;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		state = 0.0;
+	}
+
+	private EikonalSolver createSolver() {
+		CellGrid cellGrid = new CellGrid(2.0, 2.0, 0.05, new CellState(Double.MAX_VALUE, PathFindingTag.Undefined), -1.0, -1.0);
+		cellGrid.setValue(new Point(cellGrid.getNumPointsX() / 2, cellGrid.getNumPointsY() / 2), new CellState(0.0, PathFindingTag.Target));
+		EikonalSolver solver = new EikonalSolverFMM(cellGrid, p -> -p.distanceToOrigin(), true, new StateTimeCostFunction(), 0.1, 1.0);
+		solver.solve();
+		return solver;
+	}
+
+	private double expectedPotential() {
+		EikonalSolver solver = createSolver();
+		solver.update();
+		return solver.getPotential(probe);
+	}
+
+	@Test
+	public void testFrontIsKeptUntilSwap() {
+		EikonalSolver eikonalSolver = new EikonalSolverAsync(createSolver(), createSolver(), 0.0, 10.0);
+		double initial = eikonalSolver.getPotential(probe);
+
+		state = 1.0;
+		double expected = expectedPotential();
+		assertNotEquals(initial, expected, EPS);
+
+		// starts the recomputation, the front buffer is not touched
+		eikonalSolver.update(0.4);
+		assertEquals(initial, eikonalSolver.getPotential(probe), EPS);
+
+		// the state after the recomputation has been started is ignored
+		state = 2.0;
+
+		// the front buffer is too old, therefore the recomputation is awaited
+		eikonalSolver.update(10.8);
+		assertEquals(expected, eikonalSolver.getPotential(probe), EPS);
+	}
+
+	@Test
+	public void testSynchronousUpdate() {
+		EikonalSolver eikonalSolver = new EikonalSolverAsync(createSolver(), createSolver(), 0.0, 10.0);
+		state = 1.0;
+		eikonalSolver.update(0.4);
+
+		state = 3.0;
+		double expected = expectedPotential();
+		eikonalSolver.update();
+		assertEquals(expected, eikonalSolver.getPotential(probe), EPS);
+	}
+
+	@Test
+	public void testUpdateInterval() {
+		EikonalSolver eikonalSolver = new EikonalSolverAsync(createSolver(), createSolver(), 1.0, 0.1);
+		double initial = eikonalSolver.getPotential(probe);
+
+		// no recomputation is started before the interval has passed
+		state = 1.0;
+		eikonalSolver.update(0.4);
+		eikonalSolver.update(0.8);
+		assertEquals(initial, eikonalSolver.getPotential(probe), EPS);
+
+		double expected = expectedPotential();
+		eikonalSolver.update(1.2);
+		eikonalSolver.update(1.6);
+		assertEquals(expected, eikonalSolver.getPotential(probe), EPS);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSameBuffer() {
+		EikonalSolver solver = createSolver();
+		new EikonalSolverAsync(solver, solver, 0.0, 1.0);
+	}
+}
@@ -0,0 +1,247 @@
+package org.vadere.simulator.models.potential.solver;
+
+import org.junit.Test;
+import org.vadere.meshing.mesh.gen.PFace;
+import org.vadere.meshing.mesh.gen.PHalfEdge;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMMIncremental;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMMIncremental;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FloorDiscretizer;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.math.DistanceFunctionTarget;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the incremental fast marching methods with a full recomputation for a time cost
+ * function which changes locally, i.e. a few moving density peaks.
+ */
+public class TestEikonalSolverIncremental {
+
+	private static final double WIDTH = 10.0;
+	private static final double HEIGHT = 10.0;
+	private static final double RESOLUTION = 0.1;
+
+	private final VShape target = new VRectangle(0.5, 4.5, 1.0, 1.0);
+	private final VShape obstacle = new VRectangle(4.0, 2.0, 0.5, 6.0);
+
+	/**
+	 * the positions of the density peaks of the "simulation".
+	 */
+	private final List<VPoint> peaks = new ArrayList<>();
+
+	/**
+	 * the areas of constant high time cost of the "simulation", e.g. a dense crowd.
+	 */
+	private final List<VRectangle> blocks = new ArrayList<>();
+
+	/**
+	 * A dynamic time cost function which copies the positions of the peaks and blocks on update.
+	 */
+	private class PeakTimeCostFunction implements ITimeCostFunction {
+		private List<VPoint> snapshot = new ArrayList<>(peaks);
+		private List<VRectangle> blockSnapshot = new ArrayList<>(blocks);
+
+		@Override
+		public double costAt(IPoint p) {
+			double cost = 1.0;
+			for(VPoint peak : snapshot) {
+				cost += 4.0 * Math.exp(-peak.distanceSq(p) / 0.5);
+			}
+			for(VRectangle block : blockSnapshot) {
+				if(block.contains(p)) {
+					cost += 9.0;
+				}
+			}
+			return cost;
+		}
+
+		@Override
+		public void update() {
+			snapshot = new ArrayList<>(peaks);
+			blockSnapshot = new ArrayList<>(blocks);
+		}
+
+		@Override
+		public boolean needsUpdate() {
+			return true;
+		}
+	}
+
+	private CellGrid createCellGrid() {
+		CellGrid cellGrid = new CellGrid(WIDTH, HEIGHT, RESOLUTION, new CellState());
+		FloorDiscretizer.setGridValuesForShape(cellGrid, target, new CellState(0.0, PathFindingTag.Target));
+		FloorDiscretizer.setGridValuesForShape(cellGrid, obstacle, new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
+		return cellGrid;
+	}
+
+	private EikonalSolver createGridSolver(final boolean incremental, final boolean highAccuracy) {
+		CellGrid cellGrid = createCellGrid();
+		DistanceFunctionTarget distFunc = new DistanceFunctionTarget(cellGrid, Collections.singletonList(target));
+		EikonalSolver solver = incremental ?
+				new EikonalSolverFMMIncremental(cellGrid, distFunc, highAccuracy, new PeakTimeCostFunction(), 0.1, 1.0, 0.0) :
+				new EikonalSolverFMM(cellGrid, distFunc, highAccuracy, new PeakTimeCostFunction(), 0.1, 1.0);
+		solver.solve();
+		return solver;
+	}
+
+	private IIncrementalTriangulation<PVertex, PHalfEdge, PFace> createTriangulation() {
+		return IIncrementalTriangulation.createUniformTriangulation(IPointLocator.Type.BASE, new VRectangle(0, 0, WIDTH, HEIGHT), 0.25);
+	}
+
+	private double maxDifference(final EikonalSolver solver, final EikonalSolver reference) {
+		double maxDifference = 0.0;
+		for(double y = 0.05; y < HEIGHT; y += 0.2) {
+			for(double x = 0.05; x < WIDTH; x += 0.2) {
+				VPoint point = new VPoint(x, y);
+				if(obstacle.contains(point)) {
+					continue;
+				}
+				maxDifference = Math.max(maxDifference, Math.abs(solver.getPotential(point) - reference.getPotential(point)));
+			}
+		}
+		return maxDifference;
+	}
+
+	private void testGridSolver(final boolean highAccuracy, final double tolerance) {
+		peaks.add(new VPoint(7.0, 7.0));
+		EikonalSolverFMMIncremental incremental = (EikonalSolverFMMIncremental) createGridSolver(true, highAccuracy);
+		EikonalSolver full = createGridSolver(false, highAccuracy);
+		int numberOfCells = (int) Math.round(WIDTH / RESOLUTION * HEIGHT / RESOLUTION);
+
+		// moving peak (increase and decrease) and a new peak in front of the target
+		VPoint[][] steps = {
+				{new VPoint(7.2, 7.0)},
+				{new VPoint(7.4, 7.1)},
+				{new VPoint(7.4, 7.1), new VPoint(2.5, 5.0)},
+				{new VPoint(7.6, 7.2)},
+		};
+
+		for(VPoint[] step : steps) {
+			peaks.clear();
+			Collections.addAll(peaks, step);
+			incremental.update();
+			full.update();
+			assertEquals(0.0, maxDifference(incremental, full), tolerance);
+			assertTrue(incremental.getNumberOfInvalidatedCells() < numberOfCells);
+		}
+	}
+
+	@Test
+	public void testGridFMM() {
+		testGridSolver(false, 1.0E-6);
+	}
+
+	/**
+	 * The result of the high accuracy fast marching method depends on the order in which cells
+	 * with almost equal travel times are frozen, therefore the solutions differ slightly.
+	 */
+	@Test
+	public void testGridHighAccuracyFMM() {
+		testGridSolver(true, 1.0E-3);
+	}
+
+	/**
+	 * A block in front of the target disappears and reappears. The cells behind the block have been
+	 * reached around the block, i.e. their travel time is smaller than the one of the block. They are
+	 * not downstream of the block, therefore the decrease reopens them and the following increase has
+	 * to invalidate them again.
+	 */
+	private static final VRectangle[][] alternatingBlocks = {
+			{},
+			{new VRectangle(2.5, 3.0, 0.6, 4.0)},
+			{},
+			{new VRectangle(2.5, 3.0, 0.6, 4.0), new VRectangle(6.0, 6.0, 2.0, 2.0)},
+			{new VRectangle(6.0, 6.0, 2.0, 2.0)},
+			{new VRectangle(2.5, 3.0, 0.6, 4.0)},
+	};
+
+	@Test
+	public void testGridDecreaseThenIncrease() {
+		Collections.addAll(blocks, alternatingBlocks[1]);
+		EikonalSolverFMMIncremental incremental = (EikonalSolverFMMIncremental) createGridSolver(true, false);
+
+		for(VRectangle[] step : alternatingBlocks) {
+			blocks.clear();
+			Collections.addAll(blocks, step);
+			incremental.update();
+			assertEquals(0.0, maxDifference(incremental, createGridSolver(false, false)), 1.0E-6);
+		}
+	}
+
+	@Test
+	public void testGridThreshold() {
+		peaks.add(new VPoint(7.0, 7.0));
+		CellGrid cellGrid = createCellGrid();
+		EikonalSolverFMMIncremental incremental = new EikonalSolverFMMIncremental(cellGrid,
+				new DistanceFunctionTarget(cellGrid, Collections.singletonList(target)), false, new PeakTimeCostFunction(), 0.1, 1.0, 10.0);
+		incremental.solve();
+		double potential = incremental.getPotential(new VPoint(9.0, 9.0));
+
+		// the time cost changes by less than 1000 percent
+		peaks.clear();
+		incremental.update();
+		assertEquals(0, incremental.getNumberOfInvalidatedCells());
+		assertEquals(potential, incremental.getPotential(new VPoint(9.0, 9.0)), 0.0);
+	}
+
+	@Test
+	public void testMeshFMM() {
+		peaks.add(new VPoint(7.0, 7.0));
+		MeshEikonalSolverFMMIncremental<PVertex, PHalfEdge, PFace> incremental =
+				new MeshEikonalSolverFMMIncremental<>("", Collections.singletonList(target), new PeakTimeCostFunction(), createTriangulation(), 0.0);
+		EikonalSolver full = new MeshEikonalSolverFMM<>("", Collections.singletonList(target), new PeakTimeCostFunction(), createTriangulation());
+		incremental.solve();
+		full.solve();
+		int numberOfVertices = incremental.getMesh().getNumberOfVertices();
+
+		VPoint[][] steps = {
+				{new VPoint(7.2, 7.0)},
+				{new VPoint(7.4, 7.1), new VPoint(2.5, 5.0)},
+				{new VPoint(7.6, 7.2)},
+		};
+
+		for(VPoint[] step : steps) {
+			peaks.clear();
+			Collections.addAll(peaks, step);
+			incremental.update();
+			full.update();
+			assertEquals(0.0, maxDifference(incremental, full), 1.0E-6);
+			assertTrue(incremental.getNumberOfInvalidatedVertices() < numberOfVertices);
+		}
+	}
+
+	@Test
+	public void testMeshDecreaseThenIncrease() {
+		Collections.addAll(blocks, alternatingBlocks[1]);
+		MeshEikonalSolverFMMIncremental<PVertex, PHalfEdge, PFace> incremental =
+				new MeshEikonalSolverFMMIncremental<>("", Collections.singletonList(target), new PeakTimeCostFunction(), createTriangulation(), 0.0);
+		incremental.solve();
+
+		for(VRectangle[] step : alternatingBlocks) {
+			blocks.clear();
+			Collections.addAll(blocks, step);
+			incremental.update();
+			EikonalSolver full = new MeshEikonalSolverFMM<>("", Collections.singletonList(target), new PeakTimeCostFunction(), createTriangulation());
+			full.solve();
+			assertEquals(0.0, maxDifference(incremental, full), 1.0E-6);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package org.vadere.simulator.models.potential.solver;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.meshing.mesh.gen.PFace;
+import org.vadere.meshing.mesh.gen.PHalfEdge;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFIM;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.simulator.utils.cache.MeshBinaryCacheObject;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestMeshEikonalSolverCache {
+
+	private static final VRectangle bound = new VRectangle(0, 0, 10, 10);
+	private static final List<VShape> targetShapes = Collections.singletonList(new VRectangle(4.5, 4.5, 1, 1));
+
+	private File cacheFile;
+
+	@Before
+	public void setUp() throws IOException {
+		cacheFile = Files.createTempFile("vadere-floor-field", ".meshcache").toFile();
+		cacheFile.delete();
+	}
+
+	@After
+	public void tearDown() {
+		cacheFile.delete();
+	}
+
+	@Test
+	public void testLoadSavedFloorField() {
+		EikonalSolver solver = new MeshEikonalSolverFMM<>("1", targetShapes, new UnitTimeCostFunction(), createTriangulation(0.5));
+		solver.solve();
+		solver.saveFloorFieldToCache(new MeshBinaryCacheObject("1", cacheFile));
+		assertTrue(cacheFile.isFile());
+
+		// the time cost differs from the cached solution, i.e. only a loaded floor field matches it
+		EikonalSolver cachedSolver = new MeshEikonalSolverFIM<>("2", targetShapes, p -> 2.0, createTriangulation(0.5));
+		assertTrue(cachedSolver.loadCachedFloorField(new MeshBinaryCacheObject("1", cacheFile)));
+
+		for(double y = 0.2; y < bound.getMaxY(); y += 0.4) {
+			for(double x = 0.2; x < bound.getMaxX(); x += 0.4) {
+				assertEquals(solver.getPotential(x, y), cachedSolver.getPotential(x, y), 1e-10);
+			}
+		}
+		assertTrue(solver.getPotential(0.2, 0.2) > 5.0);
+
+		// a solved floor field is not recomputed
+		cachedSolver.solve();
+		assertEquals(solver.getPotential(0.2, 0.2), cachedSolver.getPotential(0.2, 0.2), 1e-10);
+	}
+
+	@Test
+	public void testCacheOfOtherMeshIsNotLoaded() {
+		EikonalSolver solver = new MeshEikonalSolverFMM<>("1", targetShapes, new UnitTimeCostFunction(), createTriangulation(0.5));
+		solver.solve();
+		solver.saveFloorFieldToCache(new MeshBinaryCacheObject("1", cacheFile));
+
+		EikonalSolver otherSolver = new MeshEikonalSolverFMM<>("1", targetShapes, new UnitTimeCostFunction(), createTriangulation(1.0));
+		assertFalse(otherSolver.loadCachedFloorField(new MeshBinaryCacheObject("1", cacheFile)));
+	}
+
+	private IIncrementalTriangulation<PVertex, PHalfEdge, PFace> createTriangulation(final double minTriangleSideLength) {
+		return IIncrementalTriangulation.createUniformTriangulation(IPointLocator.Type.BASE, bound, minTriangleSideLength);
+	}
+}
@@ -0,0 +1,54 @@
+package org.vadere.simulator.projects.dataprocessing;
+
+import org.junit.Test;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.utils.PedestrianListBuilder;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.state.simulation.FootStep;
+import org.vadere.state.simulation.VTrajectory;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class FootStepStreamTest {
+
+	@Test
+	public void testEachFootStepIsPushedOnce() {
+		FootStepStream stream = new FootStepStream();
+		List<FootStep> first = new ArrayList<>();
+		List<FootStep> second = new ArrayList<>();
+		stream.addListener((state, pedestrian, footStep) -> first.add(footStep));
+		stream.addListener((state, pedestrian, footStep) -> second.add(footStep));
+
+		FootStep step1 = new FootStep(new VPoint(0, 0), new VPoint(1, 0), 0, 1);
+		FootStep step2 = new FootStep(new VPoint(1, 0), new VPoint(2, 0), 1, 2);
+		FootStep step3 = new FootStep(new VPoint(2, 0), new VPoint(3, 0), 2, 3);
+
+		// the trajectory of the pedestrian is not cleared between the steps
+		VTrajectory trajectory = new VTrajectory().add(step1).add(step2);
+		SimulationState state = state(1, new PedestrianListBuilder().add(1, trajectory).getList());
+		stream.update(state);
+		stream.update(state);
+		assertThat(first, equalTo(List.of(step1, step2)));
+
+		trajectory.add(step3);
+		stream.update(state(2, new PedestrianListBuilder().add(1, trajectory).getList()));
+		assertThat(first, equalTo(List.of(step1, step2, step3)));
+		assertThat(second, equalTo(first));
+
+		stream.clear();
+		stream.update(state(1, new PedestrianListBuilder().add(1, new VTrajectory().add(step1)).getList()));
+		assertThat(first.size(), equalTo(4));
+	}
+
+	private SimulationState state(final int step, final List<Pedestrian> pedestrians) {
+		Topography topography = new Topography();
+		pedestrians.forEach(topography::addElement);
+		return new SimulationState("test", topography, null, step, step, null, null) {};
+	}
+}
@@ -0,0 +1,124 @@
+package org.vadere.simulator.projects.dataprocessing;
+
+import org.junit.Test;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.utils.PedestrianListBuilder;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.state.simulation.FootStep;
+import org.vadere.state.simulation.VTrajectory;
+import org.vadere.util.geometry.shapes.VLine;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VPolygon;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class MeasurementAreaIndexTest {
+
+	private final List<VShape> shapes = Arrays.asList(
+			new VRectangle(1, 1, 3, 2),
+			new VRectangle(2, 2, 4, 4),
+			new VRectangle(15, 0, 1, 20),
+			new VPolygon(new VRectangle(8, 8, 5, 5)));
+
+	@Test
+	public void testPedestriansInArea() {
+		MeasurementAreaIndex index = new MeasurementAreaIndex();
+		Random random = new Random(42);
+
+		for (int step = 1; step <= 3; step++) {
+			PedestrianListBuilder builder = new PedestrianListBuilder();
+			for (int id = 1; id <= 200; id++) {
+				builder.add(id, new VPoint(random.nextDouble() * 20, random.nextDouble() * 20));
+			}
+			SimulationState state = state(step, builder.getList());
+
+			for (VShape shape : shapes) {
+				List<Pedestrian> expected = builder.getList().stream()
+						.filter(p -> shape.contains(p.getPosition()))
+						.collect(Collectors.toList());
+				assertThat(index.getPedestrians(state, shape), equalTo(expected));
+				for (Pedestrian p : builder.getList()) {
+					assertThat(index.contains(state, shape, p.getId()), equalTo(expected.contains(p)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testFootStepPedestrians() {
+		MeasurementAreaIndex index = new MeasurementAreaIndex();
+		VRectangle rectangle = new VRectangle(5, 5, 2, 2);
+		VLine line = new VLine(new VPoint(10, 0), new VPoint(10, 10));
+		Random random = new Random(42);
+
+		PedestrianListBuilder builder = new PedestrianListBuilder();
+		for (int id = 1; id <= 200; id++) {
+			VTrajectory trajectory = new VTrajectory();
+			VPoint start = new VPoint(random.nextDouble() * 20, random.nextDouble() * 20);
+			for (int i = 0; i < 3; i++) {
+				VPoint end = start.add(new VPoint(random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+				trajectory.add(new FootStep(start, end, i, i + 1));
+				start = end;
+			}
+			builder.add(id, trajectory);
+		}
+		builder.add(201, new VTrajectory().add(new FootStep(new VPoint(4.5, 6), new VPoint(5.5, 6), 0, 1)));
+		builder.add(202, new VTrajectory().add(new FootStep(new VPoint(9.5, 5), new VPoint(10.5, 5.5), 0, 1)));
+		SimulationState state = state(1, builder.getList());
+
+		List<Pedestrian> rectangleCandidates = index.getFootStepPedestrians(state, rectangle);
+		List<Pedestrian> lineCandidates = index.getFootStepPedestrians(state, line);
+		List<Pedestrian> crossingRectangle = new ArrayList<>();
+		List<Pedestrian> crossingLine = new ArrayList<>();
+		for (Pedestrian p : builder.getList()) {
+			for (FootStep footStep : p.getTrajectory()) {
+				if (footStep.intersects(rectangle) && !crossingRectangle.contains(p)) {
+					crossingRectangle.add(p);
+				}
+				if (footStep.intersects(line) && !crossingLine.contains(p)) {
+					crossingLine.add(p);
+				}
+			}
+		}
+
+		assertTrue(!crossingRectangle.isEmpty() && !crossingLine.isEmpty());
+		assertTrue(rectangleCandidates.containsAll(crossingRectangle));
+		assertTrue(lineCandidates.containsAll(crossingLine));
+		// each pedestrian is a candidate at most once and the candidates are close to the shapes
+		assertThat(rectangleCandidates.stream().distinct().count(), equalTo((long) rectangleCandidates.size()));
+		assertTrue(rectangleCandidates.size() < builder.getList().size() / 4);
+		assertTrue(lineCandidates.size() < builder.getList().size() / 4);
+	}
+
+	@Test
+	public void testRegionAddedAfterClassification() {
+		MeasurementAreaIndex index = new MeasurementAreaIndex();
+		PedestrianListBuilder builder = new PedestrianListBuilder()
+				.add(1, new VPoint(1.5, 1.5))
+				.add(2, new VPoint(9, 9))
+				.add(3, new VPoint(2.5, 2.5));
+		SimulationState state = state(1, builder.getList());
+
+		assertThat(index.getPedestrians(state, shapes.get(0)).size(), equalTo(2));
+		assertThat(index.getPedestrians(state, shapes.get(3)), equalTo(builder.getList().subList(1, 2)));
+		assertThat(index.getPedestrians(state, shapes.get(1)), equalTo(builder.getList().subList(2, 3)));
+		assertThat(index.getPedestrians(state, new VRectangle(1, 1, 3, 2)).size(), equalTo(2));
+	}
+
+	private SimulationState state(final int step, final List<Pedestrian> pedestrians) {
+		Topography topography = new Topography();
+		pedestrians.forEach(topography::addElement);
+		return new SimulationState("test", topography, null, step, step, null, null) {};
+	}
+}
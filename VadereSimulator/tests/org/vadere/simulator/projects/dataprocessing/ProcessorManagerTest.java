@@ -0,0 +1,61 @@
+package org.vadere.simulator.projects.dataprocessing;
+
+import org.junit.Test;
+import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
+import org.vadere.simulator.projects.dataprocessing.outputfile.TimestepOutputFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ProcessorManagerTest {
+
+	@Test
+	public void testEachFileIsWrittenOnceAndSharedProcessorsByOneThread() {
+		// all files are equal to each other, the grouping must not depend on equals
+		RecordingOutputFile first = new RecordingOutputFile(1);
+		RecordingOutputFile second = new RecordingOutputFile(2);
+		RecordingOutputFile third = new RecordingOutputFile(3);
+		RecordingOutputFile secondAndThird = new RecordingOutputFile(2, 3);
+		RecordingOutputFile fourth = new RecordingOutputFile(4);
+		RecordingOutputFile withoutProcessor = new RecordingOutputFile();
+
+		List<OutputFile<?>> outputFiles = List.of(first, second, third, secondAndThird, fourth, withoutProcessor);
+		new ProcessorManager(new ArrayList<>(), outputFiles, null, null).writeOutput();
+
+		for (OutputFile<?> file : outputFiles) {
+			assertEquals(1, ((RecordingOutputFile) file).writeCount.get());
+		}
+		assertSame(second.writer, third.writer);
+		assertSame(second.writer, secondAndThird.writer);
+	}
+
+	private static class RecordingOutputFile extends TimestepOutputFile {
+
+		private final AtomicInteger writeCount = new AtomicInteger();
+		private volatile Thread writer;
+
+		RecordingOutputFile(Integer... processorIds) {
+			setProcessorIds(List.of(processorIds));
+		}
+
+		@Override
+		public void write() {
+			writer = Thread.currentThread();
+			writeCount.incrementAndGet();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof RecordingOutputFile;
+		}
+
+		@Override
+		public int hashCode() {
+			return 0;
+		}
+	}
+}
@@ -2,6 +2,8 @@ package org.vadere.simulator.projects.dataprocessing.processor;
 
 import org.mockito.Mockito;
 import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.FootStepStream;
+import org.vadere.simulator.projects.dataprocessing.MeasurementAreaIndex;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.DataKey;
 import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
@@ -78,6 +80,8 @@ public abstract class ProcessorTestEnv<K extends DataKey<K>, V> {
 		this.testedProcessorClass = testedProcessorClass;
 		this.dataKeyType = dataKeyType;
 		this.manager = mock(ProcessorManager.class, Mockito.RETURNS_DEEP_STUBS);
+		Mockito.when(manager.getMeasurementAreaIndex()).thenReturn(new MeasurementAreaIndex());
+		Mockito.when(manager.getFootStepStream()).thenReturn(new FootStepStream());
 		this.states = new ArrayList<>();
 		this.nextProcessorId = nextProcessorId;
 		this.expectedOutput = new HashMap<>();
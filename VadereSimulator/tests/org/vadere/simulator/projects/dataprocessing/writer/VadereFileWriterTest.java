@@ -0,0 +1,67 @@
+package org.vadere.simulator.projects.dataprocessing.writer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.projects.dataprocessing.DataProcessingJsonManager;
+import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VadereFileWriterTest {
+
+	private File file;
+
+	@Before
+	public void setup() throws IOException {
+		file = Files.createTempFile("vadere-writer", ".txt").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testGzipCompressedLines() throws IOException {
+		List<String> lines = Arrays.asList("timeStep pedestrianId x y", "1 1 0.5 1.25", "1 2 3.0 4.0");
+		try (VadereWriter writer = VadereWriterFactory.getFileWriterFactory().create(file.getAbsolutePath(), OutputCompression.GZIP)) {
+			lines.forEach(writer::println);
+		}
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(file))))) {
+			assertEquals(lines, reader.lines().collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void testCompressionOfOutputDefinition() {
+		String json = "{\"files\" : [ {"
+				+ "\"type\" : \"org.vadere.simulator.projects.dataprocessing.outputfile.TimestepPedestrianIdOutputFile\","
+				+ "\"filename\" : \"postvis.traj\", \"processors\" : [ 1 ], \"compression\" : \"GZIP\" }, {"
+				+ "\"type\" : \"org.vadere.simulator.projects.dataprocessing.outputfile.TimestepOutputFile\","
+				+ "\"filename\" : \"density.txt\", \"processors\" : [ 2 ] } ] }";
+
+		DataProcessingJsonManager manager = DataProcessingJsonManager.deserialize(json);
+		List<OutputFile<?>> outputFiles = manager.getOutputFiles();
+		assertEquals(OutputCompression.GZIP, outputFiles.get(0).getCompression());
+		assertEquals(OutputCompression.NONE, outputFiles.get(1).getCompression());
+
+		String files = manager.serializeToNode().get(DataProcessingJsonManager.FILES_KEY).toString();
+		assertTrue(files.contains("\"compression\":\"GZIP\""));
+		assertFalse(files.contains("NONE"));
+	}
+}
@@ -0,0 +1,100 @@
+package org.vadere.simulator.projects.io;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.utils.cache.CellGridBinaryCacheObject;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.types.CacheType;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScenarioBundleTest {
+
+	private Path scenarioFile;
+	private Path tmpDir;
+
+	@Before
+	public void setup() throws URISyntaxException, IOException {
+		scenarioFile = Paths.get(getClass().getResource("/data/cache/s002.scenario").toURI());
+		tmpDir = Files.createTempDirectory("bundleTest");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(tmpDir.toFile());
+	}
+
+	@Test
+	public void testCompileAndLoad() throws IOException {
+		Path bundleFile = tmpDir.resolve("s002" + ScenarioBundle.BUNDLE_ENDING);
+		ScenarioBundle.compile(scenarioFile, bundleFile);
+		assertTrue(ScenarioBundle.isBundle(bundleFile));
+
+		ScenarioBundle bundle = ScenarioBundle.load(bundleFile);
+		Scenario scenario = bundle.getScenario();
+		assertEquals("s002", scenario.getName());
+		assertFalse(bundle.getFloorFieldMesh().isPresent());
+
+		AttributesFloorField attFF = scenario.getModelAttributes().stream()
+				.filter(a -> a instanceof AttributesFloorField)
+				.map(a -> (AttributesFloorField) a)
+				.findFirst().get();
+		assertEquals(CacheType.BIN_CACHE, attFF.getCacheType());
+		assertEquals("s002", attFF.getCacheDir());
+
+		ScenarioCache cache = bundle.createScenarioCache(tmpDir);
+		assertTrue(cache.isNotEmpty());
+		for (Target target : scenario.getTopography().getTargets()) {
+			ICacheObject cacheObject = cache.getCacheForTarget(target.getId());
+			assertTrue(cacheObject instanceof CellGridBinaryCacheObject);
+			assertTrue(cacheObject.readable());
+			assertFalse(cacheObject.writable());
+		}
+		assertTrue(cache.getCacheForDistFunction("BruteForce").readable());
+	}
+
+	@Test
+	public void testCompileScenarioWithTxtCache() throws IOException, URISyntaxException {
+		Path txtScenarioFile = Paths.get(getClass().getResource("/data/cache/s001.scenario").toURI());
+		Path bundleFile = tmpDir.resolve("s001" + ScenarioBundle.BUNDLE_ENDING);
+		ScenarioBundle.compile(txtScenarioFile, bundleFile);
+
+		// the floor fields are bundled as binary caches which the bundled scenario reads
+		ScenarioBundle bundle = ScenarioBundle.load(bundleFile);
+		Scenario scenario = bundle.getScenario();
+		AttributesFloorField attFF = scenario.getModelAttributes().stream()
+				.filter(a -> a instanceof AttributesFloorField)
+				.map(a -> (AttributesFloorField) a)
+				.findFirst().get();
+		assertEquals(CacheType.BIN_CACHE, attFF.getCacheType());
+
+		ScenarioCache cache = bundle.createScenarioCache(tmpDir);
+		for (Target target : scenario.getTopography().getTargets()) {
+			ICacheObject cacheObject = cache.getCacheForTarget(target.getId());
+			assertTrue(cacheObject instanceof CellGridBinaryCacheObject);
+			assertTrue(cacheObject.readable());
+		}
+		assertTrue(cache.getCacheForDistFunction("BruteForce").readable());
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectNonBundle() throws IOException {
+		Path file = tmpDir.resolve("invalid" + ScenarioBundle.BUNDLE_ENDING);
+		Files.write(file, new byte[] {1, 2, 3});
+		ScenarioBundle.load(file);
+	}
+}
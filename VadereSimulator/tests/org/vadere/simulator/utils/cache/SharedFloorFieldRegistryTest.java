@@ -0,0 +1,97 @@
+package org.vadere.simulator.utils.cache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SharedFloorFieldRegistryTest {
+
+	@Test
+	public void testReferenceCounting() {
+		SharedFloorFieldRegistry registry = new SharedFloorFieldRegistry();
+		SharedFloorFields first = registry.acquire("hash");
+		SharedFloorFields second = registry.acquire("hash");
+		SharedFloorFields other = registry.acquire("other");
+
+		assertThat(first, sameInstance(second));
+		assertThat(registry.size(), equalTo(2));
+
+		Object floorField = first.computeIfAbsent(SharedFloorFields.targetToIdentifier(1), Object::new);
+		assertThat(second.computeIfAbsent(SharedFloorFields.targetToIdentifier(1), Object::new), sameInstance(floorField));
+
+		first.release();
+		other.release();
+		assertThat(registry.size(), equalTo(1));
+		second.release();
+		assertThat(registry.size(), equalTo(0));
+
+		// the last release dropped the floor fields
+		SharedFloorFields third = registry.acquire("hash");
+		assertThat(third.contains(SharedFloorFields.targetToIdentifier(1)), equalTo(false));
+		third.release();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testReleaseTwice() {
+		SharedFloorFieldRegistry registry = new SharedFloorFieldRegistry();
+		SharedFloorFields sharedFloorFields = registry.acquire("hash");
+		sharedFloorFields.release();
+		sharedFloorFields.release();
+	}
+
+	@Test
+	public void testComputeOnce() throws Exception {
+		SharedFloorFields sharedFloorFields = new SharedFloorFieldRegistry().acquire("hash");
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(pool.submit(() -> {
+					start.await();
+					return sharedFloorFields.computeIfAbsent(SharedFloorFields.distToIdentifier("BruteForce"), () -> {
+						computations.incrementAndGet();
+						return new Object();
+					});
+				}));
+			}
+			start.countDown();
+
+			Object floorField = results.get(0).get();
+			for (Future<Object> result : results) {
+				assertThat(result.get(), sameInstance(floorField));
+			}
+			assertThat(computations.get(), equalTo(1));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailedComputationIsRetried() {
+		SharedFloorFields sharedFloorFields = new SharedFloorFieldRegistry().acquire("hash");
+		try {
+			sharedFloorFields.computeIfAbsent("id", () -> {
+				throw new IllegalArgumentException("failed");
+			});
+			fail("exception of the computation expected");
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage(), equalTo("failed"));
+		}
+
+		assertThat(sharedFloorFields.contains("id"), equalTo(false));
+		assertThat(sharedFloorFields.computeIfAbsent("id", () -> "floor field"), equalTo("floor field"));
+	}
+}
@@ -56,6 +56,17 @@ public class AttributesBHM extends Attributes {
 	private double spaceToKeep = 0.01;
 	private boolean stepAwayFromCollisions = false;
 
+	/**
+	 * If true, the events of pedestrians which are too far apart to influence each other are processed
+	 * concurrently. The result does not depend on the number of threads.
+	 */
+	private boolean parallelUpdate = false;
+
+	/**
+	 * The number of threads of the parallel update. Zero means that the common pool of the JVM is used.
+	 */
+	private int numberOfThreads = 0;
+
 	public double getStepLengthIntercept() {
 		return stepLengthIntercept;
 	}
@@ -195,6 +206,14 @@ public class AttributesBHM extends Attributes {
 		return switchBehaviour;
 	}
 
+	public boolean isParallelUpdate() {
+		return parallelUpdate;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
 
 
 }
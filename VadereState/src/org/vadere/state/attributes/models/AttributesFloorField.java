@@ -76,6 +76,48 @@ public class AttributesFloorField extends Attributes {
 	@JsonView(Views.CacheViewExclude.class)
 	private String cacheDir = "";
 
+	/**
+	 * If greater than zero, dynamic floor fields (see {@link AttributesTimeCost}) are recomputed
+	 * asynchronously on a background thread and agents use the last completed floor field. The value
+	 * is the tolerated staleness in seconds: if the floor field represents a state of the simulation
+	 * which is older, the simulation waits for the running recomputation. If zero, the floor field is
+	 * recomputed synchronously in every step. It does not change the initial floor field and is
+	 * therefore ignored by the cache hash.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private double dynamicUpdateMaxStaleness = 0.0;
+
+	/**
+	 * The simulation time in seconds between two asynchronous recomputations of a dynamic floor field,
+	 * zero means that a new recomputation is started as soon as the previous one is completed. This is
+	 * only used if {@link #dynamicUpdateMaxStaleness} is greater than zero.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private double dynamicUpdateInterval = 0.0;
+
+	/**
+	 * If true, dynamic floor fields computed by the fast marching method are repaired locally
+	 * instead of being recomputed from scratch: only the region downstream of cells or vertices
+	 * whose time cost changed is recomputed.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private boolean incrementalUpdate = false;
+
+	/**
+	 * The relative change of the time cost of a cell or vertex which triggers a local repair
+	 * of the floor field if {@link #incrementalUpdate} is true. Smaller changes are ignored,
+	 * zero reproduces the solution of a full recomputation.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private double incrementalUpdateThreshold = 0.0;
+
+	/**
+	 * The number of threads used by multi threaded solvers, i.e. {@link EikonalSolverType#BLOCK_FAST_ITERATIVE_METHOD}.
+	 * Zero means that the common pool of the JVM is used.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private int numberOfSolverThreads = 0;
+
 	private AttributesTimeCost timeCostAttributes;
 
 	public AttributesFloorField() {
@@ -111,6 +153,30 @@ public class AttributesFloorField extends Attributes {
 		return cacheDir;
 	}
 
+	public double getDynamicUpdateMaxStaleness() {
+		return dynamicUpdateMaxStaleness;
+	}
+
+	public double getDynamicUpdateInterval() {
+		return dynamicUpdateInterval;
+	}
+
+	public boolean isAsynchronousDynamicUpdate() {
+		return dynamicUpdateMaxStaleness > 0;
+	}
+
+	public boolean isIncrementalUpdate() {
+		return incrementalUpdate;
+	}
+
+	public double getIncrementalUpdateThreshold() {
+		return incrementalUpdateThreshold;
+	}
+
+	public int getNumberOfSolverThreads() {
+		return numberOfSolverThreads;
+	}
+
 	public void setCreateMethod(EikonalSolverType createMethod) {
 		checkSealed();
 		this.createMethod = createMethod;
@@ -149,4 +215,29 @@ public class AttributesFloorField extends Attributes {
 		checkSealed();
 		this.cacheDir = cacheDir;
 	}
+
+	public void setDynamicUpdateMaxStaleness(double dynamicUpdateMaxStaleness) {
+		checkSealed();
+		this.dynamicUpdateMaxStaleness = dynamicUpdateMaxStaleness;
+	}
+
+	public void setDynamicUpdateInterval(double dynamicUpdateInterval) {
+		checkSealed();
+		this.dynamicUpdateInterval = dynamicUpdateInterval;
+	}
+
+	public void setIncrementalUpdate(boolean incrementalUpdate) {
+		checkSealed();
+		this.incrementalUpdate = incrementalUpdate;
+	}
+
+	public void setIncrementalUpdateThreshold(double incrementalUpdateThreshold) {
+		checkSealed();
+		this.incrementalUpdateThreshold = incrementalUpdateThreshold;
+	}
+
+	public void setNumberOfSolverThreads(int numberOfSolverThreads) {
+		checkSealed();
+		this.numberOfSolverThreads = numberOfSolverThreads;
+	}
 }
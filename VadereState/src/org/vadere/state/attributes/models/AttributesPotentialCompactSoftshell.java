@@ -14,6 +14,16 @@ public class AttributesPotentialCompactSoftshell extends Attributes {
 	private double intimateSpaceFactor = 1.2;
 	private int personalSpacePower = 1;
 	private int intimateSpacePower = 1;
+	/**
+	 * If true, the exponential kernels of the pedestrian and obstacle potential are evaluated by
+	 * lookup tables over the normalised squared distance, see {@link org.vadere.util.math.TabulatedFunction}.
+	 */
+	private boolean useTabulatedKernels = false;
+	/**
+	 * The maximal absolute interpolation error of the tabulated (normalised) kernels. It is scaled by
+	 * the height of the respective potential.
+	 */
+	private double tabulatedKernelTolerance = 1.0E-9;
 
 	public int getIntimateSpacePower() {
 		return intimateSpacePower;
@@ -47,4 +57,22 @@ public class AttributesPotentialCompactSoftshell extends Attributes {
 		return personalSpacePower;
 	}
 
+	public boolean isUseTabulatedKernels() {
+		return useTabulatedKernels;
+	}
+
+	public void setUseTabulatedKernels(boolean useTabulatedKernels) {
+		checkSealed();
+		this.useTabulatedKernels = useTabulatedKernels;
+	}
+
+	public double getTabulatedKernelTolerance() {
+		return tabulatedKernelTolerance;
+	}
+
+	public void setTabulatedKernelTolerance(double tabulatedKernelTolerance) {
+		checkSealed();
+		this.tabulatedKernelTolerance = tabulatedKernelTolerance;
+	}
+
 }
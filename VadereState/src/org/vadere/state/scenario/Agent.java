@@ -37,6 +37,13 @@ public abstract class Agent extends DynamicElement {
 
 	private LinkedList<Agent> followers;
 
+	/**
+	 * The optional structure of arrays which mirrors the state of this agent, see {@link AgentStateStore}.
+	 * Setters of stored quantities write through to the slot of this agent.
+	 */
+	private transient AgentStateStore stateStore;
+	private transient int stateSlot = -1;
+
 	// TODO: Maybe, add also a List<Agent> of followers for an agent.
 
 	// Constructors
@@ -105,6 +112,11 @@ public abstract class Agent extends DynamicElement {
         return source;
     }
 
+    /**
+     * Returns the target list itself. Modifications of this list are not tracked by the state
+     * store, use {@link #setTargets(LinkedList)}, {@link #addTarget(Target)},
+     * {@link #addFirstTarget(int)} or {@link #removeTarget(int)} instead.
+     */
     public LinkedList<Integer> getTargets() {
         return targetIds;
     }
@@ -176,10 +188,28 @@ public abstract class Agent extends DynamicElement {
 		return followers;
 	}
 
+	/**
+	 * Returns the slot of this agent in the {@link AgentStateStore} of its container or -1 if the
+	 * container does not maintain a state store.
+	 */
+	public int getStateSlot() {
+		return stateSlot;
+	}
+
+	/**
+	 * Returns the {@link AgentStateStore} which contains this agent or <tt>null</tt>.
+	 */
+	public AgentStateStore getStateStore() {
+		return stateStore;
+	}
+
 	// Setters
 	@Override
 	public void setAttributes(Attributes attributes) {
 		this.attributes = (AttributesAgent) attributes;
+		if (stateStore != null) {
+			stateStore.setRadius(stateSlot, this.attributes.getRadius());
+		}
 	}
 
 	public void setSource(Source source) {
@@ -188,6 +218,7 @@ public abstract class Agent extends DynamicElement {
 
     public void setTargets(LinkedList<Integer> targetIds) {
         this.targetIds = targetIds;
+        updateStoredNextTargetId();
 
 		for (AgentListener listener: listeners) {
 			listener.agentTargetsChanged(targetIds, this.getId());
@@ -206,6 +237,7 @@ public abstract class Agent extends DynamicElement {
      */
     public void setNextTargetListIndex(int nextTargetListIndex) {
         this.nextTargetListIndex = nextTargetListIndex;
+        updateStoredNextTargetId();
     }
 
     public void setIsCurrentTargetAnAgent(boolean isCurrentTargetAnAgent) {
@@ -214,10 +246,16 @@ public abstract class Agent extends DynamicElement {
 
 	public void setPosition(VPoint position) {
 		this.position = position;
+		if (stateStore != null) {
+			stateStore.setPosition(stateSlot, position);
+		}
 	}
 
 	public void setVelocity(final Vector2D velocity) {
 		this.velocity = velocity;
+		if (stateStore != null) {
+			stateStore.setVelocity(stateSlot, velocity);
+		}
 	}
 
 	// TODO [task=refactoring] remove again!
@@ -227,7 +265,7 @@ public abstract class Agent extends DynamicElement {
 
     @Override
     public void setShape(VShape newShape) {
-        position = newShape.getCentroid();
+        setPosition(newShape.getCentroid());
     }
 
 	// Methods
@@ -242,6 +280,25 @@ public abstract class Agent extends DynamicElement {
 
     public void addTarget(Target target) {
         targetIds.add(target.getId());
+        updateStoredNextTargetId();
+    }
+
+    /**
+     * Inserts the target in front of the target list, e.g. an intermediate target which has to be
+     * reached before the current target list is followed.
+     */
+    public void addFirstTarget(int targetId) {
+        targetIds.addFirst(targetId);
+        updateStoredNextTargetId();
+    }
+
+    /**
+     * Removes all occurrences of the target from the target list.
+     */
+    public void removeTarget(int targetId) {
+        if (targetIds.removeIf(id -> id == targetId)) {
+            updateStoredNextTargetId();
+        }
     }
 
     public void incrementNextTargetListIndex() {
@@ -252,6 +309,7 @@ public abstract class Agent extends DynamicElement {
         }
 
         nextTargetListIndex++;
+        updateStoredNextTargetId();
     }
 
     public boolean hasNextTarget() {
@@ -302,6 +360,7 @@ public abstract class Agent extends DynamicElement {
 		// Deprecated target list usage
 		if (nextTargetListIndex <= -1 && !this.getTargets().isEmpty()) {
 			this.getTargets().removeFirst();
+			updateStoredNextTargetId();
 		}
 
 		// The right way (later this first check should not be necessary anymore):
@@ -339,4 +398,37 @@ public abstract class Agent extends DynamicElement {
 		this.listeners.add(listener);
 	}
 
+	/**
+	 * Returns the time of the next event of this agent which is copied into the state store if the agent is added.
+	 * Event driven models override this method.
+	 */
+	protected double getNextEventTime() {
+		return Pedestrian.INVALID_NEXT_EVENT_TIME;
+	}
+
+	/**
+	 * Writes the time of the next event of this agent, e.g. the next step of an OSM pedestrian,
+	 * through to the state store.
+	 */
+	protected void setStoredNextEventTime(double time) {
+		if (stateStore != null) {
+			stateStore.setNextEventTime(stateSlot, time);
+		}
+	}
+
+	/**
+	 * Updates the next target id of the state store. Modifications of the list returned by
+	 * {@link #getTargets()} are not tracked, callers have to use the setters of this class instead.
+	 */
+	private void updateStoredNextTargetId() {
+		if (stateStore != null) {
+			stateStore.setNextTargetId(stateSlot, hasNextTarget() ? getNextTargetId() : AgentStateStore.NO_TARGET);
+		}
+	}
+
+	void attachStateStore(AgentStateStore stateStore, int stateSlot) {
+		this.stateStore = stateStore;
+		this.stateSlot = stateSlot;
+	}
+
 }
@@ -0,0 +1,196 @@
+package org.vadere.state.scenario;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.Vector2D;
+
+import java.util.Arrays;
+
+/**
+ * A structure of arrays which holds the state of the agents which is read in the hot loops of the locomotion
+ * models, i.e. positions, velocities, radii, next target ids and next event times, in primitive arrays. Each
+ * agent occupies a dense slot <tt>0 &lt;= slot &lt; size()</tt>, such that loops over all agents are loops over
+ * the arrays. The slots are kept compacted: if an agent is removed, the agent of the last slot moves into the
+ * free slot.
+ *
+ * The store is optional, it is created on demand by {@link DynamicElementContainer#getStateStore()} which keeps
+ * the slots in sync with the elements of the container. The {@link Agent} objects stay the owners of their state
+ * but they are views into the store in the sense that each setter of a stored quantity writes through to the
+ * slot of the agent, see {@link Agent#getStateSlot()}.
+ *
+ * The store is not thread safe: agents may update their own slot concurrently but adding and removing agents
+ * has to be synchronized, which is done by the {@link DynamicElementContainer}.
+ */
+public class AgentStateStore {
+
+	/**
+	 * the next target id of an agent without a next target.
+	 */
+	public static final int NO_TARGET = -1;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int size;
+	private Agent[] agents;
+	private double[] x;
+	private double[] y;
+	private double[] velocityX;
+	private double[] velocityY;
+	private double[] radius;
+	private int[] nextTargetId;
+	private double[] nextEventTime;
+
+	public AgentStateStore() {
+		this.size = 0;
+		this.agents = new Agent[INITIAL_CAPACITY];
+		this.x = new double[INITIAL_CAPACITY];
+		this.y = new double[INITIAL_CAPACITY];
+		this.velocityX = new double[INITIAL_CAPACITY];
+		this.velocityY = new double[INITIAL_CAPACITY];
+		this.radius = new double[INITIAL_CAPACITY];
+		this.nextTargetId = new int[INITIAL_CAPACITY];
+		this.nextEventTime = new double[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Adds the agent to the last slot and copies its state into the store.
+	 *
+	 * @param agent the agent which is not part of any store
+	 *
+	 * @return the slot of the agent
+	 */
+	public int add(@NotNull final Agent agent) {
+		if(agent.getStateSlot() >= 0) {
+			throw new IllegalArgumentException("agent " + agent.getId() + " is already part of a state store.");
+		}
+		if(size == agents.length) {
+			grow();
+		}
+
+		int slot = size++;
+		agents[slot] = agent;
+		agent.attachStateStore(this, slot);
+		setPosition(slot, agent.getPosition());
+		setVelocity(slot, agent.getVelocity());
+		setRadius(slot, agent.getRadius());
+		setNextTargetId(slot, agent.hasNextTarget() ? agent.getNextTargetId() : NO_TARGET);
+		setNextEventTime(slot, agent.getNextEventTime());
+		return slot;
+	}
+
+	/**
+	 * Removes the agent and moves the agent of the last slot into its slot.
+	 *
+	 * @param agent the agent which is part of this store
+	 */
+	public void remove(@NotNull final Agent agent) {
+		if(!contains(agent)) {
+			throw new IllegalArgumentException("agent " + agent.getId() + " is not part of this state store.");
+		}
+
+		int slot = agent.getStateSlot();
+		int last = --size;
+		if(slot != last) {
+			Agent moved = agents[last];
+			agents[slot] = moved;
+			x[slot] = x[last];
+			y[slot] = y[last];
+			velocityX[slot] = velocityX[last];
+			velocityY[slot] = velocityY[last];
+			radius[slot] = radius[last];
+			nextTargetId[slot] = nextTargetId[last];
+			nextEventTime[slot] = nextEventTime[last];
+			moved.attachStateStore(this, slot);
+		}
+		agents[last] = null;
+		agent.attachStateStore(null, -1);
+	}
+
+	public void clear() {
+		for(int slot = 0; slot < size; slot++) {
+			agents[slot].attachStateStore(null, -1);
+			agents[slot] = null;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of agents, i.e. the number of used slots.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean contains(@NotNull final Agent agent) {
+		int slot = agent.getStateSlot();
+		return slot >= 0 && slot < size && agents[slot] == agent;
+	}
+
+	public Agent getAgent(final int slot) {
+		return agents[slot];
+	}
+
+	// the arrays might be larger than size() and they are replaced if the store grows
+
+	public double[] getX() {
+		return x;
+	}
+
+	public double[] getY() {
+		return y;
+	}
+
+	public double[] getVelocityX() {
+		return velocityX;
+	}
+
+	public double[] getVelocityY() {
+		return velocityY;
+	}
+
+	public double[] getRadius() {
+		return radius;
+	}
+
+	public int[] getNextTargetId() {
+		return nextTargetId;
+	}
+
+	public double[] getNextEventTime() {
+		return nextEventTime;
+	}
+
+	void setPosition(final int slot, final VPoint position) {
+		x[slot] = position != null ? position.x : Double.NaN;
+		y[slot] = position != null ? position.y : Double.NaN;
+	}
+
+	void setVelocity(final int slot, final Vector2D velocity) {
+		velocityX[slot] = velocity != null ? velocity.x : 0;
+		velocityY[slot] = velocity != null ? velocity.y : 0;
+	}
+
+	void setRadius(final int slot, final double radius) {
+		this.radius[slot] = radius;
+	}
+
+	void setNextTargetId(final int slot, final int targetId) {
+		nextTargetId[slot] = targetId;
+	}
+
+	void setNextEventTime(final int slot, final double time) {
+		nextEventTime[slot] = time;
+	}
+
+	private void grow() {
+		int capacity = 2 * agents.length;
+		agents = Arrays.copyOf(agents, capacity);
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		velocityX = Arrays.copyOf(velocityX, capacity);
+		velocityY = Arrays.copyOf(velocityY, capacity);
+		radius = Arrays.copyOf(radius, capacity);
+		nextTargetId = Arrays.copyOf(nextTargetId, capacity);
+		nextEventTime = Arrays.copyOf(nextEventTime, capacity);
+	}
+}
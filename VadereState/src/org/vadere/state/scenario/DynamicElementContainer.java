@@ -6,6 +6,13 @@ import java.util.*;
 import org.vadere.util.geometry.LinkedCellsGrid;
 import org.vadere.util.geometry.shapes.VPoint;
 
+/**
+ * Stores the dynamic elements of one type by their id and in a {@link LinkedCellsGrid} by their position.
+ *
+ * Reads do not lock the container such that parallel update schemes do not serialize on it. Elements are added and
+ * removed between the updates of the models, which is synchronized. Moves may happen in parallel and only lock the
+ * cells of the {@link LinkedCellsGrid} they modify.
+ */
 public class DynamicElementContainer<T extends DynamicElement> {
 	private transient final List<DynamicElementAddListener<T>> addListener;
 	private transient final List<DynamicElementRemoveListener<T>> removeListener;
@@ -23,6 +30,11 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	private final RectangularShape bounds;
 	private final double cellSize;
 
+	/**
+	 * The optional structure of arrays of the agents of this container which is created on demand.
+	 */
+	private transient AgentStateStore stateStore;
+
 	public DynamicElementContainer(RectangularShape bounds, double cellSize) {
 		elementMap = new HashMap<>();
 		initialElements = new LinkedList<>();
@@ -37,18 +49,37 @@ public class DynamicElementContainer<T extends DynamicElement> {
 		this.moveListener = new LinkedList<>();
 	}
 
-	public synchronized LinkedCellsGrid<T> getCellsElements() {
+	public LinkedCellsGrid<T> getCellsElements() {
 		return cellsElements;
 	}
 
-	public synchronized Collection<T> getElements() {
+	public Collection<T> getElements() {
 		return elementMap.values();
 	}
 
-	public synchronized T getElement(int id) {
+	public T getElement(int id) {
 		return elementMap.get(id);
 	}
 
+	/**
+	 * Returns the {@link AgentStateStore} of the agents of this container. The store is created by the first call
+	 * and from then on kept in sync with the container, i.e. adding and removing elements adds and removes their
+	 * slots.
+	 */
+	public synchronized AgentStateStore getStateStore() {
+		if (stateStore == null) {
+			stateStore = new AgentStateStore();
+			for (T element : elementMap.values()) {
+				addToStateStore(element);
+			}
+		}
+		return stateStore;
+	}
+
+	public synchronized boolean hasStateStore() {
+		return stateStore != null;
+	}
+
 	public void addInitialElement(T initialElement) {
 		this.initialElements.add(initialElement);
 	}
@@ -60,6 +91,7 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	public synchronized void addElement(T element) {
 		this.elementMap.put(element.getId(), element);
 		this.cellsElements.addObject(element);
+		addToStateStore(element);
 
 		assert (elementMap.size() == cellsElements.size())
 				: "Number of pedestrians in LinkedCellGrid does not match number of pedestrians" +
@@ -70,13 +102,9 @@ public class DynamicElementContainer<T extends DynamicElement> {
 		}
 	}
 
-	public synchronized void moveElement(T element, VPoint oldPosition) {
+	public void moveElement(T element, VPoint oldPosition) {
 		this.cellsElements.moveObject(element, oldPosition);
 
-		assert (elementMap.size() == cellsElements.size())
-				: "Number of pedestrians in LinkedCellGrid does not match number of pedestrians" +
-				" in topography";
-
 		for (DynamicElementMoveListener<T> listener : moveListener) {
 			listener.elementMove(element);
 		}
@@ -85,6 +113,9 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	public synchronized void removeElement(T element) {
 		this.elementMap.remove(element.getId());
 		this.cellsElements.removeObject(element);
+		if (stateStore != null && element instanceof Agent && stateStore.contains((Agent) element)) {
+			stateStore.remove((Agent) element);
+		}
 
 		assert (elementMap.size() == cellsElements.size())
 				: "Number of pedestrians in LinkedCellGrid does not match number of pedestrians" +
@@ -110,9 +141,12 @@ public class DynamicElementContainer<T extends DynamicElement> {
 		return this.removeListener;
 	}
 
-	public void clear() {
+	public synchronized void clear() {
 		this.elementMap.clear();
 		this.cellsElements.clear();
+		if (stateStore != null) {
+			stateStore.clear();
+		}
 	}
 
 	public void clearListeners() {
@@ -124,6 +158,13 @@ public class DynamicElementContainer<T extends DynamicElement> {
 		return elementMap.containsKey(id);
 	}
 
+	private void addToStateStore(T element) {
+		// an agent can only be part of one store, e.g. not of the store of a clone of this container
+		if (stateStore != null && element instanceof Agent && ((Agent) element).getStateSlot() < 0) {
+			stateStore.add((Agent) element);
+		}
+	}
+
 	@Override
 	protected DynamicElementContainer<T> clone() throws CloneNotSupportedException {
 		DynamicElementContainer<T> clone = new DynamicElementContainer<>(bounds, cellSize);
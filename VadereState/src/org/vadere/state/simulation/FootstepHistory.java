@@ -4,56 +4,155 @@ import org.jetbrains.annotations.Nullable;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Store the last foot steps of an agent to calculate the agent's average speed during simulation.
+ *
+ * The foot steps are stored in a ring buffer of primitive arrays, i.e. adding a foot step neither allocates
+ * memory nor shifts the stored foot steps. {@link FootStep} objects are only created on request.
  */
 public class FootstepHistory {
 
     // Variables
     private int capacity;
-    private ArrayList<FootStep> footSteps;
+    /** the number of the last foot steps the average speed is computed of */
+    private final int speedWindow;
+    private int size;
+    /** the index of the oldest foot step */
+    private int head;
+    private double[] startX;
+    private double[] startY;
+    private double[] endX;
+    private double[] endY;
+    private double[] startTime;
+    private double[] endTime;
 
     // Constructors
     public FootstepHistory() {
         this(10);
     }
     public FootstepHistory(int capacity) {
-        this.capacity = capacity;
-        this.footSteps = new ArrayList<>(capacity);
+        this.capacity = Math.max(0, capacity);
+        this.speedWindow = this.capacity;
+        this.size = 0;
+        this.head = 0;
+        this.startX = new double[this.capacity];
+        this.startY = new double[this.capacity];
+        this.endX = new double[this.capacity];
+        this.endY = new double[this.capacity];
+        this.startTime = new double[this.capacity];
+        this.endTime = new double[this.capacity];
     }
 
     // Getters
     public int getCapacity() { return capacity; }
-    public ArrayList<FootStep> getFootSteps() { return footSteps; }
-    public int size() { return footSteps.size(); }
+    public int getSpeedWindow() { return speedWindow; }
+    public int size() { return size; }
+
+    /**
+     * Returns a copy of the stored foot steps ordered from the oldest to the youngest.
+     */
+    public ArrayList<FootStep> getFootSteps() {
+        ArrayList<FootStep> footSteps = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            footSteps.add(getFootStep(i));
+        }
+        return footSteps;
+    }
 
     // Methods
     public boolean add(FootStep footStep) {
-        if (footSteps.size() >= capacity) {
-            footSteps.remove(0);
+        VPoint start = footStep.getStart();
+        VPoint end = footStep.getEnd();
+        return add(start != null ? start.x : Double.NaN, start != null ? start.y : Double.NaN,
+                end != null ? end.x : Double.NaN, end != null ? end.y : Double.NaN,
+                footStep.getStartTime(), footStep.getEndTime());
+    }
+
+    /**
+     * Adds a foot step without creating a {@link FootStep}. If the capacity is exceeded, the oldest foot step is dropped.
+     */
+    public boolean add(double startX, double startY, double endX, double endY, double startTime, double endTime) {
+        if (capacity == 0) {
+            return false;
         }
 
-        boolean successful = footSteps.add(footStep);
+        int index;
+        if (size < capacity) {
+            index = index(size);
+            size++;
+        } else {
+            index = head;
+            head = (head + 1) % capacity;
+        }
+
+        this.startX[index] = startX;
+        this.startY[index] = startY;
+        this.endX[index] = endX;
+        this.endY[index] = endY;
+        this.startTime[index] = startTime;
+        this.endTime[index] = endTime;
 
-        return successful;
+        return true;
     }
 
 	public void removeLast() {
-		assert !footSteps.isEmpty();
-		footSteps.remove(footSteps.size()-1);
+		assert size > 0;
+		size--;
 	}
 
+    public void clear() {
+        size = 0;
+        head = 0;
+    }
+
+    /**
+     * Increases the capacity, if necessary, such that at least the last <tt>minCapacity</tt> foot steps are stored.
+     * The stored foot steps are kept. The speed window is not changed.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity <= capacity) {
+            return;
+        }
+
+        double[][] arrays = { startX, startY, endX, endY, startTime, endTime };
+        for (int j = 0; j < arrays.length; j++) {
+            double[] array = Arrays.copyOf(arrays[j], minCapacity);
+            for (int i = 0; i < size; i++) {
+                array[i] = arrays[j][index(i)];
+            }
+            arrays[j] = array;
+        }
+
+        startX = arrays[0];
+        startY = arrays[1];
+        endX = arrays[2];
+        endY = arrays[3];
+        startTime = arrays[4];
+        endTime = arrays[5];
+        head = 0;
+        capacity = minCapacity;
+    }
+
+    /**
+     * Returns the average speed of the last foot steps of the speed window, see {@link #getSpeedWindow()}.
+     */
     public double getAverageSpeedInMeterPerSecond() {
         double speed = Double.NaN;
+        int n = Math.min(size, speedWindow);
 
-        if (footSteps.size() > 0) {
+        if (n > 0) {
+            int first = size - n;
             // Speed is length divided by time.
-            double distance =  footSteps.stream().mapToDouble(footStep -> footStep.length()).sum();
-            // This approach works also if "footSteps.size() == 1"
-            double time = getYoungestFootStep().getEndTime() - getOldestFootStep().getStartTime();
+            double distance = IntStream.range(first, size).map(this::index)
+                    .mapToDouble(index -> Point2D.distance(startX[index], startY[index], endX[index], endY[index])).sum();
+            // This approach works also if "n == 1"
+            double time = endTime[index(size - 1)] - startTime[index(first)];
 
             speed = distance / time;
         }
@@ -64,8 +163,8 @@ public class FootstepHistory {
     public FootStep getOldestFootStep() {
         FootStep oldestFootStep = null;
 
-        if (footSteps.size() > 0) {
-            oldestFootStep = footSteps.get(0);
+        if (size > 0) {
+            oldestFootStep = getFootStep(0);
         }
 
         return oldestFootStep;
@@ -89,12 +188,12 @@ public class FootstepHistory {
     }
 
     public double getNorthBoundHeadingAngle(int histLength, boolean degree){
-        if (footSteps.size() < histLength)
+        if (size < histLength)
             return 0.0; // not enough data. Return North heading.
 
-        VPoint currentLocation = footSteps.get(footSteps.size() -1).getEnd();
-        VPoint pastLocation = footSteps.get(footSteps.size() - histLength).getStart();
-        Vector2D heading = new Vector2D(currentLocation.x - pastLocation.x, currentLocation.y - pastLocation.y);
+        int current = index(size - 1);
+        int past = index(size - histLength);
+        Vector2D heading = new Vector2D(endX[current] - startX[past], endY[current] - startY[past]);
         if (Math.abs(heading.getLength() -0.0) < 0.0001){
             //Footstep to small
             return 0.0; // assume North heading
@@ -115,18 +214,39 @@ public class FootstepHistory {
     public FootStep getYoungestFootStep() {
         FootStep youngestFootStep = null;
 
-        if (footSteps.size() > 0) {
-            youngestFootStep = footSteps.get(footSteps.size() - 1);
+        if (size > 0) {
+            youngestFootStep = getFootStep(size - 1);
         }
 
         return youngestFootStep;
     }
 
+    /**
+     * Returns the i-th foot step, where 0 is the oldest one.
+     */
+    private FootStep getFootStep(int i) {
+        int index = index(i);
+        return new FootStep(toPoint(startX[index], startY[index]), toPoint(endX[index], endY[index]),
+                startTime[index], endTime[index]);
+    }
+
+    /**
+     * Returns the point or <tt>null</tt> for a missing point which is stored as NaN, see {@link #add(FootStep)}.
+     */
+    @Nullable
+    private static VPoint toPoint(double x, double y) {
+        return Double.isNaN(x) || Double.isNaN(y) ? null : new VPoint(x, y);
+    }
+
+    private int index(int i) {
+        return (head + i) % capacity;
+    }
+
     @Override
     public String toString() {
-        String footStepPrefix = String.format("Last Footseps (%d): ", footSteps.size());
+        String footStepPrefix = String.format("Last Footseps (%d): ", size);
 
-        String footStepString = footSteps.stream().map(footStep -> footStep.toString()).collect(Collectors.joining(" -> "));
+        String footStepString = getFootSteps().stream().map(footStep -> footStep.toString()).collect(Collectors.joining(" -> "));
 
         return footStepPrefix + footStepString;
     }
@@ -0,0 +1,60 @@
+package org.vadere.state.simulation;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+/**
+ * The part of a trajectory inside a rectangle which is built foot step by foot step. After adding the
+ * foot steps of a trajectory in order, {@link #getTrajectory()} is equal to {@link VTrajectory#cut(VRectangle)}
+ * of that trajectory, i.e. it contains the last passage through the rectangle. In contrast to
+ * {@link VTrajectory#cut(VRectangle)} only the foot steps inside the rectangle are stored and each foot step
+ * is processed once.
+ */
+public class VTrajectoryCut {
+
+	private final VRectangle rectangle;
+	private final VTrajectory trajectory;
+	private boolean inside;
+	private boolean started;
+
+	public VTrajectoryCut(@NotNull final VRectangle rectangle) {
+		this.rectangle = rectangle;
+		this.trajectory = new VTrajectory();
+		this.inside = false;
+		this.started = false;
+	}
+
+	public void add(@NotNull final FootStep footStep) {
+		if (!started) {
+			inside = rectangle.contains(footStep.getStart());
+			started = true;
+		}
+
+		if (footStep.intersects(rectangle)) {
+			Pair<FootStep, FootStep> splitStep = footStep.cut(footStep.computeIntersectionTime(rectangle));
+
+			if (!inside) {
+				trajectory.clear();
+				trajectory.add(splitStep.getRight());
+			} else {
+				trajectory.add(splitStep.getLeft());
+			}
+
+			inside = !inside;
+		} else if (inside) {
+			trajectory.add(footStep);
+		}
+	}
+
+	/**
+	 * Returns the cut trajectory which must not be changed.
+	 */
+	public VTrajectory getTrajectory() {
+		return trajectory;
+	}
+
+	public boolean isEmpty() {
+		return trajectory.isEmpty();
+	}
+}
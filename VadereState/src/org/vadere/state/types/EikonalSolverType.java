@@ -13,6 +13,7 @@ public enum EikonalSolverType {
 	HIGH_ACCURACY_FAST_MARCHING_DENSITY,
 	FAST_ITERATIVE_METHOD,
 	INFORMED_FAST_ITERATIVE_METHOD,
+	BLOCK_FAST_ITERATIVE_METHOD,
 	FAST_SWEEPING_METHOD,
 
 	/**
@@ -36,6 +37,16 @@ public enum EikonalSolverType {
 				this == HIGH_ACCURACY_FAST_MARCHING_DYNAMIC;
 	}
 
+	public boolean isFastMarching() {
+		return  this == FAST_MARCHING ||
+				this == HIGH_ACCURACY_FAST_MARCHING ||
+				this == FAST_MARCHING_ADAPTIVE ||
+				this == HIGH_ACCURACY_FAST_MARCHING_ADAPTIVE ||
+				this == HIGH_ACCURACY_FAST_MARCHING_DYNAMIC ||
+				this == HIGH_ACCURACY_FAST_MARCHING_DENSITY ||
+				this == FAST_MARCHING_TRI;
+	}
+
 	public boolean isUsingCellGrid() {
 		return  this == FAST_MARCHING ||
 				this == HIGH_ACCURACY_FAST_MARCHING ||
@@ -45,6 +56,7 @@ public enum EikonalSolverType {
 				this == HIGH_ACCURACY_FAST_MARCHING_DENSITY ||
 				this == FAST_ITERATIVE_METHOD ||
 				this == INFORMED_FAST_ITERATIVE_METHOD ||
+				this == BLOCK_FAST_ITERATIVE_METHOD ||
 				this == FAST_SWEEPING_METHOD;
 	}
 }
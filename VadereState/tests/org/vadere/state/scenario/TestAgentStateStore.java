@@ -0,0 +1,132 @@
+package org.vadere.state.scenario;
+
+import static org.junit.Assert.*;
+
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedList;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.Vector2D;
+
+public class TestAgentStateStore {
+
+	private DynamicElementContainer<Pedestrian> container;
+
+	@Before
+	public void setUp() {
+		container = new DynamicElementContainer<>(new Rectangle2D.Double(0, 0, 10, 10), 1.0);
+	}
+
+	@Test
+	public void testStoreIsCreatedFromExistingElements() {
+		Pedestrian pedestrian = createPedestrian(1, 2.0, 3.0);
+		container.addElement(pedestrian);
+		assertFalse(container.hasStateStore());
+		assertEquals(-1, pedestrian.getStateSlot());
+
+		AgentStateStore store = container.getStateStore();
+		assertEquals(1, store.size());
+		assertEquals(0, pedestrian.getStateSlot());
+		assertSame(pedestrian, store.getAgent(0));
+		assertEquals(2.0, store.getX()[0], 0);
+		assertEquals(3.0, store.getY()[0], 0);
+		assertEquals(pedestrian.getRadius(), store.getRadius()[0], 0);
+		assertEquals(AgentStateStore.NO_TARGET, store.getNextTargetId()[0]);
+	}
+
+	@Test
+	public void testSettersWriteThrough() {
+		AgentStateStore store = container.getStateStore();
+		Pedestrian pedestrian = createPedestrian(1, 2.0, 3.0);
+		container.addElement(pedestrian);
+		int slot = pedestrian.getStateSlot();
+
+		pedestrian.setPosition(new VPoint(4.0, 5.0));
+		pedestrian.setVelocity(new Vector2D(0.5, -0.5));
+		assertEquals(4.0, store.getX()[slot], 0);
+		assertEquals(5.0, store.getY()[slot], 0);
+		assertEquals(0.5, store.getVelocityX()[slot], 0);
+		assertEquals(-0.5, store.getVelocityY()[slot], 0);
+
+		LinkedList<Integer> targets = new LinkedList<>();
+		targets.add(7);
+		targets.add(8);
+		pedestrian.setTargets(targets);
+		assertEquals(7, store.getNextTargetId()[slot]);
+		pedestrian.incrementNextTargetListIndex();
+		assertEquals(8, store.getNextTargetId()[slot]);
+		pedestrian.incrementNextTargetListIndex();
+		assertEquals(AgentStateStore.NO_TARGET, store.getNextTargetId()[slot]);
+	}
+
+	@Test
+	public void testTargetListEditsWriteThrough() {
+		AgentStateStore store = container.getStateStore();
+		Pedestrian pedestrian = createPedestrian(1, 2.0, 3.0);
+		container.addElement(pedestrian);
+		int slot = pedestrian.getStateSlot();
+
+		LinkedList<Integer> targets = new LinkedList<>();
+		targets.add(7);
+		pedestrian.setTargets(targets);
+		pedestrian.addFirstTarget(5);
+		assertEquals(5, store.getNextTargetId()[slot]);
+		pedestrian.removeTarget(5);
+		assertEquals(7, store.getNextTargetId()[slot]);
+		pedestrian.removeTarget(7);
+		assertEquals(AgentStateStore.NO_TARGET, store.getNextTargetId()[slot]);
+	}
+
+	@Test
+	public void testRemoveCompactsSlots() {
+		AgentStateStore store = container.getStateStore();
+		Pedestrian first = createPedestrian(1, 1.0, 1.0);
+		Pedestrian second = createPedestrian(2, 2.0, 2.0);
+		Pedestrian third = createPedestrian(3, 3.0, 3.0);
+		container.addElement(first);
+		container.addElement(second);
+		container.addElement(third);
+
+		container.removeElement(first);
+		assertEquals(2, store.size());
+		assertEquals(-1, first.getStateSlot());
+		assertFalse(store.contains(first));
+
+		// the last agent moved into the free slot
+		assertEquals(0, third.getStateSlot());
+		assertSame(third, store.getAgent(0));
+		assertEquals(3.0, store.getX()[0], 0);
+
+		third.setPosition(new VPoint(6.0, 6.0));
+		assertEquals(6.0, store.getX()[third.getStateSlot()], 0);
+		assertEquals(2.0, store.getX()[second.getStateSlot()], 0);
+
+		container.clear();
+		assertEquals(0, store.size());
+		assertEquals(-1, second.getStateSlot());
+	}
+
+	@Test
+	public void testStoreGrows() {
+		AgentStateStore store = container.getStateStore();
+		for (int id = 1; id <= 200; id++) {
+			container.addElement(createPedestrian(id, id * 0.01, 0.0));
+		}
+		assertEquals(200, store.size());
+		for (int slot = 0; slot < store.size(); slot++) {
+			Agent agent = store.getAgent(slot);
+			assertEquals(slot, agent.getStateSlot());
+			assertEquals(agent.getPosition().x, store.getX()[slot], 0);
+		}
+	}
+
+	private Pedestrian createPedestrian(int id, double x, double y) {
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(id), new Random(0));
+		pedestrian.setPosition(new VPoint(x, y));
+		return pedestrian;
+	}
+}
@@ -19,7 +19,7 @@ public class FootstepHistoryTest {
 
     // Helper method
     private void addFootStepsToLastFootSteps(int totalFootSteps, double stepLength, Direction direction) {
-        footstepHistory.getFootSteps().clear();
+        footstepHistory.clear();
 
         for (int i = 0; i < totalFootSteps; i++) {
             FootStep currentFootStep;
@@ -68,7 +68,7 @@ public class FootstepHistoryTest {
     @Test
     public void getFootStepsReturnsListOfSizeOneIfOneElementWasAdded() {
         FootStep footStep = new FootStep();
-        footstepHistory.getFootSteps().add(footStep);
+        footstepHistory.add(footStep);
 
         int expectedListSize = 1;
         assertEquals(expectedListSize, footstepHistory.getFootSteps().size());
@@ -304,6 +304,61 @@ public class FootstepHistoryTest {
         }
     }
 
+    @Test
+    public void getFootStepsReturnsACopy() {
+        footstepHistory.add(new FootStep(new VPoint(0, 0), new VPoint(1, 0), 0, 1));
+        footstepHistory.getFootSteps().clear();
+
+        assertEquals(1, footstepHistory.size());
+    }
+
+    @Test
+    public void ensureCapacityKeepsTheFootStepsInOrder() {
+        for (int i = 0; i < expectedFootStepCapacity + 3; i++) {
+            footstepHistory.add(i, 0, i + 1, 0, i, i + 1);
+        }
+
+        int expectedCapacity = 2 * expectedFootStepCapacity;
+        footstepHistory.ensureCapacity(expectedCapacity);
+        assertEquals(expectedCapacity, footstepHistory.getCapacity());
+        assertEquals(expectedFootStepCapacity, footstepHistory.size());
+
+        for (int i = expectedFootStepCapacity + 3; i < expectedCapacity + 3; i++) {
+            footstepHistory.add(i, 0, i + 1, 0, i, i + 1);
+        }
+
+        ArrayList<FootStep> footSteps = footstepHistory.getFootSteps();
+        assertEquals(expectedCapacity, footSteps.size());
+        for (int i = 0; i < footSteps.size(); i++) {
+            assertEquals(i + 3, footSteps.get(i).getStartTime(), ALLOWED_DOUBLE_ERROR);
+        }
+    }
+
+    @Test
+    public void ensureCapacityDoesNotChangeTheSpeedWindow() {
+        FootstepHistory footstepHistory = new FootstepHistory(2);
+        footstepHistory.ensureCapacity(4);
+        assertEquals(2, footstepHistory.getSpeedWindow());
+
+        // two slow foot steps followed by two fast ones, only the fast ones are in the speed window
+        footstepHistory.add(0, 0, 0.1, 0, 0, 1);
+        footstepHistory.add(0.1, 0, 0.2, 0, 1, 2);
+        footstepHistory.add(0.2, 0, 1.2, 0, 2, 3);
+        footstepHistory.add(1.2, 0, 2.2, 0, 3, 4);
+
+        assertEquals(4, footstepHistory.size());
+        assertEquals(1.0, footstepHistory.getAverageSpeedInMeterPerSecond(), ALLOWED_DOUBLE_ERROR);
+    }
+
+    @Test
+    public void addIsIgnoredIfThereIsNoCapacity() {
+        FootstepHistory footstepHistory = new FootstepHistory(0);
+        footstepHistory.add(new FootStep(new VPoint(0, 0), new VPoint(1, 0), 0, 1));
+
+        assertEquals(0, footstepHistory.size());
+        assertNull(footstepHistory.getYoungestFootStep());
+    }
+
     @Test
     public void getHeadingAngleDegTest(){
         footstepHistory.add(new FootStep(new VPoint(1,1), new VPoint(3,2), 1, 2 ));
@@ -0,0 +1,56 @@
+package org.vadere.state.simulation;
+
+import org.junit.Test;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VTrajectoryCutTest {
+
+	private final VRectangle rectangle = new VRectangle(2, 2, 4, 3);
+
+	@Test
+	public void testEqualsCutOfWholeTrajectory() {
+		Random random = new Random(42);
+
+		for (int i = 0; i < 100; i++) {
+			VTrajectory trajectory = new VTrajectory();
+			VTrajectoryCut cut = new VTrajectoryCut(rectangle);
+			VPoint position = new VPoint(random.nextDouble() * 8, random.nextDouble() * 7);
+			double time = 0;
+
+			for (int step = 0; step < 50; step++) {
+				VPoint next = position.add(new VPoint(random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+				double duration = 0.2 + random.nextDouble() * 0.3;
+				FootStep footStep = new FootStep(position, next, time, time + duration);
+				trajectory.add(footStep);
+				cut.add(footStep);
+				position = next;
+				time += duration;
+
+				assertEquals(trajectory.cut(rectangle).toString(), cut.getTrajectory().toString());
+			}
+		}
+	}
+
+	@Test
+	public void testPassage() {
+		VTrajectoryCut cut = new VTrajectoryCut(rectangle);
+		cut.add(new FootStep(new VPoint(0, 3), new VPoint(1, 3), 0, 1));
+		assertTrue(cut.isEmpty());
+
+		cut.add(new FootStep(new VPoint(1, 3), new VPoint(3, 3), 1, 2));
+		cut.add(new FootStep(new VPoint(3, 3), new VPoint(5, 3), 2, 3));
+		cut.add(new FootStep(new VPoint(5, 3), new VPoint(7, 3), 3, 4));
+		cut.add(new FootStep(new VPoint(7, 3), new VPoint(8, 3), 4, 5));
+
+		assertEquals(3, cut.getTrajectory().size());
+		assertEquals(1.5, cut.getTrajectory().getStartTime().get(), 1e-10);
+		assertEquals(3.5, cut.getTrajectory().getEndTime().get(), 1e-10);
+		assertEquals(4.0, cut.getTrajectory().length(), 1e-10);
+	}
+}
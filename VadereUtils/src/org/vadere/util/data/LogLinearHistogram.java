@@ -0,0 +1,159 @@
+package org.vadere.util.data;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A histogram of non-negative long values (e.g. durations in nanoseconds) with the bucket layout of
+ * an HDR histogram: the buckets grow exponentially and each power of two is subdivided into
+ * <tt>2^(subBucketBits-1)</tt> linear sub-buckets. Therefore, the memory is fixed, recording a value costs a
+ * few bit operations and an array increment, and every reported value has a relative error of at most
+ * <tt>2^-(subBucketBits-1)</tt>. Minimum, maximum and the sum are exact.
+ *
+ * The histogram is not thread-safe, it is meant to be recorded by a single thread.
+ */
+public class LogLinearHistogram {
+
+	public static final int DEFAULT_SUB_BUCKET_BITS = 7;
+
+	private final int subBucketBits;
+	private final int subBucketCount;
+	private final int subBucketHalfCount;
+	private final long[] counts;
+
+	private long totalCount;
+	private long sum;
+	private long min;
+	private long max;
+
+	public LogLinearHistogram() {
+		this(DEFAULT_SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * @param subBucketBits the precision, values are exact up to <tt>2^subBucketBits</tt>, must be in [1, 16]
+	 */
+	public LogLinearHistogram(final int subBucketBits) {
+		if(subBucketBits < 1 || subBucketBits > 16) {
+			throw new IllegalArgumentException("sub bucket bits have to be in [1, 16] but was " + subBucketBits);
+		}
+		this.subBucketBits = subBucketBits;
+		this.subBucketCount = 1 << subBucketBits;
+		this.subBucketHalfCount = subBucketCount >> 1;
+		this.counts = new long[subBucketCount + (64 - subBucketBits) * subBucketHalfCount];
+		reset();
+	}
+
+	public void record(final long value) {
+		if(value < 0) {
+			throw new IllegalArgumentException("negative value " + value);
+		}
+		counts[indexOf(value)]++;
+		totalCount++;
+		sum += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Adds all values recorded by <tt>other</tt> to this histogram.
+	 *
+	 * @param other a histogram with the same precision
+	 */
+	public void add(@NotNull final LogLinearHistogram other) {
+		if(other.subBucketBits != subBucketBits) {
+			throw new IllegalArgumentException("histograms of different precision can not be added");
+		}
+		for(int i = 0; i < counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		totalCount += other.totalCount;
+		sum += other.sum;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	public void reset() {
+		for(int i = 0; i < counts.length; i++) {
+			counts[i] = 0;
+		}
+		totalCount = 0;
+		sum = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+	}
+
+	public LogLinearHistogram copy() {
+		LogLinearHistogram copy = new LogLinearHistogram(subBucketBits);
+		copy.add(this);
+		return copy;
+	}
+
+	public long getCount() {
+		return totalCount;
+	}
+
+	public long getSum() {
+		return sum;
+	}
+
+	public long getMin() {
+		return totalCount == 0 ? 0 : min;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+	}
+
+	/**
+	 * Returns the (approximated) value below or equal to which <tt>percentile</tt> percent of all
+	 * recorded values are, e.g. <tt>getValueAtPercentile(50)</tt> is the median.
+	 *
+	 * @param percentile the percentile in [0, 100]
+	 * @return the value at the percentile or 0 if the histogram is empty
+	 */
+	public long getValueAtPercentile(final double percentile) {
+		if(totalCount == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * totalCount));
+		long accumulated = 0;
+		for(int i = 0; i < counts.length; i++) {
+			accumulated += counts[i];
+			if(accumulated >= rank) {
+				return Math.max(Math.min(highestValueOf(i), max), getMin());
+			}
+		}
+		return max;
+	}
+
+	int indexOf(final long value) {
+		if(value < subBucketCount) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - subBucketBits + 1;
+		int subBucket = (int) (value >>> shift);
+		return subBucketCount + (shift - 1) * subBucketHalfCount + (subBucket - subBucketHalfCount);
+	}
+
+	long lowestValueOf(final int index) {
+		if(index < subBucketCount) {
+			return index;
+		}
+		int i = index - subBucketCount;
+		int shift = i / subBucketHalfCount + 1;
+		long subBucket = i % subBucketHalfCount + subBucketHalfCount;
+		return subBucket << shift;
+	}
+
+	long highestValueOf(final int index) {
+		if(index < subBucketCount) {
+			return index;
+		}
+		int shift = (index - subBucketCount) / subBucketHalfCount + 1;
+		return lowestValueOf(index) + (1L << shift) - 1;
+	}
+}
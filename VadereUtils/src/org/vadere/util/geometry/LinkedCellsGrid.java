@@ -2,7 +2,11 @@ package org.vadere.util.geometry;
 
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.jetbrains.annotations.NotNull;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
@@ -11,39 +15,108 @@ import org.vadere.util.geometry.shapes.VRectangle;
  * A grid augmenting the position of generic objects, for faster access. O(1)
  * instead of O(n) for one fixed radius check. See
  * {@link LinkedCellsGrid#getObjects(VPoint, double)}.
- * 
- * 
+ *
+ * Reading the grid is lock-free: each cell publishes its objects as an immutable array which is replaced (copy on
+ * write) whenever an object is added to or removed from the cell. Writes lock only the cell they modify, i.e. agents
+ * can be moved in parallel. A reader always sees a consistent state of each cell but might miss an object which is
+ * moved into another cell at the same time. Bulk writes, i.e. {@link #bulkLoad(Collection)} and {@link #clear()},
+ * must not run concurrently to other writes.
  */
 public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	final private double left;
 	final private double top;
 	final private double width;
 	final private double height;
-	private GridCell<T>[][] grid;
+	private final GridCell<T>[][] grid;
 	private int[] gridSize = new int[2];
 	private double[] cellSize = new double[2];
 
 	private double sideLength;
-	private int size;
+	private final AtomicInteger size;
+
+	/**
+	 * the number of objects from which on the cells of the objects are computed in parallel by {@link #bulkLoad(Collection)}.
+	 */
+	private static final int PARALLEL_BULK_LOAD_THRESHOLD = 10000;
+
+	private static final Object[] EMPTY_CELL = new Object[0];
 
 	/**
 	 * One cell in the grid. It triangleContains a mapping from points to lists of
 	 * objects. This means that one can store multiple objects in one cell.
-	 * 
+	 *
+	 * The objects are stored in an array which is never modified after it has been published. Writers synchronize
+	 * on the cell and publish a modified copy.
 	 * 
 	 * @param <E>
 	 *        type of objects stored in this cell.
 	 */
 	private class GridCell<E extends PointPositioned> {
-		public List<E> objects = new ArrayList<>();
+		private volatile Object[] objects = EMPTY_CELL;
+
+		@SuppressWarnings("unchecked")
+		public List<E> getObjects() {
+			return Collections.unmodifiableList((List<E>) (List<?>) Arrays.asList(objects));
+		}
+
+		public int size() {
+			return objects.length;
+		}
+
+		public synchronized void add(final E object) {
+			Object[] newObjects = Arrays.copyOf(objects, objects.length + 1);
+			newObjects[objects.length] = object;
+			objects = newObjects;
+		}
+
+		/**
+		 * Removes all objects equal to the given object.
+		 *
+		 * @return true if an object has been removed, otherwise false
+		 */
+		public synchronized boolean remove(final E object) {
+			return replace(object, null);
+		}
+
+		/**
+		 * Removes all objects equal to the given object and, if one has been removed, appends the object. This is equal
+		 * to {@link #remove(PointPositioned)} followed by {@link #add(PointPositioned)}, but readers never miss the object.
+		 *
+		 * @return true if an object has been removed, otherwise false
+		 */
+		public synchronized boolean moveToEnd(final E object) {
+			return replace(object, object);
+		}
+
+		public void set(final Object[] objects) {
+			this.objects = objects;
+		}
+
+		private boolean replace(final E object, final E last) {
+			Object[] oldObjects = objects;
+			Object[] newObjects = new Object[oldObjects.length];
+			int n = 0;
+			for (Object element : oldObjects) {
+				if (!element.equals(object)) {
+					newObjects[n++] = element;
+				}
+			}
+			if (n == oldObjects.length) {
+				return false;
+			}
+			if (last != null) {
+				newObjects[n++] = last;
+			}
+			objects = n == newObjects.length ? newObjects : Arrays.copyOf(newObjects, n);
+			return true;
+		}
 
 		@Override
 		public int hashCode() {
 			final int prime = 31;
 			int result = 1;
 			result = prime * result + getOuterType().hashCode();
-			result = prime * result
-					+ ((objects == null) ? 0 : objects.hashCode());
+			result = prime * result + Arrays.hashCode(objects);
 			return result;
 		}
 
@@ -59,14 +132,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 				return false;
 			}
 			GridCell other = (GridCell) obj;
-			if (objects == null) {
-				if (other.objects != null) {
-					return false;
-				}
-			} else if (!objects.equals(other.objects)) {
-				return false;
-			}
-			return true;
+			return Arrays.equals(objects, other.objects);
 		}
 
 		private LinkedCellsGrid getOuterType() {
@@ -113,7 +179,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	private GridCell<T>[][] generateGrid(int... s) {
 		// Use Array native method to create array of a type only known at run
 		// time
-		this.grid = (GridCell<T>[][]) Array.newInstance(GridCell.class, s);
+		GridCell<T>[][] grid = (GridCell<T>[][]) Array.newInstance(GridCell.class, s);
 		for (int r = 0; r < grid.length; r++) {
 			// TODO [priority=medium] [task=test] changed this [20.08.2014] here 1 to r - pls check this
 			for (int c = 0; c < grid[r].length; c++) {
@@ -121,7 +187,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 			}
 		}
 
-		return this.grid;
+		return grid;
 	}
 
 	public int getGridWidth() {
@@ -158,7 +224,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		this.top = top;
 		this.width = width;
 		this.height = height;
-		this.size = 0;
+		this.size = new AtomicInteger(0);
 		this.sideLength = sideLength;
 
 
@@ -217,7 +283,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		int[][] count = new int[this.gridSize[0]][this.gridSize[1]];
 		for (int r = 0; r < grid.length; r++) {
 			for (int c = 0; c < grid[r].length; c++) {
-				count[r][c] = grid[r][c].objects.size();
+				count[r][c] = grid[r][c].size();
 			}
 		}
 		return count;
@@ -227,7 +293,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		Map<int[], List<T>> elementsByCell = new HashMap<>();
 		for (int r = 0; r < grid.length; r++) {
 			for (int c = 0; c < grid[r].length; c++) {
-				List<T> cellElements = grid[r][c].objects;
+				List<T> cellElements = grid[r][c].getObjects();
 				elementsByCell.put(new int[]{r, c}, cellElements);
 			}
 		}
@@ -240,15 +306,31 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	 * 
 	 * @param object object to add
 	 */
-	public synchronized void addObject(final T object) {
+	public void addObject(final T object) {
 		int[] gridPos = gridPos(object.getPosition());
-		grid[gridPos[0]][gridPos[1]].objects.add(object);
-		size++;
+		grid[gridPos[0]][gridPos[1]].add(object);
+		size.incrementAndGet();
 	}
 
+	/**
+	 * Moves the object from the cell of its old position to the cell of its current position. If both cells are equal
+	 * the object is moved to the end of the cell in one atomic step, otherwise it is removed from the old cell and
+	 * added to the new cell, i.e. only the modified cells are locked and objects can be moved in parallel.
+	 *
+	 * @param object        the object which has been moved
+	 * @param oldPosition   the position of the object before it has been moved
+	 */
 	public void moveObject(final T object, final VPoint oldPosition) {
-		removeObject(object, oldPosition);
-		addObject(object);
+		int[] oldGridPos = gridPos(oldPosition);
+		int[] gridPos = gridPos(object.getPosition());
+		if (oldGridPos[0] == gridPos[0] && oldGridPos[1] == gridPos[1]) {
+			if (!grid[gridPos[0]][gridPos[1]].moveToEnd(object)) {
+				addObject(object);
+			}
+		} else {
+			removeObject(object, oldPosition);
+			addObject(object);
+		}
 	}
 
 	/**
@@ -260,8 +342,9 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	 *        radius of the ball
 	 * @return set of objects, or an empty set if no objects are present.
 	 */
-	public synchronized List<T> getObjects(final VPoint pos, final double radius) {
-		final List<T> result = new LinkedList<T>();
+	@SuppressWarnings("unchecked")
+	public List<T> getObjects(final VPoint pos, final double radius) {
+		final List<T> result = new ArrayList<>();
 
 		int[] gridPos = gridPos(pos);
 		int[] discreteRad = new int[2];
@@ -274,10 +357,10 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		for (int row = Math.max(0, gridPos[0] - discreteRad[0]); row <= maxRow; row++) {
 			for (int col = Math.max(0, gridPos[1] - discreteRad[1]); col <= maxCol; col++) {
 
-				for (T object : grid[row][col].objects) {
+				for (Object object : grid[row][col].objects) {
 					// if the given position is closer than the radius, add all objects stored there
-					if (object.getPosition().distance(pos) < radius) {
-						result.add(object);
+					if (((T) object).getPosition().distance(pos) < radius) {
+						result.add((T) object);
 					}
 				}
 			}
@@ -285,6 +368,45 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		return result;
 	}
 
+	/**
+	 * Like {@link #getObjects(VPoint, double)} but the objects in the ball are mapped to integer indices, e.g.
+	 * their slots in a structure of arrays, such that the caller does not have to access the objects again.
+	 * The indices are written in the same order as {@link #getObjects(VPoint, double)} returns the objects.
+	 *
+	 * @param pos
+	 *        position of the center of the ball
+	 * @param radius
+	 *        radius of the ball
+	 * @param index
+	 *        maps an object to its index
+	 * @param indices
+	 *        the list the indices are written to, it is cleared first
+	 */
+	@SuppressWarnings("unchecked")
+	public void getObjectIndices(final VPoint pos, final double radius, @NotNull final ToIntFunction<? super T> index,
+	                             @NotNull final IntArrayList indices) {
+		indices.clear();
+
+		int[] gridPos = gridPos(pos);
+		int[] discreteRad = new int[2];
+		discreteRad[0] = (int) Math.ceil(radius / cellSize[0]);
+		discreteRad[1] = (int) Math.ceil(radius / cellSize[1]);
+
+		final int maxRow = Math.min(gridSize[0] - 1, gridPos[0] + discreteRad[0]);
+		final int maxCol = Math.min(gridSize[1] - 1, gridPos[1] + discreteRad[1]);
+
+		for (int row = Math.max(0, gridPos[0] - discreteRad[0]); row <= maxRow; row++) {
+			for (int col = Math.max(0, gridPos[1] - discreteRad[1]); col <= maxCol; col++) {
+
+				for (Object object : grid[row][col].objects) {
+					if (((T) object).getPosition().distance(pos) < radius) {
+						indices.add(index.applyAsInt((T) object));
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Removes the objects equal to the given object from the grid regardless of
 	 * their position. Note that this function has complexity O(N), with N =
@@ -292,26 +414,105 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	 * 
 	 * @param object
 	 */
-	public synchronized void removeObject(T object) {
-		int[] gridPos = gridPos(object.getPosition());
-		if(grid[gridPos[0]][gridPos[1]].objects.removeIf(element -> element.equals(object))){
-			size--;
-		}
+	public void removeObject(T object) {
+		removeObject(object, object.getPosition());
 	}
 
-	public synchronized void removeObject(T object, final VPoint oldPosition) {
+	public void removeObject(T object, final VPoint oldPosition) {
 		int[] gridPos = gridPos(oldPosition);
-		if(grid[gridPos[0]][gridPos[1]].objects.removeIf(element -> element.equals(object))){
-			size--;
+		if(grid[gridPos[0]][gridPos[1]].remove(object)){
+			size.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Replaces the objects of the grid by the given objects. The cells of the objects are computed first, in parallel
+	 * for many objects, and counted such that each cell is filled exactly once without growing its list (counting sort).
+	 * The objects of a cell keep the order of the collection, i.e. the result is equal to {@link #clear()} followed by
+	 * {@link #addObject(PointPositioned)} for each object, but each cell is published only once.
+	 *
+	 * @param objects the objects which replace the objects of the grid
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized void bulkLoad(@NotNull final Collection<? extends T> objects) {
+		final Object[] elements = objects.toArray();
+		final int n = elements.length;
+		final int[] cells = new int[n];
+
+		IntStream range = IntStream.range(0, n);
+		if (n >= PARALLEL_BULK_LOAD_THRESHOLD) {
+			range = range.parallel();
+		}
+		range.forEach(i -> cells[i] = cellIndex(((T) elements[i]).getPosition()));
+
+		final Object[][] cellObjects = new Object[gridSize[0] * gridSize[1]][];
+		final int[] counts = new int[cellObjects.length];
+		for (int cell : cells) {
+			counts[cell]++;
+		}
+		for (int cell = 0; cell < cellObjects.length; cell++) {
+			cellObjects[cell] = counts[cell] == 0 ? EMPTY_CELL : new Object[counts[cell]];
+			counts[cell] = 0;
+		}
+
+		for (int i = 0; i < n; i++) {
+			cellObjects[cells[i]][counts[cells[i]]++] = elements[i];
+		}
+
+		for (int r = 0; r < grid.length; r++) {
+			for (int c = 0; c < grid[r].length; c++) {
+				grid[r][c].set(cellObjects[r * gridSize[1] + c]);
+			}
 		}
+		size.set(n);
+	}
+
+	/**
+	 * Tests whether the grid contains exactly the given objects and whether each object is stored in the cell of its
+	 * current position. This check has complexity O(N) and is meant for debugging, e.g. in assertions.
+	 *
+	 * @param objects the objects which are expected to be stored in the grid
+	 * @return true if the grid is consistent with the objects, otherwise false
+	 */
+	public synchronized boolean isConsistent(@NotNull final Collection<? extends T> objects) {
+		final int size = size();
+		if (size != objects.size()) {
+			return false;
+		}
+
+		int count = 0;
+		Set<T> stored = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int r = 0; r < grid.length; r++) {
+			for (int c = 0; c < grid[r].length; c++) {
+				for (T object : grid[r][c].getObjects()) {
+					int[] gridPos = gridPos(object.getPosition());
+					if (gridPos[0] != r || gridPos[1] != c) {
+						return false;
+					}
+					stored.add(object);
+					count++;
+				}
+			}
+		}
+
+		return count == size && stored.size() == size && objects.stream().allMatch(stored::contains);
+	}
+
+	private int cellIndex(final VPoint pos) {
+		int[] gridPos = gridPos(pos);
+		return gridPos[0] * gridSize[1] + gridPos[1];
 	}
 
 	/**
 	 * Removes all objects.
 	 */
-	public void clear() {
-		grid = generateGrid(gridSize[0], gridSize[1]);
-		size = 0;
+	public synchronized void clear() {
+		for (int r = 0; r < grid.length; r++) {
+			for (int c = 0; c < grid[r].length; c++) {
+				grid[r][c].set(EMPTY_CELL);
+			}
+		}
+		size.set(0);
 	}
 
 	public List<T> getElements() {
@@ -319,7 +520,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		for (int r = 0; r < grid.length; r++) {
 			// TODO [priority=medium] [task=test] changed this [20.08.2014] here 1 to r - pls check this
 			for (int c = 0; c < grid[r].length; c++) {
-				elements.addAll(grid[r][c].objects);
+				elements.addAll(grid[r][c].getObjects());
 			}
 		}
 
@@ -340,7 +541,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	 * @return the size (number of different keys &lt;T&gt;) of List
 	 */
 	public int size() {
-		return size;
+		return size.get();
 	}
 
 	/**
@@ -365,7 +566,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		for (int r = 0; r < grid.length; r++) {
 			// TODO [priority=medium] [task=test] changed this [20.08.2014] here 1 to r - pls check this
 			for (int c = 0; c < grid[r].length; c++) {
-				if (grid[r][c].objects.contains(element)){
+				if (grid[r][c].getObjects().contains(element)){
 					elements.add(new ContainerisedElement(new int[]{r, c}, element));
 				}
 			}
@@ -0,0 +1,167 @@
+package org.vadere.util.geometry;
+
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A static grid augmenting objects with an extent, e.g. obstacles, for faster proximity tests. Each object is
+ * registered in all cells which overlap its bounding box, such that {@link #getObjects(double, double, double)}
+ * only has to look at the cells around the query position instead of at all objects.
+ *
+ * The grid is not changed after its construction, i.e. it can be read by multiple threads. If the objects or their
+ * shapes change, a new grid has to be created.
+ *
+ * @param <T> type of the stored objects
+ */
+public class ShapeGrid<T> {
+
+	/**
+	 * the maximal number of cells, the cell size is increased if the bounds would require more cells.
+	 */
+	private static final int MAX_NUMBER_OF_CELLS = 1 << 20;
+
+	private final List<T> objects;
+	private final List<Rectangle2D> boundingBoxes;
+	private final double left;
+	private final double top;
+	private final double cellSize;
+	private final int gridWidth;
+	private final int gridHeight;
+
+	/**
+	 * the indices of the objects of each cell in ascending order.
+	 */
+	private final int[][] cells;
+
+	/**
+	 * Generates a grid containing the given objects.
+	 *
+	 * @param objects   the objects, queries return them in this order
+	 * @param shapeOf   the function which maps an object to its shape
+	 * @param bounds    the area covered by the grid, objects and queries outside are mapped to the border cells
+	 * @param cellSize  the desired side length of the cells, in world units (e.g. [m])
+	 */
+	public ShapeGrid(@NotNull final List<? extends T> objects, @NotNull final Function<? super T, ? extends Shape> shapeOf,
+	                 @NotNull final Rectangle2D bounds, final double cellSize) {
+		this.objects = new ArrayList<>(objects);
+		this.boundingBoxes = new ArrayList<>(objects.size());
+		for (T object : objects) {
+			boundingBoxes.add(shapeOf.apply(object).getBounds2D());
+		}
+		this.left = bounds.getMinX();
+		this.top = bounds.getMinY();
+
+		double size = cellSize;
+		while ((bounds.getWidth() / size + 1) * (bounds.getHeight() / size + 1) > MAX_NUMBER_OF_CELLS) {
+			size *= 2;
+		}
+		this.cellSize = size;
+		this.gridWidth = Math.max(1, (int) Math.ceil(bounds.getWidth() / size));
+		this.gridHeight = Math.max(1, (int) Math.ceil(bounds.getHeight() / size));
+
+		// count the objects of each cell first such that each cell is allocated only once
+		int[] counts = new int[gridWidth * gridHeight];
+		for (Rectangle2D box : boundingBoxes) {
+			forEachCell(box, cell -> counts[cell]++);
+		}
+		this.cells = new int[counts.length][];
+		for (int cell = 0; cell < counts.length; cell++) {
+			cells[cell] = new int[counts[cell]];
+			counts[cell] = 0;
+		}
+		for (int i = 0; i < boundingBoxes.size(); i++) {
+			final int index = i;
+			forEachCell(boundingBoxes.get(i), cell -> cells[cell][counts[cell]++] = index);
+		}
+	}
+
+	/**
+	 * Returns the objects whose bounding boxes intersect the square of side length 2 * <tt>radius</tt> around the
+	 * position. These are the candidates for a proximity test, i.e. each object with a distance smaller than
+	 * <tt>radius</tt> to the position is contained. The objects keep the order of the constructor.
+	 *
+	 * @param x         x-coordinate of the position
+	 * @param y         y-coordinate of the position
+	 * @param radius    the radius of the proximity test
+	 * @return the candidates, or an empty list if there are none
+	 */
+	public List<T> getObjects(final double x, final double y, final double radius) {
+		int[] candidates = new int[16];
+		int n = 0;
+
+		int maxX = column(x + radius);
+		int minY = row(y - radius);
+		int maxY = row(y + radius);
+		for (int col = column(x - radius); col <= maxX; col++) {
+			for (int row = minY; row <= maxY; row++) {
+				for (int index : cells[col * gridHeight + row]) {
+					Rectangle2D box = boundingBoxes.get(index);
+					if (box.getMinX() <= x + radius && box.getMaxX() >= x - radius
+							&& box.getMinY() <= y + radius && box.getMaxY() >= y - radius) {
+						if (n == candidates.length) {
+							candidates = Arrays.copyOf(candidates, 2 * n);
+						}
+						candidates[n++] = index;
+					}
+				}
+			}
+		}
+
+		if (n == 0) {
+			return Collections.emptyList();
+		}
+
+		// objects spanning multiple cells are found multiple times
+		Arrays.sort(candidates, 0, n);
+		List<T> result = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			if (i == 0 || candidates[i] != candidates[i - 1]) {
+				result.add(objects.get(candidates[i]));
+			}
+		}
+		return result;
+	}
+
+	public List<T> getObjects() {
+		return Collections.unmodifiableList(objects);
+	}
+
+	public int size() {
+		return objects.size();
+	}
+
+	public double getCellSize() {
+		return cellSize;
+	}
+
+	private interface CellConsumer {
+		void accept(int cell);
+	}
+
+	private void forEachCell(final Rectangle2D rectangle, final CellConsumer consumer) {
+		int minX = column(rectangle.getMinX());
+		int maxX = column(rectangle.getMaxX());
+		int minY = row(rectangle.getMinY());
+		int maxY = row(rectangle.getMaxY());
+		for (int col = minX; col <= maxX; col++) {
+			for (int row = minY; row <= maxY; row++) {
+				consumer.accept(col * gridHeight + row);
+			}
+		}
+	}
+
+	private int column(final double x) {
+		return (int) Math.max(0, Math.min(gridWidth - 1, Math.floor((x - left) / cellSize)));
+	}
+
+	private int row(final double y) {
+		return (int) Math.max(0, Math.min(gridHeight - 1, Math.floor((y - top) / cellSize)));
+	}
+}
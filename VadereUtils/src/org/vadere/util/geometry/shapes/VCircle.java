@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableList;
 import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
 import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -180,11 +181,6 @@ public class VCircle implements VShape, ICircleSector {
 	}
 
 
-	@Override
-	public boolean intersectsLine(double x1, double y1, double x2, double y2) {
-		return intersects(new VLine(x1, y1, x2, y2));
-	}
-
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -296,9 +292,12 @@ public class VCircle implements VShape, ICircleSector {
 
 	@Override
 	public boolean intersects(VLine intersectingLine) {
-		if (intersectingLine.ptSegDist(this.getCenter()) <= this.getRadius())
-			return true;
-		return false;
+		return intersectsLine(intersectingLine.x1, intersectingLine.y1, intersectingLine.x2, intersectingLine.y2);
+	}
+
+	@Override
+	public boolean intersectsLine(double x1, double y1, double x2, double y2) {
+		return Line2D.ptSegDist(x1, y1, x2, y2, center.x, center.y) <= radius;
 	}
 
 	@Override
@@ -3,6 +3,7 @@ package org.vadere.util.geometry.shapes;
 import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
+import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.PathIterator;
 import java.awt.geom.Rectangle2D;
@@ -188,26 +189,37 @@ public class VPolygon extends Path2D.Double implements VShape {
 	}
 
 	public boolean intersects(VLine intersectingLine) {
+		return intersectsLine(intersectingLine.x1, intersectingLine.y1, intersectingLine.x2, intersectingLine.y2);
+	}
 
-		// check whether the center is closer to the sides than the radius
-		// loop over all lines and check intersection
-		List<VPoint> pointList = getPoints();
-		for (int i = 0; i < pointList.size(); i++) {
-			VLine polyLine;
-			// loop around
-			if (i < pointList.size() - 1) {
-				polyLine = new VLine(pointList.get(i), pointList.get(i + 1));
-			} else {
-				polyLine = new VLine(pointList.get(i), pointList.get(0));
-			}
-
-			// check distance of closest point on the line to the center of the
-			// ball
-			if (polyLine.intersectsLine(intersectingLine)) {
-				return true;
+	/**
+	 * Tests if the line segment intersects a side of the polygon, the sides connect the points of
+	 * {@link #getPoints()} in a loop. In contrast to {@link #getPoints()} no points are created.
+	 */
+	@Override
+	public boolean intersectsLine(double x1, double y1, double x2, double y2) {
+		PathIterator iterator = this.getPathIterator(null);
+		double[] coords = new double[6];
+		boolean empty = true;
+		double firstX = 0, firstY = 0, lastX = 0, lastY = 0;
+		while (!iterator.isDone()) {
+			int type = iterator.currentSegment(coords);
+			iterator.next();
+			if (type == PathIterator.SEG_LINETO) {
+				if (empty) {
+					firstX = coords[0];
+					firstY = coords[1];
+					empty = false;
+				} else if (Line2D.linesIntersect(x1, y1, x2, y2, lastX, lastY, coords[0], coords[1])) {
+					return true;
+				}
+				lastX = coords[0];
+				lastY = coords[1];
 			}
 		}
-		return false;
+
+		// loop around
+		return !empty && Line2D.linesIntersect(x1, y1, x2, y2, lastX, lastY, firstX, firstY);
 	}
 
 	/**
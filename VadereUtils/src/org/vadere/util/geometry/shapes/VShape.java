@@ -54,6 +54,14 @@ public interface VShape extends Shape, Cloneable, Geometry {
 
 	boolean intersects(VLine intersectingLine);
 
+	/**
+	 * Tests if the line segment from (x1, y1) to (x2, y2) intersects this shape, equal to
+	 * {@link #intersects(VLine)} but implementations avoid creating the line.
+	 */
+	default boolean intersectsLine(double x1, double y1, double x2, double y2) {
+		return intersects(new VLine(x1, y1, x2, y2));
+	}
+
 	VPoint getCentroid();
 
 	ShapeType getType();
@@ -0,0 +1,285 @@
+package org.vadere.util.math;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A CPU implementation of the separable convolution {@link Convolution#convolveSeperate} which owns its
+ * input and output matrices such that they can be reused, e.g. for the density of each simulation step.
+ * It produces exactly the same values as {@link Convolution#convolveSeperate}: each value is summed up
+ * in the same order, at most terms of the input which are zero are skipped.
+ *
+ * The convolution exploits sparse input: the range of non-zero values of each input row is tracked
+ * by {@link #set(int, int, float)}, such that the convolution, and {@link #clear()}, only touch the rows
+ * and columns close to the input values. Both passes are computed in parallel over the rows if
+ * there is enough work. Dense parts are summed up in registers for several columns at once, sparse
+ * rows are accumulated row by row, such that only their non-zero ranges are touched.
+ */
+public class SeparableConvolution {
+
+	/** the minimal number of multiplications for which a pass runs in parallel. */
+	private static final int PARALLEL_THRESHOLD = 1 << 18;
+
+	private final int width;
+	private final int height;
+	private final int radius;
+	private final float[] kernel;
+
+	private final float[] input;
+	private final float[] tmp;
+	private final float[] output;
+
+	// the range [min, max] of columns of each row which contains non-zero values, empty if min > max
+	private final int[] inputMin;
+	private final int[] inputMax;
+	private final int[] tmpMin;
+	private final int[] tmpMax;
+	private final int[] outputMin;
+	private final int[] outputMax;
+
+	/**
+	 * @param width     the width of the matrices
+	 * @param height    the height of the matrices
+	 * @param kernel    the kernel of odd size which is used for the rows and columns
+	 */
+	public SeparableConvolution(final int width, final int height, @NotNull final float[] kernel) {
+		if (kernel.length % 2 == 0) {
+			throw new IllegalArgumentException("the size of the kernel has to be odd.");
+		}
+		this.width = width;
+		this.height = height;
+		this.radius = kernel.length / 2;
+		this.kernel = kernel;
+		this.input = new float[width * height];
+		this.tmp = new float[width * height];
+		this.output = new float[width * height];
+		this.inputMin = emptyRanges(height);
+		this.inputMax = new int[height];
+		this.tmpMin = emptyRanges(height);
+		this.tmpMax = new int[height];
+		this.outputMin = emptyRanges(height);
+		this.outputMax = new int[height];
+	}
+
+	private static int[] emptyRanges(final int height) {
+		int[] min = new int[height];
+		Arrays.fill(min, Integer.MAX_VALUE);
+		return min;
+	}
+
+	public void set(final int x, final int y, final float value) {
+		input[y * width + x] = value;
+		if (value != 0) {
+			inputMin[y] = Math.min(inputMin[y], x);
+			inputMax[y] = Math.max(inputMax[y], x);
+		}
+	}
+
+	public float get(final int x, final int y) {
+		return input[y * width + x];
+	}
+
+	/**
+	 * Returns the input matrix in row-major order. It must only be changed by {@link #set(int, int, float)}.
+	 */
+	public float[] getInput() {
+		return input;
+	}
+
+	/**
+	 * Sets all input values to zero, only the non-zero ranges are cleared.
+	 */
+	public void clear() {
+		for (int y = 0; y < height; y++) {
+			if (inputMin[y] <= inputMax[y]) {
+				Arrays.fill(input, y * width + inputMin[y], y * width + inputMax[y] + 1, 0.0f);
+				inputMin[y] = Integer.MAX_VALUE;
+				inputMax[y] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Convolves the input by the kernel, first along the columns, then along the rows. The returned
+	 * matrix is reused, i.e. it is overwritten by the next call.
+	 *
+	 * @return the convolved matrix in row-major order
+	 */
+	public float[] convolve() {
+		long work = 0;
+		for (int y = 0; y < height; y++) {
+			if (inputMin[y] <= inputMax[y]) {
+				work += (long)(inputMax[y] - inputMin[y] + 1) * kernel.length;
+			}
+		}
+		boolean parallel = work >= PARALLEL_THRESHOLD;
+
+		rows(parallel).forEach(this::convolveColumns);
+		rows(parallel).forEach(this::convolveRow);
+		return output;
+	}
+
+	private IntStream rows(final boolean parallel) {
+		IntStream rows = IntStream.range(0, height);
+		return parallel ? rows.parallel() : rows;
+	}
+
+	/**
+	 * Computes the row <tt>y</tt> of the vertical pass, see <tt>Convolution.convolveRow</tt>.
+	 */
+	private void convolveColumns(final int y) {
+		int rStart = Math.max(-radius, -y);
+		int rEnd = Math.min(radius, height - 1 - y);
+
+		int min = Integer.MAX_VALUE;
+		int max = 0;
+		for (int r = rStart; r <= rEnd; r++) {
+			min = Math.min(min, inputMin[y + r]);
+			max = Math.max(max, inputMax[y + r]);
+		}
+		tmpMin[y] = min;
+		tmpMax[y] = max;
+		if (min > max) {
+			return;
+		}
+
+		int offset = y * width;
+		long sparseWork = 0;
+		for (int r = rStart; r <= rEnd; r++) {
+			if (inputMin[y + r] <= inputMax[y + r]) {
+				sparseWork += inputMax[y + r] - inputMin[y + r] + 1;
+			}
+		}
+
+		if (2 * sparseWork >= (long)(max - min + 1) * (rEnd - rStart + 1)) {
+			convolveColumnsDense(y, rStart, rEnd, min, max);
+		} else {
+			Arrays.fill(tmp, offset + min, offset + max + 1, 0.0f);
+			for (int r = rStart; r <= rEnd; r++) {
+				int yIn = y + r;
+				float k = kernel[r + radius];
+				int inOffset = yIn * width;
+				for (int x = inputMin[yIn]; x <= inputMax[yIn]; x++) {
+					tmp[offset + x] += k * input[inOffset + x];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sums up all rows of the kernel for the columns [min, max], i.e. the zero terms are summed up as well.
+	 */
+	private void convolveColumnsDense(final int y, final int rStart, final int rEnd, final int min, final int max) {
+		int offset = y * width;
+		// four independent sums at once, each one is still summed up in order
+		int x = min;
+		for (; x + 3 <= max; x += 4) {
+			float sum0 = 0;
+			float sum1 = 0;
+			float sum2 = 0;
+			float sum3 = 0;
+			for (int r = rStart; r <= rEnd; r++) {
+				float k = kernel[r + radius];
+				int inOffset = (y + r) * width + x;
+				sum0 += k * input[inOffset];
+				sum1 += k * input[inOffset + 1];
+				sum2 += k * input[inOffset + 2];
+				sum3 += k * input[inOffset + 3];
+			}
+			tmp[offset + x] = sum0;
+			tmp[offset + x + 1] = sum1;
+			tmp[offset + x + 2] = sum2;
+			tmp[offset + x + 3] = sum3;
+		}
+		for (; x <= max; x++) {
+			float sum = 0;
+			for (int r = rStart; r <= rEnd; r++) {
+				sum += kernel[r + radius] * input[(y + r) * width + x];
+			}
+			tmp[offset + x] = sum;
+		}
+	}
+
+	/**
+	 * Computes the row <tt>y</tt> of the horizontal pass, see <tt>Convolution.convolveCol</tt>.
+	 */
+	private void convolveRow(final int y) {
+		int offset = y * width;
+		if (outputMin[y] <= outputMax[y]) {
+			Arrays.fill(output, offset + outputMin[y], offset + outputMax[y] + 1, 0.0f);
+		}
+
+		int min = tmpMin[y];
+		int max = tmpMax[y];
+		if (min > max) {
+			outputMin[y] = Integer.MAX_VALUE;
+			outputMax[y] = 0;
+			return;
+		}
+
+		int xStart = Math.max(0, min - radius);
+		int xEnd = Math.min(width - 1, max + radius);
+		// the whole kernel lies inside the non-zero range of [interiorStart, interiorEnd]
+		int interiorStart = Math.max(xStart, min + radius);
+		int interiorEnd = Math.min(xEnd, max - radius);
+		if (interiorStart > interiorEnd) {
+			interiorStart = xEnd + 1;
+			interiorEnd = xEnd;
+		}
+
+		convolveRowClamped(offset, min, max, xStart, interiorStart - 1);
+		// four independent sums at once, each one is still summed up in order
+		int x = interiorStart;
+		for (; x + 3 <= interiorEnd; x += 4) {
+			int tmpOffset = offset + x - radius;
+			float sum0 = 0;
+			float sum1 = 0;
+			float sum2 = 0;
+			float sum3 = 0;
+			for (int i = 0; i < kernel.length; i++) {
+				float k = kernel[i];
+				sum0 += k * tmp[tmpOffset + i];
+				sum1 += k * tmp[tmpOffset + i + 1];
+				sum2 += k * tmp[tmpOffset + i + 2];
+				sum3 += k * tmp[tmpOffset + i + 3];
+			}
+			output[offset + x] = sum0;
+			output[offset + x + 1] = sum1;
+			output[offset + x + 2] = sum2;
+			output[offset + x + 3] = sum3;
+		}
+		for (; x <= interiorEnd; x++) {
+			int tmpOffset = offset + x - radius;
+			float sum = 0;
+			for (int i = 0; i < kernel.length; i++) {
+				sum += kernel[i] * tmp[tmpOffset + i];
+			}
+			output[offset + x] = sum;
+		}
+		convolveRowClamped(offset, min, max, interiorEnd + 1, xEnd);
+		outputMin[y] = xStart;
+		outputMax[y] = xEnd;
+	}
+
+	private void convolveRowClamped(final int offset, final int min, final int max, final int xStart, final int xEnd) {
+		for (int x = xStart; x <= xEnd; x++) {
+			int rStart = Math.max(-radius, min - x);
+			int rEnd = Math.min(radius, max - x);
+			float sum = 0;
+			for (int r = rStart; r <= rEnd; r++) {
+				sum += kernel[r + radius] * tmp[offset + x + r];
+			}
+			output[offset + x] = sum;
+		}
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+}
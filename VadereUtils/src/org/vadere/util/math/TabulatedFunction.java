@@ -0,0 +1,121 @@
+package org.vadere.util.math;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A function of one variable which is tabulated on an interval [lo, hi] and linearly interpolated.
+ * The number of samples is doubled until the interpolation error, measured at the midpoints and
+ * quarter points of the intervals, is smaller than the required tolerance. Outside of the interval
+ * the function itself is evaluated.
+ *
+ * This replaces expensive evaluations of {@link Math#exp(double)} and {@link Math#pow(double, double)}
+ * of smooth kernels like the compact support function exp(c / (s^p - 1)), see {@link #compactSupport(double, int, double)}.
+ * Instances are immutable and therefore thread safe.
+ */
+public class TabulatedFunction implements DoubleUnaryOperator {
+
+	private static final int MIN_INTERVALS = 64;
+	private static final int MAX_INTERVALS = 1 << 22;
+
+	private final DoubleUnaryOperator function;
+	private final double lo;
+	private final double hi;
+	private final double invStep;
+	private final int numberOfIntervals;
+	private final double[] values;
+	private final double maxError;
+
+	/**
+	 * Tabulates the function.
+	 *
+	 * @param function  the function which has to be smooth on [lo, hi]
+	 * @param lo        the lower bound of the interval
+	 * @param hi        the upper bound of the interval
+	 * @param tolerance the maximal absolute interpolation error
+	 */
+	public TabulatedFunction(@NotNull final DoubleUnaryOperator function, final double lo, final double hi, final double tolerance) {
+		if(!(lo < hi) || !(tolerance > 0)) {
+			throw new IllegalArgumentException("invalid interval [" + lo + ", " + hi + "] or tolerance " + tolerance + ".");
+		}
+
+		this.function = function;
+		this.lo = lo;
+		this.hi = hi;
+
+		int n = MIN_INTERVALS;
+		double[] samples = sample(function, lo, hi, n);
+		double error = interpolationError(function, samples, lo, hi, n);
+		while (error >= tolerance) {
+			if(n >= MAX_INTERVALS) {
+				throw new IllegalArgumentException("the function can not be tabulated with an error smaller than " + tolerance + ".");
+			}
+			n *= 2;
+			samples = sample(function, lo, hi, n);
+			error = interpolationError(function, samples, lo, hi, n);
+		}
+
+		this.numberOfIntervals = n;
+		this.values = samples;
+		this.invStep = n / (hi - lo);
+		this.maxError = error;
+	}
+
+	/**
+	 * Returns the tabulated kernel exp(c / (s^p - 1)) for 0 &lt;= s &lt; 1 and 0 otherwise. For s = (d / w)^2
+	 * this is the compact support function of the distance d with width w.
+	 *
+	 * @param c         the numerator of the exponent
+	 * @param p         the power of s
+	 * @param tolerance the maximal absolute interpolation error
+	 *
+	 * @return the tabulated kernel
+	 */
+	public static TabulatedFunction compactSupport(final double c, final int p, final double tolerance) {
+		return new TabulatedFunction(s -> s >= 0 && s < 1 ? Math.exp(c / (Math.pow(s, p) - 1)) : 0, 0, 1, tolerance);
+	}
+
+	@Override
+	public double applyAsDouble(final double x) {
+		if(!(x >= lo && x < hi)) {
+			return function.applyAsDouble(x);
+		}
+		double u = (x - lo) * invStep;
+		int i = Math.min((int) u, numberOfIntervals - 1);
+		double w = u - i;
+		return values[i] + w * (values[i+1] - values[i]);
+	}
+
+	/**
+	 * Returns the maximal interpolation error measured at the midpoints and quarter points.
+	 */
+	public double getMaxError() {
+		return maxError;
+	}
+
+	public int getNumberOfIntervals() {
+		return numberOfIntervals;
+	}
+
+	private static double[] sample(@NotNull final DoubleUnaryOperator function, final double lo, final double hi, final int n) {
+		double[] samples = new double[n + 1];
+		for(int i = 0; i <= n; i++) {
+			samples[i] = function.applyAsDouble(lo + (hi - lo) * i / n);
+		}
+		return samples;
+	}
+
+	private static double interpolationError(@NotNull final DoubleUnaryOperator function, final double[] samples,
+	                                         final double lo, final double hi, final int n) {
+		double error = 0;
+		double step = (hi - lo) / n;
+		for(int i = 0; i < n; i++) {
+			for(double w = 0.25; w < 1; w += 0.25) {
+				double interpolated = samples[i] + w * (samples[i+1] - samples[i]);
+				error = Math.max(error, Math.abs(function.applyAsDouble(lo + (i + w) * step) - interpolated));
+			}
+		}
+		return error;
+	}
+}
@@ -7,12 +7,17 @@ import java.util.concurrent.Executors;
  * Utility class for parallelization of tasks. Defines functions to setup an
  * ExecutorService (thread pool).
  * 
+ * The thread pool is shared by all simulations running in this process, e.g. concurrent
+ * remote clients. Each setup has to be paired with a shutdown and the thread pool
+ * is shut down by the last one.
  * 
  */
 public class ParallelWorkerUtil {
 	private static volatile ExecutorService executerService = null;
+	private static int users = 0;
 
-	public static void setup(int workers) {
+	public static synchronized void setup(int workers) {
+		users++;
 		if (executerService == null) {
 			executerService = Executors.newFixedThreadPool(workers);
 		} else {
@@ -29,10 +34,11 @@ public class ParallelWorkerUtil {
 		return executerService;
 	}
 
-	public static void shutdown() {
-		if (executerService != null) {
+	public static synchronized void shutdown() {
+		users = Math.max(0, users - 1);
+		if (users == 0 && executerService != null) {
 			executerService.shutdownNow();
+			executerService = null;
 		}
-		executerService = null;
 	}
 }
@@ -0,0 +1,84 @@
+package org.vadere.util.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestLogLinearHistogram {
+
+	@Test
+	public void testSmallValuesAreExact() {
+		LogLinearHistogram histogram = new LogLinearHistogram(7);
+		for(long v = 1; v <= 100; v++) {
+			histogram.record(v);
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(1, histogram.getMin());
+		assertEquals(100, histogram.getMax());
+		assertEquals(50.5, histogram.getMean(), 1e-12);
+		assertEquals(50, histogram.getValueAtPercentile(50));
+		assertEquals(99, histogram.getValueAtPercentile(99));
+		assertEquals(100, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void testBucketsCoverAllValues() {
+		LogLinearHistogram histogram = new LogLinearHistogram(5);
+		long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123456789L, Long.MAX_VALUE};
+		for(long value : values) {
+			int index = histogram.indexOf(value);
+			assertTrue(histogram.lowestValueOf(index) <= value);
+			assertTrue(value <= histogram.highestValueOf(index));
+		}
+	}
+
+	@Test
+	public void testPercentilesWithinPrecision() {
+		int bits = 7;
+		double precision = 1.0 / (1 << (bits - 1));
+		LogLinearHistogram histogram = new LogLinearHistogram(bits);
+		Random random = new Random(0);
+		long[] values = new long[10000];
+		for(int i = 0; i < values.length; i++) {
+			values[i] = (long) (Math.exp(random.nextDouble() * 20));
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+
+		for(double percentile : new double[]{10, 50, 90, 99, 99.9}) {
+			long expected = values[(int) Math.ceil(percentile / 100.0 * values.length) - 1];
+			long actual = histogram.getValueAtPercentile(percentile);
+			assertEquals(expected, actual, expected * precision + 1);
+		}
+		assertEquals(values[0], histogram.getMin());
+		assertEquals(values[values.length - 1], histogram.getMax());
+	}
+
+	@Test
+	public void testAddAndReset() {
+		LogLinearHistogram a = new LogLinearHistogram();
+		LogLinearHistogram b = new LogLinearHistogram();
+		a.record(10);
+		b.record(1000);
+		b.record(20);
+		a.add(b);
+		assertEquals(3, a.getCount());
+		assertEquals(1030, a.getSum());
+		assertEquals(10, a.getMin());
+		assertEquals(1000, a.getMax());
+
+		a.reset();
+		assertEquals(0, a.getCount());
+		assertEquals(0, a.getMin());
+		assertEquals(0, a.getValueAtPercentile(50));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeValue() {
+		new LogLinearHistogram().record(-1);
+	}
+}
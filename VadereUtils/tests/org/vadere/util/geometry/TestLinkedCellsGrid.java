@@ -1,13 +1,22 @@
 package org.vadere.util.geometry;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.junit.Before;
 import org.junit.Test;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -242,6 +251,33 @@ public class TestLinkedCellsGrid {
 				(int) objects2.get(1).number);
 	}
 
+	/**
+	 * Test method for
+	 * {@link org.vadere.util.geometry.LinkedCellsGrid#getObjectIndices(VPoint, double, java.util.function.ToIntFunction, IntArrayList)}
+	 * which has to map the objects of {@link LinkedCellsGrid#getObjects(VPoint, double)} in the same order.
+	 */
+	@Test
+	public void testGetObjectIndices() {
+		Random random = new Random(0);
+		for (int i = 0; i < 1000; i++) {
+			linkedCellsInteger.addObject(new CoordinatedInteger(i, new VPoint(random.nextDouble() * width, random.nextDouble() * height)));
+		}
+
+		IntArrayList indices = new IntArrayList();
+		indices.add(-1);
+		for (int i = 0; i < 20; i++) {
+			VPoint pos = new VPoint(random.nextDouble() * width, random.nextDouble() * height);
+			double radius = random.nextDouble() * 10;
+			linkedCellsInteger.getObjectIndices(pos, radius, object -> object.number, indices);
+
+			List<CoordinatedInteger> objects = linkedCellsInteger.getObjects(pos, radius);
+			assertEquals(objects.size(), indices.size());
+			for (int j = 0; j < objects.size(); j++) {
+				assertEquals((int) objects.get(j).number, indices.getInt(j));
+			}
+		}
+	}
+
 	/**
 	 * Test method for
 	 * {@link org.vadere.util.geometry.LinkedCellsGrid#removeObject(PointPositioned)}
@@ -281,6 +317,132 @@ public class TestLinkedCellsGrid {
 				objects.size());
 	}
 
+	/**
+	 * Test method for {@link LinkedCellsGrid#bulkLoad(java.util.Collection)}. The grid has to be equal to a grid
+	 * which is filled object by object, also if the cells are computed in parallel.
+	 */
+	@Test
+	public void testBulkLoad() {
+		List<CoordinatedInteger> objects = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			objects.add(new CoordinatedInteger(i, new VPoint((i * 7919) % 10000 / 100.0, (i * 104729) % 10000 / 100.0)));
+		}
+		LinkedCellsGrid<CoordinatedInteger> expected = new LinkedCellsGrid<>(left, top, width, height, sideLength);
+		objects.forEach(expected::addObject);
+
+		// objects which are stored before are removed
+		linkedCellsInteger.addObject(new CoordinatedInteger(int1, pos1));
+		linkedCellsInteger.bulkLoad(objects);
+
+		assertEquals(objects.size(), linkedCellsInteger.size());
+		assertEquals(expected.getElements(), linkedCellsInteger.getElements());
+		assertTrue(linkedCellsInteger.isConsistent(objects));
+
+		linkedCellsInteger.bulkLoad(new ArrayList<>());
+		assertEquals(0, linkedCellsInteger.size());
+		assertTrue(linkedCellsInteger.getElements().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link LinkedCellsGrid#isConsistent(java.util.Collection)}. An object which is moved without
+	 * {@link LinkedCellsGrid#moveObject(PointPositioned, VPoint)} makes the grid inconsistent.
+	 */
+	@Test
+	public void testIsConsistent() {
+		List<NotComparableObject> objects = Arrays.asList(obj1, obj2);
+		linkedCellsObject.addObject(obj1);
+		linkedCellsObject.addObject(obj2);
+		assertTrue(linkedCellsObject.isConsistent(objects));
+		assertFalse(linkedCellsObject.isConsistent(Arrays.asList(obj1, obj3)));
+
+		NotComparableObject moving = new NotComparableObject(5, pos1);
+		linkedCellsObject.addObject(moving);
+		moving.coord = pos3;
+		assertFalse(linkedCellsObject.isConsistent(Arrays.asList(obj1, obj2, moving)));
+
+		linkedCellsObject.moveObject(moving, pos1);
+		assertTrue(linkedCellsObject.isConsistent(Arrays.asList(obj1, obj2, moving)));
+	}
+
+	/**
+	 * Stress test of the lock-free reads: objects are moved by several threads while other threads query the grid.
+	 * Objects which are not moved have to be found by every query and the grid has to be consistent afterwards.
+	 */
+	@Test
+	public void testConcurrentMovesAndReads() throws Exception {
+		final int nMovers = 4;
+		final int nReaders = 4;
+		final int nObjectsPerMover = 500;
+		final int nRounds = 200;
+
+		List<NotComparableObject> fixedObjects = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			fixedObjects.add(new NotComparableObject(-i, new VPoint(i % 10 * 10 + 5, i / 10 * 10 + 5)));
+		}
+		List<List<NotComparableObject>> movingObjects = new ArrayList<>();
+		for (int m = 0; m < nMovers; m++) {
+			List<NotComparableObject> objects = new ArrayList<>();
+			for (int i = 0; i < nObjectsPerMover; i++) {
+				objects.add(new NotComparableObject(m * nObjectsPerMover + i, new VPoint(i % 100, m * 25 + i / 20)));
+			}
+			movingObjects.add(objects);
+		}
+
+		List<NotComparableObject> allObjects = new ArrayList<>(fixedObjects);
+		movingObjects.forEach(allObjects::addAll);
+		allObjects.forEach(linkedCellsObject::addObject);
+
+		ExecutorService executor = Executors.newFixedThreadPool(nMovers + nReaders);
+		AtomicBoolean moving = new AtomicBoolean(true);
+		try {
+			List<Future<?>> movers = new ArrayList<>();
+			for (int m = 0; m < nMovers; m++) {
+				final List<NotComparableObject> objects = movingObjects.get(m);
+				final Random random = new Random(m);
+				movers.add(executor.submit(() -> {
+					for (int round = 0; round < nRounds; round++) {
+						for (NotComparableObject object : objects) {
+							VPoint oldPosition = object.coord;
+							object.coord = new VPoint(
+									Math.max(0, Math.min(width - 0.01, oldPosition.x + random.nextDouble() * 2 - 1)),
+									Math.max(0, Math.min(height - 0.01, oldPosition.y + random.nextDouble() * 2 - 1)));
+							linkedCellsObject.moveObject(object, oldPosition);
+						}
+					}
+				}));
+			}
+
+			List<Future<Integer>> readers = new ArrayList<>();
+			for (int r = 0; r < nReaders; r++) {
+				readers.add(executor.submit(() -> {
+					int missed = 0;
+					while (moving.get()) {
+						for (NotComparableObject fixed : fixedObjects) {
+							if (!linkedCellsObject.getObjects(fixed.coord, 0.5).contains(fixed)) {
+								missed++;
+							}
+						}
+					}
+					return missed;
+				}));
+			}
+
+			for (Future<?> mover : movers) {
+				mover.get();
+			}
+			moving.set(false);
+			for (Future<Integer> reader : readers) {
+				assertEquals(0, (int) reader.get());
+			}
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+
+		assertEquals(allObjects.size(), linkedCellsObject.size());
+		assertTrue(linkedCellsObject.isConsistent(allObjects));
+	}
+
 	/**
 	 * Test method for {@link org.vadere.util.geometry.LinkedCellsGrid#iterator()}. Adds three
 	 * objects and iterates over them.
@@ -0,0 +1,57 @@
+package org.vadere.util.geometry;
+
+import org.junit.Test;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestShapeGrid {
+
+	/**
+	 * The candidates of a query have to contain all shapes closer than the radius in the order of the constructor.
+	 */
+	@Test
+	public void testGetObjectsContainsAllCloseShapes() {
+		Random random = new Random(0);
+		List<VShape> shapes = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			shapes.add(new VRectangle(random.nextDouble() * 110 - 5, random.nextDouble() * 110 - 5,
+					random.nextDouble() * 10, random.nextDouble() * 2));
+		}
+		// a wall spanning the whole grid
+		shapes.add(new VRectangle(0, 50, 100, 0.5));
+
+		ShapeGrid<VShape> grid = new ShapeGrid<>(shapes, shape -> shape, new VRectangle(0, 0, 100, 100), 1.5);
+
+		for (int i = 0; i < 1000; i++) {
+			VPoint position = new VPoint(random.nextDouble() * 120 - 10, random.nextDouble() * 120 - 10);
+			double radius = random.nextDouble() * 3;
+
+			List<VShape> candidates = grid.getObjects(position.x, position.y, radius);
+			List<VShape> expected = shapes.stream()
+					.filter(shape -> shape.distance(position) < radius)
+					.collect(Collectors.toList());
+
+			assertTrue(candidates.containsAll(expected));
+			assertEquals(candidates.stream().distinct().count(), candidates.size());
+			for (int j = 1; j < candidates.size(); j++) {
+				assertTrue(shapes.indexOf(candidates.get(j - 1)) < shapes.indexOf(candidates.get(j)));
+			}
+		}
+	}
+
+	@Test
+	public void testEmptyGrid() {
+		ShapeGrid<VShape> grid = new ShapeGrid<>(new ArrayList<VShape>(), shape -> shape, new VRectangle(0, 0, 10, 10), 1);
+		assertEquals(0, grid.size());
+		assertTrue(grid.getObjects(5, 5, 100).isEmpty());
+	}
+}
@@ -15,6 +15,20 @@ public class VShapeTest {
 		assertTrue(a.intersects(b));
 	}
 
+	@Test
+	public void testIntersectsLineOfAllShapes() {
+		VShape[] shapes = { new VRectangle(1, 1, 1, 1), new VCircle(new VPoint(1.5, 1.5), 0.5),
+				new VPolygon(new VRectangle(1, 1, 1, 1)) };
+
+		for (VShape shape : shapes) {
+			assertTrue(shape.intersectsLine(0, 1.5, 3, 1.5));
+			assertTrue(shape.intersectsLine(1.5, 0, 1.5, 1.2));
+			assertFalse(shape.intersectsLine(0, 0, 3, 0.5));
+			assertFalse(shape.intersectsLine(2.5, 0, 2.5, 3));
+			assertEquals(shape.intersects(new VLine(0, 1.5, 3, 1.5)), shape.intersectsLine(0, 1.5, 3, 1.5));
+		}
+	}
+
 	@Test(timeout = 1000) //ms
 	public void loopAtEdgeCase1(){
 		VRectangle rec = new VRectangle(0.0, 114.0, 44.0, 5.0);
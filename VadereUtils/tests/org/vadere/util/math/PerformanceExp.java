@@ -15,7 +15,8 @@ import java.util.concurrent.TimeUnit;
  * @author Benedikt Zoennchen
  *
  * A simple example how to write a performance test. We compare two different
- * implementations of solutions of the approximation of the exponential function.
+ * implementations of solutions of the approximation of the exponential function
+ * and the tabulated compact support kernel of the potentials.
  */
 public class PerformanceExp {
 
@@ -30,6 +31,11 @@ public class PerformanceExp {
 		}
 	}
 
+	@State(Scope.Benchmark)
+	public static class Kernel {
+		public TabulatedFunction kernel = TabulatedFunction.compactSupport(4, 1, 1.0E-9);
+	}
+
 	@Benchmark @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.MILLISECONDS)
 	public void testExp(RandomDouble randomDouble) {
 		double exp = Math.exp(randomDouble.value);
@@ -39,4 +45,14 @@ public class PerformanceExp {
 	public void testExpAp(RandomDouble randomDouble) {
 		double exp = MathUtil.expAp(randomDouble.value);
 	}
+
+	@Benchmark @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void testCompactSupportKernel(RandomDouble randomDouble) {
+		double value = Math.exp(4 / (Math.pow(randomDouble.value, 2) - 1));
+	}
+
+	@Benchmark @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void testTabulatedCompactSupportKernel(RandomDouble randomDouble, Kernel kernel) {
+		double value = kernel.kernel.applyAsDouble(randomDouble.value * randomDouble.value);
+	}
 }
@@ -0,0 +1,68 @@
+package org.vadere.util.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestSeparableConvolution {
+
+	private static final float[] kernel = Convolution.floatGaussian1DKernel(31, 4.0f);
+
+	@Test
+	public void testDenseInput() {
+		Random random = new Random(0);
+		SeparableConvolution convolution = new SeparableConvolution(600, 400, kernel);
+		for (int y = 0; y < convolution.getHeight(); y++) {
+			for (int x = 0; x < convolution.getWidth(); x++) {
+				convolution.set(x, y, random.nextFloat());
+			}
+		}
+
+		assertMatchesConvolution(convolution);
+	}
+
+	@Test
+	public void testSparseInputIsReused() {
+		Random random = new Random(0);
+		SeparableConvolution convolution = new SeparableConvolution(300, 200, kernel);
+
+		for (int step = 0; step < 5; step++) {
+			convolution.clear();
+			for (int i = 0; i < 20; i++) {
+				int x = random.nextInt(convolution.getWidth() - 1);
+				int y = random.nextInt(convolution.getHeight() - 1);
+				convolution.set(x, y, random.nextFloat());
+				convolution.set(x + 1, y + 1, random.nextFloat());
+			}
+			assertMatchesConvolution(convolution);
+		}
+
+		convolution.clear();
+		for (float value : convolution.getInput()) {
+			assertEquals(0.0f, value, 0.0f);
+		}
+		for (float value : convolution.convolve()) {
+			assertEquals(0.0f, value, 0.0f);
+		}
+	}
+
+	@Test
+	public void testKernelLargerThanMatrix() {
+		SeparableConvolution convolution = new SeparableConvolution(7, 5, kernel);
+		convolution.set(0, 0, 1.0f);
+		convolution.set(6, 4, 2.0f);
+		convolution.set(3, 2, 0.5f);
+
+		assertMatchesConvolution(convolution);
+	}
+
+	private static void assertMatchesConvolution(final SeparableConvolution convolution) {
+		float[] expected = Convolution.convolveSeperate(convolution.getInput().clone(), kernel, kernel,
+				convolution.getWidth(), convolution.getHeight(), kernel.length);
+		// the values are summed up in the same order, i.e. they are equal
+		assertArrayEquals(expected, convolution.convolve(), 0.0f);
+	}
+}
@@ -0,0 +1,63 @@
+package org.vadere.util.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestTabulatedFunction {
+
+	private static final double TOLERANCE = 1.0E-9;
+
+	private static void assertAccurate(final DoubleUnaryOperator exact, final TabulatedFunction tabulated, final double lo, final double hi) {
+		Random random = new Random(0);
+		for(int i = 0; i < 100000; i++) {
+			double x = lo + (hi - lo) * random.nextDouble();
+			assertEquals(exact.applyAsDouble(x), tabulated.applyAsDouble(x), TOLERANCE);
+		}
+		assertTrue(tabulated.getMaxError() < TOLERANCE);
+	}
+
+	/**
+	 * The kernels of the compact support potentials over the normalised squared distance s = (d / w)^2.
+	 */
+	@Test
+	public void testCompactSupportKernels() {
+		int[][] kernels = {{4, 1}, {4, 2}, {1, 2}, {2, 1}, {1, 1}};
+		for(int[] kernel : kernels) {
+			double c = kernel[0];
+			int p = kernel[1];
+			assertAccurate(s -> Math.exp(c / (Math.pow(s, p) - 1)), TabulatedFunction.compactSupport(c, p, TOLERANCE), 0, 1);
+		}
+	}
+
+	@Test
+	public void testCompactSupportKernelOfDistance() {
+		TabulatedFunction kernel = TabulatedFunction.compactSupport(4, 1, TOLERANCE);
+		double width = 1.2 + 0.4;
+		Random random = new Random(1);
+		for(int i = 0; i < 10000; i++) {
+			double distance = width * random.nextDouble();
+			double exact = 50 * Math.exp(4 / (Math.pow(distance / width, 2) - 1));
+			assertEquals(exact, 50 * kernel.applyAsDouble(distance * distance / (width * width)), 50 * TOLERANCE);
+		}
+		assertEquals(0.0, kernel.applyAsDouble(1.0), 0.0);
+		assertEquals(0.0, kernel.applyAsDouble(2.5), 0.0);
+	}
+
+	@Test
+	public void testOutsideOfInterval() {
+		TabulatedFunction tabulated = new TabulatedFunction(Math::sin, 0, Math.PI, TOLERANCE);
+		assertAccurate(Math::sin, tabulated, 0, Math.PI);
+		assertEquals(Math.sin(-1.0), tabulated.applyAsDouble(-1.0), 0.0);
+		assertEquals(Math.sin(4.0), tabulated.applyAsDouble(4.0), 0.0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidInterval() {
+		new TabulatedFunction(Math::exp, 1, 0, TOLERANCE);
+	}
+}